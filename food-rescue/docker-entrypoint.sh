@@ -0,0 +1,25 @@
+#!/bin/sh
+
+# Modo padrão: JVM normal. FAST_START=true liga o arquivo AppCDS gerado no build,
+# o código AOT do Spring e lazy initialization.
+
+set -e
+
+JAVA_OPTS="-XX:+UseContainerSupport -XX:MaxRAMPercentage=75.0 $JAVA_OPTS"
+
+if [ "$FAST_START" = "true" ]; then
+    JAVA_OPTS="$JAVA_OPTS -XX:SharedArchiveFile=/app/food-rescue.jsa -Xshare:auto -Dspring.main.lazy-initialization=true"
+    # O AOT fixa no build as condições dos beans (@ConditionalOnProperty), com os valores
+    # padrão: roteamento para réplicas desligado, rate limit e controle de admissão ligados.
+    # Se algum desses toggles vier diferente, sobe sem AOT para que ele valha. Toggles
+    # passados de outra forma (-D em JAVA_OPTS, arquivo de propriedades) não são vistos aqui.
+    if [ "$APP_DATASOURCE_ROUTING_ENABLED" != "true" ] \
+        && [ "$APP_RATE_LIMIT_ENABLED" != "false" ] \
+        && [ "$APP_ADMISSION_ENABLED" != "false" ]; then
+        JAVA_OPTS="$JAVA_OPTS -Dspring.aot.enabled=true"
+    else
+        echo "FAST_START: toggle condicional fora do padrão, subindo sem AOT" >&2
+    fi
+fi
+
+exec java $JAVA_OPTS -cp "/app/lib/*" com.EcoBite.foodrescue.FoodRescueApplication "$@"
@@ -0,0 +1,18 @@
+#!/bin/sh
+
+# Desempacota o fat jar do Spring Boot em jars comuns (lib/*.jar), layout exigido
+# pelo AppCDS: classes carregadas pelo classloader do Spring Boot não entram no arquivo.
+# Uso: extract-jar.sh <fat-jar> <destino>
+
+set -e
+
+JAR="$(cd "$(dirname "$1")" && pwd)/$(basename "$1")"
+DEST="$2"
+
+rm -rf "$DEST"
+mkdir -p "$DEST/lib"
+cd "$DEST"
+jar -xf "$JAR" BOOT-INF/lib BOOT-INF/classes
+mv BOOT-INF/lib/*.jar lib/
+jar cf lib/food-rescue-app.jar -C BOOT-INF/classes .
+rm -rf BOOT-INF
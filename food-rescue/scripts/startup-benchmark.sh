@@ -0,0 +1,65 @@
+#!/bin/bash
+
+# Compara o tempo de startup (JVM até "Started FoodRescueApplication") entre os modos:
+#   fat-jar    java -jar (como era a imagem antes)
+#   exploded   jars desempacotados, JVM padrão
+#   lazy       exploded + lazy initialization
+#   cds        exploded + arquivo AppCDS
+#   faststart  exploded + AppCDS + AOT + lazy (o que FAST_START=true liga no container)
+#
+# Uso (em food-rescue/): scripts/startup-benchmark.sh [execuções por modo]
+# Usa o perfil padrão (H2 em memória), então não precisa de Postgres/Redis.
+
+set -e
+
+RUNS="${1:-5}"
+cd "$(dirname "$0")/.."
+WORK=target/startup-benchmark
+MAIN=com.EcoBite.foodrescue.FoodRescueApplication
+
+echo "Building with AOT (mvn -Pfaststart package)..."
+mvn -B -q clean package -Pfaststart -DskipTests > /dev/null
+
+scripts/extract-jar.sh target/food-rescue-0.1.0.jar "$WORK"
+
+echo "Training run for the AppCDS archive..."
+java -XX:ArchiveClassesAtExit="$WORK/food-rescue.jsa" -Dspring.context.exit=onRefresh \
+    -Dspring.aot.enabled=true -cp "$WORK/lib/*" "$MAIN" > "$WORK/training.log" 2>&1
+
+# Sobe a aplicação, espera o "Started" e devolve o uptime da JVM em segundos
+measure() {
+    local log="$WORK/run.log"
+    "$@" --server.port=0 > "$log" 2>&1 &
+    local pid=$!
+    until grep -q "Started FoodRescueApplication" "$log"; do
+        if ! kill -0 "$pid" 2> /dev/null; then
+            echo "startup failed, see $log" >&2
+            exit 1
+        fi
+        sleep 0.2
+    done
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+    sed -n 's/.*process running for \([0-9.]*\)).*/\1/p' "$log"
+}
+
+bench() {
+    local mode="$1"
+    shift
+    local times=()
+    for _ in $(seq "$RUNS"); do
+        times+=("$(measure "$@")")
+    done
+    local median
+    median=$(printf '%s\n' "${times[@]}" | sort -n | awk '{a[NR]=$1} END {print a[int((NR+1)/2)]}')
+    printf '%-10s median %6.2fs   runs: %s\n' "$mode" "$median" "${times[*]}"
+}
+
+CP="$WORK/lib/*"
+echo
+bench fat-jar   java -jar target/food-rescue-0.1.0.jar
+bench exploded  java -cp "$CP" "$MAIN"
+bench lazy      java -Dspring.main.lazy-initialization=true -cp "$CP" "$MAIN"
+bench cds       java -XX:SharedArchiveFile="$WORK/food-rescue.jsa" -cp "$CP" "$MAIN"
+bench faststart java -XX:SharedArchiveFile="$WORK/food-rescue.jsa" -Dspring.aot.enabled=true \
+                     -Dspring.main.lazy-initialization=true -cp "$CP" "$MAIN"
@@ -0,0 +1,86 @@
+package com.EcoBite.foodrescue.admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Controle de admissão: acima do limite da faixa responde {@code 503} na hora,
+ * em vez de deixar a requisição esperar na fila do Tomcat e do pool de conexões.
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private final AdmissionLimiter limiter;
+    private final List<AdmissionRoute> routes;
+    private final Lane defaultLane;
+    private final Map<Lane, Counter> rejected = new EnumMap<>(Lane.class);
+
+    public AdmissionControlFilter(AdmissionLimiter limiter, List<AdmissionRoute> routes, Lane defaultLane,
+                                  MeterRegistry registry) {
+        this.limiter = limiter;
+        this.routes = routes;
+        this.defaultLane = defaultLane;
+        for (Lane lane : Lane.values()) {
+            rejected.put(lane, Counter.builder("foodrescue.admission.rejected")
+                    .description("Requisições recusadas pelo limite de concorrência")
+                    .tag("lane", lane.tag())
+                    .register(registry));
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Lane lane = laneOf(request);
+        if (lane == Lane.EXEMPT) {
+            chain.doFilter(request, response);
+            return;
+        }
+        AdmissionLimiter.Permit permit = limiter.tryAcquire(lane, System.nanoTime());
+        if (permit == null) {
+            reject(response, lane);
+            return;
+        }
+        boolean completed = false;
+        try {
+            chain.doFilter(request, response);
+            completed = true;
+        } finally {
+            permit.release(System.nanoTime(), completed);
+        }
+    }
+
+    Lane laneOf(HttpServletRequest request) {
+        String method = request.getMethod();
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        for (AdmissionRoute route : routes) {
+            if (route.matches(method, path)) {
+                return route.getLane();
+            }
+        }
+        return defaultLane;
+    }
+
+    private void reject(HttpServletResponse response, Lane lane) throws IOException {
+        rejected.get(lane).increment();
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.getWriter().write("{\"error\":\"Service Unavailable\",\"lane\":\"" + lane.tag()
+                + "\",\"retryAfterSeconds\":1}");
+    }
+}
@@ -0,0 +1,73 @@
+package com.EcoBite.foodrescue.admission;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Conta as requisições em andamento e decide a entrada de cada uma conforme a
+ * faixa e o limite atual do {@link GradientLimit}.
+ */
+public class AdmissionLimiter {
+
+    private final GradientLimit limit;
+    private final Map<Lane, Double> shares = new EnumMap<>(Lane.class);
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public AdmissionLimiter(GradientLimit limit, Map<Lane, Double> overrides) {
+        this.limit = limit;
+        for (Lane lane : Lane.values()) {
+            double share = overrides.getOrDefault(lane, lane.getDefaultShare());
+            if (share <= 0 || share > 1) {
+                throw new IllegalArgumentException("Invalid share for lane " + lane.tag());
+            }
+            shares.put(lane, share);
+        }
+    }
+
+    public int getLimit() {
+        return limit.getLimit();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Tenta entrar; retorna {@code null} se a faixa já ocupou sua parte do limite.
+     * A faixa sempre tem ao menos uma vaga, para não ficar bloqueada com limites baixos.
+     */
+    public Permit tryAcquire(Lane lane, long now) {
+        int allowed = Math.max(1, (int) (limit.getLimit() * shares.get(lane)));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return null;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return new Permit(now, current + 1);
+            }
+        }
+    }
+
+    /**
+     * Vaga ocupada por uma requisição. Deve ser liberada uma única vez.
+     */
+    public class Permit {
+        private final long start;
+        private final int inFlightAtStart;
+
+        private Permit(long start, int inFlightAtStart) {
+            this.start = start;
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        /** Libera a vaga; só requisições concluídas normalmente alimentam o limite. */
+        public void release(long now, boolean sample) {
+            inFlight.decrementAndGet();
+            if (sample) {
+                limit.onSample(now, now - start, inFlightAtStart);
+            }
+        }
+    }
+}
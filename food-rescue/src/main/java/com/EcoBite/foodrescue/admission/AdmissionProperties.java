@@ -0,0 +1,69 @@
+package com.EcoBite.foodrescue.admission;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Limite adaptativo de concorrência ({@code app.admission.*}). Rotas sem regra
+ * caem em {@code default-lane}.
+ */
+@ConfigurationProperties(prefix = "app.admission")
+public class AdmissionProperties {
+
+    private int initialLimit = 20;
+    private int minLimit = 4;
+    /** Não adianta passar do número de threads do Tomcat. */
+    private int maxLimit = 200;
+    /** Quanto o RTT recente pode passar da média longa antes de o limite encolher. */
+    private double tolerance = 1.5;
+    /** Peso de cada ajuste no limite, entre 0 e 1. */
+    private double smoothing = 0.2;
+    /** Intervalo mínimo entre ajustes do limite. */
+    private Duration window = Duration.ofMillis(100);
+    /** De quanto em quanto tempo o RTT sem fila é medido de novo. */
+    private Duration probe = Duration.ofSeconds(30);
+    private Lane defaultLane = Lane.NORMAL;
+    /** Fração do limite por faixa; ausente = padrão da {@link Lane}. */
+    private Map<Lane, Double> shares = new EnumMap<>(Lane.class);
+    private List<Route> routes = new ArrayList<>();
+
+    public static class Route {
+        private Lane lane;
+        /** Método HTTP; vazio = qualquer um. */
+        private String method;
+        private String path;
+
+        public Lane getLane() { return lane; }
+        public void setLane(Lane lane) { this.lane = lane; }
+        public String getMethod() { return method; }
+        public void setMethod(String method) { this.method = method; }
+        public String getPath() { return path; }
+        public void setPath(String path) { this.path = path; }
+    }
+
+    public int getInitialLimit() { return initialLimit; }
+    public void setInitialLimit(int initialLimit) { this.initialLimit = initialLimit; }
+    public int getMinLimit() { return minLimit; }
+    public void setMinLimit(int minLimit) { this.minLimit = minLimit; }
+    public int getMaxLimit() { return maxLimit; }
+    public void setMaxLimit(int maxLimit) { this.maxLimit = maxLimit; }
+    public double getTolerance() { return tolerance; }
+    public void setTolerance(double tolerance) { this.tolerance = tolerance; }
+    public double getSmoothing() { return smoothing; }
+    public void setSmoothing(double smoothing) { this.smoothing = smoothing; }
+    public Duration getWindow() { return window; }
+    public void setWindow(Duration window) { this.window = window; }
+    public Duration getProbe() { return probe; }
+    public void setProbe(Duration probe) { this.probe = probe; }
+    public Lane getDefaultLane() { return defaultLane; }
+    public void setDefaultLane(Lane defaultLane) { this.defaultLane = defaultLane; }
+    public Map<Lane, Double> getShares() { return shares; }
+    public void setShares(Map<Lane, Double> shares) { this.shares = shares; }
+    public List<Route> getRoutes() { return routes; }
+    public void setRoutes(List<Route> routes) { this.routes = routes; }
+}
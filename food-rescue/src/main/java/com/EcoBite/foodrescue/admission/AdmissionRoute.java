@@ -0,0 +1,34 @@
+package com.EcoBite.foodrescue.admission;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.Locale;
+
+/**
+ * Associa método e padrão de caminho a uma {@link Lane}.
+ */
+public class AdmissionRoute {
+
+    private final Lane lane;
+    private final String method;
+    private final PathPattern pattern;
+
+    public AdmissionRoute(Lane lane, String method, String path) {
+        if (lane == null || path == null || path.isBlank()) {
+            throw new IllegalArgumentException("Admission route needs lane and path");
+        }
+        this.lane = lane;
+        this.method = method == null || method.isBlank() ? null : method.toUpperCase(Locale.ROOT);
+        this.pattern = PathPatternParser.defaultInstance.parse(path);
+    }
+
+    public Lane getLane() {
+        return lane;
+    }
+
+    public boolean matches(String requestMethod, PathContainer path) {
+        return (method == null || method.equals(requestMethod)) && pattern.matches(path);
+    }
+}
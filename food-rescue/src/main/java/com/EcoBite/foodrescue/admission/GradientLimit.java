@@ -0,0 +1,121 @@
+package com.EcoBite.foodrescue.admission;
+
+/**
+ * Limite de concorrência aprendido pela latência (estilo gradiente/Vegas).
+ * <p>
+ * A cada janela compara o RTT médio recente com o menor RTT visto (a latência
+ * "sem fila"): {@code gradiente = clamp(tolerância * semFila / recente, 0.5, 1)} e
+ * {@code novo = limite * gradiente + sqrt(limite)}, suavizado. Enquanto a latência
+ * não sobe o limite cresce devagar; quando as requisições começam a enfileirar
+ * (no pool do banco, por exemplo) o RTT recente sobe e o limite encolhe até a fila sumir.
+ * Janelas em que o limite nem foi usado pela metade não aumentam o limite.
+ * <p>
+ * Sob carga contínua o RTT nunca volta ao valor sem fila, então a cada
+ * {@code probe} o limite cai ao mínimo por duas janelas para medir de novo
+ * (a primeira só esvazia a fila). Assim o RTT de referência acompanha o banco
+ * ficando mais lento ou mais rápido sem aceitar a própria fila como normal.
+ */
+public class GradientLimit {
+
+    private static final int MIN_SAMPLES = 10;
+    private static final int PROBE_WINDOWS = 2;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final long windowNanos;
+    private final long probeNanos;
+
+    private volatile double limit;
+    private double noLoadRtt;
+    private long nextProbe;
+    private int probing;
+    private double limitBeforeProbe;
+
+    private long windowStart;
+    private int samples;
+    private long rttSum;
+    private int maxInFlight;
+
+    public GradientLimit(int initialLimit, int minLimit, int maxLimit, double tolerance, double smoothing,
+                         long windowNanos, long probeNanos, long now) {
+        if (minLimit < 1 || maxLimit < minLimit || tolerance < 1 || smoothing <= 0 || smoothing > 1
+                || windowNanos <= 0 || probeNanos < windowNanos) {
+            throw new IllegalArgumentException("Invalid adaptive limit configuration");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.windowNanos = windowNanos;
+        this.probeNanos = probeNanos;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.windowStart = now;
+        this.nextProbe = now + probeNanos;
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    /** RTT de referência em nanos; 0 antes da primeira janela. */
+    public synchronized long getNoLoadRttNanos() {
+        return (long) noLoadRtt;
+    }
+
+    /**
+     * Registra uma requisição concluída: {@code inFlight} é quantas estavam em
+     * andamento quando ela entrou.
+     */
+    public synchronized void onSample(long now, long rttNanos, int inFlight) {
+        samples++;
+        rttSum += rttNanos;
+        maxInFlight = Math.max(maxInFlight, inFlight);
+        if (now - windowStart < windowNanos || samples < MIN_SAMPLES) {
+            return;
+        }
+        double shortRtt = (double) rttSum / samples;
+        int used = maxInFlight;
+        windowStart = now;
+        samples = 0;
+        rttSum = 0;
+        maxInFlight = 0;
+        update(now, shortRtt, used);
+    }
+
+    private void update(long now, double shortRtt, int used) {
+        if (probing > 0) {
+            if (--probing == 0) {
+                noLoadRtt = shortRtt;
+                limit = limitBeforeProbe;
+                nextProbe = now + probeNanos;
+            }
+            return;
+        }
+        double current = limit;
+        boolean appLimited = used < current / 2;
+        if (now - nextProbe >= 0) {
+            if (appLimited) {
+                // pouca carga: a janela já é uma medida sem fila
+                noLoadRtt = shortRtt;
+                nextProbe = now + probeNanos;
+            } else {
+                limitBeforeProbe = current;
+                limit = minLimit;
+                probing = PROBE_WINDOWS;
+            }
+            return;
+        }
+        if (noLoadRtt == 0 || shortRtt < noLoadRtt) {
+            noLoadRtt = shortRtt;
+        }
+        if (appLimited) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * noLoadRtt / shortRtt));
+        double target = current * gradient + Math.sqrt(current);
+        double next = current * (1 - smoothing) + target * smoothing;
+        limit = Math.max(minLimit, Math.min(maxLimit, next));
+    }
+}
@@ -0,0 +1,34 @@
+package com.EcoBite.foodrescue.admission;
+
+import java.util.Locale;
+
+/**
+ * Faixa de prioridade de uma rota. Cada faixa só entra enquanto o número de
+ * requisições em andamento estiver abaixo da sua fração do limite, então sob
+ * carga as listagens são recusadas antes das escritas e do health check.
+ */
+public enum Lane {
+    CRITICAL(1.0),
+    HIGH(0.9),
+    NORMAL(0.75),
+    BULK(0.5),
+    /**
+     * Rotas longas (importação, verificação do log inteiro): não contam nas vagas nem
+     * alimentam o RTT, que com segundos por requisição derrubaria o limite de todas as faixas.
+     */
+    EXEMPT(1.0);
+
+    private final double defaultShare;
+
+    Lane(double defaultShare) {
+        this.defaultShare = defaultShare;
+    }
+
+    public double getDefaultShare() {
+        return defaultShare;
+    }
+
+    public String tag() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,152 @@
+package com.EcoBite.foodrescue.analytics;
+
+import com.EcoBite.foodrescue.config.MetricsConfig;
+import com.EcoBite.foodrescue.dto.TimeSeriesResponse;
+import com.EcoBite.foodrescue.geo.Geohash;
+import com.EcoBite.foodrescue.model.Offer;
+import com.EcoBite.foodrescue.model.OfferStatus;
+import com.EcoBite.foodrescue.repository.OfferRepository;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Séries temporais de ofertas encerradas, lidas só dos agregados: o custo depende do
+ * número de intervalos pedidos, não do histórico de ofertas. Os agregados são mantidos
+ * pelo {@link OfferRollupListener}; na primeira subida com a tabela vazia, as ofertas já
+ * encerradas são somadas uma vez.
+ */
+@Service
+@Lazy(false)
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true, percentiles = {0.5, 0.95, 0.99})
+public class AnalyticsService {
+    private static final Logger log = LoggerFactory.getLogger(AnalyticsService.class);
+
+    /** Pontos por resposta; acima disso, peça uma granularidade maior. */
+    static final int MAX_POINTS = 2000;
+
+    private final OfferRollupStore store;
+    private final OfferRepository offers;
+
+    public AnalyticsService(OfferRollupStore store, OfferRepository offers) {
+        this.store = store;
+        this.offers = offers;
+    }
+
+    public TimeSeriesResponse timeSeries(LocalDateTime from, LocalDateTime to, RollupGranularity granularity,
+                                         String region) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("from deve ser anterior a to");
+        }
+        if (region != null && !Geohash.isValid(region)) {
+            throw new IllegalArgumentException("Região deve ser um prefixo geohash: " + region);
+        }
+        LocalDateTime start = granularity.truncate(from);
+        Map<LocalDateTime, Bucket> buckets = new LinkedHashMap<>();
+        for (LocalDateTime b = start; b.isBefore(to); b = granularity.next(b)) {
+            if (buckets.size() == MAX_POINTS) {
+                throw new IllegalArgumentException("Intervalo longo demais para " + granularity.name().toLowerCase(Locale.ROOT)
+                        + " (máximo " + MAX_POINTS + " pontos)");
+            }
+            buckets.put(b, new Bucket());
+        }
+
+        // região maior que a célula: soma as células; menor: não existe, usa a célula inteira
+        String prefix = region == null ? null
+                : region.substring(0, Math.min(region.length(), OfferRollupStore.CELL_PRECISION));
+        for (OfferRollupStore.Row row : store.query(granularity.stored(), start, to, prefix)) {
+            Bucket bucket = buckets.get(granularity.truncate(row.bucketStart));
+            if (bucket != null) {
+                bucket.add(row);
+            }
+        }
+
+        TimeSeriesResponse response = new TimeSeriesResponse();
+        response.setGranularity(granularity.name().toLowerCase(Locale.ROOT));
+        response.setRegion(prefix);
+        response.setFrom(start.toString());
+        response.setTo(to.toString());
+        buckets.forEach((bucketStart, bucket) -> response.getPoints().add(bucket.toPoint(bucketStart)));
+        return response;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        try {
+            if (!store.isEmpty()) {
+                return;
+            }
+            int applied = 0;
+            for (OfferStatus status : new OfferStatus[]{OfferStatus.DELIVERED, OfferStatus.CANCELLED}) {
+                for (Offer offer : offers.findByStatus(status)) {
+                    if (applyQuietly(OfferOutcome.of(offer))) {
+                        applied++;
+                    }
+                }
+            }
+            if (applied > 0) {
+                log.info("Agregados de ofertas preenchidos com {} ofertas já encerradas", applied);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Falha ao preencher os agregados de ofertas: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "${app.analytics.ledger-prune-cron:0 30 3 * * *}")
+    public void pruneLedger() {
+        int removed = store.pruneLedger(LocalDateTime.now().minusDays(7));
+        log.debug("{} entradas antigas removidas do ledger de agregados", removed);
+    }
+
+    private boolean applyQuietly(OfferOutcome outcome) {
+        try {
+            return store.apply(outcome);
+        } catch (DataAccessException e) {
+            // outra instância somou a mesma oferta ao mesmo tempo
+            return false;
+        }
+    }
+
+    private static final class Bucket {
+        long delivered;
+        long cancelled;
+        long portionsRescued;
+        long portionsCancelled;
+        final long[] latency = new long[LatencyBins.COUNT];
+
+        void add(OfferRollupStore.Row row) {
+            if (OfferStatus.DELIVERED.name().equals(row.outcome)) {
+                delivered += row.offers;
+                portionsRescued += row.portions;
+                if (row.latencyBin != LatencyBins.NONE) {
+                    latency[row.latencyBin] += row.offers;
+                }
+            } else {
+                cancelled += row.offers;
+                portionsCancelled += row.portions;
+            }
+        }
+
+        TimeSeriesResponse.Point toPoint(LocalDateTime bucketStart) {
+            TimeSeriesResponse.Point point = new TimeSeriesResponse.Point();
+            point.setBucketStart(bucketStart.toString());
+            point.setDelivered(delivered);
+            point.setCancelled(cancelled);
+            point.setPortionsRescued(portionsRescued);
+            point.setPortionsCancelled(portionsCancelled);
+            point.setMedianPickupMinutes(LatencyBins.median(latency));
+            return point;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.EcoBite.foodrescue.analytics;
+
+import java.time.Duration;
+
+/**
+ * Faixas fixas de latência de retirada (em minutos, escala aproximadamente logarítmica).
+ * Cada agregado guarda contagens por faixa; somar contagens de vários intervalos e tirar a
+ * mediana dá o mesmo resultado que tirar a mediana de todas as ofertas, com erro limitado
+ * à largura da faixa.
+ */
+public final class LatencyBins {
+
+    /** Oferta sem latência (cancelada ou sem horário de retirada). */
+    public static final int NONE = -1;
+
+    /** Limite superior (exclusivo) de cada faixa; a última faixa é aberta. */
+    private static final long[] UPPER_MINUTES = {
+            5, 10, 15, 20, 30, 45, 60, 90, 120, 180, 240, 360, 480, 720, 960, 1440, 2160, 2880, 4320
+    };
+
+    public static final int COUNT = UPPER_MINUTES.length + 1;
+
+    private LatencyBins() {
+    }
+
+    public static int bin(Duration latency) {
+        if (latency == null || latency.isNegative()) {
+            return NONE;
+        }
+        long minutes = latency.toMinutes();
+        for (int i = 0; i < UPPER_MINUTES.length; i++) {
+            if (minutes < UPPER_MINUTES[i]) {
+                return i;
+            }
+        }
+        return UPPER_MINUTES.length;
+    }
+
+    /**
+     * Mediana interpolada dentro da faixa que contém o elemento do meio.
+     *
+     * @return minutos, ou {@code null} sem nenhuma contagem
+     */
+    public static Double median(long[] counts) {
+        long total = 0;
+        for (long c : counts) {
+            total += c;
+        }
+        if (total == 0) {
+            return null;
+        }
+        double half = total / 2.0;
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                continue;
+            }
+            if (seen + counts[i] >= half) {
+                double lower = i == 0 ? 0 : UPPER_MINUTES[i - 1];
+                // faixa aberta: sem interpolar, devolve o limite inferior
+                if (i == UPPER_MINUTES.length) {
+                    return lower;
+                }
+                double fraction = (half - seen) / counts[i];
+                return lower + fraction * (UPPER_MINUTES[i] - lower);
+            }
+            seen += counts[i];
+        }
+        return null;
+    }
+}
@@ -0,0 +1,69 @@
+package com.EcoBite.foodrescue.analytics;
+
+import com.EcoBite.foodrescue.model.Offer;
+import com.EcoBite.foodrescue.model.OfferStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Encerramento de uma oferta (DELIVERED ou CANCELLED), o fato somado nos agregados.
+ * A latência de retirada vai da criação até o voluntário retirar (IN_TRANSIT, ou a
+ * entrega quando a oferta pulou essa etapa).
+ */
+public class OfferOutcome {
+    private final String offerId;
+    private final OfferStatus outcome;
+    private final LocalDateTime at;
+    private final double latitude;
+    private final double longitude;
+    private final int portions;
+    private final Duration pickupLatency;
+
+    public OfferOutcome(String offerId, OfferStatus outcome, LocalDateTime at, double latitude, double longitude,
+                        int portions, Duration pickupLatency) {
+        if (outcome != OfferStatus.DELIVERED && outcome != OfferStatus.CANCELLED) {
+            throw new IllegalArgumentException("Oferta não encerrada: " + outcome);
+        }
+        this.offerId = offerId;
+        this.outcome = outcome;
+        this.at = at;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.portions = portions;
+        this.pickupLatency = pickupLatency;
+    }
+
+    /**
+     * Para ofertas já encerradas no banco. Cancelamento não tem horário gravado: usa o
+     * limite de retirada, ou a criação.
+     */
+    public static OfferOutcome of(Offer offer) {
+        LocalDateTime at;
+        Duration latency = null;
+        if (offer.getStatus() == OfferStatus.DELIVERED) {
+            at = offer.getDeliveredAt() != null ? offer.getDeliveredAt() : offer.getCreatedAt();
+            latency = pickupLatency(offer.getCreatedAt(), offer.getInTransitAt(), offer.getDeliveredAt());
+        } else {
+            at = offer.getPickupBy() != null ? offer.getPickupBy() : offer.getCreatedAt();
+        }
+        return new OfferOutcome(offer.getId(), offer.getStatus(), at, offer.getLatitude(), offer.getLongitude(),
+                offer.getPortions(), latency);
+    }
+
+    public static Duration pickupLatency(LocalDateTime createdAt, LocalDateTime inTransitAt, LocalDateTime deliveredAt) {
+        LocalDateTime pickedUp = inTransitAt != null ? inTransitAt : deliveredAt;
+        if (createdAt == null || pickedUp == null || pickedUp.isBefore(createdAt)) {
+            return null;
+        }
+        return Duration.between(createdAt, pickedUp);
+    }
+
+    public String getOfferId() { return offerId; }
+    public OfferStatus getOutcome() { return outcome; }
+    public LocalDateTime getAt() { return at; }
+    public double getLatitude() { return latitude; }
+    public double getLongitude() { return longitude; }
+    public int getPortions() { return portions; }
+    public Duration getPickupLatency() { return pickupLatency; }
+}
@@ -0,0 +1,59 @@
+package com.EcoBite.foodrescue.analytics;
+
+import com.EcoBite.foodrescue.model.OfferStatus;
+import com.EcoBite.foodrescue.outbox.OfferEvents;
+import com.EcoBite.foodrescue.outbox.OutboxListener;
+import com.EcoBite.foodrescue.outbox.OutboxMessage;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Soma cada oferta nos agregados quando ela chega a DELIVERED ou CANCELLED. Vem da
+ * outbox, então a transição já foi confirmada e a requisição não paga a atualização.
+ */
+@Component
+public class OfferRollupListener implements OutboxListener {
+
+    private final OfferRollupStore store;
+
+    public OfferRollupListener(OfferRollupStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public boolean accepts(String eventType) {
+        return OfferEvents.STATUS_CHANGED.equals(eventType);
+    }
+
+    @Override
+    public void on(OutboxMessage message) {
+        Map<String, Object> payload = message.getPayload();
+        OfferStatus status = OfferStatus.valueOf((String) payload.get("status"));
+        if (status != OfferStatus.DELIVERED && status != OfferStatus.CANCELLED) {
+            return;
+        }
+        // eventos gravados antes dos agregados não trazem a oferta; a carga inicial cobre esses
+        if (payload.get("latitude") == null) {
+            return;
+        }
+        LocalDateTime changedAt = time(payload, "changedAt");
+        store.apply(new OfferOutcome(
+                message.getAggregateId(),
+                status,
+                changedAt != null ? changedAt : message.getCreatedAt(),
+                ((Number) payload.get("latitude")).doubleValue(),
+                ((Number) payload.get("longitude")).doubleValue(),
+                ((Number) payload.get("portions")).intValue(),
+                status == OfferStatus.DELIVERED
+                        ? OfferOutcome.pickupLatency(time(payload, "createdAt"), time(payload, "inTransitAt"),
+                                time(payload, "deliveredAt"))
+                        : null));
+    }
+
+    private static LocalDateTime time(Map<String, Object> payload, String key) {
+        Object value = payload.get(key);
+        return value != null ? LocalDateTime.parse((String) value) : null;
+    }
+}
@@ -0,0 +1,128 @@
+package com.EcoBite.foodrescue.analytics;
+
+import com.EcoBite.foodrescue.geo.Geohash;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Tabelas {@code offer_rollups} e {@code offer_rollup_ledger} via JDBC. Cada encerramento
+ * soma uma linha por granularidade gravada (hora e dia); o ledger, na mesma transação,
+ * garante que a mesma oferta não conta duas vezes.
+ */
+@Component
+public class OfferRollupStore {
+
+    /** Células de ~4,9 km; regiões maiores são prefixos. */
+    public static final int CELL_PRECISION = 5;
+
+    private static final RollupGranularity[] STORED = {RollupGranularity.HOUR, RollupGranularity.DAY};
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+
+    public OfferRollupStore(NamedParameterJdbcTemplate jdbc, PlatformTransactionManager transactionManager) {
+        this.jdbc = jdbc;
+        this.tx = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * @return false se a oferta já tinha sido somada
+     */
+    public boolean apply(OfferOutcome outcome) {
+        Boolean applied = tx.execute(s -> {
+            MapSqlParameterSource offer = new MapSqlParameterSource("offerId", outcome.getOfferId());
+            Integer seen = jdbc.queryForObject(
+                    "SELECT COUNT(*) FROM offer_rollup_ledger WHERE offer_id = :offerId", offer, Integer.class);
+            if (seen != null && seen > 0) {
+                return false;
+            }
+            // a outbox entrega uma oferta por vez, então só um relay chega aqui por oferta
+            jdbc.update("INSERT INTO offer_rollup_ledger (offer_id, applied_at) VALUES (:offerId, :now)",
+                    offer.addValue("now", Timestamp.valueOf(LocalDateTime.now())));
+            for (RollupGranularity granularity : STORED) {
+                increment(granularity, outcome);
+            }
+            return true;
+        });
+        return Boolean.TRUE.equals(applied);
+    }
+
+    /**
+     * Soma; a linha é criada no primeiro encerramento do intervalo. Se outra instância criar
+     * a mesma linha no meio, o INSERT falha com chave duplicada e a transação inteira volta
+     * para a outbox, que tenta de novo.
+     */
+    private void increment(RollupGranularity granularity, OfferOutcome outcome) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("granularity", granularity.name())
+                .addValue("bucketStart", Timestamp.valueOf(granularity.truncate(outcome.getAt())))
+                .addValue("cell", Geohash.encode(outcome.getLatitude(), outcome.getLongitude(), CELL_PRECISION))
+                .addValue("outcome", outcome.getOutcome().name())
+                .addValue("latencyBin", LatencyBins.bin(outcome.getPickupLatency()))
+                .addValue("portions", outcome.getPortions());
+        int updated = jdbc.update("UPDATE offer_rollups SET offers = offers + 1, portions = portions + :portions "
+                + "WHERE granularity = :granularity AND bucket_start = :bucketStart AND cell = :cell "
+                + "AND outcome = :outcome AND latency_bin = :latencyBin", params);
+        if (updated == 0) {
+            jdbc.update("INSERT INTO offer_rollups (granularity, bucket_start, cell, outcome, latency_bin, offers, portions) "
+                    + "VALUES (:granularity, :bucketStart, :cell, :outcome, :latencyBin, 1, :portions)", params);
+        }
+    }
+
+    /**
+     * Linhas da granularidade gravada no intervalo {@code [from, to)}, já somadas entre as
+     * células da região. Usa o prefixo da chave primária (granularity, bucket_start).
+     */
+    public List<Row> query(RollupGranularity stored, LocalDateTime from, LocalDateTime to, String regionPrefix) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("granularity", stored.name())
+                .addValue("from", Timestamp.valueOf(from))
+                .addValue("to", Timestamp.valueOf(to));
+        String region = "";
+        if (regionPrefix != null) {
+            region = " AND cell LIKE :region";
+            params.addValue("region", regionPrefix + "%");
+        }
+        return jdbc.query("SELECT bucket_start, outcome, latency_bin, SUM(offers) AS offers, SUM(portions) AS portions "
+                        + "FROM offer_rollups WHERE granularity = :granularity "
+                        + "AND bucket_start >= :from AND bucket_start < :to" + region
+                        + " GROUP BY bucket_start, outcome, latency_bin ORDER BY bucket_start",
+                params, (rs, i) -> new Row(rs.getTimestamp("bucket_start").toLocalDateTime(), rs.getString("outcome"),
+                        rs.getInt("latency_bin"), rs.getLong("offers"), rs.getLong("portions")));
+    }
+
+    public boolean isEmpty() {
+        Integer rows = jdbc.getJdbcTemplate().queryForObject(
+                "SELECT COUNT(*) FROM (SELECT 1 FROM offer_rollups FETCH FIRST 1 ROWS ONLY) r", Integer.class);
+        return rows == null || rows == 0;
+    }
+
+    /** Reentregas acontecem em minutos; o ledger não precisa guardar o histórico todo. */
+    public int pruneLedger(LocalDateTime before) {
+        return jdbc.update("DELETE FROM offer_rollup_ledger WHERE applied_at < :before",
+                new MapSqlParameterSource("before", Timestamp.valueOf(before)));
+    }
+
+    public static class Row {
+        final LocalDateTime bucketStart;
+        final String outcome;
+        final int latencyBin;
+        final long offers;
+        final long portions;
+
+        Row(LocalDateTime bucketStart, String outcome, int latencyBin, long offers, long portions) {
+            this.bucketStart = bucketStart;
+            this.outcome = outcome;
+            this.latencyBin = latencyBin;
+            this.offers = offers;
+            this.portions = portions;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.EcoBite.foodrescue.analytics;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Granularidade da série. Só hora e dia são gravados; semana e mês são somados dos dias
+ * na consulta (no máximo algumas centenas de linhas por ano).
+ */
+public enum RollupGranularity {
+    HOUR,
+    DAY,
+    WEEK,
+    MONTH;
+
+    /** Granularidade gravada em {@code offer_rollups} que alimenta esta. */
+    public RollupGranularity stored() {
+        return this == HOUR ? HOUR : DAY;
+    }
+
+    public LocalDateTime truncate(LocalDateTime at) {
+        switch (this) {
+            case HOUR:
+                return at.truncatedTo(ChronoUnit.HOURS);
+            case DAY:
+                return at.truncatedTo(ChronoUnit.DAYS);
+            case WEEK:
+                return at.truncatedTo(ChronoUnit.DAYS).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            default:
+                return at.truncatedTo(ChronoUnit.DAYS).withDayOfMonth(1);
+        }
+    }
+
+    public LocalDateTime next(LocalDateTime bucketStart) {
+        switch (this) {
+            case HOUR:
+                return bucketStart.plusHours(1);
+            case DAY:
+                return bucketStart.plusDays(1);
+            case WEEK:
+                return bucketStart.plusWeeks(1);
+            default:
+                return bucketStart.plusMonths(1);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.EcoBite.foodrescue.archive;
+
+import com.EcoBite.foodrescue.model.Claim;
+import com.EcoBite.foodrescue.model.Offer;
+import com.EcoBite.foodrescue.model.OfferStatus;
+import com.EcoBite.foodrescue.repository.OfferRows;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Tabelas {@code offers_archive} e {@code claims_archive} via JDBC. O arquivamento copia e
+ * apaga um lote na mesma transação, com as linhas travadas por {@code SKIP LOCKED}: duas
+ * instâncias arquivando ao mesmo tempo pegam lotes diferentes.
+ */
+@Component
+public class OfferArchiveStore {
+
+    /** Encerramento: entrega; cancelada e expirada não guardam o instante, vale o prazo de retirada. */
+    static final String CLOSED_AT = "COALESCE(delivered_at, pickup_by, created_at)";
+
+    private static final String CLAIM_COLUMNS = "id, offer_id, volunteer_name, volunteer_contact, reserved_at, expired_at";
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+
+    public OfferArchiveStore(NamedParameterJdbcTemplate jdbc, PlatformTransactionManager transactionManager) {
+        this.jdbc = jdbc;
+        this.tx = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Move até {@code limit} ofertas encerradas antes de {@code cutoff}, com as reservas.
+     *
+     * @return quantas ofertas foram movidas
+     */
+    public int archiveBatch(LocalDateTime cutoff, int limit) {
+        Integer moved = tx.execute(s -> {
+            List<String> ids = jdbc.queryForList("SELECT id FROM offers WHERE status IN ('DELIVERED', 'CANCELLED', 'EXPIRED')"
+                    + " AND " + CLOSED_AT + " < :cutoff LIMIT :limit FOR UPDATE SKIP LOCKED",
+                    new MapSqlParameterSource("cutoff", Timestamp.valueOf(cutoff)).addValue("limit", limit),
+                    String.class);
+            if (ids.isEmpty()) {
+                return 0;
+            }
+            MapSqlParameterSource params = new MapSqlParameterSource("ids", ids)
+                    .addValue("now", Timestamp.valueOf(LocalDateTime.now()));
+            jdbc.update("INSERT INTO offers_archive (" + OfferRows.COLUMNS + ", closed_at, archived_at) SELECT "
+                    + OfferRows.COLUMNS + ", " + CLOSED_AT + ", :now FROM offers WHERE id IN (:ids)", params);
+            jdbc.update("INSERT INTO claims_archive (" + CLAIM_COLUMNS + ", archived_at) SELECT "
+                    + CLAIM_COLUMNS + ", :now FROM claims WHERE offer_id IN (:ids)", params);
+            jdbc.update("DELETE FROM claims WHERE offer_id IN (:ids)", params);
+            jdbc.update("DELETE FROM offers WHERE id IN (:ids)", params);
+            return ids.size();
+        });
+        return moved != null ? moved : 0;
+    }
+
+    public Optional<Offer> findOffer(String id) {
+        return jdbc.query("SELECT " + OfferRows.COLUMNS + " FROM offers_archive WHERE id = :id",
+                new MapSqlParameterSource("id", id), OfferRows.OFFER).stream().findFirst();
+    }
+
+    /**
+     * Ofertas encerradas em {@code [from, to)}, das mais recentes para as mais antigas.
+     */
+    public List<Offer> findOffersClosedBetween(LocalDateTime from, LocalDateTime to, int limit) {
+        return jdbc.query("SELECT " + OfferRows.COLUMNS + " FROM offers_archive WHERE closed_at >= :from AND closed_at < :to"
+                        + " ORDER BY closed_at DESC LIMIT :limit",
+                new MapSqlParameterSource("from", Timestamp.valueOf(from))
+                        .addValue("to", Timestamp.valueOf(to))
+                        .addValue("limit", limit), OfferRows.OFFER);
+    }
+
+    public List<Claim> findClaims(String offerId) {
+        return jdbc.query("SELECT " + CLAIM_COLUMNS + " FROM claims_archive WHERE offer_id = :offerId",
+                new MapSqlParameterSource("offerId", offerId), CLAIM);
+    }
+
+    public Map<OfferStatus, Long> countByStatus() {
+        Map<OfferStatus, Long> counts = new EnumMap<>(OfferStatus.class);
+        jdbc.query("SELECT status, COUNT(*) AS n FROM offers_archive GROUP BY status", rs -> {
+            counts.put(OfferStatus.valueOf(rs.getString("status")), rs.getLong("n"));
+        });
+        return counts;
+    }
+
+    private static final RowMapper<Claim> CLAIM = (rs, n) -> {
+        Claim claim = new Claim();
+        claim.setId(rs.getString("id"));
+        claim.setOfferId(rs.getString("offer_id"));
+        claim.setVolunteerName(rs.getString("volunteer_name"));
+        claim.setVolunteerContact(rs.getString("volunteer_contact"));
+        claim.setReservedAt(OfferRows.time(rs, "reserved_at"));
+        claim.setExpiredAt(OfferRows.time(rs, "expired_at"));
+        return claim;
+    };
+}
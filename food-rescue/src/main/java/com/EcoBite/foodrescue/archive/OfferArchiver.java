@@ -0,0 +1,78 @@
+package com.EcoBite.foodrescue.archive;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Tira das tabelas quentes as ofertas encerradas há mais de {@code app.archive.age}, em
+ * lotes curtos: cada lote é uma transação própria, então o arquivamento nunca segura travas
+ * por muito tempo nem acumula um backlog grande numa transação só. Com o histórico fora,
+ * {@code offers} e {@code claims} ficam do tamanho do trabalho em andamento.
+ */
+@Component
+@Lazy(false)
+public class OfferArchiver {
+    private static final Logger log = LoggerFactory.getLogger(OfferArchiver.class);
+
+    private final OfferArchiveStore store;
+    private final boolean enabled;
+    private final Duration age;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Counter archived;
+
+    public OfferArchiver(OfferArchiveStore store, MeterRegistry registry,
+                         @Value("${app.archive.enabled:true}") boolean enabled,
+                         @Value("${app.archive.age:P30D}") Duration age,
+                         @Value("${app.archive.batch-size:500}") int batchSize,
+                         @Value("${app.archive.max-batches-per-run:200}") int maxBatchesPerRun) {
+        this.store = store;
+        this.enabled = enabled;
+        this.age = age;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.archived = Counter.builder("foodrescue.offers.archived")
+                .description("Ofertas encerradas movidas para o arquivo")
+                .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.archive.interval:PT1H}", initialDelayString = "${app.archive.initial-delay:PT5M}")
+    public void run() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            int total = archiveOlderThan(LocalDateTime.now().minus(age));
+            if (total > 0) {
+                log.info("{} ofertas encerradas arquivadas", total);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Falha ao arquivar ofertas: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @return quantas ofertas foram movidas nesta rodada
+     */
+    int archiveOlderThan(LocalDateTime cutoff) {
+        int total = 0;
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            int moved = store.archiveBatch(cutoff, batchSize);
+            archived.increment(moved);
+            total += moved;
+            if (moved < batchSize) {
+                break;
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,44 @@
+package com.EcoBite.foodrescue.audit;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Âncoras do {@link AuditLog} no banco, fora do alcance de quem consegue reescrever os
+ * arquivos do log: cortar o fim do log ou trocá-lo por outro com a cadeia refeita deixa de
+ * bater com a âncora mais recente.
+ */
+@Component
+public class AuditAnchorStore {
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    public AuditAnchorStore(NamedParameterJdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    public void record(UUID logId, AuditLog.Anchor anchor) {
+        jdbc.update("INSERT INTO audit_anchors (log_id, sequence_number, chain, recorded_at) "
+                        + "VALUES (:logId, :sequence, :chain, :now)",
+                new MapSqlParameterSource("logId", logId.toString())
+                        .addValue("sequence", anchor.getSequence())
+                        .addValue("chain", HexFormat.of().formatHex(anchor.getChain()))
+                        .addValue("now", Timestamp.valueOf(LocalDateTime.now())));
+    }
+
+    /** Âncora de maior sequência do log, ou {@code null}. */
+    public AuditLog.Anchor latest(UUID logId) {
+        List<AuditLog.Anchor> anchors = jdbc.query("SELECT sequence_number, chain FROM audit_anchors "
+                        + "WHERE log_id = :logId ORDER BY sequence_number DESC LIMIT 1",
+                new MapSqlParameterSource("logId", logId.toString()),
+                (rs, n) -> new AuditLog.Anchor(rs.getLong("sequence_number"), HexFormat.of().parseHex(rs.getString("chain"))));
+        return anchors.isEmpty() ? null : anchors.get(0);
+    }
+}
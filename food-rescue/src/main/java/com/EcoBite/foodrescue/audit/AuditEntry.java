@@ -0,0 +1,95 @@
+package com.EcoBite.foodrescue.audit;
+
+import com.EcoBite.foodrescue.model.OfferStatus;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Registro do log de auditoria, com layout fixo de {@link #SIZE} bytes:
+ * <pre>
+ *  0  long    sequência (1, 2, ...; 0 = espaço ainda não escrito)
+ *  8  long    instante (epoch ms)
+ * 16  long×2  id da oferta (UUID)
+ * 32  byte    status anterior (0 = criação)
+ * 33  byte    status novo
+ * 34  short   bytes do autor
+ * 36  60 B    autor (UTF-8, truncado)
+ * 96  32 B    encadeamento: SHA-256(encadeamento anterior || bytes 0..95)
+ * </pre>
+ * Status são gravados pela posição em {@link OfferStatus} + 1: valores novos só no fim do enum.
+ */
+public class AuditEntry {
+
+    public static final int SIZE = 128;
+    static final int BODY = 96;
+    static final int CHAIN = 32;
+    private static final int ACTOR_BYTES = 60;
+    private static final OfferStatus[] STATUSES = OfferStatus.values();
+
+    private final long sequence;
+    private final Instant at;
+    private final String offerId;
+    private final OfferStatus from;
+    private final OfferStatus to;
+    private final String actor;
+
+    public AuditEntry(long sequence, Instant at, String offerId, OfferStatus from, OfferStatus to, String actor) {
+        this.sequence = sequence;
+        this.at = at;
+        this.offerId = offerId;
+        this.from = from;
+        this.to = to;
+        this.actor = actor;
+    }
+
+    public long getSequence() { return sequence; }
+    public Instant getAt() { return at; }
+    public String getOfferId() { return offerId; }
+    /** {@code null} na criação. */
+    public OfferStatus getFrom() { return from; }
+    public OfferStatus getTo() { return to; }
+    public String getActor() { return actor; }
+
+    /** Escreve os bytes 0..95 em {@code out}, a partir da posição atual. */
+    static void writeBody(ByteBuffer out, long sequence, long atMillis, UUID offerId, OfferStatus from,
+                          OfferStatus to, String actor) {
+        byte[] name = truncate(actor);
+        int start = out.position();
+        out.putLong(sequence)
+                .putLong(atMillis)
+                .putLong(offerId.getMostSignificantBits())
+                .putLong(offerId.getLeastSignificantBits())
+                .put((byte) (from != null ? from.ordinal() + 1 : 0))
+                .put((byte) (to.ordinal() + 1))
+                .putShort((short) name.length)
+                .put(name);
+        out.put(new byte[BODY - (out.position() - start)]);
+    }
+
+    static AuditEntry read(ByteBuffer in, int offset) {
+        int length = in.getShort(offset + 34);
+        byte[] name = new byte[length];
+        in.get(offset + 36, name);
+        int from = in.get(offset + 32);
+        return new AuditEntry(
+                in.getLong(offset),
+                Instant.ofEpochMilli(in.getLong(offset + 8)),
+                new UUID(in.getLong(offset + 16), in.getLong(offset + 24)).toString(),
+                from == 0 ? null : STATUSES[from - 1],
+                STATUSES[in.get(offset + 33) - 1],
+                new String(name, StandardCharsets.UTF_8));
+    }
+
+    private static byte[] truncate(String actor) {
+        String value = actor != null ? actor : "";
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        while (bytes.length > ACTOR_BYTES) {
+            value = value.substring(0, value.length() - 1);
+            bytes = value.getBytes(StandardCharsets.UTF_8);
+        }
+        return bytes;
+    }
+}
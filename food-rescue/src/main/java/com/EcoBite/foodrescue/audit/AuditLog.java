@@ -0,0 +1,265 @@
+package com.EcoBite.foodrescue.audit;
+
+import com.EcoBite.foodrescue.model.OfferStatus;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Log de auditoria só de acréscimo, em segmentos mapeados em memória
+ * ({@link AuditSegment}). Cada registro carrega o HMAC-SHA256 (chave fora dos arquivos)
+ * encadeado com o anterior, inclusive entre segmentos, então alterar, remover ou reordenar
+ * registros quebra a cadeia a partir dali ({@link #verify}) sem que dê para recalculá-la sem
+ * a chave. Cortar o fim do log não quebra a cadeia: para isso {@link #verify(Anchor)} confere
+ * uma âncora ({@link #durableHead()}) guardada fora do diretório do log.
+ *
+ * <p>O append só copia 128 bytes para a memória mapeada; o fsync fica com {@link #flush},
+ * chamado periodicamente: um force cobre todos os registros acumulados desde o anterior
+ * (group commit).
+ */
+public class AuditLog {
+
+    public static final int MIN_KEY_LENGTH = 16;
+    private static final String HMAC = "HmacSHA256";
+
+    private final Path dir;
+    private final long segmentSize;
+    private final List<AuditSegment> segments = new ArrayList<>();
+    /** Segmentos fechados desde o último flush. */
+    private final List<AuditSegment> sealed = new ArrayList<>();
+    private final SecretKeySpec key;
+    private final Mac mac;
+    private final byte[] record = new byte[AuditEntry.SIZE];
+    private final UUID logId;
+    private byte[] chain;
+    private long lastSequence;
+    private volatile Anchor durable;
+
+    /**
+     * @param key chave do HMAC, com pelo menos {@link #MIN_KEY_LENGTH} bytes
+     */
+    public AuditLog(Path dir, long segmentSize, byte[] key) throws IOException {
+        if (segmentSize < 2 * AuditEntry.SIZE) {
+            throw new IllegalArgumentException("segmentSize muito pequeno");
+        }
+        if (key == null || key.length < MIN_KEY_LENGTH) {
+            throw new IllegalArgumentException("chave de auditoria precisa de pelo menos " + MIN_KEY_LENGTH + " bytes");
+        }
+        this.dir = dir;
+        this.segmentSize = segmentSize;
+        this.key = new SecretKeySpec(key, HMAC);
+        this.mac = hmac();
+        Files.createDirectories(dir);
+        List<Path> files;
+        try (Stream<Path> list = Files.list(dir)) {
+            // nome com a primeira sequência com zeros à esquerda: ordem alfabética = ordem do log
+            files = list.filter(p -> p.getFileName().toString().matches("audit-\\d{20}\\.log")).sorted().toList();
+        }
+        for (int i = 0; i < files.size(); i++) {
+            segments.add(AuditSegment.open(files.get(i), i == files.size() - 1));
+        }
+        if (segments.isEmpty()) {
+            segments.add(AuditSegment.create(dir, UUID.randomUUID(), 1, new byte[AuditEntry.CHAIN], segmentSize));
+        }
+        AuditSegment last = active();
+        logId = segments.get(0).logId();
+        chain = last.lastChain();
+        lastSequence = last.firstSequence() + last.count() - 1;
+        durable = new Anchor(lastSequence, chain);
+    }
+
+    /**
+     * @return sequência do registro
+     */
+    public synchronized long append(Instant at, String offerId, OfferStatus from, OfferStatus to, String actor) {
+        UUID id = UUID.fromString(offerId);
+        if (active().isFull()) {
+            roll();
+        }
+        long sequence = lastSequence + 1;
+        AuditEntry.writeBody(ByteBuffer.wrap(record), sequence, at.toEpochMilli(), id, from, to, actor);
+        mac.update(chain);
+        mac.update(record, 0, AuditEntry.BODY);
+        chain = mac.doFinal();
+        System.arraycopy(chain, 0, record, AuditEntry.BODY, AuditEntry.CHAIN);
+        active().write(record, id);
+        lastSequence = sequence;
+        return sequence;
+    }
+
+    /** Registros da oferta, em ordem. */
+    public synchronized List<AuditEntry> find(String offerId) {
+        UUID id = UUID.fromString(offerId);
+        List<AuditEntry> result = new ArrayList<>();
+        for (AuditSegment segment : segments) {
+            result.addAll(segment.find(id));
+        }
+        return result;
+    }
+
+    /**
+     * Força para o disco o que foi escrito até agora.
+     */
+    public void flush() {
+        List<AuditSegment> dirty;
+        Anchor head;
+        synchronized (this) {
+            dirty = new ArrayList<>(sealed);
+            dirty.add(active());
+            sealed.clear();
+            head = new Anchor(lastSequence, chain);
+        }
+        if (head.getSequence() > durable.getSequence()) {
+            // fora do lock: appends continuam enquanto o force roda
+            for (AuditSegment segment : dirty) {
+                segment.force();
+            }
+            durable = head;
+        }
+    }
+
+    /**
+     * Recalcula a cadeia do log inteiro. Lê uma cópia da lista de segmentos, sem segurar
+     * os appends.
+     */
+    public Verification verify() {
+        return verify(null);
+    }
+
+    /**
+     * Como {@link #verify()}, conferindo também que o log chega até a âncora e que a cadeia
+     * nela bate: a cadeia de uma sequência cobre todos os registros anteriores, então basta
+     * a âncora mais recente.
+     *
+     * @param anchor {@code null} para só recalcular a cadeia
+     */
+    public Verification verify(Anchor anchor) {
+        List<AuditSegment> snapshot;
+        List<Integer> counts = new ArrayList<>();
+        synchronized (this) {
+            snapshot = new ArrayList<>(segments);
+            for (AuditSegment segment : snapshot) {
+                counts.add(segment.count());
+            }
+        }
+        Mac digest = hmac();
+        byte[] expectedChain = new byte[AuditEntry.CHAIN];
+        byte[] stored = new byte[AuditEntry.SIZE];
+        long expected = 1;
+        long records = 0;
+        for (int s = 0; s < snapshot.size(); s++) {
+            AuditSegment segment = snapshot.get(s);
+            if (segment.firstSequence() != expected || !Arrays.equals(segment.previousChain(), expectedChain)) {
+                return new Verification(records, expected);
+            }
+            for (int i = 0; i < counts.get(s); i++) {
+                segment.read(i, stored);
+                digest.update(expectedChain);
+                digest.update(stored, 0, AuditEntry.BODY);
+                expectedChain = digest.doFinal();
+                if (ByteBuffer.wrap(stored).getLong(0) != expected
+                        || !Arrays.equals(stored, AuditEntry.BODY, AuditEntry.SIZE, expectedChain, 0, AuditEntry.CHAIN)
+                        || anchor != null && expected == anchor.getSequence()
+                        && !Arrays.equals(expectedChain, anchor.chain)) {
+                    return new Verification(records, expected);
+                }
+                expected++;
+                records++;
+            }
+        }
+        if (anchor != null && records < anchor.getSequence()) {
+            // log cortado antes da âncora
+            return new Verification(records, records + 1);
+        }
+        return new Verification(records, null);
+    }
+
+    public synchronized long lastSequence() {
+        return lastSequence;
+    }
+
+    /** Última sequência que já passou por um fsync. */
+    public long durableSequence() {
+        return durable.getSequence();
+    }
+
+    /** Sequência e cadeia do último registro que já passou por um fsync. */
+    public Anchor durableHead() {
+        return durable;
+    }
+
+    /** Gerado na criação do primeiro segmento; separa as âncoras de logs diferentes. */
+    public UUID logId() {
+        return logId;
+    }
+
+    public synchronized int segmentCount() {
+        return segments.size();
+    }
+
+    private AuditSegment active() {
+        return segments.get(segments.size() - 1);
+    }
+
+    private void roll() {
+        // o segmento cheio vai para o disco no próximo flush, fora do lock
+        sealed.add(active());
+        try {
+            segments.add(AuditSegment.create(dir, logId, lastSequence + 1, chain, segmentSize));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao criar segmento de auditoria em " + dir, e);
+        }
+    }
+
+    private Mac hmac() {
+        try {
+            Mac hmac = Mac.getInstance(HMAC);
+            hmac.init(key);
+            return hmac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** Ponto conhecido da cadeia: a sequência e o HMAC encadeado até ela. */
+    public static class Anchor {
+        private final long sequence;
+        private final byte[] chain;
+
+        public Anchor(long sequence, byte[] chain) {
+            this.sequence = sequence;
+            this.chain = chain.clone();
+        }
+
+        public long getSequence() { return sequence; }
+        public byte[] getChain() { return chain.clone(); }
+    }
+
+    public static class Verification {
+        private final long records;
+        private final Long brokenAt;
+
+        Verification(long records, Long brokenAt) {
+            this.records = records;
+            this.brokenAt = brokenAt;
+        }
+
+        /** Registros conferidos antes do primeiro problema. */
+        public long getRecords() { return records; }
+        public boolean isValid() { return brokenAt == null; }
+        /** Sequência onde a cadeia quebra, ou {@code null}. */
+        public Long getBrokenAt() { return brokenAt; }
+    }
+}
@@ -0,0 +1,197 @@
+package com.EcoBite.foodrescue.audit;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Um arquivo do log, pré-alocado e mapeado em memória. Cabeçalho de {@link AuditEntry#SIZE}
+ * bytes (magic, primeira sequência, encadeamento do último registro do segmento anterior,
+ * id do log) seguido dos registros. O fim dos dados é o primeiro registro com sequência 0, que é
+ * gravada por último. Cada bloco de {@link #BLOCK} registros tem um filtro de Bloom dos ids
+ * de oferta (o índice esparso): a busca por oferta só lê os blocos em que o filtro acerta.
+ */
+final class AuditSegment {
+
+    static final int BLOCK = 256;
+    private static final int FILTER_BITS = 2048;
+    private static final int HASHES = 3;
+    private static final byte[] MAGIC = "FRAUDIT1".getBytes(StandardCharsets.US_ASCII);
+
+    private final Path path;
+    private final MappedByteBuffer map;
+    private final long firstSequence;
+    private final byte[] previousChain;
+    private final UUID logId;
+    private final int capacity;
+    private final List<long[]> filters = new ArrayList<>();
+    private volatile int count;
+
+    private AuditSegment(Path path, MappedByteBuffer map, long firstSequence, byte[] previousChain, UUID logId) {
+        this.path = path;
+        this.map = map;
+        this.firstSequence = firstSequence;
+        this.previousChain = previousChain;
+        this.logId = logId;
+        this.capacity = map.capacity() / AuditEntry.SIZE - 1;
+    }
+
+    static AuditSegment create(Path dir, UUID logId, long firstSequence, byte[] previousChain, long size)
+            throws IOException {
+        Path path = dir.resolve(String.format("audit-%020d.log", firstSequence));
+        MappedByteBuffer map;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            map = channel.map(FileChannel.MapMode.READ_WRITE, 0, size - size % AuditEntry.SIZE);
+        }
+        map.put(0, MAGIC).putLong(MAGIC.length, firstSequence).put(16, previousChain)
+                .putLong(48, logId.getMostSignificantBits()).putLong(56, logId.getLeastSignificantBits());
+        return new AuditSegment(path, map, firstSequence, previousChain.clone(), logId);
+    }
+
+    /**
+     * Reabre um segmento existente e refaz os filtros lendo os registros.
+     */
+    static AuditSegment open(Path path, boolean writable) throws IOException {
+        MappedByteBuffer map;
+        try (FileChannel channel = writable
+                ? FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(path, StandardOpenOption.READ)) {
+            map = channel.map(writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY, 0,
+                    channel.size() - channel.size() % AuditEntry.SIZE);
+        }
+        byte[] magic = new byte[MAGIC.length];
+        map.get(0, magic);
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new IOException("Segmento de auditoria inválido: " + path);
+        }
+        byte[] previousChain = new byte[AuditEntry.CHAIN];
+        map.get(16, previousChain);
+        AuditSegment segment = new AuditSegment(path, map, map.getLong(MAGIC.length), previousChain,
+                new UUID(map.getLong(48), map.getLong(56)));
+        int n = 0;
+        while (n < segment.capacity && map.getLong(offset(n)) != 0) {
+            segment.index(n, new UUID(map.getLong(offset(n) + 16), map.getLong(offset(n) + 24)));
+            n++;
+        }
+        segment.count = n;
+        return segment;
+    }
+
+    /**
+     * Grava o registro; a sequência vai por último, então um registro com sequência está
+     * inteiro. Só o escritor do log chama.
+     */
+    void write(byte[] record, UUID offerId) {
+        int n = count;
+        int at = offset(n);
+        map.put(at + 8, record, 8, AuditEntry.SIZE - 8);
+        map.put(at, record, 0, 8);
+        index(n, offerId);
+        count = n + 1;
+    }
+
+    /** Registros da oferta, lendo só os blocos em que o filtro acerta. */
+    List<AuditEntry> find(UUID offerId) {
+        List<AuditEntry> result = new ArrayList<>();
+        int n = count;
+        for (int block = 0; block * BLOCK < n; block++) {
+            if (!mightContain(filters.get(block), offerId)) {
+                continue;
+            }
+            for (int i = block * BLOCK; i < Math.min(n, (block + 1) * BLOCK); i++) {
+                int at = offset(i);
+                if (map.getLong(at + 16) == offerId.getMostSignificantBits()
+                        && map.getLong(at + 24) == offerId.getLeastSignificantBits()) {
+                    result.add(AuditEntry.read(map, at));
+                }
+            }
+        }
+        return result;
+    }
+
+    /** Bytes crus do registro {@code i} (só leitura). */
+    void read(int i, byte[] into) {
+        map.get(offset(i), into);
+    }
+
+    void force() {
+        map.force();
+    }
+
+    boolean isFull() {
+        return count == capacity;
+    }
+
+    int count() {
+        return count;
+    }
+
+    long firstSequence() {
+        return firstSequence;
+    }
+
+    UUID logId() {
+        return logId;
+    }
+
+    byte[] previousChain() {
+        return previousChain.clone();
+    }
+
+    /** Encadeamento do último registro, ou o do cabeçalho se o segmento está vazio. */
+    byte[] lastChain() {
+        byte[] chain = new byte[AuditEntry.CHAIN];
+        if (count == 0) {
+            return previousChain();
+        }
+        map.get(offset(count - 1) + AuditEntry.BODY, chain);
+        return chain;
+    }
+
+    Path path() {
+        return path;
+    }
+
+    private void index(int n, UUID offerId) {
+        if (n % BLOCK == 0) {
+            filters.add(new long[FILTER_BITS / 64]);
+        }
+        long[] filter = filters.get(n / BLOCK);
+        long h1 = mix(offerId.getMostSignificantBits());
+        long h2 = mix(offerId.getLeastSignificantBits()) | 1;
+        for (int k = 0; k < HASHES; k++) {
+            int bit = (int) ((h1 + k * h2) & (FILTER_BITS - 1));
+            filter[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    private static boolean mightContain(long[] filter, UUID offerId) {
+        long h1 = mix(offerId.getMostSignificantBits());
+        long h2 = mix(offerId.getLeastSignificantBits()) | 1;
+        for (int k = 0; k < HASHES; k++) {
+            int bit = (int) ((h1 + k * h2) & (FILTER_BITS - 1));
+            if ((filter[bit >>> 6] & 1L << bit) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long mix(long x) {
+        x = (x ^ (x >>> 33)) * 0xff51afd7ed558ccdL;
+        x = (x ^ (x >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return x ^ (x >>> 33);
+    }
+
+    private static int offset(int i) {
+        return (i + 1) * AuditEntry.SIZE;
+    }
+}
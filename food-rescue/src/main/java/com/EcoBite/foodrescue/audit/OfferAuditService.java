@@ -0,0 +1,195 @@
+package com.EcoBite.foodrescue.audit;
+
+import com.EcoBite.foodrescue.model.Offer;
+import com.EcoBite.foodrescue.model.OfferStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Trilha de auditoria das transições de status das ofertas, fora do banco: cada transição
+ * confirmada vira um registro no {@link AuditLog} local ({@code app.audit.dir}), sem
+ * escrita extra na transação. O fsync é em grupo a cada {@code app.audit.flush-interval};
+ * uma queda da máquina perde no máximo esse intervalo. Cada instância tem o próprio log.
+ * A cadeia usa HMAC com {@code app.audit.key} e, a cada {@code app.audit.anchor-interval},
+ * o ponto já em disco vira uma âncora no banco ({@link AuditAnchorStore}), conferida pelo
+ * {@link #verify()}.
+ */
+@Service
+@Lazy(false)
+public class OfferAuditService {
+    private static final Logger log = LoggerFactory.getLogger(OfferAuditService.class);
+
+    public static final String SYSTEM_EXPIRY = "system:expiry";
+    public static final String SYSTEM_HOLD = "system:hold-window";
+
+    private final AuditLog auditLog;
+    private final AuditAnchorStore anchors;
+    private final AtomicBoolean verifying = new AtomicBoolean();
+    private long anchoredSequence = -1;
+    private final Timer appendTimer;
+    private final Counter failures;
+
+    public OfferAuditService(MeterRegistry registry, AuditAnchorStore anchors,
+                             @Value("${app.audit.enabled:true}") boolean enabled,
+                             @Value("${app.audit.dir:data/audit}") Path dir,
+                             @Value("${app.audit.segment-size:64MB}") DataSize segmentSize,
+                             @Value("${app.audit.key:}") String key) throws IOException {
+        if (enabled && key.length() < AuditLog.MIN_KEY_LENGTH) {
+            throw new IllegalStateException("app.audit.key precisa de pelo menos " + AuditLog.MIN_KEY_LENGTH
+                    + " caracteres (ou app.audit.enabled=false)");
+        }
+        this.auditLog = enabled ? new AuditLog(dir, segmentSize.toBytes(), key.getBytes(StandardCharsets.UTF_8)) : null;
+        this.anchors = anchors;
+        this.appendTimer = Timer.builder("foodrescue.audit.append")
+                .description("Gravação de um registro no log de auditoria")
+                .register(registry);
+        this.failures = registry.counter("foodrescue.audit.failures");
+        if (auditLog != null) {
+            registry.gauge("foodrescue.audit.unflushed", auditLog, l -> l.lastSequence() - l.durableSequence());
+            log.info("Log de auditoria em {}: {} registros em {} segmentos", dir.toAbsolutePath(),
+                    auditLog.lastSequence(), auditLog.segmentCount());
+        }
+    }
+
+    /**
+     * Registra a transição depois do commit; transações desfeitas não entram no log.
+     *
+     * @param from {@code null} na criação
+     */
+    public void transition(Offer offer, OfferStatus from, String actor) {
+        if (auditLog == null) {
+            return;
+        }
+        String offerId = offer.getId();
+        OfferStatus to = offer.getStatus();
+        Instant at = Instant.now();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    append(at, offerId, from, to, actor);
+                }
+            });
+        } else {
+            append(at, offerId, from, to, actor);
+        }
+    }
+
+    /**
+     * Usuário autenticado da requisição; sem login, o contato informado.
+     */
+    public static String actor(String fallback) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.isAuthenticated() && !(auth instanceof AnonymousAuthenticationToken)) {
+            return auth.getName();
+        }
+        return fallback != null && !fallback.isBlank() ? fallback.trim() : "anonymous";
+    }
+
+    public List<AuditEntry> history(String offerId) {
+        return requireLog().find(offerId);
+    }
+
+    /**
+     * Confere a cadeia e a âncora mais recente. Uma verificação por vez: lê o log inteiro.
+     *
+     * @throws IllegalStateException se já há uma verificação rodando ou a auditoria está desligada
+     */
+    public AuditLog.Verification verify() {
+        AuditLog current = requireLog();
+        if (!verifying.compareAndSet(false, true)) {
+            throw new VerificationInProgressException();
+        }
+        try {
+            return current.verify(anchors.latest(current.logId()));
+        } finally {
+            verifying.set(false);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.audit.flush-interval:PT0.1S}")
+    public void flush() {
+        if (auditLog != null) {
+            auditLog.flush();
+        }
+    }
+
+    /** Grava no banco o ponto da cadeia que já está em disco, se avançou. */
+    @Scheduled(fixedDelayString = "${app.audit.anchor-interval:PT1M}", initialDelayString = "${app.audit.anchor-interval:PT1M}")
+    public synchronized void anchor() {
+        if (auditLog == null) {
+            return;
+        }
+        auditLog.flush();
+        AuditLog.Anchor head = auditLog.durableHead();
+        try {
+            if (anchoredSequence < 0) {
+                // depois de reiniciar, continua de onde a última âncora parou
+                AuditLog.Anchor latest = anchors.latest(auditLog.logId());
+                anchoredSequence = latest == null ? 0 : latest.getSequence();
+            }
+            if (head.getSequence() <= anchoredSequence) {
+                return;
+            }
+            anchors.record(auditLog.logId(), head);
+            anchoredSequence = head.getSequence();
+        } catch (RuntimeException e) {
+            failures.increment();
+            log.warn("Falha ao gravar âncora da auditoria na sequência {}: {}", head.getSequence(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        anchor();
+        flush();
+    }
+
+    private void append(Instant at, String offerId, OfferStatus from, OfferStatus to, String actor) {
+        long start = System.nanoTime();
+        try {
+            auditLog.append(at, offerId, from, to, actor);
+            appendTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        } catch (RuntimeException e) {
+            // a transição já foi confirmada; a falha fica na métrica e no log
+            failures.increment();
+            log.warn("Falha ao auditar a oferta {} ({} -> {}): {}", offerId, from, to, e.getMessage());
+        }
+    }
+
+    /** Outra verificação do log ainda está rodando. */
+    public static class VerificationInProgressException extends IllegalStateException {
+        VerificationInProgressException() {
+            super("Verificação da auditoria já em andamento");
+        }
+    }
+
+    private AuditLog requireLog() {
+        if (auditLog == null) {
+            throw new IllegalStateException("Auditoria desabilitada");
+        }
+        return auditLog;
+    }
+}
@@ -0,0 +1,87 @@
+package com.EcoBite.foodrescue.auth;
+
+import com.EcoBite.foodrescue.model.User;
+import com.EcoBite.foodrescue.model.UserStatus;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Autentica pelo header {@code Authorization: Bearer <jwt>} usando só o token: o
+ * principal é um {@link User} montado das claims, sem consulta ao banco. Token
+ * inválido, expirado ou revogado deixa a requisição anônima; as regras de acesso
+ * decidem o 401/403.
+ */
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+    public static final String TOKEN_CLAIMS_ATTRIBUTE = JwtAuthenticationFilter.class.getName() + ".claims";
+    private static final String BEARER = "Bearer ";
+
+    private final JwtService jwt;
+    private final TokenDenyList denyList;
+    private final Counter valid;
+    private final Counter invalid;
+    private final Counter expired;
+    private final Counter revoked;
+
+    public JwtAuthenticationFilter(JwtService jwt, TokenDenyList denyList, MeterRegistry registry) {
+        this.jwt = jwt;
+        this.denyList = denyList;
+        this.valid = registry.counter("foodrescue.auth.tokens", "outcome", "valid");
+        this.invalid = registry.counter("foodrescue.auth.tokens", "outcome", "invalid");
+        this.expired = registry.counter("foodrescue.auth.tokens", "outcome", "expired");
+        this.revoked = registry.counter("foodrescue.auth.tokens", "outcome", "revoked");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith(BEARER)) {
+            authenticate(header.substring(BEARER.length()).trim(), request);
+        }
+        chain.doFilter(request, response);
+    }
+
+    private void authenticate(String token, HttpServletRequest request) {
+        Claims claims;
+        User principal;
+        try {
+            claims = jwt.parse(token);
+            principal = JwtService.principal(claims);
+        } catch (ExpiredJwtException e) {
+            expired.increment();
+            return;
+        } catch (JwtException | IllegalArgumentException e) {
+            invalid.increment();
+            return;
+        }
+        if (principal.getStatus() != UserStatus.ACTIVE
+                || denyList.isRevoked(claims.getId(), claims.getSubject(), claims.getIssuedAt().toInstant())) {
+            revoked.increment();
+            return;
+        }
+        valid.increment();
+
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(authentication);
+        SecurityContextHolder.setContext(context);
+        request.setAttribute(TOKEN_CLAIMS_ATTRIBUTE, claims);
+    }
+}
@@ -0,0 +1,36 @@
+package com.EcoBite.foodrescue.auth;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Tokens de acesso ({@code app.jwt.*}).
+ */
+@ConfigurationProperties(prefix = "app.jwt")
+public class JwtProperties {
+
+    /** Chave HMAC em Base64, com pelo menos 256 bits. */
+    private String secret;
+
+    private String issuer = "nomorehunger";
+
+    /** Validade do token; também é o prazo máximo de uma revogação na deny-list. */
+    private Duration ttl = Duration.ofHours(1);
+
+    /** Compartilha as revogações entre instâncias pelo Redis. */
+    private boolean redis = false;
+
+    private String redisKeyPrefix = "jwt:deny:";
+
+    public String getSecret() { return secret; }
+    public void setSecret(String secret) { this.secret = secret; }
+    public String getIssuer() { return issuer; }
+    public void setIssuer(String issuer) { this.issuer = issuer; }
+    public Duration getTtl() { return ttl; }
+    public void setTtl(Duration ttl) { this.ttl = ttl; }
+    public boolean isRedis() { return redis; }
+    public void setRedis(boolean redis) { this.redis = redis; }
+    public String getRedisKeyPrefix() { return redisKeyPrefix; }
+    public void setRedisKeyPrefix(String redisKeyPrefix) { this.redisKeyPrefix = redisKeyPrefix; }
+}
@@ -0,0 +1,102 @@
+package com.EcoBite.foodrescue.auth;
+
+import com.EcoBite.foodrescue.model.User;
+import com.EcoBite.foodrescue.model.UserRole;
+import com.EcoBite.foodrescue.model.UserStatus;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+
+import javax.crypto.SecretKey;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Emite e valida os JWTs de acesso. A chave e o parser são montados uma vez; o token
+ * carrega id, e-mail, nome, papel e status, o suficiente para montar o principal sem
+ * consultar a tabela {@code users}.
+ */
+public class JwtService {
+    static final String CLAIM_EMAIL = "email";
+    static final String CLAIM_NAME = "name";
+    static final String CLAIM_ROLE = "role";
+    static final String CLAIM_STATUS = "status";
+
+    private final SecretKey key;
+    private final JwtParser parser;
+    private final String issuer;
+    private final Duration ttl;
+    private final Clock clock;
+
+    public JwtService(String base64Secret, String issuer, Duration ttl, Clock clock) {
+        this.key = Keys.hmacShaKeyFor(Base64.getDecoder().decode(base64Secret));
+        this.issuer = issuer;
+        this.ttl = ttl;
+        this.clock = clock;
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .requireIssuer(issuer)
+                .setClock(() -> Date.from(clock.instant()))
+                .build();
+    }
+
+    public IssuedToken issue(User user) {
+        Instant now = clock.instant();
+        Instant expiresAt = now.plus(ttl);
+        String token = Jwts.builder()
+                .setId(UUID.randomUUID().toString())
+                .setIssuer(issuer)
+                .setSubject(user.getId().toString())
+                .setIssuedAt(Date.from(now))
+                .setExpiration(Date.from(expiresAt))
+                .claim(CLAIM_EMAIL, user.getEmail())
+                .claim(CLAIM_NAME, user.getName())
+                .claim(CLAIM_ROLE, user.getRole().name())
+                .claim(CLAIM_STATUS, user.getStatus().name())
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+        return new IssuedToken(token, expiresAt);
+    }
+
+    /**
+     * Valida assinatura, emissor e validade.
+     *
+     * @throws JwtException se o token for inválido ou estiver expirado
+     */
+    public Claims parse(String token) {
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    /**
+     * Principal montado só com as claims; não é uma entidade gerenciada.
+     */
+    public static User principal(Claims claims) {
+        User user = new User();
+        user.setId(UUID.fromString(claims.getSubject()));
+        user.setEmail(claims.get(CLAIM_EMAIL, String.class));
+        user.setName(claims.get(CLAIM_NAME, String.class));
+        user.setRole(UserRole.valueOf(claims.get(CLAIM_ROLE, String.class)));
+        user.setStatus(UserStatus.valueOf(claims.get(CLAIM_STATUS, String.class)));
+        return user;
+    }
+
+    public static class IssuedToken {
+        private final String token;
+        private final Instant expiresAt;
+
+        public IssuedToken(String token, Instant expiresAt) {
+            this.token = token;
+            this.expiresAt = expiresAt;
+        }
+
+        public String getToken() { return token; }
+        public Instant getExpiresAt() { return expiresAt; }
+    }
+}
@@ -0,0 +1,64 @@
+package com.EcoBite.foodrescue.auth;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Deny-list em memória da instância. Entradas vencidas são removidas numa varredura
+ * a cada {@code SWEEP_EVERY} revogações.
+ */
+public class LocalTokenDenyList implements TokenDenyList {
+    private static final int SWEEP_EVERY = 256;
+
+    private final Map<String, Instant> tokens = new ConcurrentHashMap<>(); // jti -> expiração
+    private final Map<String, Instant[]> users = new ConcurrentHashMap<>(); // id -> {revogado em, expira em}
+    private final Duration tokenTtl;
+    private final Clock clock;
+    private int writes;
+
+    public LocalTokenDenyList(Duration tokenTtl, Clock clock) {
+        this.tokenTtl = tokenTtl;
+        this.clock = clock;
+    }
+
+    @Override
+    public void revokeToken(String tokenId, Instant expiresAt) {
+        tokens.put(tokenId, expiresAt);
+        maybeSweep();
+    }
+
+    @Override
+    public void revokeUser(String userId, Instant at) {
+        users.put(userId, new Instant[]{at.truncatedTo(ChronoUnit.SECONDS), at.plus(tokenTtl)});
+        maybeSweep();
+    }
+
+    @Override
+    public boolean isRevoked(String tokenId, String userId, Instant issuedAt) {
+        if (tokenId != null && tokens.containsKey(tokenId)) {
+            return true;
+        }
+        Instant[] revoked = users.get(userId);
+        return revoked != null && issuedAt.isBefore(revoked[0]);
+    }
+
+    public int size() {
+        return tokens.size() + users.size();
+    }
+
+    private void maybeSweep() {
+        boolean sweep;
+        synchronized (this) {
+            sweep = ++writes % SWEEP_EVERY == 0;
+        }
+        if (sweep) {
+            Instant now = clock.instant();
+            tokens.values().removeIf(expiresAt -> expiresAt.isBefore(now));
+            users.values().removeIf(entry -> entry[1].isBefore(now));
+        }
+    }
+}
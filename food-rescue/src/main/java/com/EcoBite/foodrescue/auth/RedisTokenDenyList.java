@@ -0,0 +1,89 @@
+package com.EcoBite.foodrescue.auth;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Revogações gravadas também no Redis (com TTL até o token vencer) para valerem em
+ * todas as instâncias. A consulta olha a lista local primeiro e faz um MGET no Redis;
+ * se o Redis falhar, vale só a lista local.
+ */
+public class RedisTokenDenyList implements TokenDenyList {
+    private static final Logger log = LoggerFactory.getLogger(RedisTokenDenyList.class);
+
+    private final LocalTokenDenyList local;
+    private final StringRedisTemplate redis;
+    private final String keyPrefix;
+    private final Duration tokenTtl;
+    private final Clock clock;
+
+    public RedisTokenDenyList(LocalTokenDenyList local, StringRedisTemplate redis, String keyPrefix,
+                              Duration tokenTtl, Clock clock) {
+        this.local = local;
+        this.redis = redis;
+        this.keyPrefix = keyPrefix;
+        this.tokenTtl = tokenTtl;
+        this.clock = clock;
+    }
+
+    @Override
+    public void revokeToken(String tokenId, Instant expiresAt) {
+        local.revokeToken(tokenId, expiresAt);
+        Duration ttl = Duration.between(clock.instant(), expiresAt);
+        if (ttl.isNegative() || ttl.isZero()) {
+            return;
+        }
+        try {
+            redis.opsForValue().set(tokenKey(tokenId), "1", ttl);
+        } catch (Exception e) {
+            log.warn("Falha ao gravar revogação no Redis: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void revokeUser(String userId, Instant at) {
+        local.revokeUser(userId, at);
+        try {
+            redis.opsForValue().set(userKey(userId), String.valueOf(at.truncatedTo(ChronoUnit.SECONDS).toEpochMilli()), tokenTtl);
+        } catch (Exception e) {
+            log.warn("Falha ao gravar revogação no Redis: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean isRevoked(String tokenId, String userId, Instant issuedAt) {
+        if (local.isRevoked(tokenId, userId, issuedAt)) {
+            return true;
+        }
+        try {
+            List<String> values = redis.opsForValue().multiGet(Arrays.asList(tokenKey(tokenId), userKey(userId)));
+            if (values == null) {
+                return false;
+            }
+            if (values.get(0) != null) {
+                return true;
+            }
+            String revokedAt = values.get(1);
+            return revokedAt != null && issuedAt.toEpochMilli() < Long.parseLong(revokedAt);
+        } catch (Exception e) {
+            log.debug("Redis indisponível para a deny-list: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private String tokenKey(String tokenId) {
+        return keyPrefix + "token:" + tokenId;
+    }
+
+    private String userKey(String userId) {
+        return keyPrefix + "user:" + userId;
+    }
+}
@@ -0,0 +1,22 @@
+package com.EcoBite.foodrescue.auth;
+
+import java.time.Instant;
+
+/**
+ * Revogação antes da expiração. As entradas só precisam durar até o token vencer,
+ * então a lista fica pequena.
+ */
+public interface TokenDenyList {
+
+    /** Revoga um token (logout). */
+    void revokeToken(String tokenId, Instant expiresAt);
+
+    /**
+     * Revoga todos os tokens do usuário emitidos antes de {@code at} (bloqueio, exclusão).
+     * O {@code iat} do JWT tem precisão de segundos, então a comparação é por segundo
+     * inteiro: um token emitido no mesmo segundo da revogação (o login logo depois) vale.
+     */
+    void revokeUser(String userId, Instant at);
+
+    boolean isRevoked(String tokenId, String userId, Instant issuedAt);
+}
@@ -0,0 +1,58 @@
+package com.EcoBite.foodrescue.config;
+
+import com.EcoBite.foodrescue.admission.AdmissionControlFilter;
+import com.EcoBite.foodrescue.admission.AdmissionLimiter;
+import com.EcoBite.foodrescue.admission.AdmissionProperties;
+import com.EcoBite.foodrescue.admission.AdmissionRoute;
+import com.EcoBite.foodrescue.admission.GradientLimit;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Limite adaptativo de requisições simultâneas por faixa de prioridade.
+ * Desligado com {@code app.admission.enabled=false}.
+ */
+@Configuration
+@EnableConfigurationProperties(AdmissionProperties.class)
+@ConditionalOnProperty(name = "app.admission.enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionConfig {
+
+    @Bean
+    public AdmissionLimiter admissionLimiter(AdmissionProperties props, MeterRegistry registry) {
+        GradientLimit limit = new GradientLimit(props.getInitialLimit(), props.getMinLimit(), props.getMaxLimit(),
+                props.getTolerance(), props.getSmoothing(), props.getWindow().toNanos(), props.getProbe().toNanos(),
+                System.nanoTime());
+        AdmissionLimiter limiter = new AdmissionLimiter(limit, props.getShares());
+        Gauge.builder("foodrescue.admission.limit", limiter, AdmissionLimiter::getLimit)
+                .description("Limite atual de requisições simultâneas")
+                .register(registry);
+        Gauge.builder("foodrescue.admission.inflight", limiter, AdmissionLimiter::getInFlight)
+                .description("Requisições em andamento")
+                .register(registry);
+        return limiter;
+    }
+
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(AdmissionProperties props,
+                                                                                 AdmissionLimiter limiter,
+                                                                                 MeterRegistry registry) {
+        List<AdmissionRoute> routes = new ArrayList<>();
+        for (AdmissionProperties.Route route : props.getRoutes()) {
+            routes.add(new AdmissionRoute(route.getLane(), route.getMethod(), route.getPath()));
+        }
+        FilterRegistrationBean<AdmissionControlFilter> registration = new FilterRegistrationBean<>(
+                new AdmissionControlFilter(limiter, routes, props.getDefaultLane(), registry));
+        // antes do Spring Security e do resto da cadeia: recusar tem que custar pouco
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registration;
+    }
+}
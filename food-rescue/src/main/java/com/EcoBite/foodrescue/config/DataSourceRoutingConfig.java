@@ -0,0 +1,111 @@
+package com.EcoBite.foodrescue.config;
+
+import com.EcoBite.foodrescue.datasource.ReadYourWritesFilter;
+import com.EcoBite.foodrescue.datasource.ReadYourWritesTracker;
+import com.EcoBite.foodrescue.datasource.ReplicaRoutingDataSource;
+import com.EcoBite.foodrescue.datasource.ReplicaRoutingProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Roteamento primário/réplicas. Ligado com {@code app.datasource.routing-enabled=true};
+ * o primário usa {@code spring.datasource.*} e as réplicas {@code app.datasource.replicas[n].*}.
+ * Os pools são montados aqui, então o {@code spring.datasource.hikari.*} é aplicado à mão
+ * (nas réplicas, antes dos valores próprios de cada uma).
+ */
+@Configuration
+@EnableConfigurationProperties(ReplicaRoutingProperties.class)
+@ConditionalOnProperty(name = "app.datasource.routing-enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(ReplicaRoutingProperties props) {
+        return new ReadYourWritesTracker(props.getStickiness(), props.getMaxTrackedClients());
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties primaryProps,
+                                                             ReplicaRoutingProperties props,
+                                                             ReadYourWritesTracker tracker,
+                                                             Environment environment,
+                                                             ObjectProvider<MeterRegistry> registry) {
+        Binder binder = Binder.get(environment);
+        HikariDataSource primary = primaryProps.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        bindHikari(binder, primary);
+        primary.setPoolName("primary");
+        instrument(primary, registry);
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        int n = 1;
+        for (ReplicaRoutingProperties.Replica replica : props.getReplicas()) {
+            HikariDataSource ds = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(replica.getUrl())
+                    .username(replica.getUsername())
+                    .password(replica.getPassword())
+                    .build();
+            bindHikari(binder, ds);
+            String name = "replica-" + n++;
+            ds.setPoolName(name);
+            ds.setReadOnly(true);
+            ds.setMaximumPoolSize(replica.getMaximumPoolSize());
+            instrument(ds, registry);
+            replicas.put(name, ds);
+        }
+
+        return new ReplicaRoutingDataSource(primary, replicas, tracker, props.getMaxLag(),
+                props.getLagQuery(), props.getHealthCheckInterval());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource routing) {
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @Bean
+    public HealthIndicator replicasHealthIndicator(ReplicaRoutingDataSource routing) {
+        // réplica fora da rotação não derruba a aplicação: as leituras caem no primário
+        return () -> Health.up().withDetails(routing.replicaStatus()).build();
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter() {
+        FilterRegistrationBean<ReadYourWritesFilter> registration = new FilterRegistrationBean<>(new ReadYourWritesFilter());
+        // depois do Spring Security, para enxergar o usuário autenticado
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+        return registration;
+    }
+
+    private void bindHikari(Binder binder, HikariDataSource ds) {
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(ds));
+    }
+
+    private void instrument(HikariDataSource ds, ObjectProvider<MeterRegistry> registry) {
+        MeterRegistry meterRegistry = registry.getIfAvailable();
+        if (meterRegistry != null) {
+            ds.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.EcoBite.foodrescue.config;
+
+import com.EcoBite.foodrescue.jobs.DelayedJobProperties;
+import com.EcoBite.foodrescue.jobs.DelayedJobStore;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(DelayedJobProperties.class)
+public class DelayedJobConfig {
+
+    @Bean
+    public Gauge delayedJobsPendingGauge(DelayedJobStore store, MeterRegistry registry) {
+        // agendados que ainda não rodaram, vencidos ou não
+        return Gauge.builder("foodrescue.jobs.pending", store, DelayedJobStore::countPending)
+                .register(registry);
+    }
+}
@@ -0,0 +1,40 @@
+package com.EcoBite.foodrescue.config;
+
+import com.EcoBite.foodrescue.mail.EmailDispatcher;
+import com.EcoBite.foodrescue.mail.EmailProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.util.Properties;
+
+/**
+ * Sender SMTP montado de {@code app.mail.*} (e não pelo auto-config do Boot, que
+ * depende de {@code spring.mail.host} e fica fixo no build AOT). Com
+ * {@code app.mail.enabled=false} o dispatcher não sobe threads.
+ */
+@Configuration
+@EnableConfigurationProperties(EmailProperties.class)
+public class EmailConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "shutdown")
+    public EmailDispatcher emailDispatcher(EmailProperties props, MeterRegistry registry) {
+        JavaMailSenderImpl sender = new JavaMailSenderImpl();
+        sender.setHost(props.getHost());
+        sender.setPort(props.getPort());
+        boolean auth = props.getUsername() != null && !props.getUsername().isBlank();
+        if (auth) {
+            sender.setUsername(props.getUsername());
+            sender.setPassword(props.getPassword());
+        }
+        Properties smtp = sender.getJavaMailProperties();
+        smtp.put("mail.smtp.auth", String.valueOf(auth));
+        smtp.put("mail.smtp.starttls.enable", String.valueOf(props.isStarttls()));
+        smtp.put("mail.smtp.connectiontimeout", String.valueOf(props.getConnectionTimeout().toMillis()));
+        smtp.put("mail.smtp.timeout", String.valueOf(props.getTimeout().toMillis()));
+        smtp.put("mail.smtp.writetimeout", String.valueOf(props.getTimeout().toMillis()));
+        return new EmailDispatcher(sender, props, registry);
+    }
+}
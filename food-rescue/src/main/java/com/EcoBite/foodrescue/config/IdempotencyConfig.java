@@ -0,0 +1,60 @@
+package com.EcoBite.foodrescue.config;
+
+import com.EcoBite.foodrescue.idempotency.IdempotencyFilter;
+import com.EcoBite.foodrescue.idempotency.IdempotencyProperties;
+import com.EcoBite.foodrescue.idempotency.IdempotencyStore;
+import com.EcoBite.foodrescue.idempotency.LocalIdempotencyStore;
+import com.EcoBite.foodrescue.idempotency.RedisIdempotencyStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Idempotency-Key nos POSTs de criação de oferta e de reserva.
+ */
+@Configuration
+@EnableConfigurationProperties(IdempotencyProperties.class)
+public class IdempotencyConfig {
+
+    @Bean
+    public LocalIdempotencyStore localIdempotencyStore(IdempotencyProperties props, MeterRegistry registry) {
+        LocalIdempotencyStore store = new LocalIdempotencyStore(props.getTtl(), props.getMaxEntries());
+        registry.gauge("foodrescue.idempotency.cached", store, LocalIdempotencyStore::size);
+        return store;
+    }
+
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(IdempotencyProperties props,
+                                                                       LocalIdempotencyStore local,
+                                                                       ObjectProvider<StringRedisTemplate> redis,
+                                                                       ObjectMapper mapper,
+                                                                       ObjectProvider<TaskScheduler> scheduler,
+                                                                       MeterRegistry registry) {
+        IdempotencyStore store = local;
+        if (props.isRedis()) {
+            store = new RedisIdempotencyStore(local, redis.getObject(), mapper, props.getRedisKeyPrefix(),
+                    props.getTtl(), props.getWaitTimeout(), scheduler.getObject());
+        }
+        List<PathPattern> paths = new ArrayList<>();
+        for (String path : props.getPaths()) {
+            paths.add(PathPatternParser.defaultInstance.parse(path));
+        }
+        FilterRegistrationBean<IdempotencyFilter> registration = new FilterRegistrationBean<>(
+                new IdempotencyFilter(paths, store, props.getWaitTimeout(), registry));
+        // depois do rate limit: repetições também contam para o limite do cliente
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 3);
+        return registration;
+    }
+}
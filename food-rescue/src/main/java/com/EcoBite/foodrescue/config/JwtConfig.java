@@ -0,0 +1,77 @@
+package com.EcoBite.foodrescue.config;
+
+import com.EcoBite.foodrescue.auth.JwtAuthenticationFilter;
+import com.EcoBite.foodrescue.auth.JwtProperties;
+import com.EcoBite.foodrescue.auth.JwtService;
+import com.EcoBite.foodrescue.auth.LocalTokenDenyList;
+import com.EcoBite.foodrescue.auth.RedisTokenDenyList;
+import com.EcoBite.foodrescue.auth.TokenDenyList;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.util.Base64;
+
+/**
+ * JWT stateless: o filtro entra na cadeia do Spring Security (ver {@link SecurityConfig}).
+ */
+@Configuration
+@EnableConfigurationProperties(JwtProperties.class)
+public class JwtConfig {
+    private static final Logger log = LoggerFactory.getLogger(JwtConfig.class);
+
+    @Bean
+    public JwtService jwtService(JwtProperties props) {
+        String secret = props.getSecret();
+        if (secret == null || secret.isBlank()) {
+            // tokens deixam de valer a cada reinício e não são aceitos por outras instâncias
+            log.warn("app.jwt.secret não definido; usando chave aleatória");
+            byte[] random = new byte[32];
+            new SecureRandom().nextBytes(random);
+            secret = Base64.getEncoder().encodeToString(random);
+        }
+        return new JwtService(secret, props.getIssuer(), props.getTtl(), Clock.systemUTC());
+    }
+
+    @Bean
+    public LocalTokenDenyList localTokenDenyList(JwtProperties props, MeterRegistry registry) {
+        LocalTokenDenyList local = new LocalTokenDenyList(props.getTtl(), Clock.systemUTC());
+        registry.gauge("foodrescue.auth.denylist.size", local, LocalTokenDenyList::size);
+        return local;
+    }
+
+    @Bean
+    @Primary
+    public TokenDenyList tokenDenyList(JwtProperties props, LocalTokenDenyList local,
+                                       ObjectProvider<StringRedisTemplate> redis) {
+        if (props.isRedis()) {
+            return new RedisTokenDenyList(local, redis.getObject(), props.getRedisKeyPrefix(), props.getTtl(),
+                    Clock.systemUTC());
+        }
+        return local;
+    }
+
+    @Bean
+    public JwtAuthenticationFilter jwtAuthenticationFilter(JwtService jwt, TokenDenyList denyList,
+                                                           MeterRegistry registry) {
+        return new JwtAuthenticationFilter(jwt, denyList, registry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<JwtAuthenticationFilter> jwtAuthenticationFilterRegistration(
+            JwtAuthenticationFilter filter) {
+        // roda dentro da cadeia do Spring Security, não como filtro do servlet
+        FilterRegistrationBean<JwtAuthenticationFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+}
@@ -0,0 +1,20 @@
+package com.EcoBite.foodrescue.config;
+
+import com.EcoBite.foodrescue.matching.MatchingEngine;
+import com.EcoBite.foodrescue.matching.MatchingProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(MatchingProperties.class)
+public class MatchingConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public MatchingEngine matchingEngine(MatchingProperties props) {
+        int parallelism = props.getParallelism() > 0
+                ? props.getParallelism() : Runtime.getRuntime().availableProcessors();
+        return new MatchingEngine(parallelism, props.getCellKm(), props.getMaxRadiusKm(),
+                props.getCandidatesPerOffer(), props.getMaxSuggestionsPerVolunteer(), props.getUrgencyWindow());
+    }
+}
@@ -0,0 +1,22 @@
+package com.EcoBite.foodrescue.config;
+
+import com.EcoBite.foodrescue.model.OutboxStatus;
+import com.EcoBite.foodrescue.outbox.OutboxProperties;
+import com.EcoBite.foodrescue.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(OutboxProperties.class)
+public class OutboxConfig {
+
+    @Bean
+    public Gauge outboxPendingGauge(OutboxEventRepository repo, MeterRegistry registry) {
+        // backlog do relay; cresce se os listeners não acompanham as escritas
+        return Gauge.builder("foodrescue.outbox.pending", repo, r -> r.countByStatus(OutboxStatus.PENDING))
+                .register(registry);
+    }
+}
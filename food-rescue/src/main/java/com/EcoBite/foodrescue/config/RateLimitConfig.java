@@ -0,0 +1,60 @@
+package com.EcoBite.foodrescue.config;
+
+import com.EcoBite.foodrescue.ratelimit.LocalRateLimitStore;
+import com.EcoBite.foodrescue.ratelimit.RateLimitFilter;
+import com.EcoBite.foodrescue.ratelimit.RateLimitProperties;
+import com.EcoBite.foodrescue.ratelimit.RateLimitRule;
+import com.EcoBite.foodrescue.ratelimit.RateLimitStore;
+import com.EcoBite.foodrescue.ratelimit.RedisRateLimitStore;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rate limit por cliente nas rotas de escrita. Desligado com {@code app.rate-limit.enabled=false}.
+ */
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+@ConditionalOnProperty(name = "app.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig {
+
+    @Bean
+    public LocalRateLimitStore localRateLimitStore(RateLimitProperties props, MeterRegistry registry) {
+        List<RateLimitRule> rules = new ArrayList<>();
+        for (RateLimitProperties.Route route : props.getRoutes()) {
+            rules.add(new RateLimitRule(route.getName(), route.getMethod(), route.getPath(),
+                    route.getCapacity(), route.getRefillPerSecond()));
+        }
+        LocalRateLimitStore store = new LocalRateLimitStore(rules, props.getStripes(), props.getMaxClients());
+        Gauge.builder("foodrescue.ratelimit.clients", store, LocalRateLimitStore::trackedClients)
+                .description("Clientes com balde de rate limit em memória")
+                .register(registry);
+        return store;
+    }
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(RateLimitProperties props,
+                                                                   LocalRateLimitStore local,
+                                                                   ObjectProvider<StringRedisTemplate> redis,
+                                                                   MeterRegistry registry) {
+        RateLimitStore store = local;
+        if (props.isRedis()) {
+            store = new RedisRateLimitStore(redis.getObject(), props.getRedisKeyPrefix(), local);
+        }
+        FilterRegistrationBean<RateLimitFilter> registration =
+                new FilterRegistrationBean<>(new RateLimitFilter(local.getRules(), store, registry));
+        // depois do Spring Security, para limitar pelo usuário autenticado
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 2);
+        return registration;
+    }
+}
@@ -0,0 +1,17 @@
+package com.EcoBite.foodrescue.config;
+
+import com.EcoBite.foodrescue.route.RoutePlanner;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RoutePlanningConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public RoutePlanner routePlanner(@Value("${app.routes.parallelism:0}") int parallelism,
+                                     @Value("${app.routes.max-restarts:64}") int maxRestarts) {
+        int workers = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        return new RoutePlanner(workers, maxRestarts);
+    }
+}
@@ -0,0 +1,13 @@
+package com.EcoBite.foodrescue.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita {@code @Scheduled}. Beans agendados precisam de {@code @Lazy(false)}
+ * para rodar também no modo fast-start.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
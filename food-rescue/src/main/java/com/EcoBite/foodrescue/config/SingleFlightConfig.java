@@ -0,0 +1,39 @@
+package com.EcoBite.foodrescue.config;
+
+import com.EcoBite.foodrescue.datasource.ReadYourWritesTracker;
+import com.EcoBite.foodrescue.singleflight.SingleFlightAspect;
+import com.EcoBite.foodrescue.singleflight.SingleFlightGroup;
+import com.EcoBite.foodrescue.singleflight.WriteEpoch;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class SingleFlightConfig {
+
+    @Bean
+    public SingleFlightGroup singleFlightGroup(MeterRegistry registry) {
+        SingleFlightGroup group = new SingleFlightGroup();
+        registry.gauge("foodrescue.singleflight.inflight", group, SingleFlightGroup::inFlight);
+        registry.gauge("foodrescue.singleflight.waiting", group, SingleFlightGroup::waiting);
+        return group;
+    }
+
+    /** Registrado no gerenciador de transações pelo Spring Boot, como todo {@code TransactionExecutionListener}. */
+    @Bean
+    public WriteEpoch writeEpoch() {
+        return new WriteEpoch();
+    }
+
+    @Bean
+    public SingleFlightAspect singleFlightAspect(SingleFlightGroup group, MeterRegistry registry, WriteEpoch writes,
+                                                 @Value("${app.single-flight.timeout:PT5S}") Duration timeout,
+                                                 @Value("${app.single-flight.enabled:true}") boolean enabled,
+                                                 ObjectProvider<ReadYourWritesTracker> readYourWrites) {
+        return new SingleFlightAspect(group, registry, timeout, enabled, writes, readYourWrites.getIfAvailable());
+    }
+}
@@ -0,0 +1,81 @@
+package com.EcoBite.foodrescue.config;
+
+import com.EcoBite.foodrescue.monitoring.HibernateStatisticsEndpoint;
+import com.EcoBite.foodrescue.monitoring.SlowQueryLogger;
+import com.EcoBite.foodrescue.monitoring.SqlStatementCountFilter;
+import com.EcoBite.foodrescue.monitoring.SqlStatementCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+/**
+ * Monitoramento de SQL: envolve o DataSource principal com datasource-proxy para
+ * contar statements por requisição e logar queries lentas, e publica o endpoint
+ * {@code /actuator/hibernate}.
+ */
+@Configuration
+public class SqlMonitoringConfig {
+
+    static final String PROXIED_DATASOURCE = "dataSource";
+
+    @Bean
+    public SqlStatementCounter sqlStatementCounter() {
+        return new SqlStatementCounter();
+    }
+
+    @Bean
+    public SlowQueryLogger slowQueryLogger(
+            @Value("${app.sql.slow-query-threshold-ms:500}") long thresholdMs,
+            @Value("${app.sql.redact-parameters:true}") boolean redactParameters,
+            @Value("${app.sql.slow-query-capacity:50}") int capacity) {
+        return new SlowQueryLogger(thresholdMs, redactParameters, capacity);
+    }
+
+    @Bean
+    public static BeanPostProcessor sqlMonitoringDataSourcePostProcessor(
+            ObjectProvider<SqlStatementCounter> counter,
+            ObjectProvider<SlowQueryLogger> slowQueries) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource) || !PROXIED_DATASOURCE.equals(beanName)) {
+                    return bean;
+                }
+                return ProxyDataSourceBuilder.create((DataSource) bean)
+                        .name(beanName)
+                        .listener(counter.getObject())
+                        .listener(slowQueries.getObject())
+                        .build();
+            }
+        };
+    }
+
+    @Bean
+    public SqlStatementCountFilter sqlStatementCountFilter(SqlStatementCounter counter, MeterRegistry registry) {
+        return new SqlStatementCountFilter(counter, registry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlStatementCountFilter> sqlStatementCountFilterRegistration(
+            SqlStatementCountFilter filter) {
+        FilterRegistrationBean<SqlStatementCountFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    @Bean
+    public HibernateStatisticsEndpoint hibernateStatisticsEndpoint(EntityManagerFactory entityManagerFactory,
+                                                                   SqlStatementCountFilter requestStats,
+                                                                   SlowQueryLogger slowQueries) {
+        return new HibernateStatisticsEndpoint(entityManagerFactory, requestStats, slowQueries);
+    }
+}
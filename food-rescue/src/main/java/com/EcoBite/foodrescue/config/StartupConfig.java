@@ -0,0 +1,25 @@
+package com.EcoBite.foodrescue.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.web.SecurityFilterChain;
+
+import javax.sql.DataSource;
+
+/**
+ * Modo fast-start ({@code spring.main.lazy-initialization=true}): o resto dos beans
+ * é criado sob demanda, mas pool de conexões, JPA e segurança continuam eager para
+ * que a primeira requisição e o health check não paguem a inicialização.
+ * Componentes de background (schedulers, relays) precisam de {@code @Lazy(false)}.
+ */
+@Configuration
+public class StartupConfig {
+
+    @Bean
+    public static LazyInitializationExcludeFilter eagerInfrastructure() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                DataSource.class, EntityManagerFactory.class, SecurityFilterChain.class);
+    }
+}
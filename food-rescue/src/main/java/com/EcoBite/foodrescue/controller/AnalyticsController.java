@@ -0,0 +1,47 @@
+package com.EcoBite.foodrescue.controller;
+
+import com.EcoBite.foodrescue.analytics.AnalyticsService;
+import com.EcoBite.foodrescue.analytics.RollupGranularity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/analytics")
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:5173"})
+public class AnalyticsController {
+    private final AnalyticsService service;
+
+    public AnalyticsController(AnalyticsService service) {
+        this.service = service;
+    }
+
+    /**
+     * Ofertas entregues/canceladas, porções e mediana de retirada por intervalo.
+     * {@code from}/{@code to} aceitam data ({@code 2024-05-01}) ou data e hora; padrão: últimos 7 dias.
+     * {@code region} é um prefixo geohash.
+     */
+    @GetMapping("/timeseries")
+    public ResponseEntity<?> timeSeries(@RequestParam(value = "from", required = false) String from,
+                                        @RequestParam(value = "to", required = false) String to,
+                                        @RequestParam(value = "granularity", defaultValue = "day") String granularity,
+                                        @RequestParam(value = "region", required = false) String region) {
+        try {
+            LocalDateTime end = to != null ? parse(to) : LocalDateTime.now();
+            LocalDateTime start = from != null ? parse(from) : end.minusDays(7);
+            RollupGranularity g = RollupGranularity.valueOf(granularity.toUpperCase(Locale.ROOT));
+            return ResponseEntity.ok(service.timeSeries(start, end, g, region != null ? region.toLowerCase(Locale.ROOT) : null));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    private static LocalDateTime parse(String value) {
+        return value.length() == 10 ? LocalDate.parse(value).atStartOfDay() : LocalDateTime.parse(value);
+    }
+}
@@ -0,0 +1,47 @@
+package com.EcoBite.foodrescue.controller;
+
+import com.EcoBite.foodrescue.auth.JwtAuthenticationFilter;
+import com.EcoBite.foodrescue.dto.LoginRequest;
+import com.EcoBite.foodrescue.dto.LoginResponse;
+import com.EcoBite.foodrescue.service.AuthService;
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/auth")
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:5173"})
+public class AuthController {
+    private final AuthService service;
+
+    public AuthController(AuthService service) {
+        this.service = service;
+    }
+
+    @PostMapping("/login")
+    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest req) {
+        try {
+            LoginResponse response = service.login(req.getEmail(), req.getPassword());
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(HttpServletRequest request) {
+        Claims claims = (Claims) request.getAttribute(JwtAuthenticationFilter.TOKEN_CLAIMS_ATTRIBUTE);
+        if (claims == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        service.logout(claims);
+        return ResponseEntity.noContent().build();
+    }
+}
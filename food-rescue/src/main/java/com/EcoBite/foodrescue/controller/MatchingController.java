@@ -0,0 +1,50 @@
+package com.EcoBite.foodrescue.controller;
+
+import com.EcoBite.foodrescue.matching.MatchSuggestion;
+import com.EcoBite.foodrescue.matching.MatchingRun;
+import com.EcoBite.foodrescue.matching.MatchingService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/matching")
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:5173"})
+public class MatchingController {
+    private final MatchingService service;
+
+    public MatchingController(MatchingService service) {
+        this.service = service;
+    }
+
+    @GetMapping("/suggestions")
+    public List<MatchSuggestion> suggestions(@RequestParam(value = "volunteerId", required = false) String volunteerId) {
+        MatchingRun run = service.getLastRun();
+        return volunteerId == null ? run.getSuggestions() : run.forVolunteer(volunteerId);
+    }
+
+    @GetMapping("/status")
+    public Map<String, Object> status() {
+        return summary(service.getLastRun());
+    }
+
+    @PostMapping("/run")
+    @PreAuthorize("hasAnyRole('ORGANIZATION', 'ADMIN')")
+    public ResponseEntity<Map<String, Object>> run() {
+        return ResponseEntity.ok(summary(service.run()));
+    }
+
+    private Map<String, Object> summary(MatchingRun run) {
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("finishedAt", run.getFinishedAt());
+        summary.put("durationMs", run.getDurationMs());
+        summary.put("offers", run.getOffers());
+        summary.put("volunteers", run.getVolunteers());
+        summary.put("suggestions", run.getSuggestions().size());
+        return summary;
+    }
+}
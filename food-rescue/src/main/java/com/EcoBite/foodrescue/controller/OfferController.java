@@ -7,7 +7,11 @@ import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/offers")
@@ -35,44 +39,109 @@ public class OfferController {
         return service.findAll();
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<List<Offer>> search(@RequestParam("q") String q,
+                                              @RequestParam(value = "lat", required = false) Double lat,
+                                              @RequestParam(value = "lon", required = false) Double lon,
+                                              @RequestParam(value = "radiusKm", required = false) Double radiusKm,
+                                              @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        if (q.isBlank() || limit < 1 || limit > 100) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(service.search(q, lat, lon, radiusKm, limit));
+    }
+
+    /**
+     * Agregados por célula para o mapa. {@code bbox} = {@code minLon,minLat,maxLon,maxLat}.
+     */
+    @GetMapping("/heatmap")
+    public ResponseEntity<?> heatmap(@RequestParam(value = "bbox", required = false) String bbox,
+                                     @RequestParam(value = "precision", required = false) Integer precision) {
+        try {
+            double[] box = bbox != null ? parseBbox(bbox) : null;
+            return ResponseEntity.ok(service.heatmap(box, precision));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Clusters de marcadores do viewport no zoom do mapa. {@code bbox} = {@code minLon,minLat,maxLon,maxLat}.
+     */
+    @GetMapping("/clusters")
+    public ResponseEntity<?> clusters(@RequestParam("bbox") String bbox,
+                                      @RequestParam("zoom") int zoom) {
+        try {
+            return ResponseEntity.ok(service.clusters(parseBbox(bbox), zoom));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Histórico arquivado: ofertas encerradas em {@code [from, to)}, mais recentes primeiro.
+     * {@code from}/{@code to} aceitam data ou data e hora; padrão: últimos 365 dias.
+     */
+    @GetMapping("/archive")
+    public ResponseEntity<?> archive(@RequestParam(value = "from", required = false) String from,
+                                     @RequestParam(value = "to", required = false) String to,
+                                     @RequestParam(value = "limit", defaultValue = "100") int limit) {
+        try {
+            LocalDateTime end = to != null ? parseTime(to) : LocalDateTime.now();
+            LocalDateTime start = from != null ? parseTime(from) : end.minusDays(365);
+            return ResponseEntity.ok(service.findArchived(start, end, limit));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<Offer> get(@PathVariable String id) {
-        return service.findById(id).map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<Offer> get(@PathVariable String id,
+                                     @RequestParam(value = "includeArchived", defaultValue = "false") boolean includeArchived) {
+        return service.findById(id, includeArchived).map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
     }
 
     @PostMapping("/{id}/reserve")
-    public ResponseEntity<Offer> reserve(@PathVariable String id) {
+    public ResponseEntity<?> reserve(@PathVariable String id) {
         try {
             return ResponseEntity.ok(service.markReserved(id));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(409).body(e.getMessage());
         }
     }
 
     @PostMapping("/{id}/in-transit")
-    public ResponseEntity<Offer> setInTransit(@PathVariable String id) {
+    public ResponseEntity<?> setInTransit(@PathVariable String id) {
         try {
             return ResponseEntity.ok(service.markInTransit(id));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(409).body(e.getMessage());
         }
     }
 
     @PostMapping("/{id}/delivered")
-    public ResponseEntity<Offer> setDelivered(@PathVariable String id) {
+    public ResponseEntity<?> setDelivered(@PathVariable String id) {
         try {
             return ResponseEntity.ok(service.markDelivered(id));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(409).body(e.getMessage());
         }
     }
 
     @PostMapping("/{id}/cancel")
-    public ResponseEntity<Offer> cancel(@PathVariable String id) {
+    public ResponseEntity<?> cancel(@PathVariable String id) {
         try {
             return ResponseEntity.ok(service.markCancelled(id));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(409).body(e.getMessage());
         }
     }
 
@@ -83,7 +152,27 @@ public class OfferController {
     }
 
     @GetMapping("/stats")
-    public ResponseEntity<?> getStats() {
-        return ResponseEntity.ok(service.getStatistics());
+    public ResponseEntity<?> getStats(@RequestParam(value = "includeArchived", defaultValue = "false") boolean includeArchived) {
+        return ResponseEntity.ok(service.getStatistics(includeArchived));
+    }
+
+    /** {@code minLon,minLat,maxLon,maxLat} (ordem do GeoJSON) para {@code {minLat, minLon, maxLat, maxLon}}. */
+    private static double[] parseBbox(String bbox) {
+        String[] parts = bbox.split(",");
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("bbox deve ser minLon,minLat,maxLon,maxLat");
+        }
+        double minLon = Double.parseDouble(parts[0].trim());
+        double minLat = Double.parseDouble(parts[1].trim());
+        double maxLon = Double.parseDouble(parts[2].trim());
+        double maxLat = Double.parseDouble(parts[3].trim());
+        if (minLat > maxLat || minLon > maxLon || minLat < -90 || maxLat > 90 || minLon < -180 || maxLon > 180) {
+            throw new IllegalArgumentException("bbox fora dos limites ou invertido");
+        }
+        return new double[]{minLat, minLon, maxLat, maxLon};
+    }
+
+    private static LocalDateTime parseTime(String value) {
+        return value.length() == 10 ? LocalDate.parse(value).atStartOfDay() : LocalDateTime.parse(value);
     }
 }
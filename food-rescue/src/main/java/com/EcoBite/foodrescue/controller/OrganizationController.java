@@ -1,20 +1,59 @@
 package com.EcoBite.foodrescue.controller;
 
+import com.EcoBite.foodrescue.audit.OfferAuditService;
 import com.EcoBite.foodrescue.service.ClaimService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/org")
 public class OrganizationController {
     private final ClaimService claimService;
+    private final OfferAuditService audit;
 
-    public OrganizationController(ClaimService claimService) {
+    public OrganizationController(ClaimService claimService, OfferAuditService audit) {
         this.claimService = claimService;
+        this.audit = audit;
     }
 
     @GetMapping("/claims/{offerId}")
-    public ResponseEntity<?> claimsForOffer(@PathVariable String offerId) {
-        return ResponseEntity.ok(claimService.findByOfferId(offerId));
+    public ResponseEntity<?> claimsForOffer(@PathVariable String offerId,
+                                            @RequestParam(value = "includeArchived", defaultValue = "false") boolean includeArchived) {
+        return ResponseEntity.ok(claimService.findByOfferId(offerId, includeArchived));
+    }
+
+    /**
+     * Transições da oferta registradas no log de auditoria desta instância.
+     */
+    @GetMapping("/audit/offers/{offerId}")
+    public ResponseEntity<?> auditHistory(@PathVariable String offerId) {
+        try {
+            return ResponseEntity.ok(audit.history(offerId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "offerId inválido"));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Confere o encadeamento do log inteiro e a última âncora; uma verificação por vez.
+     */
+    @GetMapping("/audit/verify")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> verifyAudit() {
+        try {
+            return ResponseEntity.ok(audit.verify());
+        } catch (OfferAuditService.VerificationInProgressException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, "10")
+                    .body(Map.of("error", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("error", e.getMessage()));
+        }
     }
 }
@@ -0,0 +1,24 @@
+package com.EcoBite.foodrescue.controller;
+
+import com.EcoBite.foodrescue.dto.RoutePlanRequest;
+import com.EcoBite.foodrescue.dto.RoutePlanResponse;
+import com.EcoBite.foodrescue.route.RoutePlanningService;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/routes")
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:5173"})
+public class RouteController {
+    private final RoutePlanningService service;
+
+    public RouteController(RoutePlanningService service) {
+        this.service = service;
+    }
+
+    @PostMapping("/plan")
+    public ResponseEntity<RoutePlanResponse> plan(@Valid @RequestBody RoutePlanRequest req) {
+        return ResponseEntity.ok(service.plan(req));
+    }
+}
@@ -6,6 +6,8 @@ import com.EcoBite.foodrescue.model.User;
 import com.EcoBite.foodrescue.model.UserRole;
 import com.EcoBite.foodrescue.model.UserStatus;
 import com.EcoBite.foodrescue.service.UserService;
+import com.EcoBite.foodrescue.userimport.UserImportReport;
+import com.EcoBite.foodrescue.userimport.UserImportService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -13,17 +15,25 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 
 @RestController
 @RequestMapping("/api/users")
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:5173"})
 public class UserController {
 
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private UserImportService userImportService;
+
     @GetMapping("/profile")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<UserProfileResponse> getProfile(Authentication authentication) {
@@ -49,6 +59,11 @@ public class UserController {
         return ResponseEntity.ok(users);
     }
 
+    @GetMapping("/email-exists")
+    public ResponseEntity<Map<String, Boolean>> emailExists(@RequestParam String email) {
+        return ResponseEntity.ok(Map.of("exists", userService.emailExists(email)));
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<UserProfileResponse> getUserById(@PathVariable String id) {
@@ -92,14 +107,7 @@ public class UserController {
     @GetMapping("/statistics")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Map<String, Object>> getUserStatistics() {
-        Map<String, Object> stats = Map.of(
-            "totalUsers", userService.getAllUsers().size(),
-            "activeUsers", userService.getActiveUsers().size(),
-            "volunteers", userService.getUsersByRole(UserRole.VOLUNTEER).size(),
-            "organizations", userService.getUsersByRole(UserRole.ORGANIZATION).size(),
-            "admins", userService.getUsersByRole(UserRole.ADMIN).size()
-        );
-        return ResponseEntity.ok(stats);
+        return ResponseEntity.ok(userService.getStatistics());
     }
 
     @GetMapping("/nearby")
@@ -134,6 +142,18 @@ public class UserController {
         }
     }
 
+    @PostMapping(value = "/import", consumes = {"text/csv", "text/plain"})
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> importUsers(InputStream csv) {
+        try {
+            UserImportReport report = userImportService.importCsv(
+                    new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8), 64 * 1024));
+            return ResponseEntity.ok(report);
+        } catch (IllegalArgumentException | IOException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     @GetMapping("/inactive")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<List<UserProfileResponse>> getInactiveUsers(
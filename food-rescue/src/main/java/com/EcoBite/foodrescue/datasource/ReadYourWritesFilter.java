@@ -0,0 +1,27 @@
+package com.EcoBite.foodrescue.datasource;
+
+import com.EcoBite.foodrescue.web.ClientKeys;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Identifica o cliente da requisição para o read-your-writes (ver {@link ClientKeys}).
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ReadYourWritesTracker.setCurrentClient(ClientKeys.resolve(request));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReadYourWritesTracker.clearCurrentClient();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.EcoBite.foodrescue.datasource;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Lembra quando cada cliente escreveu pela última vez, para que as leituras
+ * dele logo em seguida vejam a própria escrita (vão para o primário).
+ * O cliente da thread atual é definido pelo {@link ReadYourWritesFilter}.
+ */
+public class ReadYourWritesTracker {
+    private static final ThreadLocal<String> CURRENT_CLIENT = new ThreadLocal<>();
+
+    private final ConcurrentMap<String, Long> lastWrite = new ConcurrentHashMap<>();
+    private final long stickinessNanos;
+    private final int maxClients;
+    private final LongSupplier clock;
+
+    public ReadYourWritesTracker(Duration stickiness, int maxClients) {
+        this(stickiness, maxClients, System::nanoTime);
+    }
+
+    ReadYourWritesTracker(Duration stickiness, int maxClients, LongSupplier clock) {
+        this.stickinessNanos = stickiness.toNanos();
+        this.maxClients = maxClients;
+        this.clock = clock;
+    }
+
+    public static void setCurrentClient(String client) {
+        CURRENT_CLIENT.set(client);
+    }
+
+    public static String currentClient() {
+        return CURRENT_CLIENT.get();
+    }
+
+    public static void clearCurrentClient() {
+        CURRENT_CLIENT.remove();
+    }
+
+    /**
+     * Registra uma escrita confirmada do cliente atual.
+     */
+    public void recordWrite() {
+        String client = currentClient();
+        if (client == null || stickinessNanos <= 0) {
+            return;
+        }
+        if (lastWrite.size() >= maxClients) {
+            evictExpired();
+        }
+        if (lastWrite.size() < maxClients || lastWrite.containsKey(client)) {
+            lastWrite.put(client, clock.getAsLong());
+        }
+    }
+
+    /**
+     * Indica se o cliente atual escreveu dentro da janela de stickiness.
+     */
+    public boolean mustReadFromPrimary() {
+        String client = currentClient();
+        if (client == null) {
+            return false;
+        }
+        Long at = lastWrite.get(client);
+        if (at == null) {
+            return false;
+        }
+        if (clock.getAsLong() - at < stickinessNanos) {
+            return true;
+        }
+        lastWrite.remove(client, at);
+        return false;
+    }
+
+    public int trackedClients() {
+        return lastWrite.size();
+    }
+
+    void evictExpired() {
+        long now = clock.getAsLong();
+        lastWrite.entrySet().removeIf(e -> now - e.getValue() >= stickinessNanos);
+    }
+}
@@ -0,0 +1,175 @@
+package com.EcoBite.foodrescue.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Envia transações {@code @Transactional(readOnly = true)} para as réplicas e o
+ * resto para o primário. Réplicas com atraso acima de {@code maxLag} ou fora do
+ * ar saem da rotação; sem réplica saudável, a leitura vai para o primário.
+ * <p>
+ * Deve ficar atrás de um {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}
+ * para que a conexão só seja escolhida quando o flag read-only já está definido.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    static final String PRIMARY = "primary";
+
+    private final List<ReplicaState> replicas = new ArrayList<>();
+    private final ReadYourWritesTracker tracker;
+    private final long maxLagMillis;
+    private final String lagQuery;
+    private final Duration checkInterval;
+    private final AtomicInteger next = new AtomicInteger();
+    private ScheduledExecutorService checker;
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+                                    ReadYourWritesTracker tracker, Duration maxLag,
+                                    String lagQuery, Duration checkInterval) {
+        this.tracker = tracker;
+        this.maxLagMillis = maxLag.toMillis();
+        this.lagQuery = lagQuery;
+        this.checkInterval = checkInterval;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        replicas.forEach((name, ds) -> {
+            targets.put(name, ds);
+            this.replicas.add(new ReplicaState(name, ds));
+        });
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        checkReplicas();
+        if (!replicas.isEmpty() && !checkInterval.isZero()) {
+            checker = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "replica-lag-check");
+                t.setDaemon(true);
+                return t;
+            });
+            long period = checkInterval.toMillis();
+            checker.scheduleWithFixedDelay(this::checkReplicas, period, period, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Para a verificação de atraso e fecha os pools de conexão.
+     */
+    public void shutdown() {
+        if (checker != null) {
+            checker.shutdownNow();
+        }
+        for (DataSource ds : getResolvedDataSources().values()) {
+            if (ds instanceof AutoCloseable) {
+                try {
+                    ((AutoCloseable) ds).close();
+                } catch (Exception e) {
+                    log.warn("Failed to close datasource: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        tracker.recordWrite();
+                    }
+                });
+            }
+            return PRIMARY;
+        }
+        if (tracker.mustReadFromPrimary()) {
+            return PRIMARY;
+        }
+        int n = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(n, 1));
+        for (int i = 0; i < n; i++) {
+            ReplicaState replica = replicas.get((start + i) % n);
+            if (replica.usable) {
+                return replica.name;
+            }
+        }
+        return PRIMARY;
+    }
+
+    /**
+     * Estado de cada réplica (saudável, atraso), para o health/diagnóstico.
+     */
+    public Map<String, Object> replicaStatus() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        for (ReplicaState r : replicas) {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("usable", r.usable);
+            m.put("lagMs", r.lagMillis);
+            out.put(r.name, m);
+        }
+        return out;
+    }
+
+    void checkReplicas() {
+        for (ReplicaState replica : replicas) {
+            long lag;
+            try (Connection c = replica.dataSource.getConnection()) {
+                lag = measureLag(c);
+            } catch (Exception e) {
+                lag = -1;
+                log.debug("Replica {} check failed: {}", replica.name, e.getMessage());
+            }
+            boolean usable = lag >= 0 && lag <= maxLagMillis;
+            if (usable != replica.usable) {
+                log.warn("Replica {} is now {} (lag {} ms)", replica.name, usable ? "in rotation" : "out of rotation", lag);
+            }
+            replica.lagMillis = lag;
+            replica.usable = usable;
+        }
+    }
+
+    private long measureLag(Connection c) throws Exception {
+        if (lagQuery == null || lagQuery.isBlank()) {
+            return c.isValid(1) ? 0 : -1;
+        }
+        try (Statement st = c.createStatement(); ResultSet rs = st.executeQuery(lagQuery)) {
+            return rs.next() ? Math.round(rs.getDouble(1) * 1000) : 0;
+        }
+    }
+
+    private static final class ReplicaState {
+        final String name;
+        final DataSource dataSource;
+        volatile boolean usable;
+        volatile long lagMillis = -1;
+
+        ReplicaState(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
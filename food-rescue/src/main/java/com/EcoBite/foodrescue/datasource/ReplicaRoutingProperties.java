@@ -0,0 +1,62 @@
+package com.EcoBite.foodrescue.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuração das réplicas de leitura ({@code app.datasource.*}).
+ * Sem réplicas configuradas, o DataSource padrão do Spring Boot é usado.
+ */
+@ConfigurationProperties(prefix = "app.datasource")
+public class ReplicaRoutingProperties {
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    /** Atraso máximo aceito antes de tirar a réplica da rotação. */
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    /** Janela em que as leituras de um cliente vão para o primário depois de uma escrita dele. */
+    private Duration stickiness = Duration.ofSeconds(5);
+
+    /** Intervalo entre as verificações de saúde/atraso das réplicas. */
+    private Duration healthCheckInterval = Duration.ofSeconds(2);
+
+    /** Query que retorna o atraso da réplica em segundos (vazio = só testa a conexão). */
+    private String lagQuery = "SELECT CASE WHEN pg_is_in_recovery() "
+            + "THEN COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) ELSE 0 END";
+
+    /** Máximo de clientes lembrados para read-your-writes. */
+    private int maxTrackedClients = 100_000;
+
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+
+        public String getUrl() { return url; }
+        public void setUrl(String url) { this.url = url; }
+        public String getUsername() { return username; }
+        public void setUsername(String username) { this.username = username; }
+        public String getPassword() { return password; }
+        public void setPassword(String password) { this.password = password; }
+        public int getMaximumPoolSize() { return maximumPoolSize; }
+        public void setMaximumPoolSize(int maximumPoolSize) { this.maximumPoolSize = maximumPoolSize; }
+    }
+
+    public List<Replica> getReplicas() { return replicas; }
+    public void setReplicas(List<Replica> replicas) { this.replicas = replicas; }
+    public Duration getMaxLag() { return maxLag; }
+    public void setMaxLag(Duration maxLag) { this.maxLag = maxLag; }
+    public Duration getStickiness() { return stickiness; }
+    public void setStickiness(Duration stickiness) { this.stickiness = stickiness; }
+    public Duration getHealthCheckInterval() { return healthCheckInterval; }
+    public void setHealthCheckInterval(Duration healthCheckInterval) { this.healthCheckInterval = healthCheckInterval; }
+    public String getLagQuery() { return lagQuery; }
+    public void setLagQuery(String lagQuery) { this.lagQuery = lagQuery; }
+    public int getMaxTrackedClients() { return maxTrackedClients; }
+    public void setMaxTrackedClients(int maxTrackedClients) { this.maxTrackedClients = maxTrackedClients; }
+}
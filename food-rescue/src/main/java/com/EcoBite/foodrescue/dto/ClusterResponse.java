@@ -0,0 +1,21 @@
+package com.EcoBite.foodrescue.dto;
+
+import com.EcoBite.foodrescue.heatmap.ClusterIndex;
+import com.EcoBite.foodrescue.model.Offer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ClusterResponse {
+
+    private int zoom;
+    private List<ClusterIndex.ClusterView> clusters = new ArrayList<>();
+    private List<Offer> offers = new ArrayList<>();
+
+    public int getZoom() { return zoom; }
+    public void setZoom(int zoom) { this.zoom = zoom; }
+    public List<ClusterIndex.ClusterView> getClusters() { return clusters; }
+    public void setClusters(List<ClusterIndex.ClusterView> clusters) { this.clusters = clusters; }
+    public List<Offer> getOffers() { return offers; }
+    public void setOffers(List<Offer> offers) { this.offers = offers; }
+}
@@ -0,0 +1,35 @@
+package com.EcoBite.foodrescue.dto;
+
+public class LoginResponse {
+
+    private String token;
+    private String tokenType = "Bearer";
+    private String expiresAt; // ISO-8601, UTC
+    private long expiresIn;   // segundos
+    private UserProfileResponse user;
+
+    public LoginResponse() {}
+
+    public LoginResponse(String token, String expiresAt, long expiresIn, UserProfileResponse user) {
+        this.token = token;
+        this.expiresAt = expiresAt;
+        this.expiresIn = expiresIn;
+        this.user = user;
+    }
+
+    // Getters and Setters
+    public String getToken() { return token; }
+    public void setToken(String token) { this.token = token; }
+
+    public String getTokenType() { return tokenType; }
+    public void setTokenType(String tokenType) { this.tokenType = tokenType; }
+
+    public String getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(String expiresAt) { this.expiresAt = expiresAt; }
+
+    public long getExpiresIn() { return expiresIn; }
+    public void setExpiresIn(long expiresIn) { this.expiresIn = expiresIn; }
+
+    public UserProfileResponse getUser() { return user; }
+    public void setUser(UserProfileResponse user) { this.user = user; }
+}
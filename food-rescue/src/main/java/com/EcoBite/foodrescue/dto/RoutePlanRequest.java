@@ -0,0 +1,50 @@
+package com.EcoBite.foodrescue.dto;
+
+import jakarta.validation.constraints.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO para planejar uma rota de coleta com várias paradas.
+ */
+public class RoutePlanRequest {
+    @DecimalMin("-90.0")
+    @DecimalMax("90.0")
+    private double startLatitude;
+    @DecimalMin("-180.0")
+    @DecimalMax("180.0")
+    private double startLongitude;
+    /** Tempo disponível para a rota, em minutos. */
+    @Min(1)
+    @Max(24 * 60)
+    private int timeBudgetMinutes;
+    /** Porções que cabem no veículo. */
+    @Min(1)
+    private int capacity;
+    /** Início da rota (padrão: agora). */
+    private LocalDateTime startAt;
+    /** Velocidade média em km/h (padrão: 30). */
+    @DecimalMin("1.0")
+    @DecimalMax("150.0")
+    private Double speedKmh;
+    /** Raio de busca de ofertas a partir do ponto de partida (padrão: 10 km). */
+    @DecimalMin("0.1")
+    @DecimalMax("100.0")
+    private Double maxDistanceKm;
+
+    // getters e setters
+    public double getStartLatitude() { return startLatitude; }
+    public void setStartLatitude(double startLatitude) { this.startLatitude = startLatitude; }
+    public double getStartLongitude() { return startLongitude; }
+    public void setStartLongitude(double startLongitude) { this.startLongitude = startLongitude; }
+    public int getTimeBudgetMinutes() { return timeBudgetMinutes; }
+    public void setTimeBudgetMinutes(int timeBudgetMinutes) { this.timeBudgetMinutes = timeBudgetMinutes; }
+    public int getCapacity() { return capacity; }
+    public void setCapacity(int capacity) { this.capacity = capacity; }
+    public LocalDateTime getStartAt() { return startAt; }
+    public void setStartAt(LocalDateTime startAt) { this.startAt = startAt; }
+    public Double getSpeedKmh() { return speedKmh; }
+    public void setSpeedKmh(Double speedKmh) { this.speedKmh = speedKmh; }
+    public Double getMaxDistanceKm() { return maxDistanceKm; }
+    public void setMaxDistanceKm(Double maxDistanceKm) { this.maxDistanceKm = maxDistanceKm; }
+}
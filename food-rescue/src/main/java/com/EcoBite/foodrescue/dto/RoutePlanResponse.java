@@ -0,0 +1,59 @@
+package com.EcoBite.foodrescue.dto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rota planejada: paradas em ordem, com horário previsto de chegada.
+ */
+public class RoutePlanResponse {
+
+    private List<Stop> stops = new ArrayList<>();
+    private int totalPortions;
+    private double totalDistanceKm;
+    private int totalMinutes;
+    private int candidates;
+    private long computeMs;
+
+    public static class Stop {
+        private String offerId;
+        private String description;
+        private int portions;
+        private double latitude;
+        private double longitude;
+        private LocalDateTime arrivalAt;
+        private LocalDateTime pickupBy;
+        private double legDistanceKm;
+
+        public String getOfferId() { return offerId; }
+        public void setOfferId(String offerId) { this.offerId = offerId; }
+        public String getDescription() { return description; }
+        public void setDescription(String description) { this.description = description; }
+        public int getPortions() { return portions; }
+        public void setPortions(int portions) { this.portions = portions; }
+        public double getLatitude() { return latitude; }
+        public void setLatitude(double latitude) { this.latitude = latitude; }
+        public double getLongitude() { return longitude; }
+        public void setLongitude(double longitude) { this.longitude = longitude; }
+        public LocalDateTime getArrivalAt() { return arrivalAt; }
+        public void setArrivalAt(LocalDateTime arrivalAt) { this.arrivalAt = arrivalAt; }
+        public LocalDateTime getPickupBy() { return pickupBy; }
+        public void setPickupBy(LocalDateTime pickupBy) { this.pickupBy = pickupBy; }
+        public double getLegDistanceKm() { return legDistanceKm; }
+        public void setLegDistanceKm(double legDistanceKm) { this.legDistanceKm = legDistanceKm; }
+    }
+
+    public List<Stop> getStops() { return stops; }
+    public void setStops(List<Stop> stops) { this.stops = stops; }
+    public int getTotalPortions() { return totalPortions; }
+    public void setTotalPortions(int totalPortions) { this.totalPortions = totalPortions; }
+    public double getTotalDistanceKm() { return totalDistanceKm; }
+    public void setTotalDistanceKm(double totalDistanceKm) { this.totalDistanceKm = totalDistanceKm; }
+    public int getTotalMinutes() { return totalMinutes; }
+    public void setTotalMinutes(int totalMinutes) { this.totalMinutes = totalMinutes; }
+    public int getCandidates() { return candidates; }
+    public void setCandidates(int candidates) { this.candidates = candidates; }
+    public long getComputeMs() { return computeMs; }
+    public void setComputeMs(long computeMs) { this.computeMs = computeMs; }
+}
@@ -0,0 +1,46 @@
+package com.EcoBite.foodrescue.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class TimeSeriesResponse {
+
+    private String granularity;
+    private String region;
+    private String from;
+    private String to;
+    private List<Point> points = new ArrayList<>();
+
+    public String getGranularity() { return granularity; }
+    public void setGranularity(String granularity) { this.granularity = granularity; }
+    public String getRegion() { return region; }
+    public void setRegion(String region) { this.region = region; }
+    public String getFrom() { return from; }
+    public void setFrom(String from) { this.from = from; }
+    public String getTo() { return to; }
+    public void setTo(String to) { this.to = to; }
+    public List<Point> getPoints() { return points; }
+    public void setPoints(List<Point> points) { this.points = points; }
+
+    public static class Point {
+        private String bucketStart;
+        private long delivered;
+        private long cancelled;
+        private long portionsRescued;
+        private long portionsCancelled;
+        private Double medianPickupMinutes;
+
+        public String getBucketStart() { return bucketStart; }
+        public void setBucketStart(String bucketStart) { this.bucketStart = bucketStart; }
+        public long getDelivered() { return delivered; }
+        public void setDelivered(long delivered) { this.delivered = delivered; }
+        public long getCancelled() { return cancelled; }
+        public void setCancelled(long cancelled) { this.cancelled = cancelled; }
+        public long getPortionsRescued() { return portionsRescued; }
+        public void setPortionsRescued(long portionsRescued) { this.portionsRescued = portionsRescued; }
+        public long getPortionsCancelled() { return portionsCancelled; }
+        public void setPortionsCancelled(long portionsCancelled) { this.portionsCancelled = portionsCancelled; }
+        public Double getMedianPickupMinutes() { return medianPickupMinutes; }
+        public void setMedianPickupMinutes(Double medianPickupMinutes) { this.medianPickupMinutes = medianPickupMinutes; }
+    }
+}
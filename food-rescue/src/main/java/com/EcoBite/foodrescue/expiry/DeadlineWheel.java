@@ -0,0 +1,65 @@
+package com.EcoBite.foodrescue.expiry;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link TimingWheel} de ids com tick de 1 s, thread-safe e com prazos em
+ * {@link LocalDateTime}. Agendamentos feitos dentro de uma transação só valem depois do commit.
+ * Cada serviço tem a sua: as chaves são ids de oferta e o mesmo id pode ter prazo de
+ * retirada e de reserva.
+ */
+public class DeadlineWheel {
+
+    private final TimingWheel<String> wheel = new TimingWheel<>(1000, System.currentTimeMillis());
+
+    public void scheduleAfterCommit(String id, LocalDateTime deadline) {
+        long millis = millis(deadline);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    schedule(id, millis);
+                }
+            });
+        } else {
+            schedule(id, millis);
+        }
+    }
+
+    public void schedule(String id, LocalDateTime deadline) {
+        schedule(id, millis(deadline));
+    }
+
+    /**
+     * Avança até agora e devolve os ids vencidos em lotes de até {@code batchSize}.
+     */
+    public List<List<String>> due(int batchSize) {
+        List<String> fired;
+        synchronized (this) {
+            fired = wheel.advance(System.currentTimeMillis());
+        }
+        List<List<String>> batches = new ArrayList<>();
+        for (int from = 0; from < fired.size(); from += batchSize) {
+            batches.add(fired.subList(from, Math.min(fired.size(), from + batchSize)));
+        }
+        return batches;
+    }
+
+    public synchronized int size() {
+        return wheel.size();
+    }
+
+    private synchronized void schedule(String id, long deadlineMillis) {
+        wheel.schedule(id, deadlineMillis);
+    }
+
+    private static long millis(LocalDateTime at) {
+        return at.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
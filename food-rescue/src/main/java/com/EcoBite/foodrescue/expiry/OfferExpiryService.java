@@ -0,0 +1,173 @@
+package com.EcoBite.foodrescue.expiry;
+
+import com.EcoBite.foodrescue.audit.OfferAuditService;
+import com.EcoBite.foodrescue.heatmap.HeatmapService;
+import com.EcoBite.foodrescue.model.NotificationType;
+import com.EcoBite.foodrescue.model.Offer;
+import com.EcoBite.foodrescue.model.OfferStatus;
+import com.EcoBite.foodrescue.model.User;
+import com.EcoBite.foodrescue.outbox.OutboxPublisher;
+import com.EcoBite.foodrescue.repository.UserRepository;
+import com.EcoBite.foodrescue.search.OfferSearchService;
+import com.EcoBite.foodrescue.service.NotificationService;
+import com.EcoBite.foodrescue.service.OfferMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Expira ofertas disponíveis que passaram do {@code pickupBy}. Os prazos ficam numa
+ * {@link TimingWheel} em memória, carregada do banco na subida e alimentada depois do
+ * commit de cada oferta criada: o tick de 1 s custa o mesmo com dez ou com centenas de
+ * milhares de prazos pendentes, sem varrer a tabela. O que vence é expirado em lotes, com
+ * UPDATE condicional (só AVAILABLE com prazo vencido), evento na outbox e notificação
+ * OFFER_EXPIRED ao doador cadastrado com o e-mail do contato. Prazos agendados numa
+ * instância que caiu são pegos pela varredura de segurança, pelo índice de {@code pickup_by}.
+ */
+@Service
+@Lazy(false)
+public class OfferExpiryService {
+    private static final Logger log = LoggerFactory.getLogger(OfferExpiryService.class);
+
+    private final OfferExpiryStore store;
+    private final TransactionTemplate tx;
+    private final OfferMetrics metrics;
+    private final OfferSearchService offerSearch;
+    private final HeatmapService heatmap;
+    private final OutboxPublisher outbox;
+    private final NotificationService notifications;
+    private final UserRepository users;
+    private final OfferAuditService audit;
+    private final int batchSize;
+    private final DeadlineWheel deadlines = new DeadlineWheel();
+
+    public OfferExpiryService(OfferExpiryStore store, PlatformTransactionManager transactionManager,
+                              OfferMetrics metrics, OfferSearchService offerSearch, HeatmapService heatmap,
+                              OutboxPublisher outbox, NotificationService notifications, UserRepository users,
+                              OfferAuditService audit, MeterRegistry registry,
+                              @Value("${app.expiry.batch-size:500}") int batchSize) {
+        this.store = store;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.metrics = metrics;
+        this.offerSearch = offerSearch;
+        this.heatmap = heatmap;
+        this.outbox = outbox;
+        this.notifications = notifications;
+        this.users = users;
+        this.audit = audit;
+        this.batchSize = batchSize;
+        registry.gauge("foodrescue.offers.expiry.pending", deadlines, DeadlineWheel::size);
+    }
+
+    /**
+     * Agenda o prazo de uma oferta que ficou (ou voltou a ficar) disponível; entra na roda
+     * só depois do commit.
+     */
+    public void offerAvailable(Offer offer) {
+        if (offer.getStatus() == OfferStatus.AVAILABLE && offer.getPickupBy() != null) {
+            deadlines.scheduleAfterCommit(offer.getId(), offer.getPickupBy());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadPending() {
+        long start = System.nanoTime();
+        store.forEachPending(deadlines::schedule);
+        log.info("{} prazos de retirada carregados em {} ms", deadlines.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Scheduled(fixedDelayString = "${app.expiry.tick:PT1S}")
+    public void tick() {
+        for (List<String> batch : deadlines.due(batchSize)) {
+            try {
+                expire(batch);
+            } catch (RuntimeException e) {
+                // a varredura de segurança pega o lote depois
+                log.warn("Falha ao expirar {} ofertas: {}", batch.size(), e.getMessage());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.expiry.sweep-interval:PT15M}", initialDelayString = "${app.expiry.sweep-interval:PT15M}")
+    public void sweep() {
+        try {
+            int expired;
+            do {
+                expired = expireOverdue();
+            } while (expired == batchSize);
+        } catch (RuntimeException e) {
+            log.warn("Falha na varredura de ofertas vencidas: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @return quantas das ofertas pedidas ainda estavam disponíveis e vencidas
+     */
+    int expire(List<String> ids) {
+        Integer expired = tx.execute(s -> {
+            LocalDateTime now = LocalDateTime.now();
+            return expire(store.lockExpirable(ids, now), now);
+        });
+        return expired != null ? expired : 0;
+    }
+
+    int expireOverdue() {
+        Integer expired = tx.execute(s -> {
+            LocalDateTime now = LocalDateTime.now();
+            return expire(store.lockOverdue(now, batchSize), now);
+        });
+        return expired != null ? expired : 0;
+    }
+
+    private int expire(List<Offer> offers, LocalDateTime now) {
+        if (offers.isEmpty()) {
+            return 0;
+        }
+        store.markExpired(offers.stream().map(Offer::getId).toList(), now);
+        for (Offer offer : offers) {
+            offer.transitionTo(OfferStatus.EXPIRED, now);
+            metrics.recordTransition(offer, OfferStatus.AVAILABLE);
+            offerSearch.offerChanged(offer);
+            heatmap.offerChanged(offer);
+            audit.transition(offer, OfferStatus.AVAILABLE, OfferAuditService.SYSTEM_EXPIRY);
+            outbox.offerStatusChanged(offer, OfferStatus.AVAILABLE);
+        }
+        notifyDonors(offers);
+        return offers.size();
+    }
+
+    /** Uma consulta por lote para achar os doadores pelo e-mail do contato. */
+    private void notifyDonors(List<Offer> offers) {
+        Map<String, List<Offer>> byEmail = new HashMap<>();
+        for (Offer offer : offers) {
+            String contact = offer.getDonorContact();
+            if (contact != null && contact.contains("@")) {
+                byEmail.computeIfAbsent(contact.trim().toLowerCase(Locale.ROOT), k -> new ArrayList<>()).add(offer);
+            }
+        }
+        if (byEmail.isEmpty()) {
+            return;
+        }
+        for (User donor : users.findByLowercaseEmailIn(byEmail.keySet())) {
+            for (Offer offer : byEmail.getOrDefault(donor.getEmail().toLowerCase(Locale.ROOT), List.of())) {
+                notifications.notify(donor, NotificationType.OFFER_EXPIRED, "Oferta expirada",
+                        "A oferta \"" + offer.getDescription() + "\" passou do prazo de retirada sem ser reservada.");
+            }
+        }
+    }
+}
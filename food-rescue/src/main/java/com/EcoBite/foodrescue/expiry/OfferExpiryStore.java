@@ -0,0 +1,92 @@
+package com.EcoBite.foodrescue.expiry;
+
+import com.EcoBite.foodrescue.model.Offer;
+import com.EcoBite.foodrescue.repository.OfferRows;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * Consultas das transições por prazo (expiração da oferta e da reserva) via JDBC. Quem
+ * chama abre a transação: as ofertas são travadas com a condição da transição e o UPDATE
+ * repete a condição, então uma troca de status que chegue antes não é sobrescrita.
+ */
+@Component
+public class OfferExpiryStore {
+
+    private static final String EXPIRABLE = "status = 'AVAILABLE' AND pickup_by <= :now";
+    private static final String HELD_SINCE = "status = 'RESERVED' AND reserved_at <= :cutoff";
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    public OfferExpiryStore(NamedParameterJdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    /** Prazos das ofertas disponíveis, para carregar a roda na subida. */
+    public void forEachPending(BiConsumer<String, LocalDateTime> consumer) {
+        jdbc.getJdbcTemplate().query("SELECT id, pickup_by FROM offers WHERE status = 'AVAILABLE' AND pickup_by IS NOT NULL",
+                rs -> {
+                    consumer.accept(rs.getString("id"), rs.getTimestamp("pickup_by").toLocalDateTime());
+                });
+    }
+
+    /** Das ofertas pedidas, as que ainda vencem agora, travadas até o fim da transação. */
+    public List<Offer> lockExpirable(Collection<String> ids, LocalDateTime now) {
+        return jdbc.query("SELECT " + OfferRows.COLUMNS + " FROM offers WHERE id IN (:ids) AND " + EXPIRABLE + " FOR UPDATE",
+                new MapSqlParameterSource("ids", ids).addValue("now", Timestamp.valueOf(now)), OfferRows.OFFER);
+    }
+
+    /**
+     * Vencidas que nenhuma roda expirou (agendadas numa instância que caiu), pelo índice
+     * parcial de {@code pickup_by}.
+     */
+    public List<Offer> lockOverdue(LocalDateTime now, int limit) {
+        return jdbc.query("SELECT " + OfferRows.COLUMNS + " FROM offers WHERE " + EXPIRABLE + " LIMIT :limit FOR UPDATE SKIP LOCKED",
+                new MapSqlParameterSource("now", Timestamp.valueOf(now)).addValue("limit", limit), OfferRows.OFFER);
+    }
+
+    public int markExpired(Collection<String> ids, LocalDateTime now) {
+        return jdbc.update("UPDATE offers SET status = 'EXPIRED' WHERE id IN (:ids) AND " + EXPIRABLE,
+                new MapSqlParameterSource("ids", ids).addValue("now", Timestamp.valueOf(now)));
+    }
+
+    /** Início das reservas em aberto, para carregar a roda na subida. */
+    public void forEachHeld(BiConsumer<String, LocalDateTime> consumer) {
+        jdbc.getJdbcTemplate().query("SELECT id, reserved_at FROM offers WHERE status = 'RESERVED' AND reserved_at IS NOT NULL",
+                rs -> {
+                    consumer.accept(rs.getString("id"), rs.getTimestamp("reserved_at").toLocalDateTime());
+                });
+    }
+
+    /** Das ofertas pedidas, as reservadas desde antes de {@code cutoff}, travadas. */
+    public List<Offer> lockHeldSince(Collection<String> ids, LocalDateTime cutoff) {
+        return jdbc.query("SELECT " + OfferRows.COLUMNS + " FROM offers WHERE id IN (:ids) AND " + HELD_SINCE + " FOR UPDATE",
+                new MapSqlParameterSource("ids", ids).addValue("cutoff", Timestamp.valueOf(cutoff)), OfferRows.OFFER);
+    }
+
+    /** Reservas vencidas que nenhuma roda liberou (agendadas numa instância que caiu). */
+    public List<Offer> lockHeldSince(LocalDateTime cutoff, int limit) {
+        return jdbc.query("SELECT " + OfferRows.COLUMNS + " FROM offers WHERE " + HELD_SINCE + " LIMIT :limit FOR UPDATE SKIP LOCKED",
+                new MapSqlParameterSource("cutoff", Timestamp.valueOf(cutoff)).addValue("limit", limit), OfferRows.OFFER);
+    }
+
+    /**
+     * Devolve as ofertas a AVAILABLE e marca as reservas em aberto delas como vencidas.
+     */
+    public int release(Collection<String> ids, LocalDateTime cutoff, LocalDateTime now) {
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", ids)
+                .addValue("cutoff", Timestamp.valueOf(cutoff))
+                .addValue("now", Timestamp.valueOf(now));
+        int released = jdbc.update("UPDATE offers SET status = 'AVAILABLE', reserved_at = NULL WHERE id IN (:ids) AND "
+                + HELD_SINCE, params);
+        jdbc.update("UPDATE claims SET expired_at = :now WHERE offer_id IN (:ids) AND expired_at IS NULL", params);
+        return released;
+    }
+}
@@ -0,0 +1,149 @@
+package com.EcoBite.foodrescue.expiry;
+
+import com.EcoBite.foodrescue.audit.OfferAuditService;
+import com.EcoBite.foodrescue.heatmap.HeatmapService;
+import com.EcoBite.foodrescue.model.Offer;
+import com.EcoBite.foodrescue.model.OfferStatus;
+import com.EcoBite.foodrescue.outbox.OutboxPublisher;
+import com.EcoBite.foodrescue.search.OfferSearchService;
+import com.EcoBite.foodrescue.service.OfferMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Devolve a AVAILABLE as ofertas reservadas há mais de {@code app.claims.hold-window} sem
+ * sair para entrega, marcando a reserva como vencida. Mesmo esquema da
+ * {@link OfferExpiryService}, com roda própria: prazos numa {@link DeadlineWheel} (reserva +
+ * janela), recarregada do banco na subida, e liberação em lote com a linha travada e UPDATE
+ * condicional (ainda RESERVED, reservada desde antes do corte), então um
+ * {@code markInTransit} que trave a linha antes vence e a oferta não é liberada. Um prazo
+ * velho que dispare depois de uma nova reserva da mesma oferta não a libera: o
+ * {@code reserved_at} novo é posterior ao corte.
+ */
+@Service
+@Lazy(false)
+public class ReservationHoldService {
+    private static final Logger log = LoggerFactory.getLogger(ReservationHoldService.class);
+
+    private final OfferExpiryStore store;
+    private final TransactionTemplate tx;
+    private final OfferMetrics metrics;
+    private final OfferSearchService offerSearch;
+    private final HeatmapService heatmap;
+    private final OutboxPublisher outbox;
+    private final OfferExpiryService expiry;
+    private final OfferAuditService audit;
+    private final Duration holdWindow;
+    private final int batchSize;
+    private final DeadlineWheel deadlines = new DeadlineWheel();
+
+    public ReservationHoldService(OfferExpiryStore store, PlatformTransactionManager transactionManager,
+                                  OfferMetrics metrics, OfferSearchService offerSearch, HeatmapService heatmap,
+                                  OutboxPublisher outbox, OfferExpiryService expiry, OfferAuditService audit,
+                                  MeterRegistry registry,
+                                  @Value("${app.claims.hold-window:PT2H}") Duration holdWindow,
+                                  @Value("${app.expiry.batch-size:500}") int batchSize) {
+        this.store = store;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.metrics = metrics;
+        this.offerSearch = offerSearch;
+        this.heatmap = heatmap;
+        this.outbox = outbox;
+        this.expiry = expiry;
+        this.audit = audit;
+        this.holdWindow = holdWindow;
+        this.batchSize = batchSize;
+        registry.gauge("foodrescue.claims.hold.pending", deadlines, DeadlineWheel::size);
+    }
+
+    /**
+     * Agenda o fim da janela de uma oferta reservada; entra na roda só depois do commit.
+     */
+    public void offerReserved(Offer offer) {
+        if (offer.getStatus() == OfferStatus.RESERVED && offer.getReservedAt() != null) {
+            deadlines.scheduleAfterCommit(offer.getId(), offer.getReservedAt().plus(holdWindow));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadHeld() {
+        store.forEachHeld((id, reservedAt) -> deadlines.schedule(id, reservedAt.plus(holdWindow)));
+        log.info("{} reservas em aberto carregadas", deadlines.size());
+    }
+
+    @Scheduled(fixedDelayString = "${app.expiry.tick:PT1S}")
+    public void tick() {
+        for (List<String> batch : deadlines.due(batchSize)) {
+            try {
+                release(batch);
+            } catch (RuntimeException e) {
+                log.warn("Falha ao liberar {} reservas: {}", batch.size(), e.getMessage());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.expiry.sweep-interval:PT15M}", initialDelayString = "${app.expiry.sweep-interval:PT15M}")
+    public void sweep() {
+        try {
+            int released;
+            do {
+                released = releaseOverdue();
+            } while (released == batchSize);
+        } catch (RuntimeException e) {
+            log.warn("Falha na varredura de reservas vencidas: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @return quantas das ofertas pedidas ainda estavam reservadas além da janela
+     */
+    int release(List<String> ids) {
+        Integer released = tx.execute(s -> {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime cutoff = now.minus(holdWindow);
+            return release(store.lockHeldSince(ids, cutoff), cutoff, now);
+        });
+        return released != null ? released : 0;
+    }
+
+    int releaseOverdue() {
+        Integer released = tx.execute(s -> {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime cutoff = now.minus(holdWindow);
+            return release(store.lockHeldSince(cutoff, batchSize), cutoff, now);
+        });
+        return released != null ? released : 0;
+    }
+
+    private int release(List<Offer> offers, LocalDateTime cutoff, LocalDateTime now) {
+        if (offers.isEmpty()) {
+            return 0;
+        }
+        store.release(offers.stream().map(Offer::getId).toList(), cutoff, now);
+        for (Offer offer : offers) {
+            offer.transitionTo(OfferStatus.AVAILABLE, now);
+            offer.setReservedAt(null);
+            metrics.recordTransition(offer, OfferStatus.RESERVED);
+            offerSearch.offerChanged(offer);
+            heatmap.offerChanged(offer);
+            // o prazo de retirada volta a valer
+            expiry.offerAvailable(offer);
+            audit.transition(offer, OfferStatus.RESERVED, OfferAuditService.SYSTEM_HOLD);
+            outbox.offerStatusChanged(offer, OfferStatus.RESERVED);
+        }
+        return offers.size();
+    }
+}
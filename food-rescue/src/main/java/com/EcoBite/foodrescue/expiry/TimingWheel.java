@@ -0,0 +1,147 @@
+package com.EcoBite.foodrescue.expiry;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Roda de tempo hierárquica: {@link #LEVELS} níveis de {@link #SLOTS} posições, cada nível
+ * com posições {@link #SLOTS} vezes mais largas que o de baixo (com tick de 1 s: 64 s,
+ * ~68 min, ~3 dias e ~194 dias). Agendar é O(1) (cai direto na posição do nível que cobre
+ * o prazo); avançar um tick só olha uma posição do nível 0 e, quando um nível dá a volta,
+ * redistribui uma posição do nível de cima. Prazos além do alcance ficam no último nível e
+ * são redistribuídos a cada volta dele. Cancelar só esquece a chave; a entrada velha é
+ * descartada quando a posição dela for visitada. Não é thread-safe.
+ */
+public class TimingWheel<K> {
+
+    static final int SLOT_BITS = 6;
+    static final int SLOTS = 1 << SLOT_BITS;
+    static final int LEVELS = 4;
+
+    private final long tickMillis;
+    private final List<List<List<Entry<K>>>> levels = new ArrayList<>(LEVELS);
+    private final Map<K, Entry<K>> entries = new HashMap<>();
+    /** Prazos já vencidos quando agendados; saem no próximo avanço. */
+    private List<Entry<K>> due = new ArrayList<>();
+    private long currentTick;
+
+    public TimingWheel(long tickMillis, long nowMillis) {
+        this.tickMillis = tickMillis;
+        this.currentTick = Math.floorDiv(nowMillis, tickMillis);
+        for (int level = 0; level < LEVELS; level++) {
+            List<List<Entry<K>>> slots = new ArrayList<>(SLOTS);
+            for (int i = 0; i < SLOTS; i++) {
+                slots.add(new ArrayList<>());
+            }
+            levels.add(slots);
+        }
+    }
+
+    /**
+     * Agenda (ou reagenda) a chave; ela sai no primeiro {@link #advance} com
+     * {@code now >= deadlineMillis}.
+     */
+    public void schedule(K key, long deadlineMillis) {
+        Entry<K> entry = new Entry<>(key, Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis));
+        entries.put(key, entry);
+        place(entry);
+    }
+
+    public void cancel(K key) {
+        entries.remove(key);
+    }
+
+    /**
+     * Avança até {@code nowMillis} e devolve as chaves vencidas.
+     */
+    public List<K> advance(long nowMillis) {
+        long target = Math.floorDiv(nowMillis, tickMillis);
+        List<K> expired = new ArrayList<>();
+        if (target - currentTick > SLOTS) {
+            // ficou parado mais de uma volta do nível 0: redistribui tudo de uma vez em vez de
+            // andar tick a tick
+            currentTick = target;
+            due = new ArrayList<>();
+            for (List<List<Entry<K>>> slots : levels) {
+                for (List<Entry<K>> slot : slots) {
+                    slot.clear();
+                }
+            }
+            for (Entry<K> entry : entries.values()) {
+                place(entry);
+            }
+        }
+        while (currentTick < target) {
+            long tick = ++currentTick;
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((tick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+                    List<Entry<K>> slot = slot(level, tick);
+                    List<Entry<K>> cascading = new ArrayList<>(slot);
+                    slot.clear();
+                    for (Entry<K> entry : cascading) {
+                        if (isLive(entry)) {
+                            place(entry);
+                        }
+                    }
+                }
+            }
+            List<Entry<K>> slot = slot(0, tick);
+            fire(slot, expired);
+            slot.clear();
+        }
+        List<Entry<K>> overdue = due;
+        due = new ArrayList<>();
+        fire(overdue, expired);
+        return expired;
+    }
+
+    /** Chaves agendadas e ainda não vencidas. */
+    public int size() {
+        return entries.size();
+    }
+
+    private void place(Entry<K> entry) {
+        long delta = entry.tick - currentTick;
+        if (delta <= 0) {
+            due.add(entry);
+            return;
+        }
+        for (int level = 0; level < LEVELS; level++) {
+            if (delta < 1L << (SLOT_BITS * (level + 1))) {
+                slot(level, entry.tick).add(entry);
+                return;
+            }
+        }
+        // além do alcance: posição atual do último nível, revisitada só na próxima volta
+        slot(LEVELS - 1, currentTick).add(entry);
+    }
+
+    private List<Entry<K>> slot(int level, long tick) {
+        return levels.get(level).get((int) ((tick >>> (SLOT_BITS * level)) & (SLOTS - 1)));
+    }
+
+    private void fire(List<Entry<K>> slot, List<K> expired) {
+        for (Entry<K> entry : slot) {
+            if (isLive(entry)) {
+                entries.remove(entry.key);
+                expired.add(entry.key);
+            }
+        }
+    }
+
+    private boolean isLive(Entry<K> entry) {
+        return entries.get(entry.key) == entry;
+    }
+
+    private static final class Entry<K> {
+        final K key;
+        final long tick;
+
+        Entry(K key, long tick) {
+            this.key = key;
+            this.tick = tick;
+        }
+    }
+}
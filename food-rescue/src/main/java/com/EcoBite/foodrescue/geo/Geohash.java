@@ -0,0 +1,100 @@
+package com.EcoBite.foodrescue.geo;
+
+import java.util.Arrays;
+
+/**
+ * Codificação geohash (base32): células vizinhas compartilham prefixo, então uma região
+ * é um prefixo. Com 5 caracteres a célula tem cerca de 4,9 x 4,9 km.
+ */
+public final class Geohash {
+    private static final char[] BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+
+    private Geohash() {
+    }
+
+    public static String encode(double latitude, double longitude, int precision) {
+        if (precision < 1 || precision > 12) {
+            throw new IllegalArgumentException("precisão do geohash entre 1 e 12");
+        }
+        double minLat = -90, maxLat = 90, minLon = -180, maxLon = 180;
+        StringBuilder hash = new StringBuilder(precision);
+        boolean lonBit = true;
+        int bits = 0;
+        int value = 0;
+        while (hash.length() < precision) {
+            if (lonBit) {
+                double mid = (minLon + maxLon) / 2;
+                if (longitude >= mid) {
+                    value = value << 1 | 1;
+                    minLon = mid;
+                } else {
+                    value <<= 1;
+                    maxLon = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (latitude >= mid) {
+                    value = value << 1 | 1;
+                    minLat = mid;
+                } else {
+                    value <<= 1;
+                    maxLat = mid;
+                }
+            }
+            lonBit = !lonBit;
+            if (++bits == 5) {
+                hash.append(BASE32[value]);
+                bits = 0;
+                value = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    /**
+     * Limites da célula: {@code {minLat, minLon, maxLat, maxLon}}.
+     */
+    public static double[] bounds(String hash) {
+        double minLat = -90, maxLat = 90, minLon = -180, maxLon = 180;
+        boolean lonBit = true;
+        for (int i = 0; i < hash.length(); i++) {
+            int value = Arrays.binarySearch(BASE32, hash.charAt(i));
+            if (value < 0) {
+                throw new IllegalArgumentException("Geohash inválido: " + hash);
+            }
+            for (int bit = 4; bit >= 0; bit--) {
+                boolean set = (value >> bit & 1) == 1;
+                if (lonBit) {
+                    double mid = (minLon + maxLon) / 2;
+                    if (set) {
+                        minLon = mid;
+                    } else {
+                        maxLon = mid;
+                    }
+                } else {
+                    double mid = (minLat + maxLat) / 2;
+                    if (set) {
+                        minLat = mid;
+                    } else {
+                        maxLat = mid;
+                    }
+                }
+                lonBit = !lonBit;
+            }
+        }
+        return new double[]{minLat, minLon, maxLat, maxLon};
+    }
+
+    /** Prefixo válido de geohash (usado como filtro de região). */
+    public static boolean isValid(String hash) {
+        if (hash == null || hash.isEmpty() || hash.length() > 12) {
+            return false;
+        }
+        for (int i = 0; i < hash.length(); i++) {
+            if (Arrays.binarySearch(BASE32, hash.charAt(i)) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,234 @@
+package com.EcoBite.foodrescue.heatmap;
+
+import com.EcoBite.foodrescue.model.Offer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pirâmide de grades por zoom (Web Mercator, como os tiles do mapa) para agrupar
+ * marcadores: no zoom {@code z} a célula tem 1/4 de tile (~64 px na tela), então um
+ * viewport cobre poucas centenas de células em qualquer zoom. Cada nível guarda contagem,
+ * porções e a soma das coordenadas (centróide); o último nível guarda as próprias ofertas,
+ * devolvidas a partir de {@link #LEAF_ZOOM}. Não é thread-safe.
+ */
+public class ClusterIndex {
+
+    /** Zoom a partir do qual o mapa recebe as ofertas em vez de clusters. */
+    public static final int LEAF_ZOOM = 16;
+
+    /** Células por tile em cada eixo = 2^CELL_SHIFT. */
+    private static final int CELL_SHIFT = 2;
+
+    private final List<Map<Long, Cluster>> levels = new ArrayList<>(LEAF_ZOOM + 1);
+    private final Map<String, Entry> offers = new HashMap<>();
+
+    public ClusterIndex() {
+        for (int z = 0; z <= LEAF_ZOOM; z++) {
+            levels.add(new HashMap<>());
+        }
+    }
+
+    /**
+     * Indexa uma cópia da oferta: mudanças posteriores no objeto (a entidade gerenciada,
+     * por exemplo) só valem depois de um novo {@code put}.
+     */
+    public void put(Offer offer) {
+        remove(offer.getId());
+        Entry entry = new Entry(snapshot(offer));
+        offers.put(offer.getId(), entry);
+        for (int z = 0; z <= LEAF_ZOOM; z++) {
+            Cluster cluster = levels.get(z).computeIfAbsent(key(entry.x, entry.y, z), k -> new Cluster());
+            cluster.add(entry, 1);
+            if (z == LEAF_ZOOM) {
+                cluster.offers.put(offer.getId(), entry.offer);
+            }
+        }
+    }
+
+    public void remove(String offerId) {
+        Entry entry = offers.remove(offerId);
+        if (entry == null) {
+            return;
+        }
+        for (int z = 0; z <= LEAF_ZOOM; z++) {
+            long key = key(entry.x, entry.y, z);
+            Cluster cluster = levels.get(z).get(key);
+            cluster.add(entry, -1);
+            cluster.offers.remove(offerId);
+            if (cluster.count == 0) {
+                levels.get(z).remove(key);
+            }
+        }
+    }
+
+    /**
+     * Clusters do zoom que cruzam a caixa. Acima de {@link #LEAF_ZOOM} use {@link #offers}.
+     *
+     * @param bbox {@code {minLat, minLon, maxLat, maxLon}}
+     */
+    public List<ClusterView> clusters(double[] bbox, int zoom) {
+        List<ClusterView> result = new ArrayList<>();
+        for (Cluster cluster : cellsIn(bbox, Math.min(zoom, LEAF_ZOOM))) {
+            result.add(cluster.view());
+        }
+        return result;
+    }
+
+    /** Ofertas dentro da caixa (só as células folha que a cruzam são visitadas). */
+    public List<Offer> offers(double[] bbox) {
+        List<Offer> result = new ArrayList<>();
+        for (Cluster cluster : cellsIn(bbox, LEAF_ZOOM)) {
+            for (Offer offer : cluster.offers.values()) {
+                if (offer.getLatitude() >= bbox[0] && offer.getLatitude() <= bbox[2]
+                        && offer.getLongitude() >= bbox[1] && offer.getLongitude() <= bbox[3]) {
+                    result.add(offer);
+                }
+            }
+        }
+        return result;
+    }
+
+    /** Células folha que a caixa cobre, ocupadas ou não. */
+    public static long leafCells(double[] bbox) {
+        long n = 1L << (LEAF_ZOOM + CELL_SHIFT);
+        long width = cell(mercatorX(bbox[3]), n) - cell(mercatorX(bbox[1]), n) + 1;
+        long height = cell(mercatorY(bbox[0]), n) - cell(mercatorY(bbox[2]), n) + 1;
+        return width * height;
+    }
+
+    public int size() {
+        return offers.size();
+    }
+
+    /**
+     * Visita as células do intervalo da caixa; se o intervalo tiver mais células do que o
+     * nível tem ocupadas (caixa grande para o zoom), percorre as ocupadas.
+     */
+    private List<Cluster> cellsIn(double[] bbox, int z) {
+        Map<Long, Cluster> level = levels.get(z);
+        long n = 1L << (z + CELL_SHIFT);
+        long x0 = cell(mercatorX(bbox[1]), n);
+        long x1 = cell(mercatorX(bbox[3]), n);
+        // y cresce para o sul
+        long y0 = cell(mercatorY(bbox[2]), n);
+        long y1 = cell(mercatorY(bbox[0]), n);
+        List<Cluster> result = new ArrayList<>();
+        if ((x1 - x0 + 1) * (y1 - y0 + 1) <= level.size()) {
+            for (long x = x0; x <= x1; x++) {
+                for (long y = y0; y <= y1; y++) {
+                    Cluster cluster = level.get(x << 32 | y);
+                    if (cluster != null) {
+                        result.add(cluster);
+                    }
+                }
+            }
+        } else {
+            for (Map.Entry<Long, Cluster> e : level.entrySet()) {
+                long x = e.getKey() >>> 32;
+                long y = e.getKey() & 0xffffffffL;
+                if (x >= x0 && x <= x1 && y >= y0 && y <= y1) {
+                    result.add(e.getValue());
+                }
+            }
+        }
+        return result;
+    }
+
+    private static long key(double x, double y, int z) {
+        long n = 1L << (z + CELL_SHIFT);
+        return cell(x, n) << 32 | cell(y, n);
+    }
+
+    private static long cell(double coordinate, long n) {
+        return Math.min(n - 1, Math.max(0, (long) (coordinate * n)));
+    }
+
+    static double mercatorX(double longitude) {
+        return (longitude + 180.0) / 360.0;
+    }
+
+    static double mercatorY(double latitude) {
+        double lat = Math.toRadians(Math.max(-85.05112878, Math.min(85.05112878, latitude)));
+        return (1 - Math.log(Math.tan(lat) + 1 / Math.cos(lat)) / Math.PI) / 2;
+    }
+
+    static Offer snapshot(Offer offer) {
+        Offer copy = new Offer();
+        copy.setId(offer.getId());
+        copy.setDonorName(offer.getDonorName());
+        copy.setDonorContact(offer.getDonorContact());
+        copy.setDescription(offer.getDescription());
+        copy.setPortions(offer.getPortions());
+        copy.setLatitude(offer.getLatitude());
+        copy.setLongitude(offer.getLongitude());
+        copy.setStatus(offer.getStatus());
+        copy.setCreatedAt(offer.getCreatedAt());
+        copy.setPickupBy(offer.getPickupBy());
+        copy.setReservedAt(offer.getReservedAt());
+        copy.setInTransitAt(offer.getInTransitAt());
+        copy.setDeliveredAt(offer.getDeliveredAt());
+        return copy;
+    }
+
+    /** Valores do momento do {@code put}; a remoção desconta exatamente o que foi somado. */
+    private static final class Entry {
+        final Offer offer;
+        final double latitude;
+        final double longitude;
+        final int portions;
+        final double x;
+        final double y;
+
+        Entry(Offer offer) {
+            this.offer = offer;
+            this.latitude = offer.getLatitude();
+            this.longitude = offer.getLongitude();
+            this.portions = offer.getPortions();
+            this.x = mercatorX(longitude);
+            this.y = mercatorY(latitude);
+        }
+    }
+
+    private static final class Cluster {
+        int count;
+        long portions;
+        double sumLat;
+        double sumLon;
+        /** Só no nível folha. */
+        final Map<String, Offer> offers = new LinkedHashMap<>();
+
+        void add(Entry entry, int sign) {
+            count += sign;
+            portions += (long) sign * entry.portions;
+            sumLat += sign * entry.latitude;
+            sumLon += sign * entry.longitude;
+        }
+
+        ClusterView view() {
+            return new ClusterView(sumLat / count, sumLon / count, count, portions);
+        }
+    }
+
+    public static class ClusterView {
+        private final double latitude;
+        private final double longitude;
+        private final int count;
+        private final long portions;
+
+        ClusterView(double latitude, double longitude, int count, long portions) {
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.count = count;
+            this.portions = portions;
+        }
+
+        public double getLatitude() { return latitude; }
+        public double getLongitude() { return longitude; }
+        public int getCount() { return count; }
+        public long getPortions() { return portions; }
+    }
+}
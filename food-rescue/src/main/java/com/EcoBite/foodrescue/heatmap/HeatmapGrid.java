@@ -0,0 +1,144 @@
+package com.EcoBite.foodrescue.heatmap;
+
+import com.EcoBite.foodrescue.geo.Geohash;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Contagens por célula geohash em todas as precisões de 1 a {@link #MAX_PRECISION}: cada
+ * oferta ou voluntário soma na sua célula de cada nível, então consultar qualquer precisão
+ * só percorre as células daquele nível. Lembra a célula de cada id para desfazer a
+ * contribuição quando ele muda ou sai. Não é thread-safe.
+ */
+public class HeatmapGrid {
+
+    /** ~150 m; mais fino que isso o mapa já mostra marcadores. */
+    public static final int MAX_PRECISION = 7;
+
+    private final List<Map<String, Cell>> levels = new ArrayList<>(MAX_PRECISION);
+    private final Map<String, OfferEntry> offers = new HashMap<>();
+    private final Map<String, String> volunteers = new HashMap<>();
+
+    public HeatmapGrid() {
+        for (int i = 0; i < MAX_PRECISION; i++) {
+            levels.add(new HashMap<>());
+        }
+    }
+
+    public void putOffer(String id, double latitude, double longitude, int portions) {
+        removeOffer(id);
+        String hash = Geohash.encode(latitude, longitude, MAX_PRECISION);
+        offers.put(id, new OfferEntry(hash, portions));
+        add(hash, 1, portions, 0);
+    }
+
+    public void removeOffer(String id) {
+        OfferEntry previous = offers.remove(id);
+        if (previous != null) {
+            add(previous.hash, -1, -previous.portions, 0);
+        }
+    }
+
+    public void putVolunteer(String id, double latitude, double longitude) {
+        removeVolunteer(id);
+        String hash = Geohash.encode(latitude, longitude, MAX_PRECISION);
+        volunteers.put(id, hash);
+        add(hash, 0, 0, 1);
+    }
+
+    public void removeVolunteer(String id) {
+        String previous = volunteers.remove(id);
+        if (previous != null) {
+            add(previous, 0, 0, -1);
+        }
+    }
+
+    /**
+     * Células da precisão pedida que cruzam a caixa; {@code null} em {@code bbox} é o mundo todo.
+     *
+     * @param bbox {@code {minLat, minLon, maxLat, maxLon}}
+     */
+    public List<Cell> cells(int precision, double[] bbox, int limit) {
+        List<Cell> result = new ArrayList<>();
+        for (Cell cell : levels.get(precision - 1).values()) {
+            if (bbox == null || cell.intersects(bbox)) {
+                if (result.size() == limit) {
+                    throw new IllegalArgumentException("Mais de " + limit + " células; use uma precisão menor");
+                }
+                result.add(cell.copy());
+            }
+        }
+        return result;
+    }
+
+    public int offerCount() {
+        return offers.size();
+    }
+
+    public int volunteerCount() {
+        return volunteers.size();
+    }
+
+    private void add(String hash, int offerDelta, int portionDelta, int volunteerDelta) {
+        for (int p = 1; p <= MAX_PRECISION; p++) {
+            String key = hash.substring(0, p);
+            Map<String, Cell> level = levels.get(p - 1);
+            Cell cell = level.computeIfAbsent(key, Cell::new);
+            cell.offers += offerDelta;
+            cell.portions += portionDelta;
+            cell.volunteers += volunteerDelta;
+            if (cell.offers == 0 && cell.volunteers == 0) {
+                level.remove(key);
+            }
+        }
+    }
+
+    public static class Cell {
+        private final String geohash;
+        private final double[] bounds;
+        private int offers;
+        private long portions;
+        private int volunteers;
+
+        Cell(String geohash) {
+            this(geohash, Geohash.bounds(geohash));
+        }
+
+        private Cell(String geohash, double[] bounds) {
+            this.geohash = geohash;
+            this.bounds = bounds;
+        }
+
+        boolean intersects(double[] bbox) {
+            return bounds[0] <= bbox[2] && bounds[2] >= bbox[0] && bounds[1] <= bbox[3] && bounds[3] >= bbox[1];
+        }
+
+        Cell copy() {
+            Cell copy = new Cell(geohash, bounds);
+            copy.offers = offers;
+            copy.portions = portions;
+            copy.volunteers = volunteers;
+            return copy;
+        }
+
+        public String getGeohash() { return geohash; }
+        public double getLatitude() { return (bounds[0] + bounds[2]) / 2; }
+        public double getLongitude() { return (bounds[1] + bounds[3]) / 2; }
+        public int getOffers() { return offers; }
+        public long getPortions() { return portions; }
+        public int getVolunteers() { return volunteers; }
+    }
+
+    private static final class OfferEntry {
+        final String hash;
+        final int portions;
+
+        OfferEntry(String hash, int portions) {
+            this.hash = hash;
+            this.portions = portions;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.EcoBite.foodrescue.heatmap;
+
+import com.EcoBite.foodrescue.config.MetricsConfig;
+import com.EcoBite.foodrescue.dto.ClusterResponse;
+import com.EcoBite.foodrescue.model.Offer;
+import com.EcoBite.foodrescue.model.OfferStatus;
+import com.EcoBite.foodrescue.model.User;
+import com.EcoBite.foodrescue.model.UserRole;
+import com.EcoBite.foodrescue.model.UserStatus;
+import com.EcoBite.foodrescue.repository.OfferRepository;
+import com.EcoBite.foodrescue.repository.UserRepository;
+import com.EcoBite.foodrescue.view.RebuildableView;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Mapa de calor de oferta (ofertas AVAILABLE e porções) e demanda de retirada
+ * (voluntários ativos com localização) por célula geohash, mantido em memória: atualizado
+ * depois do commit das escritas de ofertas e usuários e reconstruído do banco na subida e
+ * periodicamente, como o índice de busca. A resposta cresce com o número de células, não
+ * com o de ofertas. O mesmo fluxo mantém o {@link ClusterIndex} dos marcadores por zoom.
+ */
+@Service
+@Lazy(false)
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true, percentiles = {0.5, 0.95, 0.99})
+public class HeatmapService {
+    private static final Logger log = LoggerFactory.getLogger(HeatmapService.class);
+
+    /** Células por resposta. */
+    static final int MAX_CELLS = 5000;
+
+    /**
+     * Células folha por resposta de ofertas: ~16x16 tiles, mais que uma tela 4K no
+     * zoom {@link ClusterIndex#LEAF_ZOOM}.
+     */
+    static final long MAX_LEAF_CELLS = 4096;
+
+    /** Zoom máximo dos mapas de tiles. */
+    static final int MAX_ZOOM = 22;
+
+    private final OfferRepository offers;
+    private final UserRepository users;
+    private final RebuildableView<Views> views = new RebuildableView<>(new Views());
+
+    public HeatmapService(OfferRepository offers, UserRepository users, MeterRegistry registry) {
+        this.offers = offers;
+        this.users = users;
+        registry.gauge("foodrescue.heatmap.offers", this, s -> s.count(true));
+        registry.gauge("foodrescue.heatmap.volunteers", this, s -> s.count(false));
+    }
+
+    public void offerChanged(Offer offer) {
+        String id = offer.getId();
+        if (offer.getStatus() == OfferStatus.AVAILABLE) {
+            double lat = offer.getLatitude();
+            double lon = offer.getLongitude();
+            int portions = offer.getPortions();
+            // cópia de agora: a entidade ainda pode mudar até o commit
+            Offer snapshot = ClusterIndex.snapshot(offer);
+            views.afterCommit(v -> {
+                v.grid.putOffer(id, lat, lon, portions);
+                v.clusters.put(snapshot);
+            });
+        } else {
+            views.afterCommit(v -> v.removeOffer(id));
+        }
+    }
+
+    public void offerDeleted(String offerId) {
+        views.afterCommit(v -> v.removeOffer(offerId));
+    }
+
+    public void userChanged(User user) {
+        String id = user.getId().toString();
+        if (isActiveVolunteer(user)) {
+            double lat = user.getPreferredLatitude();
+            double lon = user.getPreferredLongitude();
+            views.afterCommit(v -> v.grid.putVolunteer(id, lat, lon));
+        } else {
+            views.afterCommit(v -> v.grid.removeVolunteer(id));
+        }
+    }
+
+    /**
+     * @param bbox {@code {minLat, minLon, maxLat, maxLon}} ou {@code null}
+     */
+    public List<HeatmapGrid.Cell> cells(int precision, double[] bbox) {
+        if (precision < 1 || precision > HeatmapGrid.MAX_PRECISION) {
+            throw new IllegalArgumentException("precision deve estar entre 1 e " + HeatmapGrid.MAX_PRECISION);
+        }
+        return views.read(v -> v.grid.cells(precision, bbox, MAX_CELLS));
+    }
+
+    /**
+     * Clusters do viewport no zoom do mapa; a partir de {@link ClusterIndex#LEAF_ZOOM} as
+     * próprias ofertas, desde que a caixa caiba em {@link #MAX_LEAF_CELLS} células.
+     *
+     * @param bbox {@code {minLat, minLon, maxLat, maxLon}}
+     */
+    public ClusterResponse clusters(double[] bbox, int zoom) {
+        if (zoom < 0 || zoom > MAX_ZOOM) {
+            throw new IllegalArgumentException("zoom deve estar entre 0 e " + MAX_ZOOM);
+        }
+        ClusterResponse response = new ClusterResponse();
+        response.setZoom(zoom);
+        if (zoom >= ClusterIndex.LEAF_ZOOM) {
+            if (ClusterIndex.leafCells(bbox) > MAX_LEAF_CELLS) {
+                throw new IllegalArgumentException("bbox grande demais para o zoom " + zoom);
+            }
+            response.setOffers(views.read(v -> v.clusters.offers(bbox)));
+        } else {
+            response.setClusters(views.read(v -> v.clusters.clusters(bbox, zoom)));
+        }
+        return response;
+    }
+
+    /**
+     * Maior precisão em que a caixa cobre no máximo ~1000 células; sem caixa, 3 (~156 km).
+     */
+    public static int precisionFor(double[] bbox) {
+        if (bbox == null) {
+            return 3;
+        }
+        double height = Math.max(bbox[2] - bbox[0], 1e-9);
+        double width = Math.max(bbox[3] - bbox[1], 1e-9);
+        for (int p = HeatmapGrid.MAX_PRECISION; p > 1; p--) {
+            int lonBits = (5 * p + 1) / 2;
+            int latBits = 5 * p / 2;
+            double cells = (width / (360.0 / (1L << lonBits)) + 1) * (height / (180.0 / (1L << latBits)) + 1);
+            if (cells <= 1024) {
+                return p;
+            }
+        }
+        return 1;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${app.heatmap.rebuild-interval:PT10M}", initialDelayString = "${app.heatmap.rebuild-interval:PT10M}")
+    public void rebuild() {
+        long start = System.nanoTime();
+        Views fresh = views.rebuild(() -> {
+            Views loaded = new Views();
+            for (Offer offer : offers.findByStatus(OfferStatus.AVAILABLE)) {
+                loaded.grid.putOffer(offer.getId(), offer.getLatitude(), offer.getLongitude(), offer.getPortions());
+                loaded.clusters.put(offer);
+            }
+            for (User user : users.findByRoleAndStatus(UserRole.VOLUNTEER, UserStatus.ACTIVE)) {
+                if (isActiveVolunteer(user)) {
+                    loaded.grid.putVolunteer(user.getId().toString(), user.getPreferredLatitude(), user.getPreferredLongitude());
+                }
+            }
+            return loaded;
+        });
+        if (fresh != null) {
+            log.debug("Mapa de calor reconstruído: {} ofertas, {} voluntários em {} ms", fresh.grid.offerCount(),
+                    fresh.grid.volunteerCount(), (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    private static boolean isActiveVolunteer(User user) {
+        return user.getRole() == UserRole.VOLUNTEER
+                && user.getStatus() == UserStatus.ACTIVE
+                && user.getPreferredLatitude() != null
+                && user.getPreferredLongitude() != null;
+    }
+
+    private int count(boolean offers) {
+        return views.read(v -> offers ? v.grid.offerCount() : v.grid.volunteerCount());
+    }
+
+    private static final class Views {
+        final HeatmapGrid grid = new HeatmapGrid();
+        final ClusterIndex clusters = new ClusterIndex();
+
+        void removeOffer(String id) {
+            grid.removeOffer(id);
+            clusters.remove(id);
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package com.EcoBite.foodrescue.idempotency;
+
+import com.EcoBite.foodrescue.web.ClientKeys;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.pattern.PathPattern;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Suporte a {@code Idempotency-Key} nos POSTs configurados. A primeira requisição
+ * com a chave executa normalmente e sua resposta (status &lt; 500) é guardada;
+ * repetições do mesmo cliente recebem a resposta guardada (status, headers definidos
+ * pela aplicação, como {@code Location}, e corpo) sem chegar aos services.
+ * Duplicatas simultâneas esperam a execução em andamento em vez de repeti-la.
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+    /** Headers que pertencem a cada resposta, não ao resultado guardado. */
+    private static final Set<String> NOT_REPLAYED = Set.of("content-type", "content-length", "transfer-encoding",
+            "date", "connection", "set-cookie", REPLAYED_HEADER.toLowerCase(Locale.ROOT));
+
+    private final List<PathPattern> paths;
+    private final IdempotencyStore store;
+    private final long waitTimeoutNanos;
+    private final MeterRegistry registry;
+    private final ConcurrentMap<String, CompletableFuture<IdempotentResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyFilter(List<PathPattern> paths, IdempotencyStore store, Duration waitTimeout,
+                             MeterRegistry registry) {
+        this.paths = paths;
+        this.store = store;
+        this.waitTimeoutNanos = waitTimeout.toNanos();
+        this.registry = registry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(HEADER);
+        if (idempotencyKey == null || !"POST".equals(request.getMethod()) || !matches(request)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            error(response, HttpStatus.BAD_REQUEST, "Invalid Idempotency-Key");
+            return;
+        }
+
+        CachedBodyRequest cached = new CachedBodyRequest(request);
+        String fingerprint = fingerprint(cached.body);
+        String key = ClientKeys.resolve(request) + "|" + request.getRequestURI() + "|" + idempotencyKey;
+
+        while (true) {
+            IdempotentResponse stored = store.get(key);
+            if (stored != null) {
+                replay(response, stored, fingerprint, "replayed");
+                return;
+            }
+            CompletableFuture<IdempotentResponse> mine = new CompletableFuture<>();
+            CompletableFuture<IdempotentResponse> running = inFlight.putIfAbsent(key, mine);
+            if (running == null) {
+                execute(cached, response, chain, key, fingerprint, mine);
+                return;
+            }
+            IdempotentResponse result;
+            try {
+                result = running.get(waitTimeoutNanos, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                inProgress(response);
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                inProgress(response);
+                return;
+            } catch (ExecutionException e) {
+                result = null;
+            }
+            if (result != null) {
+                replay(response, result, fingerprint, "collapsed");
+                return;
+            }
+            // a execução em andamento falhou (5xx): esta requisição tenta de novo
+        }
+    }
+
+    private void execute(CachedBodyRequest request, HttpServletResponse response, FilterChain chain,
+                         String key, String fingerprint, CompletableFuture<IdempotentResponse> mine)
+            throws ServletException, IOException {
+        IdempotentResponse result = null;
+        try {
+            IdempotentResponse stored = store.get(key);
+            if (stored != null) {
+                result = stored;
+                replay(response, stored, fingerprint, "replayed");
+                return;
+            }
+            if (!store.begin(key)) {
+                inProgress(response);
+                return;
+            }
+            // headers já postos pelos filtros de fora (rate limit, etc.) não fazem parte do resultado
+            Set<String> outer = new HashSet<>(response.getHeaderNames());
+            ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+            try {
+                chain.doFilter(request, wrapper);
+            } catch (IOException | ServletException | RuntimeException e) {
+                store.abort(key);
+                throw e;
+            }
+            if (wrapper.getStatus() < 500) {
+                result = new IdempotentResponse(wrapper.getStatus(), wrapper.getContentType(),
+                        headers(wrapper, outer), wrapper.getContentAsByteArray(), fingerprint);
+                store.put(key, result);
+            } else {
+                store.abort(key);
+            }
+            count("executed");
+            wrapper.copyBodyToResponse();
+        } finally {
+            inFlight.remove(key, mine);
+            mine.complete(result);
+        }
+    }
+
+    private void replay(HttpServletResponse response, IdempotentResponse stored, String fingerprint, String outcome)
+            throws IOException {
+        if (!stored.getFingerprint().equals(fingerprint)) {
+            count("mismatch");
+            error(response, HttpStatus.UNPROCESSABLE_ENTITY, "Idempotency-Key reused with a different request body");
+            return;
+        }
+        count(outcome);
+        response.setStatus(stored.getStatus());
+        if (stored.getContentType() != null) {
+            response.setContentType(stored.getContentType());
+        }
+        if (stored.getHeaders() != null) {
+            for (Map.Entry<String, List<String>> header : stored.getHeaders().entrySet()) {
+                for (String value : header.getValue()) {
+                    response.addHeader(header.getKey(), value);
+                }
+            }
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.getOutputStream().write(stored.getBody());
+    }
+
+    private static Map<String, List<String>> headers(HttpServletResponse response, Set<String> outer) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (String name : response.getHeaderNames()) {
+            if (!outer.contains(name) && !NOT_REPLAYED.contains(name.toLowerCase(Locale.ROOT))) {
+                headers.put(name, List.copyOf(response.getHeaders(name)));
+            }
+        }
+        return headers;
+    }
+
+    private void inProgress(HttpServletResponse response) throws IOException {
+        count("in_progress");
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        error(response, HttpStatus.CONFLICT, "A request with this Idempotency-Key is in progress");
+    }
+
+    private void error(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.getWriter().write("{\"error\":\"" + message + "\"}");
+    }
+
+    private boolean matches(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        for (PathPattern pattern : paths) {
+            if (pattern.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void count(String outcome) {
+        registry.counter("foodrescue.idempotency.requests", "outcome", outcome).increment();
+    }
+
+    private static String fingerprint(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** Lê o corpo uma vez para calcular a impressão digital e o entrega de novo ao controller. */
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = StreamUtils.copyToByteArray(request.getInputStream());
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+}
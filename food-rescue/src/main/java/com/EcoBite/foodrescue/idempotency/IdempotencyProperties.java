@@ -0,0 +1,44 @@
+package com.EcoBite.foodrescue.idempotency;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuração do suporte a Idempotency-Key ({@code app.idempotency.*}).
+ */
+@ConfigurationProperties(prefix = "app.idempotency")
+public class IdempotencyProperties {
+
+    /** Caminhos (POST) que aceitam Idempotency-Key, ex. {@code /api/claims/offer/{offerId}}. */
+    private List<String> paths = new ArrayList<>();
+
+    /** Por quanto tempo uma resposta fica disponível para repetições. */
+    private Duration ttl = Duration.ofHours(24);
+
+    /** Máximo de respostas no cache em memória. */
+    private int maxEntries = 10_000;
+
+    /** Quanto uma duplicata espera pela execução em andamento antes de responder 409. */
+    private Duration waitTimeout = Duration.ofSeconds(10);
+
+    /** Compartilha as respostas entre instâncias via Redis. */
+    private boolean redis = false;
+
+    private String redisKeyPrefix = "idempotency:";
+
+    public List<String> getPaths() { return paths; }
+    public void setPaths(List<String> paths) { this.paths = paths; }
+    public Duration getTtl() { return ttl; }
+    public void setTtl(Duration ttl) { this.ttl = ttl; }
+    public int getMaxEntries() { return maxEntries; }
+    public void setMaxEntries(int maxEntries) { this.maxEntries = maxEntries; }
+    public Duration getWaitTimeout() { return waitTimeout; }
+    public void setWaitTimeout(Duration waitTimeout) { this.waitTimeout = waitTimeout; }
+    public boolean isRedis() { return redis; }
+    public void setRedis(boolean redis) { this.redis = redis; }
+    public String getRedisKeyPrefix() { return redisKeyPrefix; }
+    public void setRedisKeyPrefix(String redisKeyPrefix) { this.redisKeyPrefix = redisKeyPrefix; }
+}
@@ -0,0 +1,22 @@
+package com.EcoBite.foodrescue.idempotency;
+
+/**
+ * Respostas já produzidas por chave. A colapsação de duplicatas simultâneas na
+ * mesma instância é feita pelo {@link IdempotencyFilter}; {@link #begin} cobre as
+ * outras instâncias quando o store é compartilhado.
+ */
+public interface IdempotencyStore {
+
+    IdempotentResponse get(String key);
+
+    void put(String key, IdempotentResponse response);
+
+    /**
+     * Marca a chave como em execução. Retorna false se outra instância já está
+     * executando a mesma requisição.
+     */
+    boolean begin(String key);
+
+    /** Libera a marca de execução sem guardar resposta (ex.: erro 5xx). */
+    void abort(String key);
+}
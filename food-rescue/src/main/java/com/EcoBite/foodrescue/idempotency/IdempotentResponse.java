@@ -0,0 +1,40 @@
+package com.EcoBite.foodrescue.idempotency;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resposta guardada para uma Idempotency-Key (status, headers da aplicação e corpo),
+ * junto com a impressão digital do corpo da requisição original.
+ */
+public class IdempotentResponse {
+    private int status;
+    private String contentType;
+    private Map<String, List<String>> headers = new LinkedHashMap<>();
+    private byte[] body;
+    private String fingerprint;
+
+    public IdempotentResponse() {
+    }
+
+    public IdempotentResponse(int status, String contentType, Map<String, List<String>> headers, byte[] body,
+                              String fingerprint) {
+        this.status = status;
+        this.contentType = contentType;
+        this.headers = headers;
+        this.body = body;
+        this.fingerprint = fingerprint;
+    }
+
+    public int getStatus() { return status; }
+    public void setStatus(int status) { this.status = status; }
+    public String getContentType() { return contentType; }
+    public void setContentType(String contentType) { this.contentType = contentType; }
+    public Map<String, List<String>> getHeaders() { return headers; }
+    public void setHeaders(Map<String, List<String>> headers) { this.headers = headers; }
+    public byte[] getBody() { return body; }
+    public void setBody(byte[] body) { this.body = body; }
+    public String getFingerprint() { return fingerprint; }
+    public void setFingerprint(String fingerprint) { this.fingerprint = fingerprint; }
+}
@@ -0,0 +1,73 @@
+package com.EcoBite.foodrescue.idempotency;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache em memória com tamanho máximo (LRU) e expiração por TTL.
+ * Só é consultado em POSTs com Idempotency-Key, então um lock simples basta.
+ */
+public class LocalIdempotencyStore implements IdempotencyStore {
+
+    private final Map<String, Entry> entries;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+
+    public LocalIdempotencyStore(Duration ttl, int maxEntries) {
+        this(ttl, maxEntries, System::nanoTime);
+    }
+
+    LocalIdempotencyStore(Duration ttl, int maxEntries, LongSupplier clock) {
+        this.ttlNanos = ttl.toNanos();
+        this.clock = clock;
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @Override
+    public synchronized IdempotentResponse get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (clock.getAsLong() - entry.storedAt >= ttlNanos) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.response;
+    }
+
+    @Override
+    public synchronized void put(String key, IdempotentResponse response) {
+        entries.put(key, new Entry(response, clock.getAsLong()));
+    }
+
+    @Override
+    public boolean begin(String key) {
+        return true;
+    }
+
+    @Override
+    public void abort(String key) {
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private static class Entry {
+        final IdempotentResponse response;
+        final long storedAt;
+
+        Entry(IdempotentResponse response, long storedAt) {
+            this.response = response;
+            this.storedAt = storedAt;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.EcoBite.foodrescue.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Segundo nível no Redis, compartilhado entre instâncias: o cache local é
+ * consultado primeiro e o Redis só nas faltas. Falhas do Redis não derrubam a
+ * requisição, apenas perdem a deduplicação entre instâncias.
+ *
+ * <p>A marca de execução expira em {@code pendingTtl} para não ficar presa se a instância
+ * cair; enquanto a requisição roda aqui, o TTL é renovado a cada meio {@code pendingTtl}.
+ */
+public class RedisIdempotencyStore implements IdempotencyStore {
+    private static final Logger log = LoggerFactory.getLogger(RedisIdempotencyStore.class);
+
+    private final LocalIdempotencyStore local;
+    private final StringRedisTemplate redis;
+    private final ObjectMapper mapper;
+    private final String keyPrefix;
+    private final Duration ttl;
+    private final Duration pendingTtl;
+    private final Set<String> running = ConcurrentHashMap.newKeySet();
+
+    public RedisIdempotencyStore(LocalIdempotencyStore local, StringRedisTemplate redis, ObjectMapper mapper,
+                                 String keyPrefix, Duration ttl, Duration pendingTtl, TaskScheduler scheduler) {
+        this.local = local;
+        this.redis = redis;
+        this.mapper = mapper;
+        this.keyPrefix = keyPrefix;
+        this.ttl = ttl;
+        this.pendingTtl = pendingTtl;
+        scheduler.scheduleAtFixedRate(this::refreshPending, pendingTtl.dividedBy(2));
+    }
+
+    @Override
+    public IdempotentResponse get(String key) {
+        IdempotentResponse response = local.get(key);
+        if (response != null) {
+            return response;
+        }
+        try {
+            String json = redis.opsForValue().get(keyPrefix + key);
+            if (json == null) {
+                return null;
+            }
+            response = mapper.readValue(json, IdempotentResponse.class);
+            local.put(key, response);
+            return response;
+        } catch (Exception e) {
+            log.warn("Falha ao ler Idempotency-Key no Redis: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public void put(String key, IdempotentResponse response) {
+        running.remove(key);
+        local.put(key, response);
+        try {
+            redis.opsForValue().set(keyPrefix + key, mapper.writeValueAsString(response), ttl);
+            redis.delete(pendingKey(key));
+        } catch (Exception e) {
+            log.warn("Falha ao gravar Idempotency-Key no Redis: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean begin(String key) {
+        try {
+            Boolean acquired = redis.opsForValue().setIfAbsent(pendingKey(key), "1", pendingTtl);
+            if (Boolean.FALSE.equals(acquired)) {
+                return false;
+            }
+            running.add(key);
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Falha ao marcar Idempotency-Key no Redis: {}", e.getMessage());
+            return true;
+        }
+    }
+
+    @Override
+    public void abort(String key) {
+        running.remove(key);
+        try {
+            redis.delete(pendingKey(key));
+        } catch (RuntimeException e) {
+            log.warn("Falha ao liberar Idempotency-Key no Redis: {}", e.getMessage());
+        }
+    }
+
+    /** Renova a marca das requisições ainda em execução nesta instância. */
+    void refreshPending() {
+        for (String key : running) {
+            try {
+                redis.expire(pendingKey(key), pendingTtl);
+            } catch (RuntimeException e) {
+                log.warn("Falha ao renovar Idempotency-Key no Redis: {}", e.getMessage());
+                return;
+            }
+        }
+    }
+
+    private String pendingKey(String key) {
+        return keyPrefix + "pending:" + key;
+    }
+}
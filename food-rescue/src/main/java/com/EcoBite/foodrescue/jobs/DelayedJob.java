@@ -0,0 +1,35 @@
+package com.EcoBite.foodrescue.jobs;
+
+import java.time.LocalDateTime;
+
+/**
+ * Job travado por uma instância. {@code lockedUntil} identifica a trava: só quem a tem
+ * consegue concluir o job (ver {@link DelayedJobStore#complete}).
+ */
+public class DelayedJob {
+    private final long id;
+    private final String type;
+    private final String referenceId;
+    private final LocalDateTime dueAt;
+    private final int attempts;
+    private final LocalDateTime lockedUntil;
+
+    public DelayedJob(long id, String type, String referenceId, LocalDateTime dueAt, int attempts,
+                      LocalDateTime lockedUntil) {
+        this.id = id;
+        this.type = type;
+        this.referenceId = referenceId;
+        this.dueAt = dueAt;
+        this.attempts = attempts;
+        this.lockedUntil = lockedUntil;
+    }
+
+    public long getId() { return id; }
+    public String getType() { return type; }
+    /** Id da oferta ou reserva a que o job se refere. */
+    public String getReferenceId() { return referenceId; }
+    public LocalDateTime getDueAt() { return dueAt; }
+    /** Falhas anteriores. */
+    public int getAttempts() { return attempts; }
+    public LocalDateTime getLockedUntil() { return lockedUntil; }
+}
@@ -0,0 +1,14 @@
+package com.EcoBite.foodrescue.jobs;
+
+/**
+ * Executa os jobs de um tipo; qualquer bean que implemente a interface é chamado pela
+ * {@link DelayedJobQueue}. Roda na mesma transação que marca o job como concluído, então
+ * o que o handler grava no banco acontece uma vez só. Exceção desfaz tudo e o job volta
+ * para a fila com backoff.
+ */
+public interface DelayedJobHandler {
+
+    boolean handles(String jobType);
+
+    void run(DelayedJob job);
+}
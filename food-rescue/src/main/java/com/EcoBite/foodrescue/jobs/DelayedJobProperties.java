@@ -0,0 +1,64 @@
+package com.EcoBite.foodrescue.jobs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuração da fila de jobs agendados ({@code app.jobs.*}).
+ */
+@ConfigurationProperties(prefix = "app.jobs")
+public class DelayedJobProperties {
+
+    private boolean enabled = true;
+
+    /** Jobs travados por transação. */
+    private int batchSize = 100;
+
+    /** Lotes cheios seguidos num mesmo tick antes de ceder a thread. */
+    private int maxBatchesPerTick = 10;
+
+    /** Quanto tempo uma instância mantém o lote; vencido, outra pode pegá-lo. */
+    private Duration lease = Duration.ofSeconds(30);
+
+    /**
+     * De quanto em quanto tempo a cabeça em memória é relida do banco; jobs agendados por
+     * outra instância podem atrasar até esse tanto.
+     */
+    private Duration refillInterval = Duration.ofMinutes(1);
+
+    /** Vencimentos guardados em memória. */
+    private int headCapacity = 10_000;
+
+    /** Tentativas antes de o job ser abandonado. */
+    private int maxAttempts = 5;
+
+    /** Espera após a primeira falha; dobra a cada tentativa até maxBackoff. */
+    private Duration retryBackoff = Duration.ofSeconds(10);
+
+    private Duration maxBackoff = Duration.ofMinutes(10);
+
+    /** Por quanto tempo os concluídos ficam na tabela (proteção contra reagendamento). */
+    private Duration retention = Duration.ofDays(7);
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public int getBatchSize() { return batchSize; }
+    public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+    public int getMaxBatchesPerTick() { return maxBatchesPerTick; }
+    public void setMaxBatchesPerTick(int maxBatchesPerTick) { this.maxBatchesPerTick = maxBatchesPerTick; }
+    public Duration getLease() { return lease; }
+    public void setLease(Duration lease) { this.lease = lease; }
+    public Duration getRefillInterval() { return refillInterval; }
+    public void setRefillInterval(Duration refillInterval) { this.refillInterval = refillInterval; }
+    public int getHeadCapacity() { return headCapacity; }
+    public void setHeadCapacity(int headCapacity) { this.headCapacity = headCapacity; }
+    public int getMaxAttempts() { return maxAttempts; }
+    public void setMaxAttempts(int maxAttempts) { this.maxAttempts = maxAttempts; }
+    public Duration getRetryBackoff() { return retryBackoff; }
+    public void setRetryBackoff(Duration retryBackoff) { this.retryBackoff = retryBackoff; }
+    public Duration getMaxBackoff() { return maxBackoff; }
+    public void setMaxBackoff(Duration maxBackoff) { this.maxBackoff = maxBackoff; }
+    public Duration getRetention() { return retention; }
+    public void setRetention(Duration retention) { this.retention = retention; }
+}
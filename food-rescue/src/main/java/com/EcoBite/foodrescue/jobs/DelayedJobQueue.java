@@ -0,0 +1,193 @@
+package com.EcoBite.foodrescue.jobs;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Fila durável de jobs com hora marcada. O job é gravado na transação de quem agenda;
+ * em memória fica só a cabeça da fila (os vencimentos próximos, relidos do banco a cada
+ * {@code refill-interval}), e o banco só é consultado quando algum vence. Aí a instância
+ * trava um lote com SKIP LOCKED e roda cada job numa transação que também o marca como
+ * concluído, condicionada à trava: com várias instâncias, cada job roda uma vez.
+ */
+@Component
+@Lazy(false)
+public class DelayedJobQueue {
+    private static final Logger log = LoggerFactory.getLogger(DelayedJobQueue.class);
+
+    private final DelayedJobStore store;
+    private final TransactionTemplate tx;
+    private final ObjectProvider<DelayedJobHandler> handlers;
+    private final DelayedJobProperties props;
+    private final MeterRegistry registry;
+    private final PriorityQueue<LocalDateTime> heads = new PriorityQueue<>();
+    /** Até onde a cabeça tem todos os vencimentos do banco. */
+    private LocalDateTime horizon = LocalDateTime.MIN;
+
+    public DelayedJobQueue(DelayedJobStore store, PlatformTransactionManager transactionManager,
+                           ObjectProvider<DelayedJobHandler> handlers, DelayedJobProperties props,
+                           MeterRegistry registry) {
+        this.store = store;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.handlers = handlers;
+        this.props = props;
+        this.registry = registry;
+    }
+
+    /**
+     * Agenda na transação de quem chama; entra na cabeça só depois do commit.
+     *
+     * @return false se já havia job do mesmo tipo para a referência
+     */
+    public boolean schedule(String type, String referenceId, LocalDateTime dueAt) {
+        if (!store.insertIfAbsent(type, referenceId, dueAt)) {
+            return false;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    addHead(dueAt);
+                }
+            });
+        } else {
+            addHead(dueAt);
+        }
+        return true;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void refillOnStartup() {
+        refill();
+    }
+
+    @Scheduled(fixedDelayString = "${app.jobs.refill-interval:PT1M}", initialDelayString = "${app.jobs.refill-interval:PT1M}")
+    public void refill() {
+        LocalDateTime until = LocalDateTime.now().plus(props.getRefillInterval().multipliedBy(2));
+        List<LocalDateTime> due = store.dueTimes(until, props.getHeadCapacity());
+        synchronized (this) {
+            heads.clear();
+            heads.addAll(due);
+            // cabeça cheia: o que vem depois do último lido fica para a próxima leitura
+            horizon = due.size() == props.getHeadCapacity() ? due.get(due.size() - 1) : until;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.jobs.tick:PT1S}")
+    public void tick() {
+        if (!props.isEnabled() || !popDue(LocalDateTime.now())) {
+            return;
+        }
+        try {
+            for (int i = 0; i < props.getMaxBatchesPerTick(); i++) {
+                if (runBatch() < props.getBatchSize()) {
+                    return;
+                }
+            }
+            // ainda há vencidos: o próximo tick continua
+            addHead(LocalDateTime.now());
+        } catch (RuntimeException e) {
+            log.warn("Falha ao travar jobs agendados: {}", e.getMessage());
+            addHead(LocalDateTime.now());
+        }
+    }
+
+    @Scheduled(cron = "${app.jobs.prune-cron:0 45 3 * * *}")
+    public void prune() {
+        int removed = store.prune(LocalDateTime.now().minus(props.getRetention()));
+        log.debug("{} jobs concluídos removidos", removed);
+    }
+
+    /**
+     * Trava e roda um lote de vencidos.
+     *
+     * @return quantos jobs foram travados
+     */
+    int runBatch() {
+        List<DelayedJob> jobs = store.lease(LocalDateTime.now(), props.getBatchSize(), props.getLease());
+        List<DelayedJobHandler> targets = handlers.orderedStream().toList();
+        for (DelayedJob job : jobs) {
+            run(job, targets);
+        }
+        return jobs.size();
+    }
+
+    private void run(DelayedJob job, List<DelayedJobHandler> targets) {
+        DelayedJobHandler handler = targets.stream().filter(h -> h.handles(job.getType())).findFirst().orElse(null);
+        try {
+            Boolean ran = tx.execute(s -> {
+                if (!store.complete(job, LocalDateTime.now())) {
+                    return false;
+                }
+                if (handler == null) {
+                    log.warn("Nenhum handler para o job {} do tipo {}; descartado", job.getId(), job.getType());
+                    return false;
+                }
+                handler.run(job);
+                return true;
+            });
+            if (Boolean.TRUE.equals(ran)) {
+                registry.counter("foodrescue.jobs.completed", "type", job.getType()).increment();
+            }
+        } catch (RuntimeException e) {
+            failed(job, e);
+        }
+    }
+
+    private void failed(DelayedJob job, RuntimeException error) {
+        LocalDateTime now = LocalDateTime.now();
+        int attempt = job.getAttempts() + 1;
+        if (attempt >= props.getMaxAttempts()) {
+            log.warn("Job {} do tipo {} abandonado após {} tentativas: {}", job.getId(), job.getType(), attempt,
+                    error.getMessage());
+            store.abandon(job, now);
+            registry.counter("foodrescue.jobs.abandoned", "type", job.getType()).increment();
+            return;
+        }
+        LocalDateTime retryAt = now.plus(backoff(attempt));
+        log.debug("Job {} falhou (tentativa {}), de novo às {}: {}", job.getId(), attempt, retryAt, error.getMessage());
+        store.retry(job, retryAt);
+        addHead(retryAt);
+    }
+
+    private Duration backoff(int attempt) {
+        Duration delay = props.getRetryBackoff().multipliedBy(1L << Math.min(attempt - 1, 20));
+        return delay.compareTo(props.getMaxBackoff()) > 0 ? props.getMaxBackoff() : delay;
+    }
+
+    private synchronized void addHead(LocalDateTime dueAt) {
+        if (!dueAt.isAfter(horizon)) {
+            heads.add(dueAt);
+        }
+    }
+
+    /** Tira da cabeça os vencimentos até {@code now}; true se havia algum. */
+    private synchronized boolean popDue(LocalDateTime now) {
+        boolean any = false;
+        while (!heads.isEmpty() && !heads.peek().isAfter(now)) {
+            heads.poll();
+            any = true;
+        }
+        return any;
+    }
+
+    synchronized int headSize() {
+        return heads.size();
+    }
+}
@@ -0,0 +1,137 @@
+package com.EcoBite.foodrescue.jobs;
+
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Tabela {@code scheduled_jobs} via JDBC. Os lotes são travados com SKIP LOCKED e
+ * recebem uma trava com prazo ({@code locked_until}), como na outbox: instâncias
+ * diferentes pegam jobs diferentes e um lote de uma instância que caiu volta sozinho.
+ */
+@Component
+public class DelayedJobStore {
+
+    private static final String DUE = "done_at IS NULL AND due_at <= :now AND (locked_until IS NULL OR locked_until < :now)";
+
+    private static final RowMapper<DelayedJob> JOB = (rs, n) -> new DelayedJob(
+            rs.getLong("id"),
+            rs.getString("job_type"),
+            rs.getString("reference_id"),
+            rs.getTimestamp("due_at").toLocalDateTime(),
+            rs.getInt("attempts"),
+            null);
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+
+    public DelayedJobStore(NamedParameterJdbcTemplate jdbc, PlatformTransactionManager transactionManager) {
+        this.jdbc = jdbc;
+        this.tx = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Na transação de quem chama. Um job por tipo e referência, concluído ou não; se outra
+     * instância inserir o mesmo no meio, a chave única derruba a transação.
+     *
+     * @return false se o job já existia
+     */
+    public boolean insertIfAbsent(String type, String referenceId, LocalDateTime dueAt) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("type", type)
+                .addValue("referenceId", referenceId);
+        Integer existing = jdbc.queryForObject(
+                "SELECT COUNT(*) FROM scheduled_jobs WHERE job_type = :type AND reference_id = :referenceId",
+                params, Integer.class);
+        if (existing != null && existing > 0) {
+            return false;
+        }
+        jdbc.update("INSERT INTO scheduled_jobs (job_type, reference_id, due_at, attempts, created_at) "
+                        + "VALUES (:type, :referenceId, :dueAt, 0, :now)",
+                params.addValue("dueAt", Timestamp.valueOf(dueAt))
+                        .addValue("now", Timestamp.valueOf(LocalDateTime.now())));
+        return true;
+    }
+
+    /** Vencimentos pendentes até {@code horizon}, em ordem, para a cabeça em memória. */
+    public List<LocalDateTime> dueTimes(LocalDateTime horizon, int limit) {
+        return jdbc.query("SELECT due_at FROM scheduled_jobs WHERE done_at IS NULL AND due_at <= :horizon "
+                        + "ORDER BY due_at LIMIT :limit",
+                new MapSqlParameterSource("horizon", Timestamp.valueOf(horizon)).addValue("limit", limit),
+                (rs, n) -> rs.getTimestamp("due_at").toLocalDateTime());
+    }
+
+    /**
+     * Trava até {@code limit} jobs vencidos por {@code lease}, numa transação curta.
+     */
+    public List<DelayedJob> lease(LocalDateTime now, int limit, Duration lease) {
+        // milissegundos: a trava volta do banco igual e serve de identificação
+        LocalDateTime until = now.plus(lease).truncatedTo(ChronoUnit.MILLIS);
+        List<DelayedJob> jobs = tx.execute(s -> {
+            List<DelayedJob> locked = jdbc.query("SELECT id, job_type, reference_id, due_at, attempts FROM scheduled_jobs "
+                            + "WHERE " + DUE + " ORDER BY due_at LIMIT :limit FOR UPDATE SKIP LOCKED",
+                    new MapSqlParameterSource("now", Timestamp.valueOf(now)).addValue("limit", limit), JOB);
+            if (!locked.isEmpty()) {
+                jdbc.update("UPDATE scheduled_jobs SET locked_until = :until WHERE id IN (:ids)",
+                        new MapSqlParameterSource("until", Timestamp.valueOf(until))
+                                .addValue("ids", locked.stream().map(DelayedJob::getId).toList()));
+            }
+            return locked;
+        });
+        return jobs.stream()
+                .map(j -> new DelayedJob(j.getId(), j.getType(), j.getReferenceId(), j.getDueAt(), j.getAttempts(), until))
+                .toList();
+    }
+
+    /**
+     * Marca como concluído, na transação de quem chama, se a trava ainda for a do lote.
+     *
+     * @return false se a trava venceu e outra instância pegou o job
+     */
+    public boolean complete(DelayedJob job, LocalDateTime now) {
+        return jdbc.update("UPDATE scheduled_jobs SET done_at = :now, locked_until = NULL "
+                        + "WHERE id = :id AND locked_until = :lockedUntil AND done_at IS NULL",
+                new MapSqlParameterSource("id", job.getId())
+                        .addValue("now", Timestamp.valueOf(now))
+                        .addValue("lockedUntil", Timestamp.valueOf(job.getLockedUntil()))) == 1;
+    }
+
+    /** Devolve o job à fila para {@code dueAt}, contando a falha. */
+    public void retry(DelayedJob job, LocalDateTime dueAt) {
+        jdbc.update("UPDATE scheduled_jobs SET attempts = attempts + 1, due_at = :dueAt, locked_until = NULL "
+                        + "WHERE id = :id AND locked_until = :lockedUntil AND done_at IS NULL",
+                new MapSqlParameterSource("id", job.getId())
+                        .addValue("dueAt", Timestamp.valueOf(dueAt))
+                        .addValue("lockedUntil", Timestamp.valueOf(job.getLockedUntil())));
+    }
+
+    /** Desiste do job: ele fica concluído sem ter rodado. */
+    public void abandon(DelayedJob job, LocalDateTime now) {
+        jdbc.update("UPDATE scheduled_jobs SET attempts = attempts + 1, done_at = :now, locked_until = NULL "
+                        + "WHERE id = :id AND locked_until = :lockedUntil AND done_at IS NULL",
+                new MapSqlParameterSource("id", job.getId())
+                        .addValue("now", Timestamp.valueOf(now))
+                        .addValue("lockedUntil", Timestamp.valueOf(job.getLockedUntil())));
+    }
+
+    /** Apaga concluídos antes de {@code before}. */
+    public int prune(LocalDateTime before) {
+        return jdbc.update("DELETE FROM scheduled_jobs WHERE done_at < :before",
+                new MapSqlParameterSource("before", Timestamp.valueOf(before)));
+    }
+
+    public long countPending() {
+        Long count = jdbc.getJdbcTemplate().queryForObject(
+                "SELECT COUNT(*) FROM scheduled_jobs WHERE done_at IS NULL", Long.class);
+        return count != null ? count : 0;
+    }
+}
@@ -0,0 +1,275 @@
+package com.EcoBite.foodrescue.mail;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Envio assíncrono de e-mails. Quem chama só enfileira (fila limitada); as threads de
+ * envio tiram até {@code batchSize} e-mails por vez e mandam todos numa conexão SMTP.
+ * Falhas voltam para a fila com backoff exponencial até {@code maxAttempts}; no desligamento,
+ * as retentativas ainda agendadas voltam à fila sem esperar o backoff e saem no último lote.
+ *
+ * <p>Com a fila cheia, {@link #submit(EmailMessage)} recusa na hora em vez de segurar a
+ * requisição; jobs em lote podem usar {@link #submit(EmailMessage, Duration)} para esperar.
+ */
+public class EmailDispatcher {
+    private static final Logger log = LoggerFactory.getLogger(EmailDispatcher.class);
+
+    private final JavaMailSender sender;
+    private final EmailProperties props;
+    private final BlockingQueue<EmailMessage> queue;
+    private final ScheduledExecutorService retries;
+    /** E-mails esperando o backoff; agendamento e esvaziamento no desligamento usam o lock do conjunto. */
+    private final Set<EmailMessage> retryPending = ConcurrentHashMap.newKeySet();
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+
+    private final Timer delivery;
+    private final Timer batchTimer;
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter dropped;
+    private final Counter rejected;
+
+    public EmailDispatcher(JavaMailSender sender, EmailProperties props, MeterRegistry registry) {
+        this.sender = sender;
+        this.props = props;
+        this.queue = new ArrayBlockingQueue<>(props.getQueueCapacity());
+        this.retries = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "email-retry");
+            t.setDaemon(true);
+            return t;
+        });
+
+        registry.gauge("foodrescue.mail.queue.depth", queue, BlockingQueue::size);
+        registry.gauge("foodrescue.mail.retry.pending", retryPending, Set::size);
+        this.delivery = Timer.builder("foodrescue.mail.delivery")
+                .description("Do enfileiramento até o servidor SMTP aceitar o e-mail")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+        this.batchTimer = Timer.builder("foodrescue.mail.batch")
+                .description("Envio de um lote numa conexão SMTP")
+                .register(registry);
+        this.sent = registry.counter("foodrescue.mail.sent");
+        this.retried = registry.counter("foodrescue.mail.failed", "outcome", "retry");
+        this.dropped = registry.counter("foodrescue.mail.failed", "outcome", "dropped");
+        this.rejected = registry.counter("foodrescue.mail.rejected");
+    }
+
+    public synchronized void start() {
+        if (running || !props.isEnabled()) {
+            return;
+        }
+        running = true;
+        for (int i = 0; i < Math.max(1, props.getWorkers()); i++) {
+            Thread worker = new Thread(this::work, "email-sender-" + (i + 1));
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    /**
+     * Enfileira sem esperar.
+     *
+     * @return false se a fila está cheia (o e-mail não será enviado)
+     */
+    public boolean submit(EmailMessage message) {
+        return submit(message, Duration.ZERO);
+    }
+
+    /**
+     * Enfileira esperando até {@code wait} por espaço na fila.
+     */
+    public boolean submit(EmailMessage message, Duration wait) {
+        message.setEnqueuedAt(System.nanoTime());
+        boolean accepted;
+        try {
+            accepted = wait.isZero() ? queue.offer(message) : queue.offer(message, wait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            accepted = false;
+        }
+        if (!accepted) {
+            rejected.increment();
+        }
+        return accepted;
+    }
+
+    public int queueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * Para de aceitar lotes novos depois de esvaziar a fila ou estourar {@code shutdownTimeout}.
+     */
+    public void shutdown() {
+        // antes de parar os workers: um worker que já viu a fila vazia não volta para buscar
+        drainRetries();
+        synchronized (this) {
+            running = false;
+        }
+        long deadline = System.nanoTime() + props.getShutdownTimeout().toNanos();
+        for (Thread worker : workers) {
+            try {
+                worker.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            worker.interrupt();
+        }
+        if (!queue.isEmpty()) {
+            log.warn("{} e-mails não enviados no desligamento", queue.size());
+        }
+    }
+
+    /** Devolve à fila as retentativas ainda agendadas; as que não cabem contam como descartadas. */
+    private void drainRetries() {
+        List<EmailMessage> pending;
+        synchronized (retryPending) {
+            retries.shutdownNow();
+            pending = new ArrayList<>(retryPending);
+            retryPending.clear();
+        }
+        int lost = 0;
+        for (EmailMessage message : pending) {
+            if (!queue.offer(message)) {
+                dropped.increment();
+                lost++;
+            }
+        }
+        if (!pending.isEmpty()) {
+            log.info("{} retentativas de e-mail devolvidas à fila no desligamento, {} descartadas (fila cheia)",
+                    pending.size() - lost, lost);
+        }
+    }
+
+    private void work() {
+        List<EmailMessage> batch = new ArrayList<>(props.getBatchSize());
+        while (running || !queue.isEmpty()) {
+            try {
+                EmailMessage first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, props.getBatchSize() - 1);
+                send(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Falha inesperada no envio de e-mails", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    void send(List<EmailMessage> batch) {
+        Map<SimpleMailMessage, EmailMessage> byMail = new IdentityHashMap<>();
+        SimpleMailMessage[] mails = new SimpleMailMessage[batch.size()];
+        for (int i = 0; i < mails.length; i++) {
+            EmailMessage message = batch.get(i);
+            SimpleMailMessage mail = new SimpleMailMessage();
+            mail.setFrom(props.getFrom());
+            mail.setTo(message.getTo());
+            mail.setSubject(message.getSubject());
+            mail.setText(message.getText());
+            mails[i] = mail;
+            byMail.put(mail, message);
+        }
+
+        Map<Object, Exception> failures;
+        long start = System.nanoTime();
+        try {
+            sender.send(mails);
+            failures = Map.of();
+        } catch (MailSendException e) {
+            failures = e.getFailedMessages().isEmpty() ? allFailed(mails, e) : e.getFailedMessages();
+        } catch (MailException e) {
+            failures = allFailed(mails, e);
+        }
+        long now = System.nanoTime();
+        batchTimer.record(now - start, TimeUnit.NANOSECONDS);
+
+        for (SimpleMailMessage mail : mails) {
+            EmailMessage message = byMail.get(mail);
+            Exception failure = failures.get(mail);
+            if (failure == null) {
+                sent.increment();
+                delivery.record(now - message.getEnqueuedAt(), TimeUnit.NANOSECONDS);
+            } else {
+                retry(message, failure);
+            }
+        }
+    }
+
+    private void retry(EmailMessage message, Exception failure) {
+        int attempts = message.getAttempts() + 1;
+        message.setAttempts(attempts);
+        if (attempts >= props.getMaxAttempts() || !scheduleRetry(message, backoff(attempts))) {
+            dropped.increment();
+            log.warn("E-mail para {} descartado após {} tentativas: {}", message.getTo(), attempts, failure.getMessage());
+            return;
+        }
+        retried.increment();
+    }
+
+    private void requeue(EmailMessage message) {
+        if (!retryPending.remove(message)) {
+            return; // já devolvido à fila pelo desligamento
+        }
+        // retentativa não compete com a recusa da fila cheia: espera e tenta de novo
+        if (!queue.offer(message) && !scheduleRetry(message, props.getRetryBackoff())) {
+            dropped.increment();
+            log.warn("E-mail para {} descartado: fila cheia no desligamento", message.getTo());
+        }
+    }
+
+    /** @return false se o dispatcher já está desligando */
+    private boolean scheduleRetry(EmailMessage message, Duration delay) {
+        synchronized (retryPending) {
+            if (retries.isShutdown()) {
+                return false;
+            }
+            retryPending.add(message);
+            retries.schedule(() -> requeue(message), delay.toMillis(), TimeUnit.MILLISECONDS);
+            return true;
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = props.getRetryBackoff().multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(props.getMaxBackoff()) > 0 ? props.getMaxBackoff() : delay;
+    }
+
+    private static Map<Object, Exception> allFailed(SimpleMailMessage[] mails, Exception e) {
+        Map<Object, Exception> failures = new IdentityHashMap<>();
+        for (SimpleMailMessage mail : mails) {
+            failures.put(mail, e);
+        }
+        return failures;
+    }
+}
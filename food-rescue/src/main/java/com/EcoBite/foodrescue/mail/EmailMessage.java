@@ -0,0 +1,26 @@
+package com.EcoBite.foodrescue.mail;
+
+/**
+ * E-mail de texto na fila do {@link EmailDispatcher}.
+ */
+public class EmailMessage {
+    private final String to;
+    private final String subject;
+    private final String text;
+    private long enqueuedAt; // System.nanoTime() do primeiro enfileiramento
+    private int attempts;
+
+    public EmailMessage(String to, String subject, String text) {
+        this.to = to;
+        this.subject = subject;
+        this.text = text;
+    }
+
+    public String getTo() { return to; }
+    public String getSubject() { return subject; }
+    public String getText() { return text; }
+    long getEnqueuedAt() { return enqueuedAt; }
+    void setEnqueuedAt(long enqueuedAt) { this.enqueuedAt = enqueuedAt; }
+    int getAttempts() { return attempts; }
+    void setAttempts(int attempts) { this.attempts = attempts; }
+}
@@ -0,0 +1,76 @@
+package com.EcoBite.foodrescue.mail;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Envio de e-mails das notificações ({@code app.mail.*}).
+ */
+@ConfigurationProperties(prefix = "app.mail")
+public class EmailProperties {
+
+    private boolean enabled = false;
+
+    private String host = "localhost";
+    private int port = 25;
+    private String username;
+    private String password;
+    private boolean starttls = false;
+    private String from = "NoMoreHunger <nao-responda@nomorehunger.local>";
+
+    /** E-mails aguardando envio; cheia, novos e-mails são recusados. */
+    private int queueCapacity = 10_000;
+
+    /** Threads de envio, cada uma com sua conexão SMTP por lote. */
+    private int workers = 2;
+
+    /** E-mails enviados numa mesma conexão SMTP. */
+    private int batchSize = 50;
+
+    private int maxAttempts = 5;
+
+    /** Espera após a primeira falha; dobra a cada tentativa até maxBackoff. */
+    private Duration retryBackoff = Duration.ofSeconds(2);
+
+    private Duration maxBackoff = Duration.ofMinutes(5);
+
+    private Duration connectionTimeout = Duration.ofSeconds(5);
+    private Duration timeout = Duration.ofSeconds(10);
+
+    /** Tempo para esvaziar a fila no desligamento. */
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public String getHost() { return host; }
+    public void setHost(String host) { this.host = host; }
+    public int getPort() { return port; }
+    public void setPort(int port) { this.port = port; }
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+    public String getPassword() { return password; }
+    public void setPassword(String password) { this.password = password; }
+    public boolean isStarttls() { return starttls; }
+    public void setStarttls(boolean starttls) { this.starttls = starttls; }
+    public String getFrom() { return from; }
+    public void setFrom(String from) { this.from = from; }
+    public int getQueueCapacity() { return queueCapacity; }
+    public void setQueueCapacity(int queueCapacity) { this.queueCapacity = queueCapacity; }
+    public int getWorkers() { return workers; }
+    public void setWorkers(int workers) { this.workers = workers; }
+    public int getBatchSize() { return batchSize; }
+    public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+    public int getMaxAttempts() { return maxAttempts; }
+    public void setMaxAttempts(int maxAttempts) { this.maxAttempts = maxAttempts; }
+    public Duration getRetryBackoff() { return retryBackoff; }
+    public void setRetryBackoff(Duration retryBackoff) { this.retryBackoff = retryBackoff; }
+    public Duration getMaxBackoff() { return maxBackoff; }
+    public void setMaxBackoff(Duration maxBackoff) { this.maxBackoff = maxBackoff; }
+    public Duration getConnectionTimeout() { return connectionTimeout; }
+    public void setConnectionTimeout(Duration connectionTimeout) { this.connectionTimeout = connectionTimeout; }
+    public Duration getTimeout() { return timeout; }
+    public void setTimeout(Duration timeout) { this.timeout = timeout; }
+    public Duration getShutdownTimeout() { return shutdownTimeout; }
+    public void setShutdownTimeout(Duration shutdownTimeout) { this.shutdownTimeout = shutdownTimeout; }
+}
@@ -0,0 +1,25 @@
+package com.EcoBite.foodrescue.matching;
+
+import java.time.LocalDateTime;
+
+/**
+ * Oferta disponível como entrada do {@link MatchingEngine}.
+ */
+public class MatchOffer {
+    private final String id;
+    private final double latitude;
+    private final double longitude;
+    private final LocalDateTime pickupBy;
+
+    public MatchOffer(String id, double latitude, double longitude, LocalDateTime pickupBy) {
+        this.id = id;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.pickupBy = pickupBy;
+    }
+
+    public String getId() { return id; }
+    public double getLatitude() { return latitude; }
+    public double getLongitude() { return longitude; }
+    public LocalDateTime getPickupBy() { return pickupBy; }
+}
@@ -0,0 +1,25 @@
+package com.EcoBite.foodrescue.matching;
+
+import java.time.LocalDateTime;
+
+/**
+ * Sugestão de que o voluntário busque a oferta.
+ */
+public class MatchSuggestion {
+    private final String offerId;
+    private final String volunteerId;
+    private final double distanceKm;
+    private final LocalDateTime pickupBy;
+
+    public MatchSuggestion(String offerId, String volunteerId, double distanceKm, LocalDateTime pickupBy) {
+        this.offerId = offerId;
+        this.volunteerId = volunteerId;
+        this.distanceKm = distanceKm;
+        this.pickupBy = pickupBy;
+    }
+
+    public String getOfferId() { return offerId; }
+    public String getVolunteerId() { return volunteerId; }
+    public double getDistanceKm() { return distanceKm; }
+    public LocalDateTime getPickupBy() { return pickupBy; }
+}
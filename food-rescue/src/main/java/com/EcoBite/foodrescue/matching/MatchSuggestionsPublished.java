@@ -0,0 +1,16 @@
+package com.EcoBite.foodrescue.matching;
+
+/**
+ * Evento publicado ao fim de cada execução do casamento.
+ */
+public class MatchSuggestionsPublished {
+    private final MatchingRun run;
+
+    public MatchSuggestionsPublished(MatchingRun run) {
+        this.run = run;
+    }
+
+    public MatchingRun getRun() {
+        return run;
+    }
+}
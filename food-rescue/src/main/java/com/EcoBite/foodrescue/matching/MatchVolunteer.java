@@ -0,0 +1,23 @@
+package com.EcoBite.foodrescue.matching;
+
+/**
+ * Voluntário ativo com localização preferida e raio máximo de deslocamento.
+ */
+public class MatchVolunteer {
+    private final String id;
+    private final double latitude;
+    private final double longitude;
+    private final double maxDistanceKm;
+
+    public MatchVolunteer(String id, double latitude, double longitude, double maxDistanceKm) {
+        this.id = id;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.maxDistanceKm = maxDistanceKm;
+    }
+
+    public String getId() { return id; }
+    public double getLatitude() { return latitude; }
+    public double getLongitude() { return longitude; }
+    public double getMaxDistanceKm() { return maxDistanceKm; }
+}
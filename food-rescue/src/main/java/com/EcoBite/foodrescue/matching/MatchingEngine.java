@@ -0,0 +1,166 @@
+package com.EcoBite.foodrescue.matching;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Casa ofertas disponíveis com voluntários.
+ * <ol>
+ *   <li>Para cada oferta, em paralelo (fork-join), busca no {@link VolunteerGrid} os
+ *       voluntários mais próximos cujo {@code maxDistanceKm} alcança a oferta.</li>
+ *   <li>As ofertas são agrupadas em janelas de urgência por {@code pickupBy}; janela
+ *       mais urgente primeiro, e dentro de cada janela os pares são atribuídos do menor
+ *       para o maior deslocamento (guloso), respeitando o limite por voluntário.</li>
+ * </ol>
+ * É uma heurística: não garante o mínimo global de distância, mas nunca deixa uma
+ * oferta urgente sem voluntário para favorecer uma menos urgente.
+ */
+public class MatchingEngine {
+    private static final int SPLIT_THRESHOLD = 256;
+
+    private final ForkJoinPool pool;
+    private final double cellKm;
+    private final double maxRadiusKm;
+    private final int candidatesPerOffer;
+    private final int maxSuggestionsPerVolunteer;
+    private final long urgencyWindowSeconds;
+
+    public MatchingEngine(int parallelism, double cellKm, double maxRadiusKm, int candidatesPerOffer,
+                          int maxSuggestionsPerVolunteer, Duration urgencyWindow) {
+        this.pool = new ForkJoinPool(parallelism);
+        this.cellKm = cellKm;
+        this.maxRadiusKm = maxRadiusKm;
+        this.candidatesPerOffer = candidatesPerOffer;
+        this.maxSuggestionsPerVolunteer = maxSuggestionsPerVolunteer;
+        this.urgencyWindowSeconds = Math.max(1L, urgencyWindow.getSeconds());
+    }
+
+    public List<MatchSuggestion> match(List<MatchOffer> offers, List<MatchVolunteer> volunteers) {
+        if (offers.isEmpty() || volunteers.isEmpty()) {
+            return new ArrayList<>();
+        }
+        MatchOffer[] sorted = offers.toArray(new MatchOffer[0]);
+        Arrays.sort(sorted, Comparator.comparing(MatchOffer::getPickupBy,
+                Comparator.nullsLast(Comparator.naturalOrder())));
+
+        VolunteerGrid grid = new VolunteerGrid(volunteers, cellKm, maxRadiusKm);
+        int[][] candidateIds = new int[sorted.length][];
+        double[][] candidateDistances = new double[sorted.length][];
+        pool.invoke(new CandidateTask(grid, sorted, candidateIds, candidateDistances, 0, sorted.length));
+
+        return assign(sorted, volunteers, candidateIds, candidateDistances);
+    }
+
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    private List<MatchSuggestion> assign(MatchOffer[] offers, List<MatchVolunteer> volunteers,
+                                         int[][] candidateIds, double[][] candidateDistances) {
+        int[] remaining = new int[volunteers.size()];
+        Arrays.fill(remaining, maxSuggestionsPerVolunteer);
+        int[] assignedTo = new int[offers.length];
+        double[] assignedDistance = new double[offers.length];
+        Arrays.fill(assignedTo, -1);
+
+        int start = 0;
+        while (start < offers.length) {
+            int end = windowEnd(offers, start);
+            int edgeCount = 0;
+            for (int i = start; i < end; i++) {
+                edgeCount += candidateIds[i].length;
+            }
+            // distância (float, sempre >= 0, ordena como int) nos 32 bits altos, índice da aresta nos baixos
+            long[] edges = new long[edgeCount];
+            int[] edgeOffer = new int[edgeCount];
+            int[] edgeSlot = new int[edgeCount];
+            int e = 0;
+            for (int i = start; i < end; i++) {
+                for (int slot = 0; slot < candidateIds[i].length; slot++) {
+                    edges[e] = ((long) Float.floatToIntBits((float) candidateDistances[i][slot]) << 32) | e;
+                    edgeOffer[e] = i;
+                    edgeSlot[e] = slot;
+                    e++;
+                }
+            }
+            Arrays.sort(edges);
+            for (long edge : edges) {
+                int idx = (int) edge;
+                int offer = edgeOffer[idx];
+                int volunteer = candidateIds[offer][edgeSlot[idx]];
+                if (assignedTo[offer] < 0 && remaining[volunteer] > 0) {
+                    assignedTo[offer] = volunteer;
+                    assignedDistance[offer] = candidateDistances[offer][edgeSlot[idx]];
+                    remaining[volunteer]--;
+                }
+            }
+            start = end;
+        }
+
+        List<MatchSuggestion> suggestions = new ArrayList<>();
+        for (int i = 0; i < offers.length; i++) {
+            if (assignedTo[i] >= 0) {
+                suggestions.add(new MatchSuggestion(offers[i].getId(), volunteers.get(assignedTo[i]).getId(),
+                        assignedDistance[i], offers[i].getPickupBy()));
+            }
+        }
+        return suggestions;
+    }
+
+    private int windowEnd(MatchOffer[] offers, int start) {
+        LocalDateTime first = offers[start].getPickupBy();
+        int end = start + 1;
+        if (first == null) {
+            return offers.length;
+        }
+        long limit = first.toEpochSecond(ZoneOffset.UTC) + urgencyWindowSeconds;
+        while (end < offers.length && offers[end].getPickupBy() != null
+                && offers[end].getPickupBy().toEpochSecond(ZoneOffset.UTC) < limit) {
+            end++;
+        }
+        return end;
+    }
+
+    private class CandidateTask extends RecursiveAction {
+        private final VolunteerGrid grid;
+        private final MatchOffer[] offers;
+        private final int[][] ids;
+        private final double[][] distances;
+        private final int from;
+        private final int to;
+
+        CandidateTask(VolunteerGrid grid, MatchOffer[] offers, int[][] ids, double[][] distances, int from, int to) {
+            this.grid = grid;
+            this.offers = offers;
+            this.ids = ids;
+            this.distances = distances;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > SPLIT_THRESHOLD) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new CandidateTask(grid, offers, ids, distances, from, mid),
+                        new CandidateTask(grid, offers, ids, distances, mid, to));
+                return;
+            }
+            int[] bufferIds = new int[candidatesPerOffer];
+            double[] bufferDistances = new double[candidatesPerOffer];
+            for (int i = from; i < to; i++) {
+                int found = grid.nearest(offers[i].getLatitude(), offers[i].getLongitude(), maxRadiusKm,
+                        bufferIds, bufferDistances);
+                ids[i] = Arrays.copyOf(bufferIds, found);
+                distances[i] = Arrays.copyOf(bufferDistances, found);
+            }
+        }
+    }
+}
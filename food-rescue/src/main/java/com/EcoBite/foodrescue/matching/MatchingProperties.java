@@ -0,0 +1,52 @@
+package com.EcoBite.foodrescue.matching;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuração do casamento oferta–voluntário ({@code app.matching.*}).
+ */
+@ConfigurationProperties(prefix = "app.matching")
+public class MatchingProperties {
+
+    private boolean enabled = true;
+
+    /** Intervalo entre execuções agendadas. */
+    private Duration interval = Duration.ofMinutes(1);
+
+    /** Teto para o maxDistanceKm dos voluntários. */
+    private double maxRadiusKm = 50;
+
+    /** Lado das células do índice espacial. */
+    private double cellKm = 2;
+
+    /** Voluntários mais próximos considerados por oferta. */
+    private int candidatesPerOffer = 16;
+
+    /** Sugestões simultâneas por voluntário. */
+    private int maxSuggestionsPerVolunteer = 3;
+
+    /** Ofertas com pickupBy dentro da mesma janela têm a mesma urgência. */
+    private Duration urgencyWindow = Duration.ofMinutes(30);
+
+    /** Threads do fork-join (0 = número de CPUs). */
+    private int parallelism = 0;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public Duration getInterval() { return interval; }
+    public void setInterval(Duration interval) { this.interval = interval; }
+    public double getMaxRadiusKm() { return maxRadiusKm; }
+    public void setMaxRadiusKm(double maxRadiusKm) { this.maxRadiusKm = maxRadiusKm; }
+    public double getCellKm() { return cellKm; }
+    public void setCellKm(double cellKm) { this.cellKm = cellKm; }
+    public int getCandidatesPerOffer() { return candidatesPerOffer; }
+    public void setCandidatesPerOffer(int candidatesPerOffer) { this.candidatesPerOffer = candidatesPerOffer; }
+    public int getMaxSuggestionsPerVolunteer() { return maxSuggestionsPerVolunteer; }
+    public void setMaxSuggestionsPerVolunteer(int maxSuggestionsPerVolunteer) { this.maxSuggestionsPerVolunteer = maxSuggestionsPerVolunteer; }
+    public Duration getUrgencyWindow() { return urgencyWindow; }
+    public void setUrgencyWindow(Duration urgencyWindow) { this.urgencyWindow = urgencyWindow; }
+    public int getParallelism() { return parallelism; }
+    public void setParallelism(int parallelism) { this.parallelism = parallelism; }
+}
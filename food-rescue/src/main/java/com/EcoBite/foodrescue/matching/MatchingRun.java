@@ -0,0 +1,46 @@
+package com.EcoBite.foodrescue.matching;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resultado de uma execução do casamento; substituído inteiro a cada execução.
+ */
+public class MatchingRun {
+    private final LocalDateTime finishedAt;
+    private final long durationMs;
+    private final int offers;
+    private final int volunteers;
+    private final List<MatchSuggestion> suggestions;
+    private final Map<String, List<MatchSuggestion>> byVolunteer = new HashMap<>();
+
+    public MatchingRun(LocalDateTime finishedAt, long durationMs, int offers, int volunteers,
+                       List<MatchSuggestion> suggestions) {
+        this.finishedAt = finishedAt;
+        this.durationMs = durationMs;
+        this.offers = offers;
+        this.volunteers = volunteers;
+        this.suggestions = Collections.unmodifiableList(suggestions);
+        for (MatchSuggestion s : suggestions) {
+            byVolunteer.computeIfAbsent(s.getVolunteerId(), k -> new ArrayList<>()).add(s);
+        }
+    }
+
+    public static MatchingRun empty() {
+        return new MatchingRun(null, 0, 0, 0, new ArrayList<>());
+    }
+
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public long getDurationMs() { return durationMs; }
+    public int getOffers() { return offers; }
+    public int getVolunteers() { return volunteers; }
+    public List<MatchSuggestion> getSuggestions() { return suggestions; }
+
+    public List<MatchSuggestion> forVolunteer(String volunteerId) {
+        return byVolunteer.getOrDefault(volunteerId, Collections.emptyList());
+    }
+}
@@ -0,0 +1,104 @@
+package com.EcoBite.foodrescue.matching;
+
+import com.EcoBite.foodrescue.model.Offer;
+import com.EcoBite.foodrescue.model.OfferStatus;
+import com.EcoBite.foodrescue.model.User;
+import com.EcoBite.foodrescue.model.UserRole;
+import com.EcoBite.foodrescue.model.UserStatus;
+import com.EcoBite.foodrescue.repository.OfferRepository;
+import com.EcoBite.foodrescue.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Executa o {@link MatchingEngine} periodicamente sobre as ofertas disponíveis e os
+ * voluntários ativos com localização, e publica as sugestões.
+ */
+@Service
+@Lazy(false)
+public class MatchingService {
+    private static final Logger log = LoggerFactory.getLogger(MatchingService.class);
+    private static final double DEFAULT_MAX_DISTANCE_KM = 10;
+
+    private final OfferRepository offerRepo;
+    private final UserRepository userRepo;
+    private final MatchingEngine engine;
+    private final MatchingProperties props;
+    private final ApplicationEventPublisher events;
+    private final Timer runTimer;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile MatchingRun lastRun = MatchingRun.empty();
+
+    public MatchingService(OfferRepository offerRepo, UserRepository userRepo, MatchingEngine engine,
+                           MatchingProperties props, ApplicationEventPublisher events, MeterRegistry registry) {
+        this.offerRepo = offerRepo;
+        this.userRepo = userRepo;
+        this.engine = engine;
+        this.props = props;
+        this.events = events;
+        this.runTimer = Timer.builder("foodrescue.matching.run")
+                .description("Duração do casamento oferta-voluntário")
+                .register(registry);
+        registry.gauge("foodrescue.matching.suggestions", this, s -> s.lastRun.getSuggestions().size());
+    }
+
+    @Scheduled(fixedDelayString = "${app.matching.interval:PT1M}", initialDelayString = "${app.matching.interval:PT1M}")
+    public void scheduledRun() {
+        if (props.isEnabled()) {
+            run();
+        }
+    }
+
+    /**
+     * Recalcula as sugestões. Se já houver uma execução em andamento, devolve a última.
+     */
+    public MatchingRun run() {
+        if (!running.compareAndSet(false, true)) {
+            return lastRun;
+        }
+        try {
+            long start = System.nanoTime();
+            LocalDateTime now = LocalDateTime.now();
+            List<MatchOffer> offers = new ArrayList<>();
+            for (Offer o : offerRepo.findByStatusAndPickupByAfterOrderByPickupByAsc(OfferStatus.AVAILABLE, now)) {
+                offers.add(new MatchOffer(o.getId(), o.getLatitude(), o.getLongitude(), o.getPickupBy()));
+            }
+            List<MatchVolunteer> volunteers = new ArrayList<>();
+            for (User u : userRepo.findActiveUsersWithLocationByRole(UserRole.VOLUNTEER, UserStatus.ACTIVE)) {
+                double maxDistance = u.getMaxDistanceKm() != null ? u.getMaxDistanceKm() : DEFAULT_MAX_DISTANCE_KM;
+                volunteers.add(new MatchVolunteer(u.getId().toString(), u.getPreferredLatitude(),
+                        u.getPreferredLongitude(), maxDistance));
+            }
+
+            List<MatchSuggestion> suggestions = engine.match(offers, volunteers);
+            long elapsed = System.nanoTime() - start;
+            runTimer.record(elapsed, TimeUnit.NANOSECONDS);
+
+            MatchingRun run = new MatchingRun(LocalDateTime.now(), elapsed / 1_000_000, offers.size(),
+                    volunteers.size(), suggestions);
+            lastRun = run;
+            log.debug("Matching: {} ofertas, {} voluntários, {} sugestões em {} ms",
+                    offers.size(), volunteers.size(), suggestions.size(), run.getDurationMs());
+            events.publishEvent(new MatchSuggestionsPublished(run));
+            return run;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    public MatchingRun getLastRun() {
+        return lastRun;
+    }
+}
@@ -0,0 +1,121 @@
+package com.EcoBite.foodrescue.matching;
+
+import com.EcoBite.foodrescue.geo.GeoDistance;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Índice espacial dos voluntários: grade de células de {@code cellKm} de lado
+ * (a largura em longitude é corrigida pelo cosseno da latitude de cada linha).
+ * A busca percorre anéis de células a partir da oferta e para assim que os k
+ * mais próximos estão garantidos. Imutável depois de construído, pode ser lido
+ * por várias threads.
+ */
+class VolunteerGrid {
+
+    private final double cellKm;
+    private final double cellDegrees;
+    private final Map<Long, int[]> cells;
+    private final double[] latitude;
+    private final double[] longitude;
+    private final double[] radiusKm;
+
+    VolunteerGrid(List<MatchVolunteer> volunteers, double cellKm, double maxRadiusKm) {
+        this.cellKm = cellKm;
+        this.cellDegrees = cellKm / GeoDistance.KM_PER_DEGREE;
+        int n = volunteers.size();
+        this.latitude = new double[n];
+        this.longitude = new double[n];
+        this.radiusKm = new double[n];
+
+        Map<Long, List<Integer>> building = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            MatchVolunteer v = volunteers.get(i);
+            latitude[i] = v.getLatitude();
+            longitude[i] = v.getLongitude();
+            radiusKm[i] = Math.min(v.getMaxDistanceKm(), maxRadiusKm);
+            int row = row(latitude[i]);
+            building.computeIfAbsent(key(row, column(longitude[i], row)), k -> new ArrayList<>()).add(i);
+        }
+        this.cells = new HashMap<>(building.size() * 2);
+        for (Map.Entry<Long, List<Integer>> e : building.entrySet()) {
+            List<Integer> members = e.getValue();
+            int[] ids = new int[members.size()];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = members.get(i);
+            }
+            cells.put(e.getKey(), ids);
+        }
+    }
+
+    /**
+     * Até {@code k} voluntários mais próximos cujo raio alcança o ponto, em ordem
+     * crescente de distância. Retorna quantos foram encontrados.
+     */
+    int nearest(double lat, double lon, double maxRadiusKm, int[] outIds, double[] outDistances) {
+        int k = outIds.length;
+        int found = 0;
+        int row0 = row(lat);
+        int maxRing = (int) Math.ceil(maxRadiusKm / cellKm) + 1;
+        for (int ring = 0; ring <= maxRing; ring++) {
+            for (int dr = -ring; dr <= ring; dr++) {
+                int row = row0 + dr;
+                int col0 = column(lon, row);
+                if (dr == -ring || dr == ring) {
+                    for (int dc = -ring; dc <= ring; dc++) {
+                        found = visit(key(row, col0 + dc), lat, lon, outIds, outDistances, found);
+                    }
+                } else {
+                    found = visit(key(row, col0 - ring), lat, lon, outIds, outDistances, found);
+                    found = visit(key(row, col0 + ring), lat, lon, outIds, outDistances, found);
+                }
+            }
+            // tudo a menos de (ring - 0.5) células já foi visto
+            double covered = (ring - 0.5) * cellKm;
+            if ((found == k && outDistances[k - 1] <= covered) || covered >= maxRadiusKm) {
+                break;
+            }
+        }
+        return found;
+    }
+
+    private int visit(long cell, double lat, double lon, int[] outIds, double[] outDistances, int found) {
+        int[] members = cells.get(cell);
+        if (members == null) {
+            return found;
+        }
+        int k = outIds.length;
+        for (int id : members) {
+            double d = GeoDistance.haversineKm(lat, lon, latitude[id], longitude[id]);
+            if (d > radiusKm[id] || (found == k && d >= outDistances[k - 1])) {
+                continue;
+            }
+            int pos = found == k ? k - 1 : found++;
+            while (pos > 0 && outDistances[pos - 1] > d) {
+                outDistances[pos] = outDistances[pos - 1];
+                outIds[pos] = outIds[pos - 1];
+                pos--;
+            }
+            outDistances[pos] = d;
+            outIds[pos] = id;
+        }
+        return found;
+    }
+
+    private int row(double lat) {
+        return (int) Math.floor(lat / cellDegrees);
+    }
+
+    private int column(double lon, int row) {
+        double rowLatitude = (row + 0.5) * cellDegrees;
+        double scale = Math.max(Math.cos(Math.toRadians(rowLatitude)), 0.01);
+        return (int) Math.floor(lon * scale / cellDegrees);
+    }
+
+    private static long key(int row, int column) {
+        return ((long) row << 32) | (column & 0xffffffffL);
+    }
+}
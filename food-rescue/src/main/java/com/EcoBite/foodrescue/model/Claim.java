@@ -18,6 +18,8 @@ public class Claim {
     private String volunteerName;
     private String volunteerContact;
     private LocalDateTime reservedAt;
+    /** Quando a reserva venceu sem retirada; {@code null} enquanto vale. */
+    private LocalDateTime expiredAt;
 
     public Claim() {
         this.id = UUID.randomUUID().toString();
@@ -26,6 +28,7 @@ public class Claim {
 
     // getters e setters
     public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
     public String getOfferId() { return offerId; }
     public void setOfferId(String offerId) { this.offerId = offerId; }
     public String getVolunteerName() { return volunteerName; }
@@ -34,4 +37,6 @@ public class Claim {
     public void setVolunteerContact(String volunteerContact) { this.volunteerContact = volunteerContact; }
     public LocalDateTime getReservedAt() { return reservedAt; }
     public void setReservedAt(LocalDateTime reservedAt) { this.reservedAt = reservedAt; }
+    public LocalDateTime getExpiredAt() { return expiredAt; }
+    public void setExpiredAt(LocalDateTime expiredAt) { this.expiredAt = expiredAt; }
 }
@@ -26,12 +26,32 @@ public class Offer {
     private LocalDateTime createdAt;
     private LocalDateTime pickupBy; // horário máximo para retirada
 
+    // instantes das transições de status
+    private LocalDateTime reservedAt;
+    private LocalDateTime inTransitAt;
+    private LocalDateTime deliveredAt;
+
     public Offer() {
         this.id = UUID.randomUUID().toString();
     }
 
+    /**
+     * Troca o status e registra o instante da transição.
+     */
+    public void transitionTo(OfferStatus newStatus, LocalDateTime at) {
+        this.status = newStatus;
+        if (newStatus == OfferStatus.RESERVED) {
+            this.reservedAt = at;
+        } else if (newStatus == OfferStatus.IN_TRANSIT) {
+            this.inTransitAt = at;
+        } else if (newStatus == OfferStatus.DELIVERED) {
+            this.deliveredAt = at;
+        }
+    }
+
     // getters e setters (gerados)
     public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
     public String getDonorName() { return donorName; }
     public void setDonorName(String donorName) { this.donorName = donorName; }
     public String getDonorContact() { return donorContact; }
@@ -50,4 +70,10 @@ public class Offer {
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
     public LocalDateTime getPickupBy() { return pickupBy; }
     public void setPickupBy(LocalDateTime pickupBy) { this.pickupBy = pickupBy; }
+    public LocalDateTime getReservedAt() { return reservedAt; }
+    public void setReservedAt(LocalDateTime reservedAt) { this.reservedAt = reservedAt; }
+    public LocalDateTime getInTransitAt() { return inTransitAt; }
+    public void setInTransitAt(LocalDateTime inTransitAt) { this.inTransitAt = inTransitAt; }
+    public LocalDateTime getDeliveredAt() { return deliveredAt; }
+    public void setDeliveredAt(LocalDateTime deliveredAt) { this.deliveredAt = deliveredAt; }
 }
\ No newline at end of file
@@ -5,5 +5,12 @@ public enum OfferStatus {
     RESERVED,
     IN_TRANSIT,
     DELIVERED,
-    CANCELLED
+    CANCELLED,
+    /** Passou do {@code pickupBy} sem ser reservada. */
+    EXPIRED;
+
+    /** Estados finais: nenhuma transição sai deles. */
+    public boolean isTerminal() {
+        return this == DELIVERED || this == CANCELLED || this == EXPIRED;
+    }
 }
@@ -0,0 +1,6 @@
+package com.EcoBite.foodrescue.model;
+
+public enum OutboxStatus {
+    PENDING,
+    DEAD
+}
@@ -0,0 +1,113 @@
+package com.EcoBite.foodrescue.monitoring;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Endpoint {@code /actuator/hibernate}: estatísticas do Hibernate, statements
+ * SQL por rota e os últimos statements lentos.
+ */
+@Endpoint(id = "hibernate")
+public class HibernateStatisticsEndpoint {
+    private static final int SLOWEST_QUERIES = 10;
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final SqlStatementCountFilter requestStats;
+    private final SlowQueryLogger slowQueries;
+
+    public HibernateStatisticsEndpoint(EntityManagerFactory entityManagerFactory,
+                                       SqlStatementCountFilter requestStats,
+                                       SlowQueryLogger slowQueries) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.requestStats = requestStats;
+        this.slowQueries = slowQueries;
+    }
+
+    @ReadOperation
+    public Map<String, Object> statistics() {
+        Statistics stats = statistics0();
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("enabled", stats.isStatisticsEnabled());
+        out.put("since", stats.getStart());
+
+        Map<String, Object> queries = new LinkedHashMap<>();
+        queries.put("executionCount", stats.getQueryExecutionCount());
+        queries.put("executionMaxTimeMs", stats.getQueryExecutionMaxTime());
+        queries.put("executionMaxTimeQuery", stats.getQueryExecutionMaxTimeQueryString());
+        queries.put("prepareStatementCount", stats.getPrepareStatementCount());
+        out.put("queries", queries);
+
+        Map<String, Object> entities = new LinkedHashMap<>();
+        entities.put("loadCount", stats.getEntityLoadCount());
+        entities.put("fetchCount", stats.getEntityFetchCount());
+        entities.put("insertCount", stats.getEntityInsertCount());
+        entities.put("updateCount", stats.getEntityUpdateCount());
+        entities.put("deleteCount", stats.getEntityDeleteCount());
+        entities.put("collectionFetchCount", stats.getCollectionFetchCount());
+        out.put("entities", entities);
+
+        Map<String, Object> cache = new LinkedHashMap<>();
+        cache.put("hitCount", stats.getSecondLevelCacheHitCount());
+        cache.put("missCount", stats.getSecondLevelCacheMissCount());
+        cache.put("putCount", stats.getSecondLevelCachePutCount());
+        cache.put("queryCacheHitCount", stats.getQueryCacheHitCount());
+        cache.put("queryCacheMissCount", stats.getQueryCacheMissCount());
+        out.put("secondLevelCache", cache);
+
+        Map<String, Object> tx = new LinkedHashMap<>();
+        tx.put("count", stats.getTransactionCount());
+        tx.put("successfulCount", stats.getSuccessfulTransactionCount());
+        tx.put("sessionOpenCount", stats.getSessionOpenCount());
+        out.put("transactions", tx);
+
+        out.put("slowestQueries", slowestQueries(stats));
+        out.put("requests", requestStats.snapshot());
+
+        Map<String, Object> slow = new LinkedHashMap<>();
+        slow.put("thresholdMs", slowQueries.getThresholdMs());
+        slow.put("redactParameters", slowQueries.isRedactParameters());
+        slow.put("recent", slowQueries.recent());
+        out.put("slowStatements", slow);
+        return out;
+    }
+
+    /**
+     * Zera as estatísticas do Hibernate e os agregados por rota.
+     */
+    @DeleteOperation
+    public void clear() {
+        statistics0().clear();
+        requestStats.clear();
+    }
+
+    private List<Map<String, Object>> slowestQueries(Statistics stats) {
+        List<Map<String, Object>> list = new ArrayList<>();
+        for (String hql : stats.getQueries()) {
+            QueryStatistics q = stats.getQueryStatistics(hql);
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("query", hql);
+            m.put("executionCount", q.getExecutionCount());
+            m.put("executionMaxTimeMs", q.getExecutionMaxTime());
+            m.put("executionAvgTimeMs", q.getExecutionAvgTime());
+            m.put("executionRowCount", q.getExecutionRowCount());
+            list.add(m);
+        }
+        list.sort(Comparator.comparingLong((Map<String, Object> m) -> (Long) m.get("executionMaxTimeMs")).reversed());
+        return list.size() > SLOWEST_QUERIES ? new ArrayList<>(list.subList(0, SLOWEST_QUERIES)) : list;
+    }
+
+    private Statistics statistics0() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
@@ -0,0 +1,108 @@
+package com.EcoBite.foodrescue.monitoring;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Loga statements mais lentos que o limite configurado e guarda os últimos
+ * para o endpoint do actuator. Valores de bind são mascarados quando
+ * {@code redactParameters} está ligado (padrão), mantendo só o tipo.
+ */
+public class SlowQueryLogger implements QueryExecutionListener {
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryLogger.class);
+
+    private final long thresholdMs;
+    private final boolean redactParameters;
+    private final int capacity;
+    private final Deque<Map<String, Object>> recent = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    public SlowQueryLogger(long thresholdMs, boolean redactParameters, int capacity) {
+        this.thresholdMs = thresholdMs;
+        this.redactParameters = redactParameters;
+        this.capacity = capacity;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsed = execInfo.getElapsedTime();
+        if (thresholdMs < 0 || elapsed < thresholdMs) {
+            return;
+        }
+        for (QueryInfo query : queryInfoList) {
+            List<String> params = describeParameters(query);
+            log.warn("Slow query ({} ms): {} params={}", elapsed, query.getQuery(), params);
+
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("at", LocalDateTime.now().toString());
+            entry.put("elapsedMs", elapsed);
+            entry.put("sql", query.getQuery());
+            entry.put("parameters", params);
+            entry.put("success", execInfo.isSuccess());
+            remember(entry);
+        }
+    }
+
+    /**
+     * Statements lentos mais recentes, do mais novo para o mais antigo.
+     */
+    public List<Map<String, Object>> recent() {
+        return new ArrayList<>(recent);
+    }
+
+    public long getThresholdMs() {
+        return thresholdMs;
+    }
+
+    public boolean isRedactParameters() {
+        return redactParameters;
+    }
+
+    private void remember(Map<String, Object> entry) {
+        recent.addFirst(entry);
+        if (size.incrementAndGet() > capacity && recent.pollLast() != null) {
+            size.decrementAndGet();
+        }
+    }
+
+    private List<String> describeParameters(QueryInfo query) {
+        List<String> out = new ArrayList<>();
+        for (List<ParameterSetOperation> batch : query.getParametersList()) {
+            for (ParameterSetOperation op : batch) {
+                Object[] args = op.getArgs();
+                if (args == null || args.length < 2) {
+                    continue;
+                }
+                out.add(args[0] + "=" + render(args[1]));
+            }
+        }
+        return out;
+    }
+
+    private String render(Object value) {
+        if (value == null) {
+            return "null";
+        }
+        if (redactParameters) {
+            return "<" + value.getClass().getSimpleName() + ">";
+        }
+        return String.valueOf(value);
+    }
+}
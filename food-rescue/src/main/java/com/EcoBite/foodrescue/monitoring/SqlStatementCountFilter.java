@@ -0,0 +1,103 @@
+package com.EcoBite.foodrescue.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Mede quantos statements SQL cada requisição executou, agregando por rota
+ * (padrão do mapping, não a URI crua, para não explodir a cardinalidade).
+ */
+public class SqlStatementCountFilter extends OncePerRequestFilter {
+    static final String METRIC = "foodrescue.http.sql.statements";
+
+    private final SqlStatementCounter counter;
+    private final MeterRegistry registry;
+    private final ConcurrentMap<String, RouteStats> routes = new ConcurrentHashMap<>();
+
+    public SqlStatementCountFilter(SqlStatementCounter counter, MeterRegistry registry) {
+        this.counter = counter;
+        this.registry = registry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        counter.reset();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            long statements = counter.current().getTotal();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String route = request.getMethod() + " " + (pattern != null ? pattern : "UNMAPPED");
+            routes.computeIfAbsent(route, this::newRoute).record(statements);
+        }
+    }
+
+    /**
+     * Estatísticas agregadas por rota, ordenadas pelo nome.
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> out = new TreeMap<>();
+        routes.forEach((route, stats) -> out.put(route, stats.toMap()));
+        return out;
+    }
+
+    public void clear() {
+        routes.clear();
+    }
+
+    private RouteStats newRoute(String route) {
+        int space = route.indexOf(' ');
+        DistributionSummary summary = DistributionSummary.builder(METRIC)
+                .description("Statements SQL executados por requisição")
+                .tag("method", route.substring(0, space))
+                .tag("uri", route.substring(space + 1))
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+        return new RouteStats(summary);
+    }
+
+    private static final class RouteStats {
+        private final DistributionSummary summary;
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final AtomicLong max = new AtomicLong();
+
+        RouteStats(DistributionSummary summary) {
+            this.summary = summary;
+        }
+
+        void record(long count) {
+            summary.record(count);
+            requests.increment();
+            statements.add(count);
+            max.accumulateAndGet(count, Math::max);
+        }
+
+        Map<String, Object> toMap() {
+            long n = requests.sum();
+            long total = statements.sum();
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("requests", n);
+            m.put("statements", total);
+            m.put("avgPerRequest", n == 0 ? 0.0 : (double) total / n);
+            m.put("maxPerRequest", max.get());
+            return m;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.EcoBite.foodrescue.monitoring;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Conta os statements SQL executados pela thread atual.
+ * Usado para medir statements por requisição e, nos testes, para detectar N+1.
+ */
+public class SqlStatementCounter implements QueryExecutionListener {
+
+    private final ThreadLocal<Counts> counts = ThreadLocal.withInitial(Counts::new);
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Counts current = counts.get();
+        for (QueryInfo query : queryInfoList) {
+            current.increment(query.getQuery());
+        }
+    }
+
+    /**
+     * Zera o contador da thread atual.
+     */
+    public void reset() {
+        counts.get().clear();
+    }
+
+    /**
+     * Cópia dos contadores da thread atual.
+     */
+    public Counts current() {
+        return counts.get().copy();
+    }
+
+    public static class Counts {
+        private long selects;
+        private long inserts;
+        private long updates;
+        private long deletes;
+        private long others;
+
+        void increment(String sql) {
+            String verb = firstKeyword(sql);
+            if ("select".equals(verb) || "with".equals(verb)) {
+                selects++;
+            } else if ("insert".equals(verb)) {
+                inserts++;
+            } else if ("update".equals(verb)) {
+                updates++;
+            } else if ("delete".equals(verb)) {
+                deletes++;
+            } else {
+                others++;
+            }
+        }
+
+        void clear() {
+            selects = inserts = updates = deletes = others = 0;
+        }
+
+        Counts copy() {
+            Counts c = new Counts();
+            c.selects = selects;
+            c.inserts = inserts;
+            c.updates = updates;
+            c.deletes = deletes;
+            c.others = others;
+            return c;
+        }
+
+        private static String firstKeyword(String sql) {
+            String trimmed = sql.stripLeading();
+            int end = 0;
+            while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+                end++;
+            }
+            return trimmed.substring(0, end).toLowerCase(Locale.ROOT);
+        }
+
+        public long getSelects() { return selects; }
+        public long getInserts() { return inserts; }
+        public long getUpdates() { return updates; }
+        public long getDeletes() { return deletes; }
+        public long getOthers() { return others; }
+        public long getTotal() { return selects + inserts + updates + deletes + others; }
+
+        @Override
+        public String toString() {
+            return "Counts{selects=" + selects + ", inserts=" + inserts + ", updates=" + updates +
+                    ", deletes=" + deletes + ", others=" + others + '}';
+        }
+    }
+}
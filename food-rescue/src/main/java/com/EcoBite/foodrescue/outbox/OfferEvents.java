@@ -0,0 +1,17 @@
+package com.EcoBite.foodrescue.outbox;
+
+/**
+ * Tipos de evento das ofertas. Todos usam o id da oferta como agregado,
+ * inclusive os de claim, para saírem na ordem em que aconteceram.
+ */
+public final class OfferEvents {
+    public static final String AGGREGATE = "offer";
+
+    public static final String CREATED = "OFFER_CREATED";
+    public static final String STATUS_CHANGED = "OFFER_STATUS_CHANGED";
+    public static final String DELETED = "OFFER_DELETED";
+    public static final String CLAIMED = "OFFER_CLAIMED";
+
+    private OfferEvents() {
+    }
+}
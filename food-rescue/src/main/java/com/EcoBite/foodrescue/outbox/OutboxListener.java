@@ -0,0 +1,15 @@
+package com.EcoBite.foodrescue.outbox;
+
+/**
+ * Consumidor em processo dos eventos da outbox; qualquer bean que implemente a
+ * interface é chamado pelo {@link OutboxRelay}. A entrega é at-least-once e em ordem
+ * por agregado: se um listener falha, o evento volta para todos na próxima tentativa.
+ */
+public interface OutboxListener {
+
+    default boolean accepts(String eventType) {
+        return true;
+    }
+
+    void on(OutboxMessage message) throws Exception;
+}
@@ -0,0 +1,38 @@
+package com.EcoBite.foodrescue.outbox;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Evento entregue aos {@link OutboxListener}s. O {@code id} é estável entre
+ * reentregas e serve para o listener descartar duplicatas.
+ */
+public class OutboxMessage {
+    private final long id;
+    private final String aggregateType;
+    private final String aggregateId;
+    private final String eventType;
+    private final Map<String, Object> payload;
+    private final LocalDateTime createdAt;
+    private final int attempt;
+
+    public OutboxMessage(long id, String aggregateType, String aggregateId, String eventType,
+                         Map<String, Object> payload, LocalDateTime createdAt, int attempt) {
+        this.id = id;
+        this.aggregateType = aggregateType;
+        this.aggregateId = aggregateId;
+        this.eventType = eventType;
+        this.payload = payload;
+        this.createdAt = createdAt;
+        this.attempt = attempt;
+    }
+
+    public long getId() { return id; }
+    public String getAggregateType() { return aggregateType; }
+    public String getAggregateId() { return aggregateId; }
+    public String getEventType() { return eventType; }
+    public Map<String, Object> getPayload() { return payload; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    /** 1 na primeira entrega. */
+    public int getAttempt() { return attempt; }
+}
@@ -0,0 +1,51 @@
+package com.EcoBite.foodrescue.outbox;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuração do relay da outbox ({@code app.outbox.*}).
+ */
+@ConfigurationProperties(prefix = "app.outbox")
+public class OutboxProperties {
+
+    private boolean enabled = true;
+
+    /** Intervalo entre varreduras quando a fila está vazia. */
+    private Duration pollInterval = Duration.ofMillis(500);
+
+    /** Eventos travados por transação. */
+    private int batchSize = 100;
+
+    /** Lotes cheios seguidos numa mesma varredura antes de ceder a thread. */
+    private int maxBatchesPerPoll = 10;
+
+    /** Quanto tempo um relay mantém o lote; vencido, outra instância reentrega. */
+    private Duration lease = Duration.ofSeconds(30);
+
+    /** Tentativas antes de o evento virar DEAD. */
+    private int maxAttempts = 10;
+
+    /** Espera após a primeira falha; dobra a cada tentativa até maxBackoff. */
+    private Duration retryBackoff = Duration.ofSeconds(1);
+
+    private Duration maxBackoff = Duration.ofMinutes(5);
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public Duration getPollInterval() { return pollInterval; }
+    public void setPollInterval(Duration pollInterval) { this.pollInterval = pollInterval; }
+    public int getBatchSize() { return batchSize; }
+    public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+    public int getMaxBatchesPerPoll() { return maxBatchesPerPoll; }
+    public void setMaxBatchesPerPoll(int maxBatchesPerPoll) { this.maxBatchesPerPoll = maxBatchesPerPoll; }
+    public Duration getLease() { return lease; }
+    public void setLease(Duration lease) { this.lease = lease; }
+    public int getMaxAttempts() { return maxAttempts; }
+    public void setMaxAttempts(int maxAttempts) { this.maxAttempts = maxAttempts; }
+    public Duration getRetryBackoff() { return retryBackoff; }
+    public void setRetryBackoff(Duration retryBackoff) { this.retryBackoff = retryBackoff; }
+    public Duration getMaxBackoff() { return maxBackoff; }
+    public void setMaxBackoff(Duration maxBackoff) { this.maxBackoff = maxBackoff; }
+}
@@ -0,0 +1,103 @@
+package com.EcoBite.foodrescue.outbox;
+
+import com.EcoBite.foodrescue.model.Claim;
+import com.EcoBite.foodrescue.model.Offer;
+import com.EcoBite.foodrescue.model.OfferStatus;
+import com.EcoBite.foodrescue.model.OutboxEvent;
+import com.EcoBite.foodrescue.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Grava eventos de domínio na outbox dentro da transação de quem chama: o evento
+ * existe se e somente se a escrita foi confirmada. A entrega fica com o {@link OutboxRelay},
+ * então o custo na requisição é um INSERT, independente de quantos consumidores existam.
+ * Exige transação ativa: fora dela o evento poderia sobreviver a uma escrita desfeita.
+ */
+@Component
+@Transactional(propagation = Propagation.MANDATORY)
+public class OutboxPublisher {
+    private final OutboxEventRepository repo;
+    private final ObjectMapper json;
+    private final MeterRegistry registry;
+
+    public OutboxPublisher(OutboxEventRepository repo, ObjectMapper json, MeterRegistry registry) {
+        this.repo = repo;
+        this.json = json;
+        this.registry = registry;
+    }
+
+    public void offerCreated(Offer offer) {
+        Map<String, Object> payload = offerPayload(offer);
+        payload.put("portions", offer.getPortions());
+        payload.put("latitude", offer.getLatitude());
+        payload.put("longitude", offer.getLongitude());
+        payload.put("pickupBy", time(offer.getPickupBy()));
+        append(OfferEvents.AGGREGATE, offer.getId(), OfferEvents.CREATED, payload);
+    }
+
+    public void offerStatusChanged(Offer offer, OfferStatus previous) {
+        Map<String, Object> payload = offerPayload(offer);
+        payload.put("previousStatus", previous != null ? previous.name() : null);
+        // o suficiente para os agregados (analytics) não precisarem reler a oferta
+        payload.put("changedAt", LocalDateTime.now().toString());
+        payload.put("portions", offer.getPortions());
+        payload.put("latitude", offer.getLatitude());
+        payload.put("longitude", offer.getLongitude());
+        payload.put("createdAt", time(offer.getCreatedAt()));
+        payload.put("inTransitAt", time(offer.getInTransitAt()));
+        payload.put("deliveredAt", time(offer.getDeliveredAt()));
+        append(OfferEvents.AGGREGATE, offer.getId(), OfferEvents.STATUS_CHANGED, payload);
+    }
+
+    public void offerDeleted(String offerId) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("offerId", offerId);
+        append(OfferEvents.AGGREGATE, offerId, OfferEvents.DELETED, payload);
+    }
+
+    public void offerClaimed(Claim claim) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("offerId", claim.getOfferId());
+        payload.put("claimId", claim.getId());
+        payload.put("volunteerName", claim.getVolunteerName());
+        payload.put("volunteerContact", claim.getVolunteerContact());
+        append(OfferEvents.AGGREGATE, claim.getOfferId(), OfferEvents.CLAIMED, payload);
+    }
+
+    public void append(String aggregateType, String aggregateId, String eventType, Map<String, Object> payload) {
+        OutboxEvent event = new OutboxEvent();
+        event.setAggregateType(aggregateType);
+        event.setAggregateId(aggregateId);
+        event.setEventType(eventType);
+        try {
+            event.setPayload(json.writeValueAsString(payload));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Payload inválido para " + eventType, e);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        event.setCreatedAt(now);
+        event.setAvailableAt(now);
+        repo.save(event);
+        registry.counter("foodrescue.outbox.appended", "type", eventType).increment();
+    }
+
+    private static Map<String, Object> offerPayload(Offer offer) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("offerId", offer.getId());
+        payload.put("status", offer.getStatus() != null ? offer.getStatus().name() : null);
+        return payload;
+    }
+
+    private static String time(LocalDateTime at) {
+        return at != null ? at.toString() : null;
+    }
+}
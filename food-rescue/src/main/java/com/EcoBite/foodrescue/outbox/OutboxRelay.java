@@ -0,0 +1,174 @@
+package com.EcoBite.foodrescue.outbox;
+
+import com.EcoBite.foodrescue.model.OutboxEvent;
+import com.EcoBite.foodrescue.model.OutboxStatus;
+import com.EcoBite.foodrescue.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Entrega os eventos da outbox aos {@link OutboxListener}s.
+ *
+ * <p>Cada lote é travado com {@code FOR UPDATE SKIP LOCKED} numa transação curta que só
+ * grava um lease ({@code locked_until}); a entrega roda fora da transação e, no fim, os
+ * entregues são apagados e os que falharam voltam com backoff. Se a instância cair no
+ * meio, o lease vence e outra reentrega (at-least-once). Como só o evento pendente mais
+ * antigo de cada oferta entra num lote, a ordem por oferta vale também entre instâncias.
+ */
+@Component
+@Lazy(false)
+public class OutboxRelay {
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+    private static final TypeReference<Map<String, Object>> PAYLOAD = new TypeReference<Map<String, Object>>() { };
+
+    private final OutboxEventRepository repo;
+    private final ObjectProvider<OutboxListener> listeners;
+    private final ObjectMapper json;
+    private final TransactionTemplate tx;
+    private final OutboxProperties props;
+    private final MeterRegistry registry;
+    private final Timer lag;
+
+    public OutboxRelay(OutboxEventRepository repo, ObjectProvider<OutboxListener> listeners, ObjectMapper json,
+                       PlatformTransactionManager transactionManager, OutboxProperties props, MeterRegistry registry) {
+        this.repo = repo;
+        this.listeners = listeners;
+        this.json = json;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.props = props;
+        this.registry = registry;
+        this.lag = Timer.builder("foodrescue.outbox.lag")
+                .description("Da gravação do evento até a entrega")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval:PT0.5S}")
+    public void poll() {
+        if (!props.isEnabled()) {
+            return;
+        }
+        try {
+            for (int i = 0; i < props.getMaxBatchesPerPoll(); i++) {
+                if (relayBatch() < props.getBatchSize()) {
+                    return;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Falha ao varrer a outbox: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Trava, entrega e finaliza um lote.
+     *
+     * @return eventos do lote
+     */
+    public int relayBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> batch = tx.execute(status -> {
+            List<OutboxEvent> events = repo.lockNextBatch(now, props.getBatchSize());
+            if (!events.isEmpty()) {
+                repo.lease(events.stream().map(OutboxEvent::getId).collect(Collectors.toList()),
+                        now.plus(props.getLease()));
+            }
+            return events;
+        });
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+
+        List<OutboxListener> targets = listeners.orderedStream().collect(Collectors.toList());
+        List<Long> delivered = new ArrayList<>();
+        Map<Long, String> failed = new HashMap<>();
+        for (OutboxEvent event : batch) {
+            String error = dispatch(event, targets);
+            if (error == null) {
+                delivered.add(event.getId());
+                lag.record(Duration.between(event.getCreatedAt(), LocalDateTime.now()));
+                registry.counter("foodrescue.outbox.dispatched", "type", event.getEventType()).increment();
+            } else {
+                failed.put(event.getId(), error);
+                registry.counter("foodrescue.outbox.failed", "type", event.getEventType()).increment();
+            }
+        }
+
+        tx.executeWithoutResult(status -> {
+            if (!delivered.isEmpty()) {
+                repo.deleteAllByIdInBatch(delivered);
+            }
+            if (!failed.isEmpty()) {
+                reschedule(failed);
+            }
+        });
+        return batch.size();
+    }
+
+    private String dispatch(OutboxEvent event, List<OutboxListener> targets) {
+        OutboxMessage message;
+        try {
+            message = new OutboxMessage(event.getId(), event.getAggregateType(), event.getAggregateId(),
+                    event.getEventType(), json.readValue(event.getPayload(), PAYLOAD), event.getCreatedAt(),
+                    event.getAttempts() + 1);
+        } catch (Exception e) {
+            return "payload: " + e.getMessage();
+        }
+        for (OutboxListener listener : targets) {
+            if (!listener.accepts(event.getEventType())) {
+                continue;
+            }
+            try {
+                listener.on(message);
+            } catch (Exception e) {
+                log.debug("Listener {} falhou no evento {}", listener.getClass().getSimpleName(), event.getId(), e);
+                return listener.getClass().getSimpleName() + ": " + e.getMessage();
+            }
+        }
+        return null;
+    }
+
+    private void reschedule(Map<Long, String> failed) {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> events = repo.findAllById(failed.keySet());
+        for (OutboxEvent event : events) {
+            int attempts = event.getAttempts() + 1;
+            event.setAttempts(attempts);
+            event.setLockedUntil(null);
+            String error = failed.get(event.getId());
+            event.setLastError(error != null && error.length() > 500 ? error.substring(0, 500) : error);
+            if (attempts >= props.getMaxAttempts()) {
+                // não bloqueia mais os eventos seguintes da mesma oferta
+                event.setStatus(OutboxStatus.DEAD);
+                registry.counter("foodrescue.outbox.dead", "type", event.getEventType()).increment();
+                log.warn("Evento {} ({} da oferta {}) descartado após {} tentativas: {}",
+                        event.getId(), event.getEventType(), event.getAggregateId(), attempts, error);
+            } else {
+                event.setAvailableAt(now.plus(backoff(attempts)));
+            }
+        }
+        repo.saveAll(events);
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = props.getRetryBackoff().multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(props.getMaxBackoff()) > 0 ? props.getMaxBackoff() : delay;
+    }
+}
@@ -0,0 +1,93 @@
+package com.EcoBite.foodrescue.ratelimit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Baldes por cliente de uma rota, divididos em stripes com tamanho máximo.
+ * Balde cheio equivale a um balde novo, então ao encher a stripe os cheios são
+ * descartados; se mesmo assim não houver espaço, os clientes novos da stripe
+ * dividem um balde de overflow (nunca passam sem limite). A varredura custa O(stripe),
+ * então depois de uma varredura a stripe só é varrida de novo após {@code maxPerStripe / 4}
+ * clientes novos: custo amortizado constante por cliente novo.
+ */
+class ClientBuckets {
+
+    private final ConcurrentHashMap<String, AtomicLong>[] stripes;
+    private final AtomicLong[] overflow;
+    private final ReentrantLock[] sweepLocks;
+    private final AtomicInteger[] untilSweep;
+    private final int maxPerStripe;
+    private final int sweepEvery;
+    private final AtomicLong sweeps = new AtomicLong();
+
+    @SuppressWarnings("unchecked")
+    ClientBuckets(int stripeCount, int maxClients, long now) {
+        this.stripes = new ConcurrentHashMap[stripeCount];
+        this.overflow = new AtomicLong[stripeCount];
+        this.sweepLocks = new ReentrantLock[stripeCount];
+        this.untilSweep = new AtomicInteger[stripeCount];
+        this.maxPerStripe = Math.max(1, maxClients / stripeCount);
+        this.sweepEvery = Math.max(1, maxPerStripe / 4);
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+            overflow[i] = new AtomicLong(now);
+            sweepLocks[i] = new ReentrantLock();
+            untilSweep[i] = new AtomicInteger();
+        }
+    }
+
+    AtomicLong bucket(String client, long now) {
+        int stripe = stripe(client);
+        ConcurrentHashMap<String, AtomicLong> buckets = stripes[stripe];
+        AtomicLong bucket = buckets.get(client);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxPerStripe) {
+            sweep(stripe, now);
+            if (buckets.size() >= maxPerStripe) {
+                return overflow[stripe];
+            }
+        }
+        return buckets.computeIfAbsent(client, k -> new AtomicLong(now));
+    }
+
+    /** Varreduras feitas (para testes). */
+    long sweeps() {
+        return sweeps.get();
+    }
+
+    int size() {
+        int size = 0;
+        for (ConcurrentHashMap<String, AtomicLong> buckets : stripes) {
+            size += buckets.size();
+        }
+        return size;
+    }
+
+    private void sweep(int stripe, long now) {
+        if (untilSweep[stripe].decrementAndGet() > 0) {
+            return;
+        }
+        ReentrantLock lock = sweepLocks[stripe];
+        if (!lock.tryLock()) {
+            return;
+        }
+        try {
+            untilSweep[stripe].set(sweepEvery);
+            sweeps.incrementAndGet();
+            stripes[stripe].values().removeIf(b -> b.get() - now <= 0);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int stripe(String client) {
+        int h = client.hashCode();
+        h ^= (h >>> 16);
+        return (h & 0x7fffffff) % stripes.length;
+    }
+}
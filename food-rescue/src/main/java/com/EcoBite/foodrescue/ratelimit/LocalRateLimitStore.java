@@ -0,0 +1,47 @@
+package com.EcoBite.foodrescue.ratelimit;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Baldes em memória, por instância. Sem locks no caminho da requisição.
+ */
+public class LocalRateLimitStore implements RateLimitStore {
+
+    private final List<RateLimitRule> rules;
+    private final Map<RateLimitRule, ClientBuckets> buckets = new IdentityHashMap<>();
+    private final LongSupplier clock;
+
+    public LocalRateLimitStore(List<RateLimitRule> rules, int stripes, int maxClients) {
+        this(rules, stripes, maxClients, System::nanoTime);
+    }
+
+    LocalRateLimitStore(List<RateLimitRule> rules, int stripes, int maxClients, LongSupplier clock) {
+        this.rules = rules;
+        this.clock = clock;
+        long now = clock.getAsLong();
+        for (RateLimitRule rule : rules) {
+            buckets.put(rule, new ClientBuckets(stripes, maxClients, now));
+        }
+    }
+
+    @Override
+    public long tryAcquire(RateLimitRule rule, String client) {
+        long now = clock.getAsLong();
+        return rule.tryAcquire(buckets.get(rule).bucket(client, now), now);
+    }
+
+    public List<RateLimitRule> getRules() {
+        return rules;
+    }
+
+    public int trackedClients() {
+        int total = 0;
+        for (ClientBuckets b : buckets.values()) {
+            total += b.size();
+        }
+        return total;
+    }
+}
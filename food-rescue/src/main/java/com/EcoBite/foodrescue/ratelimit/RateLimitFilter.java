@@ -0,0 +1,84 @@
+package com.EcoBite.foodrescue.ratelimit;
+
+import com.EcoBite.foodrescue.web.ClientKeys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aplica os limites por rota e cliente; acima do limite responde {@code 429}
+ * com {@code Retry-After} em segundos.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final List<RateLimitRule> rules;
+    private final RateLimitStore store;
+    private final Map<RateLimitRule, Counter> rejected = new IdentityHashMap<>();
+
+    public RateLimitFilter(List<RateLimitRule> rules, RateLimitStore store, MeterRegistry registry) {
+        this.rules = rules;
+        this.store = store;
+        for (RateLimitRule rule : rules) {
+            rejected.put(rule, Counter.builder("foodrescue.ratelimit.rejected")
+                    .description("Requisições recusadas pelo rate limit")
+                    .tag("route", rule.getName())
+                    .register(registry));
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RateLimitRule rule = match(request);
+        if (rule != null) {
+            long waitNanos = store.tryAcquire(rule, ClientKeys.limitKey(request));
+            if (waitNanos > 0) {
+                reject(response, rule, waitNanos);
+                return;
+            }
+        }
+        chain.doFilter(request, response);
+    }
+
+    private RateLimitRule match(HttpServletRequest request) {
+        String method = request.getMethod();
+        PathContainer path = null;
+        for (RateLimitRule rule : rules) {
+            if (!rule.matchesMethod(method)) {
+                continue;
+            }
+            if (path == null) {
+                path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+            }
+            if (rule.matchesPath(path)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    private void reject(HttpServletResponse response, RateLimitRule rule, long waitNanos) throws IOException {
+        rejected.get(rule).increment();
+        long retryAfter = Math.max(1L, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.getWriter().write("{\"error\":\"Too Many Requests\",\"route\":\"" + rule.getName()
+                + "\",\"retryAfterSeconds\":" + retryAfter + "}");
+    }
+}
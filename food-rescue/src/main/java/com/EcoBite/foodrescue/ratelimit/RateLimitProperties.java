@@ -0,0 +1,60 @@
+package com.EcoBite.foodrescue.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Limites por rota ({@code app.rate-limit.*}). Rotas sem regra não são limitadas.
+ */
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    private List<Route> routes = new ArrayList<>();
+
+    /** Máximo de clientes com balde próprio, por rota. */
+    private int maxClients = 100_000;
+
+    /** Número de stripes do mapa de baldes. */
+    private int stripes = 16;
+
+    /** Compartilha os baldes entre instâncias via Redis. */
+    private boolean redis = false;
+
+    private String redisKeyPrefix = "ratelimit:";
+
+    public static class Route {
+        private String name;
+        /** Método HTTP; vazio = qualquer um. */
+        private String method;
+        /** Padrão de caminho, ex. {@code /api/claims/offer/{offerId}}. */
+        private String path;
+        /** Tamanho da rajada. */
+        private int capacity = 10;
+        /** Fichas repostas por segundo. */
+        private double refillPerSecond = 1;
+
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+        public String getMethod() { return method; }
+        public void setMethod(String method) { this.method = method; }
+        public String getPath() { return path; }
+        public void setPath(String path) { this.path = path; }
+        public int getCapacity() { return capacity; }
+        public void setCapacity(int capacity) { this.capacity = capacity; }
+        public double getRefillPerSecond() { return refillPerSecond; }
+        public void setRefillPerSecond(double refillPerSecond) { this.refillPerSecond = refillPerSecond; }
+    }
+
+    public List<Route> getRoutes() { return routes; }
+    public void setRoutes(List<Route> routes) { this.routes = routes; }
+    public int getMaxClients() { return maxClients; }
+    public void setMaxClients(int maxClients) { this.maxClients = maxClients; }
+    public int getStripes() { return stripes; }
+    public void setStripes(int stripes) { this.stripes = stripes; }
+    public boolean isRedis() { return redis; }
+    public void setRedis(boolean redis) { this.redis = redis; }
+    public String getRedisKeyPrefix() { return redisKeyPrefix; }
+    public void setRedisKeyPrefix(String redisKeyPrefix) { this.redisKeyPrefix = redisKeyPrefix; }
+}
@@ -0,0 +1,73 @@
+package com.EcoBite.foodrescue.ratelimit;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limite de uma rota: até {@code capacity} requisições em rajada, repostas à taxa
+ * {@code refillPerSecond}. O balde de cada cliente é um único {@link AtomicLong}
+ * com o instante teórico em que ele volta a ficar cheio (GCRA), atualizado por CAS.
+ */
+public class RateLimitRule {
+
+    private final String name;
+    private final String method;
+    private final PathPattern pattern;
+    private final int capacity;
+    private final long intervalNanos;
+    private final long toleranceNanos;
+
+    public RateLimitRule(String name, String method, String path, int capacity, double refillPerSecond) {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("Invalid rate limit for route " + name);
+        }
+        this.name = name;
+        this.method = method == null || method.isBlank() ? null : method.toUpperCase(Locale.ROOT);
+        this.pattern = PathPatternParser.defaultInstance.parse(path);
+        this.capacity = capacity;
+        this.intervalNanos = Math.max(1L, (long) (1_000_000_000L / refillPerSecond));
+        this.toleranceNanos = intervalNanos * capacity;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getIntervalNanos() {
+        return intervalNanos;
+    }
+
+    public boolean matchesMethod(String requestMethod) {
+        return method == null || method.equals(requestMethod);
+    }
+
+    public boolean matchesPath(PathContainer path) {
+        return pattern.matches(path);
+    }
+
+    /**
+     * Consome uma ficha do balde. Retorna 0 se a requisição passa, senão quantos
+     * nanos faltam para a próxima ficha.
+     */
+    public long tryAcquire(AtomicLong bucket, long now) {
+        while (true) {
+            long full = bucket.get();
+            long next = (full - now > 0 ? full : now) + intervalNanos;
+            long wait = next - now - toleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(full, next)) {
+                return 0;
+            }
+        }
+    }
+}
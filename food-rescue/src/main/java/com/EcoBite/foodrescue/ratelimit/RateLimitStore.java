@@ -0,0 +1,14 @@
+package com.EcoBite.foodrescue.ratelimit;
+
+/**
+ * Onde ficam os baldes: em memória ({@link LocalRateLimitStore}) ou compartilhados
+ * entre instâncias ({@link RedisRateLimitStore}).
+ */
+public interface RateLimitStore {
+
+    /**
+     * Consome uma ficha do cliente na rota. Retorna 0 se passou, senão quantos
+     * nanos faltam para a próxima ficha.
+     */
+    long tryAcquire(RateLimitRule rule, String client);
+}
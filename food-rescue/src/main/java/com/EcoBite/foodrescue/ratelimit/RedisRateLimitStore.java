@@ -0,0 +1,62 @@
+package com.EcoBite.foodrescue.ratelimit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Baldes compartilhados entre instâncias: o mesmo GCRA do {@link RateLimitRule},
+ * executado atomicamente em um script Lua com o relógio do Redis.
+ * Se o Redis falhar, a verificação cai nos baldes locais.
+ */
+public class RedisRateLimitStore implements RateLimitStore {
+    private static final Logger log = LoggerFactory.getLogger(RedisRateLimitStore.class);
+
+    private static final RedisScript<Long> GCRA = new DefaultRedisScript<>(
+            "local t = redis.call('TIME') "
+            + "local now = tonumber(t[1]) * 1000000 + tonumber(t[2]) "
+            + "local interval = tonumber(ARGV[1]) "
+            + "local tolerance = interval * tonumber(ARGV[2]) "
+            + "local full = tonumber(redis.call('GET', KEYS[1]) or now) "
+            + "if full < now then full = now end "
+            + "local nxt = full + interval "
+            + "local wait = nxt - now - tolerance "
+            + "if wait > 0 then return wait end "
+            + "redis.call('SET', KEYS[1], nxt, 'PX', math.ceil((nxt - now) / 1000) + 1) "
+            + "return 0",
+            Long.class);
+
+    private final StringRedisTemplate redis;
+    private final String keyPrefix;
+    private final RateLimitStore fallback;
+    private volatile long lastFailureLog;
+
+    public RedisRateLimitStore(StringRedisTemplate redis, String keyPrefix, RateLimitStore fallback) {
+        this.redis = redis;
+        this.keyPrefix = keyPrefix;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public long tryAcquire(RateLimitRule rule, String client) {
+        try {
+            Long waitMicros = redis.execute(GCRA,
+                    Collections.singletonList(keyPrefix + rule.getName() + ":" + client),
+                    String.valueOf(Math.max(1L, TimeUnit.NANOSECONDS.toMicros(rule.getIntervalNanos()))),
+                    String.valueOf(rule.getCapacity()));
+            return waitMicros == null ? 0 : TimeUnit.MICROSECONDS.toNanos(waitMicros);
+        } catch (RuntimeException e) {
+            long now = System.currentTimeMillis();
+            if (now - lastFailureLog > 60_000) {
+                lastFailureLog = now;
+                log.warn("Redis indisponível para rate limit, usando baldes locais: {}", e.getMessage());
+            }
+            return fallback.tryAcquire(rule, client);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.EcoBite.foodrescue.registration;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom de e-mails: {@link #mightContain(String)} falso é garantia de que o
+ * e-mail nunca foi adicionado; verdadeiro pode ser falso positivo (na taxa configurada
+ * enquanto o número de e-mails não passar da capacidade). Seguro para várias threads.
+ */
+public class EmailBloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bits;
+    private final int hashes;
+    private final int capacity;
+    private final AtomicInteger inserted = new AtomicInteger();
+
+    public EmailBloomFilter(int capacity, double falsePositiveRate) {
+        if (capacity < 1 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("capacity >= 1 e 0 < falsePositiveRate < 1");
+        }
+        long m = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bits = Math.max(64, (m + 63) / 64 * 64);
+        this.hashes = Math.max(1, (int) Math.round((double) bits / capacity * Math.log(2)));
+        this.words = new AtomicLongArray((int) (bits / 64));
+        this.capacity = capacity;
+    }
+
+    public void add(String email) {
+        long h1 = hash(email);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bits);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = words.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!words.compareAndSet(word, current, current | mask));
+        }
+        inserted.incrementAndGet();
+    }
+
+    public boolean mightContain(String email) {
+        long h1 = hash(email);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bits);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Adições feitas (repetições contam); acima da capacidade a taxa de falso positivo sobe. */
+    public int inserted() {
+        return inserted.get();
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public long bitSize() {
+        return bits;
+    }
+
+    public int hashFunctions() {
+        return hashes;
+    }
+
+    /** O banco compara o e-mail exato; normalizar aqui só junta variações, nunca separa iguais. */
+    private static long hash(String email) {
+        String key = email.trim().toLowerCase(Locale.ROOT);
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
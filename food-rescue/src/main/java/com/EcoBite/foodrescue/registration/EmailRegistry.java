@@ -0,0 +1,126 @@
+package com.EcoBite.foodrescue.registration;
+
+import com.EcoBite.foodrescue.repository.UserRepository;
+import com.EcoBite.foodrescue.view.RebuildableView;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.exception.ConstraintViolationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Responde "e-mail já cadastrado?" sem ir ao banco quando o {@link EmailBloomFilter}
+ * garante que não. Só um possível positivo vira {@code existsByEmail} (índice único de
+ * {@code users.email}); a constraint {@code uk_users_email} continua sendo a garantia final.
+ *
+ * <p>O filtro é montado do banco na subida (dimensionado pelo total de usuários) e
+ * reconstruído periodicamente, o que também pega cadastros feitos em outras instâncias.
+ * Enquanto não carregou, toda consulta vai ao banco.
+ */
+@Service
+@Lazy(false)
+public class EmailRegistry {
+    private static final Logger log = LoggerFactory.getLogger(EmailRegistry.class);
+
+    private static final String EMAIL_CONSTRAINT = "uk_users_email";
+
+    private final UserRepository userRepository;
+    private final int minCapacity;
+    private final double falsePositiveRate;
+    private final RebuildableView<EmailBloomFilter> filter = new RebuildableView<>(null);
+
+    private final Counter filtered;
+    private final Counter databaseHit;
+    private final Counter falsePositive;
+
+    public EmailRegistry(UserRepository userRepository, MeterRegistry registry,
+                         @Value("${app.users.email-filter.min-capacity:10000}") int minCapacity,
+                         @Value("${app.users.email-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.userRepository = userRepository;
+        this.minCapacity = minCapacity;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filtered = registry.counter("foodrescue.users.email.checks", "outcome", "filtered");
+        this.databaseHit = registry.counter("foodrescue.users.email.checks", "outcome", "database");
+        this.falsePositive = registry.counter("foodrescue.users.email.checks", "outcome", "false_positive");
+        registry.gauge("foodrescue.users.email.filter.fill", this,
+                r -> {
+                    EmailBloomFilter current = r.filter.current();
+                    return current == null ? 0 : (double) current.inserted() / current.capacity();
+                });
+    }
+
+    /**
+     * @return true se já existe usuário com exatamente este e-mail
+     */
+    public boolean exists(String email) {
+        EmailBloomFilter current = filter.current();
+        if (current != null && !current.mightContain(email)) {
+            filtered.increment();
+            return false;
+        }
+        databaseHit.increment();
+        boolean exists = userRepository.existsByEmail(email);
+        if (!exists && current != null) {
+            falsePositive.increment();
+        }
+        return exists;
+    }
+
+    /**
+     * Registra o e-mail de um usuário recém-salvo. Entra no filtro depois do commit (até lá
+     * quem perguntar recebe "não" e o cadastro concorrente cai na constraint); se uma
+     * reconstrução estiver lendo o banco, entra também no filtro novo.
+     */
+    public void registered(String email) {
+        filter.afterCommit(f -> f.add(email));
+    }
+
+    /**
+     * Indica se a violação veio da {@code uk_users_email}; outras violações (outra
+     * constraint, coluna grande demais) não são "e-mail em uso". Em bancos que vieram do
+     * Hibernate, a V10 dá esse nome à unique que ele gerou.
+     */
+    public static boolean isDuplicateEmail(DataIntegrityViolationException e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return violation.getConstraintName().toLowerCase(Locale.ROOT).contains(EMAIL_CONSTRAINT);
+            }
+        }
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null && message.toLowerCase(Locale.ROOT).contains(EMAIL_CONSTRAINT);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${app.users.email-filter.rebuild-interval:PT30M}",
+            initialDelayString = "${app.users.email-filter.rebuild-interval:PT30M}")
+    public void rebuild() {
+        long start = System.nanoTime();
+        EmailBloomFilter fresh = filter.rebuild(() -> {
+            List<String> emails = userRepository.findAllEmails();
+            // folga para os cadastros até a próxima reconstrução
+            EmailBloomFilter loaded = new EmailBloomFilter(Math.max(minCapacity, emails.size() * 2), falsePositiveRate);
+            for (String email : emails) {
+                loaded.add(email);
+            }
+            return loaded;
+        });
+        if (fresh != null) {
+            log.debug("Filtro de e-mails reconstruído: {} e-mails, {} bits, {} hashes em {} ms", fresh.inserted(),
+                    fresh.bitSize(), fresh.hashFunctions(), (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+}
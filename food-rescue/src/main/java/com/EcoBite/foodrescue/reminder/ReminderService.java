@@ -0,0 +1,160 @@
+package com.EcoBite.foodrescue.reminder;
+
+import com.EcoBite.foodrescue.jobs.DelayedJob;
+import com.EcoBite.foodrescue.jobs.DelayedJobHandler;
+import com.EcoBite.foodrescue.jobs.DelayedJobQueue;
+import com.EcoBite.foodrescue.model.Claim;
+import com.EcoBite.foodrescue.model.NotificationType;
+import com.EcoBite.foodrescue.model.Offer;
+import com.EcoBite.foodrescue.model.OfferStatus;
+import com.EcoBite.foodrescue.model.User;
+import com.EcoBite.foodrescue.outbox.OfferEvents;
+import com.EcoBite.foodrescue.outbox.OutboxListener;
+import com.EcoBite.foodrescue.outbox.OutboxMessage;
+import com.EcoBite.foodrescue.repository.ClaimRepository;
+import com.EcoBite.foodrescue.repository.OfferRepository;
+import com.EcoBite.foodrescue.repository.UserRepository;
+import com.EcoBite.foodrescue.service.NotificationService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Lembretes REMINDER: ao doador, {@code app.reminders.expiry-lead} antes do pickupBy de
+ * uma oferta ainda não reservada; ao voluntário, {@code app.reminders.pickup-lead} antes do
+ * pickupBy e antes do fim da janela de retenção da reserva. São agendados na
+ * {@link DelayedJobQueue} a partir dos eventos da outbox (a reentrega não duplica: um job
+ * por tipo e referência) e, na hora, só saem se a oferta ainda está no mesmo estado. O
+ * destinatário é o usuário cadastrado com o e-mail do contato.
+ */
+@Component
+public class ReminderService implements OutboxListener, DelayedJobHandler {
+
+    static final String OFFER_EXPIRING = "REMINDER_OFFER_EXPIRING";
+    static final String PICKUP_SOON = "REMINDER_PICKUP_SOON";
+    static final String HOLD_ENDING = "REMINDER_HOLD_ENDING";
+
+    private static final DateTimeFormatter HOUR = DateTimeFormatter.ofPattern("HH:mm");
+
+    private final DelayedJobQueue jobs;
+    private final TransactionTemplate tx;
+    private final OfferRepository offers;
+    private final ClaimRepository claims;
+    private final UserRepository users;
+    private final NotificationService notifications;
+    private final Duration expiryLead;
+    private final Duration pickupLead;
+    private final Duration holdWindow;
+
+    public ReminderService(DelayedJobQueue jobs, PlatformTransactionManager transactionManager,
+                           OfferRepository offers, ClaimRepository claims, UserRepository users,
+                           NotificationService notifications,
+                           @Value("${app.reminders.expiry-lead:PT1H}") Duration expiryLead,
+                           @Value("${app.reminders.pickup-lead:PT30M}") Duration pickupLead,
+                           @Value("${app.claims.hold-window:PT2H}") Duration holdWindow) {
+        this.jobs = jobs;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.offers = offers;
+        this.claims = claims;
+        this.users = users;
+        this.notifications = notifications;
+        this.expiryLead = expiryLead;
+        this.pickupLead = pickupLead;
+        this.holdWindow = holdWindow;
+    }
+
+    @Override
+    public boolean accepts(String eventType) {
+        return OfferEvents.CREATED.equals(eventType) || OfferEvents.CLAIMED.equals(eventType);
+    }
+
+    @Override
+    public boolean handles(String jobType) {
+        return OFFER_EXPIRING.equals(jobType) || PICKUP_SOON.equals(jobType) || HOLD_ENDING.equals(jobType);
+    }
+
+    @Override
+    public void on(OutboxMessage message) {
+        if (OfferEvents.CREATED.equals(message.getEventType())) {
+            Object pickupBy = message.getPayload().get("pickupBy");
+            if (pickupBy != null) {
+                tx.executeWithoutResult(s -> scheduleIfAhead(OFFER_EXPIRING, message.getAggregateId(),
+                        LocalDateTime.parse((String) pickupBy).minus(expiryLead)));
+            }
+        } else {
+            String claimId = (String) message.getPayload().get("claimId");
+            tx.executeWithoutResult(s -> claims.findById(claimId).ifPresent(this::scheduleClaim));
+        }
+    }
+
+    private void scheduleClaim(Claim claim) {
+        Offer offer = offers.findById(claim.getOfferId()).orElse(null);
+        if (offer == null || offer.getPickupBy() == null) {
+            return;
+        }
+        scheduleIfAhead(PICKUP_SOON, claim.getId(), offer.getPickupBy().minus(pickupLead));
+        // a janela só importa se acabar antes do pickupBy
+        LocalDateTime holdEnds = claim.getReservedAt().plus(holdWindow);
+        if (holdEnds.isBefore(offer.getPickupBy())) {
+            scheduleIfAhead(HOLD_ENDING, claim.getId(), holdEnds.minus(pickupLead));
+        }
+    }
+
+    /** Lembrete que já devia ter saído (prazo curto) não é mandado. */
+    private void scheduleIfAhead(String type, String referenceId, LocalDateTime dueAt) {
+        if (dueAt.isAfter(LocalDateTime.now())) {
+            jobs.schedule(type, referenceId, dueAt);
+        }
+    }
+
+    @Override
+    public void run(DelayedJob job) {
+        if (OFFER_EXPIRING.equals(job.getType())) {
+            offers.findById(job.getReferenceId())
+                    .filter(o -> o.getStatus() == OfferStatus.AVAILABLE)
+                    .ifPresent(o -> recipient(o.getDonorContact()).ifPresent(donor ->
+                            notifications.notify(donor, NotificationType.REMINDER, "Oferta expira em breve",
+                                    "A oferta \"" + o.getDescription() + "\" ainda não foi reservada e expira às "
+                                            + HOUR.format(o.getPickupBy()) + ".")));
+            return;
+        }
+        Claim claim = claims.findById(job.getReferenceId()).filter(c -> c.getExpiredAt() == null).orElse(null);
+        if (claim == null) {
+            return;
+        }
+        // saiu para entrega, expirou ou foi cancelada: nada a lembrar
+        Offer offer = offers.findById(claim.getOfferId())
+                .filter(o -> o.getStatus() == OfferStatus.RESERVED)
+                .orElse(null);
+        if (offer == null) {
+            return;
+        }
+        recipient(claim.getVolunteerContact()).ifPresent(volunteer -> {
+            if (PICKUP_SOON.equals(job.getType())) {
+                notifications.notify(volunteer, NotificationType.REMINDER, "Retirada em breve",
+                        "Retire \"" + offer.getDescription() + "\" até " + HOUR.format(offer.getPickupBy()) + ".");
+            } else {
+                notifications.notify(volunteer, NotificationType.REMINDER, "Reserva perto de vencer",
+                        "Sua reserva de \"" + offer.getDescription() + "\" vence às "
+                                + HOUR.format(claim.getReservedAt().plus(holdWindow))
+                                + " se a retirada não for iniciada.");
+            }
+        });
+    }
+
+    private Optional<User> recipient(String contact) {
+        if (contact == null || !contact.contains("@")) {
+            return Optional.empty();
+        }
+        // e-mails ficam gravados como foram digitados
+        return users.findByLowercaseEmailIn(List.of(contact.trim().toLowerCase(Locale.ROOT))).stream().findFirst();
+    }
+}
@@ -3,10 +3,12 @@ package com.EcoBite.foodrescue.repository;
 import com.EcoBite.foodrescue.model.Claim;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 @Repository
+@Transactional(readOnly = true)
 public interface ClaimRepository extends JpaRepository<Claim, String> {
     List<Claim> findByOfferId(String offerId);
 }
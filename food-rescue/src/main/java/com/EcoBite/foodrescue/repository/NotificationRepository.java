@@ -10,12 +10,14 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
+@Transactional(readOnly = true)
 public interface NotificationRepository extends JpaRepository<Notification, UUID> {
     
     Page<Notification> findByUserOrderByCreatedAtDesc(User user, Pageable pageable);
@@ -27,10 +29,12 @@ public interface NotificationRepository extends JpaRepository<Notification, UUID
     List<Notification> findByUserAndTypeOrderByCreatedAtDesc(User user, NotificationType type);
     
     @Modifying
+    @Transactional
     @Query("UPDATE Notification n SET n.isRead = true, n.readAt = :readAt WHERE n.user = :user AND n.isRead = false")
     void markAllAsReadForUser(@Param("user") User user, @Param("readAt") LocalDateTime readAt);
     
     @Modifying
+    @Transactional
     @Query("DELETE FROM Notification n WHERE n.createdAt < :cutoffDate")
     void deleteOldNotifications(@Param("cutoffDate") LocalDateTime cutoffDate);
     
@@ -2,13 +2,32 @@ package com.EcoBite.foodrescue.repository;
 
 import com.EcoBite.foodrescue.model.Offer;
 import com.EcoBite.foodrescue.model.OfferStatus;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
+@Transactional(readOnly = true)
 public interface OfferRepository extends JpaRepository<Offer, String> {
     List<Offer> findByStatus(OfferStatus status);
+
+    /**
+     * Lê a oferta travada até o fim da transação: troca de status por aqui não se cruza com
+     * a liberação de reservas e a expiração, que fazem UPDATE condicional na mesma linha.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM Offer o WHERE o.id = :id")
+    Optional<Offer> findForUpdate(@Param("id") String id);
     long countByStatus(OfferStatus status);
+    List<Offer> findByStatusAndPickupByAfterOrderByPickupByAsc(OfferStatus status, LocalDateTime after);
+    List<Offer> findByStatusAndPickupByAfterAndLatitudeBetweenAndLongitudeBetween(
+            OfferStatus status, LocalDateTime after, double minLat, double maxLat, double minLon, double maxLon);
 }
@@ -0,0 +1,47 @@
+package com.EcoBite.foodrescue.repository;
+
+import com.EcoBite.foodrescue.model.Offer;
+import com.EcoBite.foodrescue.model.OfferStatus;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Leitura de ofertas via JDBC, para os stores que não passam pelo JPA. Serve para
+ * {@code offers} e {@code offers_archive}, que têm as mesmas colunas.
+ */
+public final class OfferRows {
+
+    public static final String COLUMNS = "id, donor_name, donor_contact, description, portions, latitude, longitude, "
+            + "status, created_at, pickup_by, reserved_at, in_transit_at, delivered_at";
+
+    /** Lê as {@link #COLUMNS}. */
+    public static final RowMapper<Offer> OFFER = (rs, n) -> {
+        Offer offer = new Offer();
+        offer.setId(rs.getString("id"));
+        offer.setDonorName(rs.getString("donor_name"));
+        offer.setDonorContact(rs.getString("donor_contact"));
+        offer.setDescription(rs.getString("description"));
+        offer.setPortions(rs.getInt("portions"));
+        offer.setLatitude(rs.getDouble("latitude"));
+        offer.setLongitude(rs.getDouble("longitude"));
+        offer.setStatus(OfferStatus.valueOf(rs.getString("status")));
+        offer.setCreatedAt(time(rs, "created_at"));
+        offer.setPickupBy(time(rs, "pickup_by"));
+        offer.setReservedAt(time(rs, "reserved_at"));
+        offer.setInTransitAt(time(rs, "in_transit_at"));
+        offer.setDeliveredAt(time(rs, "delivered_at"));
+        return offer;
+    };
+
+    private OfferRows() {
+    }
+
+    public static LocalDateTime time(ResultSet rs, String column) throws SQLException {
+        Timestamp value = rs.getTimestamp(column);
+        return value != null ? value.toLocalDateTime() : null;
+    }
+}
@@ -0,0 +1,38 @@
+package com.EcoBite.foodrescue.repository;
+
+import com.EcoBite.foodrescue.model.OutboxEvent;
+import com.EcoBite.foodrescue.model.OutboxStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+@Transactional(readOnly = true)
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Próximo lote entregável, travado com SKIP LOCKED para que outras instâncias peguem
+     * outras linhas. Só o evento pendente mais antigo de cada agregado entra no lote.
+     */
+    @Query(value = "SELECT e.* FROM outbox_events e"
+            + " WHERE e.status = 'PENDING' AND e.available_at <= :now"
+            + " AND (e.locked_until IS NULL OR e.locked_until < :now)"
+            + " AND NOT EXISTS (SELECT 1 FROM outbox_events p WHERE p.aggregate_id = e.aggregate_id"
+            + " AND p.status = 'PENDING' AND p.id < e.id)"
+            + " ORDER BY e.id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxEvent> lockNextBatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.lockedUntil = :until WHERE e.id IN :ids")
+    int lease(@Param("ids") Collection<Long> ids, @Param("until") LocalDateTime until);
+
+    long countByStatus(OutboxStatus status);
+}
@@ -7,18 +7,31 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
+@Transactional(readOnly = true)
 public interface UserRepository extends JpaRepository<User, UUID> {
     
     Optional<User> findByEmail(String email);
+
+    /**
+     * Busca pelo e-mail sem diferenciar maiúsculas (os e-mails ficam gravados como foram
+     * digitados); {@code emails} já em minúsculas.
+     */
+    @Query("SELECT u FROM User u WHERE LOWER(u.email) IN :emails")
+    List<User> findByLowercaseEmailIn(@Param("emails") Collection<String> emails);
     
     boolean existsByEmail(String email);
+
+    @Query("SELECT u.email FROM User u")
+    List<String> findAllEmails();
     
     List<User> findByRole(UserRole role);
     
@@ -36,6 +49,8 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     
     @Query("SELECT COUNT(u) FROM User u WHERE u.role = :role")
     long countByRole(@Param("role") UserRole role);
+
+    long countByStatus(UserStatus status);
     
     @Query("SELECT COUNT(u) FROM User u WHERE u.createdAt BETWEEN :startDate AND :endDate")
     long countNewUsersInPeriod(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
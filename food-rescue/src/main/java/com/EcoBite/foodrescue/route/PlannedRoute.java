@@ -0,0 +1,31 @@
+package com.EcoBite.foodrescue.route;
+
+/**
+ * Melhor rota encontrada: índices dos nós do {@link RouteProblem} em ordem de visita.
+ */
+public class PlannedRoute {
+    private final int[] stops;
+    private final int portions;
+    private final double durationSeconds;
+
+    PlannedRoute(int[] stops, int portions, double durationSeconds) {
+        this.stops = stops;
+        this.portions = portions;
+        this.durationSeconds = durationSeconds;
+    }
+
+    public int[] getStops() { return stops; }
+    public int getPortions() { return portions; }
+    public double getDurationSeconds() { return durationSeconds; }
+
+    /** Mais porções coletadas; empate: rota mais curta. */
+    boolean betterThan(PlannedRoute other) {
+        if (other == null) {
+            return true;
+        }
+        if (portions != other.portions) {
+            return portions > other.portions;
+        }
+        return durationSeconds < other.durationSeconds - 1e-6;
+    }
+}
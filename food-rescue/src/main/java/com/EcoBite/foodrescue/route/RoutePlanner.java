@@ -0,0 +1,248 @@
+package com.EcoBite.foodrescue.route;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Heurística com prazo para o problema de coleta com janelas (pickupBy), tempo
+ * disponível e capacidade: vizinho mais próximo (aleatorizado a partir do segundo
+ * recomeço) seguido de busca local com 2-opt, or-opt e inserção de novas paradas.
+ * Vários recomeços rodam em paralelo até o prazo ou o limite de recomeços.
+ */
+public class RoutePlanner {
+    private static final double EPSILON = 1e-6;
+
+    private final ExecutorService pool;
+    private final int workers;
+    private final int maxRestarts;
+
+    public RoutePlanner(int workers, int maxRestarts) {
+        this.workers = workers;
+        this.maxRestarts = maxRestarts;
+        AtomicInteger threads = new AtomicInteger();
+        this.pool = Executors.newFixedThreadPool(workers, r -> {
+            Thread t = new Thread(r, "route-planner-" + threads.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public PlannedRoute plan(RouteProblem problem, Duration timeLimit) {
+        long deadline = System.nanoTime() + timeLimit.toNanos();
+        AtomicInteger restarts = new AtomicInteger();
+        List<Callable<PlannedRoute>> searches = new ArrayList<>();
+        for (int w = 0; w < workers; w++) {
+            final long seed = 31L * w + 17;
+            final boolean deterministicFirst = w == 0;
+            searches.add(() -> search(problem, new SplittableRandom(seed), deterministicFirst, deadline, restarts));
+        }
+        PlannedRoute best = null;
+        try {
+            for (Future<PlannedRoute> result : pool.invokeAll(searches)) {
+                PlannedRoute route = result.get();
+                if (route != null && route.betterThan(best)) {
+                    best = route;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Route search failed", e.getCause());
+        }
+        return best != null ? best : new PlannedRoute(new int[0], 0, 0);
+    }
+
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private PlannedRoute search(RouteProblem p, SplittableRandom random, boolean deterministicFirst, long deadline,
+                                AtomicInteger restarts) {
+        PlannedRoute best = null;
+        boolean deterministic = deterministicFirst;
+        while (restarts.getAndIncrement() < maxRestarts) {
+            PlannedRoute route = improve(p, construct(p, random, deterministic), deadline);
+            deterministic = false;
+            if (route.betterThan(best)) {
+                best = route;
+            }
+            if (System.nanoTime() >= deadline) {
+                break;
+            }
+        }
+        return best;
+    }
+
+    /** Vizinho mais próximo viável; aleatorizado escolhe entre os 3 mais próximos. */
+    private int[] construct(RouteProblem p, SplittableRandom random, boolean deterministic) {
+        boolean[] visited = new boolean[p.size];
+        int[] route = new int[p.size - 1];
+        int length = 0;
+        int current = 0;
+        int load = 0;
+        double t = 0;
+        int[] nearest = new int[3];
+        double[] nearestTime = new double[3];
+        while (true) {
+            int found = 0;
+            for (int j = 1; j < p.size; j++) {
+                if (visited[j] || load + p.portions[j] > p.capacity) {
+                    continue;
+                }
+                double arrival = t + p.travelSeconds[current][j];
+                if (arrival > p.deadlineSeconds[j] || arrival + p.serviceSeconds > p.budgetSeconds) {
+                    continue;
+                }
+                double travel = p.travelSeconds[current][j];
+                int limit = deterministic ? 1 : 3;
+                if (found < limit || travel < nearestTime[found - 1]) {
+                    int pos = found < limit ? found++ : found - 1;
+                    while (pos > 0 && nearestTime[pos - 1] > travel) {
+                        nearest[pos] = nearest[pos - 1];
+                        nearestTime[pos] = nearestTime[pos - 1];
+                        pos--;
+                    }
+                    nearest[pos] = j;
+                    nearestTime[pos] = travel;
+                }
+            }
+            if (found == 0) {
+                break;
+            }
+            int next = nearest[deterministic ? 0 : random.nextInt(found)];
+            t += p.travelSeconds[current][next] + p.serviceSeconds;
+            load += p.portions[next];
+            visited[next] = true;
+            route[length++] = next;
+            current = next;
+        }
+        return Arrays.copyOf(route, length);
+    }
+
+    private PlannedRoute improve(RouteProblem p, int[] initial, long deadline) {
+        int[] route = Arrays.copyOf(initial, p.size);
+        int[] scratch = new int[p.size];
+        int length = initial.length;
+        boolean[] inRoute = new boolean[p.size];
+        int load = 0;
+        for (int i = 0; i < length; i++) {
+            inRoute[route[i]] = true;
+            load += p.portions[route[i]];
+        }
+        double duration = p.duration(route, length);
+
+        boolean improved = true;
+        while (improved && System.nanoTime() < deadline) {
+            improved = false;
+
+            // 2-opt: inverte o trecho [i..j]
+            for (int i = 0; i < length - 1; i++) {
+                for (int j = i + 1; j < length; j++) {
+                    System.arraycopy(route, 0, scratch, 0, length);
+                    for (int a = i, b = j; a < b; a++, b--) {
+                        int tmp = scratch[a];
+                        scratch[a] = scratch[b];
+                        scratch[b] = tmp;
+                    }
+                    double d = p.duration(scratch, length);
+                    if (d < duration - EPSILON) {
+                        int[] swap = route;
+                        route = scratch;
+                        scratch = swap;
+                        duration = d;
+                        improved = true;
+                    }
+                }
+            }
+
+            // or-opt: move um trecho de 1 a 3 paradas para outra posição
+            for (int segment = 1; segment <= 3 && segment < length; segment++) {
+                for (int from = 0; from + segment <= length; from++) {
+                    for (int to = 0; to <= length - segment; to++) {
+                        if (to == from) {
+                            continue;
+                        }
+                        moveSegment(route, scratch, length, from, segment, to);
+                        double d = p.duration(scratch, length);
+                        if (d < duration - EPSILON) {
+                            int[] swap = route;
+                            route = scratch;
+                            scratch = swap;
+                            duration = d;
+                            improved = true;
+                        }
+                    }
+                }
+            }
+
+            // inserção: a oferta que rende mais porções por segundo adicionado
+            int bestStop = -1;
+            int bestPosition = -1;
+            double bestDuration = 0;
+            double bestRatio = 0;
+            for (int j = 1; j < p.size; j++) {
+                if (inRoute[j] || load + p.portions[j] > p.capacity) {
+                    continue;
+                }
+                for (int pos = 0; pos <= length; pos++) {
+                    System.arraycopy(route, 0, scratch, 0, pos);
+                    scratch[pos] = j;
+                    System.arraycopy(route, pos, scratch, pos + 1, length - pos);
+                    double d = p.duration(scratch, length + 1);
+                    if (d == Double.POSITIVE_INFINITY) {
+                        continue;
+                    }
+                    double ratio = p.portions[j] / (d - duration + 1);
+                    if (ratio > bestRatio) {
+                        bestRatio = ratio;
+                        bestStop = j;
+                        bestPosition = pos;
+                        bestDuration = d;
+                    }
+                }
+            }
+            if (bestStop > 0) {
+                System.arraycopy(route, bestPosition, route, bestPosition + 1, length - bestPosition);
+                route[bestPosition] = bestStop;
+                length++;
+                inRoute[bestStop] = true;
+                load += p.portions[bestStop];
+                duration = bestDuration;
+                improved = true;
+            }
+        }
+        return new PlannedRoute(Arrays.copyOf(route, length), load, duration);
+    }
+
+    /** Copia {@code route} para {@code out} movendo {@code route[from..from+segment)} para a posição {@code to}. */
+    private static void moveSegment(int[] route, int[] out, int length, int from, int segment, int to) {
+        int o = 0;
+        int rest = 0;
+        for (int i = 0; i < length; i++) {
+            if (i >= from && i < from + segment) {
+                continue;
+            }
+            if (rest == to) {
+                for (int s = 0; s < segment; s++) {
+                    out[o++] = route[from + s];
+                }
+            }
+            out[o++] = route[i];
+            rest++;
+        }
+        if (rest == to) {
+            for (int s = 0; s < segment; s++) {
+                out[o++] = route[from + s];
+            }
+        }
+    }
+}
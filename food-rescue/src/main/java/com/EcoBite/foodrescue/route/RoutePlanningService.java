@@ -0,0 +1,118 @@
+package com.EcoBite.foodrescue.route;
+
+import com.EcoBite.foodrescue.dto.RoutePlanRequest;
+import com.EcoBite.foodrescue.dto.RoutePlanResponse;
+import com.EcoBite.foodrescue.geo.GeoDistance;
+import com.EcoBite.foodrescue.model.Offer;
+import com.EcoBite.foodrescue.model.OfferStatus;
+import com.EcoBite.foodrescue.repository.OfferRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Monta a rota de coleta: busca as ofertas disponíveis perto do ponto de partida
+ * que ainda podem ser coletadas e entrega ao {@link RoutePlanner}.
+ */
+@Service
+public class RoutePlanningService {
+    private static final double DEFAULT_SPEED_KMH = 30;
+    private static final double DEFAULT_MAX_DISTANCE_KM = 10;
+
+    private final OfferRepository offerRepo;
+    private final RoutePlanner planner;
+    private final Duration timeLimit;
+    private final int maxCandidates;
+    private final double serviceSeconds;
+
+    public RoutePlanningService(OfferRepository offerRepo, RoutePlanner planner,
+                                @Value("${app.routes.time-limit:150ms}") Duration timeLimit,
+                                @Value("${app.routes.max-candidates:500}") int maxCandidates,
+                                @Value("${app.routes.service-time:5m}") Duration serviceTime) {
+        this.offerRepo = offerRepo;
+        this.planner = planner;
+        this.timeLimit = timeLimit;
+        this.maxCandidates = maxCandidates;
+        this.serviceSeconds = serviceTime.getSeconds();
+    }
+
+    public RoutePlanResponse plan(RoutePlanRequest req) {
+        long start = System.nanoTime();
+        LocalDateTime startAt = req.getStartAt() != null ? req.getStartAt() : LocalDateTime.now();
+        double speedKmh = req.getSpeedKmh() != null ? req.getSpeedKmh() : DEFAULT_SPEED_KMH;
+        double radiusKm = req.getMaxDistanceKm() != null ? req.getMaxDistanceKm() : DEFAULT_MAX_DISTANCE_KM;
+
+        List<Offer> candidates = candidates(req, startAt, radiusKm);
+        int n = candidates.size();
+        double[] lat = new double[n];
+        double[] lon = new double[n];
+        int[] portions = new int[n];
+        double[] deadline = new double[n];
+        for (int i = 0; i < n; i++) {
+            Offer o = candidates.get(i);
+            lat[i] = o.getLatitude();
+            lon[i] = o.getLongitude();
+            portions[i] = o.getPortions();
+            deadline[i] = Duration.between(startAt, o.getPickupBy()).getSeconds();
+        }
+        RouteProblem problem = new RouteProblem(req.getStartLatitude(), req.getStartLongitude(), lat, lon,
+                portions, deadline, speedKmh, serviceSeconds, req.getTimeBudgetMinutes() * 60.0, req.getCapacity());
+        PlannedRoute route = planner.plan(problem, timeLimit);
+
+        RoutePlanResponse response = new RoutePlanResponse();
+        double t = 0;
+        double totalKm = 0;
+        int previous = 0;
+        for (int node : route.getStops()) {
+            Offer o = candidates.get(node - 1);
+            t += problem.travelSeconds[previous][node];
+            RoutePlanResponse.Stop stop = new RoutePlanResponse.Stop();
+            stop.setOfferId(o.getId());
+            stop.setDescription(o.getDescription());
+            stop.setPortions(o.getPortions());
+            stop.setLatitude(o.getLatitude());
+            stop.setLongitude(o.getLongitude());
+            stop.setPickupBy(o.getPickupBy());
+            stop.setArrivalAt(startAt.plusSeconds((long) t));
+            stop.setLegDistanceKm(problem.distanceKm[previous][node]);
+            response.getStops().add(stop);
+            totalKm += problem.distanceKm[previous][node];
+            t += serviceSeconds;
+            previous = node;
+        }
+        response.setTotalPortions(route.getPortions());
+        response.setTotalDistanceKm(totalKm);
+        response.setTotalMinutes((int) Math.ceil(route.getDurationSeconds() / 60));
+        response.setCandidates(n);
+        response.setComputeMs((System.nanoTime() - start) / 1_000_000);
+        return response;
+    }
+
+    private List<Offer> candidates(RoutePlanRequest req, LocalDateTime startAt, double radiusKm) {
+        double latDelta = radiusKm / GeoDistance.KM_PER_DEGREE;
+        double lonDelta = latDelta / Math.max(Math.cos(Math.toRadians(req.getStartLatitude())), 0.01);
+        List<Offer> candidates = new ArrayList<>();
+        for (Offer o : offerRepo.findByStatusAndPickupByAfterAndLatitudeBetweenAndLongitudeBetween(
+                OfferStatus.AVAILABLE, startAt,
+                req.getStartLatitude() - latDelta, req.getStartLatitude() + latDelta,
+                req.getStartLongitude() - lonDelta, req.getStartLongitude() + lonDelta)) {
+            if (o.getPortions() <= req.getCapacity() && distanceFromStart(req, o) <= radiusKm) {
+                candidates.add(o);
+            }
+        }
+        if (candidates.size() > maxCandidates) {
+            candidates.sort(Comparator.comparingDouble(o -> distanceFromStart(req, o)));
+            candidates = new ArrayList<>(candidates.subList(0, maxCandidates));
+        }
+        return candidates;
+    }
+
+    private static double distanceFromStart(RoutePlanRequest req, Offer o) {
+        return GeoDistance.haversineKm(req.getStartLatitude(), req.getStartLongitude(), o.getLatitude(), o.getLongitude());
+    }
+}
@@ -0,0 +1,74 @@
+package com.EcoBite.foodrescue.route;
+
+import com.EcoBite.foodrescue.geo.GeoDistance;
+
+/**
+ * Instância do planejamento: nó 0 é o ponto de partida, nós 1..n são as ofertas.
+ * Tempos em segundos a partir do início da rota.
+ */
+public class RouteProblem {
+    final int size;
+    final double[][] distanceKm;
+    final double[][] travelSeconds;
+    final double[] deadlineSeconds;
+    final int[] portions;
+    final double serviceSeconds;
+    final double budgetSeconds;
+    final int capacity;
+
+    public RouteProblem(double startLatitude, double startLongitude, double[] latitude, double[] longitude,
+                        int[] portions, double[] deadlineSeconds, double speedKmh, double serviceSeconds,
+                        double budgetSeconds, int capacity) {
+        this.size = latitude.length + 1;
+        this.distanceKm = new double[size][size];
+        this.travelSeconds = new double[size][size];
+        this.deadlineSeconds = new double[size];
+        this.portions = new int[size];
+        this.serviceSeconds = serviceSeconds;
+        this.budgetSeconds = budgetSeconds;
+        this.capacity = capacity;
+
+        double[] lat = new double[size];
+        double[] lon = new double[size];
+        lat[0] = startLatitude;
+        lon[0] = startLongitude;
+        for (int i = 1; i < size; i++) {
+            lat[i] = latitude[i - 1];
+            lon[i] = longitude[i - 1];
+            this.portions[i] = portions[i - 1];
+            this.deadlineSeconds[i] = deadlineSeconds[i - 1];
+        }
+        double secondsPerKm = 3600.0 / speedKmh;
+        for (int i = 0; i < size; i++) {
+            for (int j = i + 1; j < size; j++) {
+                double d = GeoDistance.haversineKm(lat[i], lon[i], lat[j], lon[j]);
+                distanceKm[i][j] = distanceKm[j][i] = d;
+                travelSeconds[i][j] = travelSeconds[j][i] = d * secondsPerKm;
+            }
+        }
+    }
+
+    /** Número de ofertas candidatas. */
+    public int candidates() {
+        return size - 1;
+    }
+
+    /**
+     * Duração da rota (até a última coleta) ou infinito se algum pickupBy ou o
+     * tempo disponível for violado.
+     */
+    double duration(int[] route, int length) {
+        double t = 0;
+        int previous = 0;
+        for (int i = 0; i < length; i++) {
+            int stop = route[i];
+            t += travelSeconds[previous][stop];
+            if (t > deadlineSeconds[stop]) {
+                return Double.POSITIVE_INFINITY;
+            }
+            t += serviceSeconds;
+            previous = stop;
+        }
+        return t <= budgetSeconds ? t : Double.POSITIVE_INFINITY;
+    }
+}
@@ -0,0 +1,244 @@
+package com.EcoBite.foodrescue.search;
+
+import com.EcoBite.foodrescue.geo.GeoDistance;
+import com.EcoBite.foodrescue.model.Offer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido em memória sobre as descrições das ofertas disponíveis, com
+ * ranking BM25. Buscas em paralelo; escritas (uma oferta por vez) sob lock exclusivo.
+ * A reconstrução completa monta um índice novo e troca a referência (ver {@link OfferSearchService}).
+ */
+public class OfferSearchIndex {
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final Map<String, Posting> postings = new HashMap<>();
+    private final Map<String, Integer> docIds = new HashMap<>();
+    // docId = posição no array; ids liberados são reaproveitados para os arrays da busca ficarem densos
+    private Doc[] docs = new Doc[64];
+    private int[] freeIds = new int[16];
+    private int freeCount;
+    private int nextDocId;
+    private int size;
+    private long totalLength;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** Indexa ou reindexa a oferta. */
+    public void put(Offer offer) {
+        List<String> terms = TextAnalyzer.terms(offer.getDescription());
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String term : terms) {
+            frequencies.merge(term, 1, Integer::sum);
+        }
+        lock.writeLock().lock();
+        try {
+            removeLocked(offer.getId());
+            int docId = allocateId();
+            docs[docId] = new Doc(offer, terms.size(), frequencies.keySet().toArray(new String[0]));
+            docIds.put(offer.getId(), docId);
+            size++;
+            totalLength += terms.size();
+            for (Map.Entry<String, Integer> e : frequencies.entrySet()) {
+                postings.computeIfAbsent(e.getKey(), k -> new Posting()).add(docId, e.getValue());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String offerId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(offerId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ofertas mais relevantes para {@code query}. Com {@code radiusKm} não nulo, só as
+     * que estão a essa distância de ({@code latitude}, {@code longitude}).
+     */
+    public List<Offer> search(String query, Double latitude, Double longitude, Double radiusKm, int limit) {
+        LinkedHashSet<String> terms = new LinkedHashSet<>(TextAnalyzer.terms(query));
+        boolean geo = latitude != null && longitude != null && radiusKm != null;
+        lock.readLock().lock();
+        try {
+            if (size == 0 || terms.isEmpty()) {
+                return new ArrayList<>();
+            }
+            double averageLength = Math.max(1.0, (double) totalLength / size);
+            double[] scores = new double[nextDocId];
+            // 0 = ainda não visto, 1 = dentro do raio, 2 = fora
+            byte[] geoState = geo ? new byte[nextDocId] : null;
+            GeoBox box = geo ? new GeoBox(latitude, longitude, radiusKm) : null;
+            int[] touched = new int[0];
+            int touchedCount = 0;
+            for (String term : terms) {
+                Posting posting = postings.get(term);
+                if (posting == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (size - posting.size + 0.5) / (posting.size + 0.5));
+                for (int i = 0; i < posting.size; i++) {
+                    int docId = posting.docIds[i];
+                    Doc doc = docs[docId];
+                    if (geo) {
+                        if (geoState[docId] == 0) {
+                            geoState[docId] = box.contains(doc.offer) ? (byte) 1 : (byte) 2;
+                        }
+                        if (geoState[docId] == 2) {
+                            continue;
+                        }
+                    }
+                    double tf = posting.frequencies[i];
+                    if (scores[docId] == 0) {
+                        if (touchedCount == touched.length) {
+                            touched = Arrays.copyOf(touched, Math.max(64, touchedCount * 2));
+                        }
+                        touched[touchedCount++] = docId;
+                    }
+                    scores[docId] += idf * tf * (K1 + 1) / (tf + K1 * (1 - B + B * doc.length / averageLength));
+                }
+            }
+
+            final double[] s = scores;
+            PriorityQueue<Integer> top = new PriorityQueue<>(limit + 1, (a, b) -> Double.compare(s[a], s[b]));
+            for (int i = 0; i < touchedCount; i++) {
+                int docId = touched[i];
+                if (top.size() < limit) {
+                    top.add(docId);
+                } else if (s[docId] > s[top.peek()]) {
+                    top.poll();
+                    top.add(docId);
+                }
+            }
+            Offer[] ranked = new Offer[top.size()];
+            for (int i = ranked.length - 1; i >= 0; i--) {
+                ranked[i] = docs[top.poll()].offer;
+            }
+            return new ArrayList<>(List.of(ranked));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int allocateId() {
+        if (freeCount > 0) {
+            return freeIds[--freeCount];
+        }
+        if (nextDocId == docs.length) {
+            docs = Arrays.copyOf(docs, docs.length * 2);
+        }
+        return nextDocId++;
+    }
+
+    private void removeLocked(String offerId) {
+        Integer docId = docIds.remove(offerId);
+        if (docId == null) {
+            return;
+        }
+        Doc doc = docs[docId];
+        docs[docId] = null;
+        size--;
+        totalLength -= doc.length;
+        for (String term : doc.terms) {
+            Posting posting = postings.get(term);
+            posting.remove(docId);
+            if (posting.size == 0) {
+                postings.remove(term);
+            }
+        }
+        if (freeCount == freeIds.length) {
+            freeIds = Arrays.copyOf(freeIds, freeCount * 2);
+        }
+        freeIds[freeCount++] = docId;
+    }
+
+    /** Lista de (docId, frequência) de um termo; remoção troca com o último. */
+    private static class Posting {
+        int[] docIds = new int[4];
+        int[] frequencies = new int[4];
+        int size;
+
+        void add(int docId, int frequency) {
+            if (size == docIds.length) {
+                docIds = Arrays.copyOf(docIds, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            docIds[size] = docId;
+            frequencies[size] = frequency;
+            size++;
+        }
+
+        void remove(int docId) {
+            for (int i = 0; i < size; i++) {
+                if (docIds[i] == docId) {
+                    size--;
+                    docIds[i] = docIds[size];
+                    frequencies[i] = frequencies[size];
+                    return;
+                }
+            }
+        }
+    }
+
+    private static class Doc {
+        final Offer offer;
+        final int length;
+        final String[] terms;
+
+        Doc(Offer offer, int length, String[] terms) {
+            this.offer = offer;
+            this.length = length;
+            this.terms = terms;
+        }
+    }
+
+    /** Caixa em graus que descarta a maioria dos pontos antes do haversine. */
+    private static class GeoBox {
+        final double latitude;
+        final double longitude;
+        final double radiusKm;
+        final double latDelta;
+        final double lonDelta;
+
+        GeoBox(double latitude, double longitude, double radiusKm) {
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.radiusKm = radiusKm;
+            this.latDelta = radiusKm / GeoDistance.KM_PER_DEGREE;
+            double cos = Math.cos(Math.toRadians(latitude));
+            this.lonDelta = cos < 1e-6 ? 360 : latDelta / cos;
+        }
+
+        boolean contains(Offer offer) {
+            if (Math.abs(offer.getLatitude() - latitude) > latDelta) {
+                return false;
+            }
+            double dLon = Math.abs(offer.getLongitude() - longitude);
+            if (Math.min(dLon, 360 - dLon) > lonDelta) {
+                return false;
+            }
+            return GeoDistance.haversineKm(latitude, longitude, offer.getLatitude(), offer.getLongitude()) <= radiusKm;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.EcoBite.foodrescue.search;
+
+import com.EcoBite.foodrescue.config.MetricsConfig;
+import com.EcoBite.foodrescue.model.Offer;
+import com.EcoBite.foodrescue.model.OfferStatus;
+import com.EcoBite.foodrescue.repository.OfferRepository;
+import com.EcoBite.foodrescue.view.RebuildableView;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Mantém o {@link OfferSearchIndex} com as ofertas AVAILABLE: atualizado a cada
+ * escrita do {@code OfferService}/{@code ClaimService} (depois do commit) e
+ * reconstruído do banco na subida e periodicamente, para pegar alterações feitas
+ * por outras instâncias.
+ */
+@Service
+@Lazy(false)
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true, percentiles = {0.5, 0.95, 0.99})
+public class OfferSearchService {
+    private static final Logger log = LoggerFactory.getLogger(OfferSearchService.class);
+
+    private final OfferRepository repo;
+    private final RebuildableView<OfferSearchIndex> index = new RebuildableView<>(new OfferSearchIndex());
+
+    public OfferSearchService(OfferRepository repo, MeterRegistry registry) {
+        this.repo = repo;
+        registry.gauge("foodrescue.search.indexed.offers", this, s -> s.index.current().size());
+    }
+
+    /**
+     * Reflete a oferta no índice: disponível entra (ou é reindexada), qualquer
+     * outro status sai. Dentro de transação, só depois do commit.
+     */
+    public void offerChanged(Offer offer) {
+        String id = offer.getId();
+        if (offer.getStatus() == OfferStatus.AVAILABLE) {
+            index.afterCommit(i -> i.put(offer));
+        } else {
+            index.afterCommit(i -> i.remove(id));
+        }
+    }
+
+    public void offerDeleted(String offerId) {
+        index.afterCommit(i -> i.remove(offerId));
+    }
+
+    public List<Offer> search(String query, Double latitude, Double longitude, Double radiusKm, int limit) {
+        return index.current().search(query, latitude, longitude, radiusKm, limit);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${app.search.rebuild-interval:PT10M}", initialDelayString = "${app.search.rebuild-interval:PT10M}")
+    public void rebuild() {
+        long start = System.nanoTime();
+        OfferSearchIndex fresh = index.rebuild(() -> {
+            OfferSearchIndex loaded = new OfferSearchIndex();
+            for (Offer offer : repo.findByStatus(OfferStatus.AVAILABLE)) {
+                loaded.put(offer);
+            }
+            return loaded;
+        });
+        if (fresh != null) {
+            log.debug("Índice de busca reconstruído: {} ofertas em {} ms", fresh.size(), (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.EcoBite.foodrescue.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Quebra texto em português em termos: minúsculas, sem acentos ("pão" = "pao"),
+ * sem stopwords e com o plural simples removido ("frutas" = "fruta").
+ */
+public final class TextAnalyzer {
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Set<String> STOPWORDS = new HashSet<>(List.of(
+            "a", "o", "as", "os", "um", "uma", "uns", "umas", "de", "da", "do", "das", "dos",
+            "e", "ou", "em", "no", "na", "nos", "nas", "com", "sem", "para", "pra", "por",
+            "ao", "aos", "que", "se", "mais", "muito", "muita", "muitos", "muitas"));
+
+    private TextAnalyzer() {
+    }
+
+    public static List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return terms;
+        }
+        String folded = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean letterOrDigit = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (letterOrDigit && start < 0) {
+                start = i;
+            } else if (!letterOrDigit && start >= 0) {
+                String term = folded.substring(start, i);
+                if (!STOPWORDS.contains(term)) {
+                    terms.add(singular(term));
+                }
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    private static String singular(String term) {
+        int n = term.length();
+        if (n <= 3 || term.charAt(n - 1) != 's' || term.endsWith("ss") || term.endsWith("us") || term.endsWith("is")) {
+            return term;
+        }
+        if (term.endsWith("oes") || term.endsWith("aes")) {
+            return term.substring(0, n - 3) + "ao";
+        }
+        if (term.endsWith("res") || term.endsWith("zes") || term.endsWith("eses")) {
+            return term.substring(0, n - 2);
+        }
+        return term.substring(0, n - 1);
+    }
+}
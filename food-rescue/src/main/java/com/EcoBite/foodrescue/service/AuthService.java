@@ -0,0 +1,68 @@
+package com.EcoBite.foodrescue.service;
+
+import com.EcoBite.foodrescue.auth.JwtService;
+import com.EcoBite.foodrescue.auth.TokenDenyList;
+import com.EcoBite.foodrescue.config.MetricsConfig;
+import com.EcoBite.foodrescue.dto.LoginResponse;
+import com.EcoBite.foodrescue.model.User;
+import com.EcoBite.foodrescue.model.UserStatus;
+import com.EcoBite.foodrescue.repository.UserRepository;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/**
+ * Login por e-mail e senha, emitindo o JWT usado nas requisições seguintes.
+ */
+@Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true, percentiles = {0.5, 0.95, 0.99})
+public class AuthService {
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final JwtService jwt;
+    private final TokenDenyList denyList;
+    private final UserService userService;
+
+    public AuthService(UserRepository userRepository, PasswordEncoder passwordEncoder, JwtService jwt,
+                       TokenDenyList denyList, UserService userService) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.jwt = jwt;
+        this.denyList = denyList;
+        this.userService = userService;
+    }
+
+    /**
+     * @throws IllegalArgumentException e-mail ou senha errados
+     * @throws IllegalStateException usuário não está ativo
+     */
+    @Transactional
+    public LoginResponse login(String email, String password) {
+        User user = userRepository.findByEmail(email)
+                .filter(u -> passwordEncoder.matches(password, u.getPassword()))
+                .orElseThrow(() -> new IllegalArgumentException("Credenciais inválidas"));
+        if (user.getStatus() != UserStatus.ACTIVE) {
+            throw new IllegalStateException("Usuário não está ativo");
+        }
+        user.setLastLogin(LocalDateTime.now());
+        userRepository.save(user);
+
+        JwtService.IssuedToken token = jwt.issue(user);
+        long expiresIn = Duration.between(Instant.now(), token.getExpiresAt()).getSeconds();
+        return new LoginResponse(token.getToken(), token.getExpiresAt().toString(), expiresIn,
+                userService.convertToProfileResponse(user));
+    }
+
+    /**
+     * Revoga o token apresentado até ele expirar.
+     */
+    public void logout(Claims claims) {
+        denyList.revokeToken(claims.getId(), claims.getExpiration().toInstant());
+    }
+}
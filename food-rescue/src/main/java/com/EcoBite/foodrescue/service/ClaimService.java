@@ -1,24 +1,50 @@
 package com.EcoBite.foodrescue.service;
 
+import com.EcoBite.foodrescue.archive.OfferArchiveStore;
+import com.EcoBite.foodrescue.audit.OfferAuditService;
+import com.EcoBite.foodrescue.config.MetricsConfig;
 import com.EcoBite.foodrescue.dto.ClaimOfferRequest;
+import com.EcoBite.foodrescue.expiry.ReservationHoldService;
+import com.EcoBite.foodrescue.heatmap.HeatmapService;
 import com.EcoBite.foodrescue.model.Claim;
 import com.EcoBite.foodrescue.model.Offer;
 import com.EcoBite.foodrescue.model.OfferStatus;
+import com.EcoBite.foodrescue.outbox.OutboxPublisher;
 import com.EcoBite.foodrescue.repository.ClaimRepository;
 import com.EcoBite.foodrescue.repository.OfferRepository;
+import com.EcoBite.foodrescue.search.OfferSearchService;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true, percentiles = {0.5, 0.95, 0.99})
 public class ClaimService {
     private final ClaimRepository claimRepo;
     private final OfferRepository offerRepo;
+    private final OfferMetrics metrics;
+    private final OfferSearchService offerSearch;
+    private final HeatmapService heatmap;
+    private final OutboxPublisher outbox;
+    private final OfferArchiveStore archive;
+    private final ReservationHoldService holds;
+    private final OfferAuditService audit;
 
-    public ClaimService(ClaimRepository claimRepo, OfferRepository offerRepo) {
+    public ClaimService(ClaimRepository claimRepo, OfferRepository offerRepo, OfferMetrics metrics,
+                        OfferSearchService offerSearch, HeatmapService heatmap, OutboxPublisher outbox,
+                        OfferArchiveStore archive, ReservationHoldService holds, OfferAuditService audit) {
         this.claimRepo = claimRepo;
         this.offerRepo = offerRepo;
+        this.metrics = metrics;
+        this.offerSearch = offerSearch;
+        this.heatmap = heatmap;
+        this.outbox = outbox;
+        this.archive = archive;
+        this.holds = holds;
+        this.audit = audit;
     }
 
     /**
@@ -26,23 +52,46 @@ public class ClaimService {
      */
     @Transactional
     public Claim reserve(String offerId, ClaimOfferRequest req) {
-        Offer offer = offerRepo.findById(offerId).orElseThrow(() -> new IllegalArgumentException("Offer not found"));
+        // travada: não cruza com a expiração, que muda a mesma linha por UPDATE condicional
+        Offer offer = offerRepo.findForUpdate(offerId).orElseThrow(() -> new IllegalArgumentException("Offer not found"));
 
         if (offer.getStatus() != OfferStatus.AVAILABLE) {
             throw new IllegalStateException("Offer not available");
         }
 
-        offer.setStatus(OfferStatus.RESERVED);
+        offer.transitionTo(OfferStatus.RESERVED, LocalDateTime.now());
         offerRepo.save(offer);
+        metrics.recordTransition(offer, OfferStatus.AVAILABLE);
+        offerSearch.offerChanged(offer);
+        heatmap.offerChanged(offer);
+        holds.offerReserved(offer);
+        audit.transition(offer, OfferStatus.AVAILABLE, OfferAuditService.actor(req.getVolunteerContact()));
+        outbox.offerStatusChanged(offer, OfferStatus.AVAILABLE);
 
         Claim claim = new Claim();
         claim.setOfferId(offerId);
         claim.setVolunteerName(req.getVolunteerName());
         claim.setVolunteerContact(req.getVolunteerContact());
-        return claimRepo.save(claim);
+        Claim saved = claimRepo.save(claim);
+        outbox.offerClaimed(saved);
+        return saved;
     }
 
+    @Transactional(readOnly = true)
     public List<Claim> findByOfferId(String offerId) {
         return claimRepo.findByOfferId(offerId);
     }
+
+    /**
+     * Com {@code includeArchived}, inclui as reservas de ofertas já arquivadas.
+     */
+    @Transactional(readOnly = true)
+    public List<Claim> findByOfferId(String offerId, boolean includeArchived) {
+        List<Claim> claims = claimRepo.findByOfferId(offerId);
+        if (!includeArchived || !claims.isEmpty()) {
+            return claims;
+        }
+        // a oferta e as reservas são arquivadas juntas
+        return archive.findClaims(offerId);
+    }
 }
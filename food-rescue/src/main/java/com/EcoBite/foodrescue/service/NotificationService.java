@@ -0,0 +1,70 @@
+package com.EcoBite.foodrescue.service;
+
+import com.EcoBite.foodrescue.config.MetricsConfig;
+import com.EcoBite.foodrescue.mail.EmailDispatcher;
+import com.EcoBite.foodrescue.mail.EmailMessage;
+import com.EcoBite.foodrescue.mail.EmailProperties;
+import com.EcoBite.foodrescue.model.Notification;
+import com.EcoBite.foodrescue.model.NotificationType;
+import com.EcoBite.foodrescue.model.User;
+import com.EcoBite.foodrescue.repository.NotificationRepository;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Cria notificações e, para quem aceita e-mail, enfileira o envio depois do commit.
+ * O envio nunca acontece na thread da requisição (ver {@link EmailDispatcher}).
+ */
+@Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true, percentiles = {0.5, 0.95, 0.99})
+public class NotificationService {
+    private static final Logger log = LoggerFactory.getLogger(NotificationService.class);
+
+    private final NotificationRepository repo;
+    private final EmailDispatcher emails;
+    private final EmailProperties emailProps;
+
+    public NotificationService(NotificationRepository repo, EmailDispatcher emails, EmailProperties emailProps) {
+        this.repo = repo;
+        this.emails = emails;
+        this.emailProps = emailProps;
+    }
+
+    @Transactional
+    public Notification notify(User user, NotificationType type, String title, String message) {
+        Notification saved = repo.save(new Notification(user, title, message, type));
+        if (wantsEmail(user)) {
+            EmailMessage email = new EmailMessage(user.getEmail(), title, message);
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        enqueue(email);
+                    }
+                });
+            } else {
+                enqueue(email);
+            }
+        }
+        return saved;
+    }
+
+    private boolean wantsEmail(User user) {
+        return emailProps.isEnabled()
+                && user.getEmail() != null
+                && Boolean.TRUE.equals(user.getEmailNotifications())
+                && !Boolean.FALSE.equals(user.getNotificationsEnabled());
+    }
+
+    private void enqueue(EmailMessage email) {
+        // fila cheia: a notificação continua no app, só o e-mail é perdido
+        if (!emails.submit(email)) {
+            log.warn("Fila de e-mails cheia; e-mail para {} não enviado", email.getTo());
+        }
+    }
+}
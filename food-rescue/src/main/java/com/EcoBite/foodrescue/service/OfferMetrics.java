@@ -0,0 +1,87 @@
+package com.EcoBite.foodrescue.service;
+
+import com.EcoBite.foodrescue.model.Offer;
+import com.EcoBite.foodrescue.model.OfferStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Métricas de domínio do ciclo de vida das ofertas:
+ * contadores de transição de status e distribuição de latência entre etapas.
+ */
+@Component
+public class OfferMetrics {
+    static final String TRANSITIONS = "foodrescue.offers.transitions";
+    static final String LIFECYCLE = "foodrescue.offers.lifecycle";
+    static final String NEW = "NEW";
+
+    private final MeterRegistry registry;
+    private final ConcurrentMap<String, Counter> transitions = new ConcurrentHashMap<>();
+    private final Timer createdToReserved;
+    private final Timer reservedToInTransit;
+    private final Timer inTransitToDelivered;
+
+    public OfferMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.createdToReserved = lifecycleTimer("created_to_reserved");
+        this.reservedToInTransit = lifecycleTimer("reserved_to_in_transit");
+        this.inTransitToDelivered = lifecycleTimer("in_transit_to_delivered");
+    }
+
+    /**
+     * Registra a criação de uma oferta (transição NEW -> AVAILABLE).
+     */
+    public void recordCreated(Offer offer) {
+        transitionCounter(NEW, offer.getStatus().name()).increment();
+    }
+
+    /**
+     * Registra uma transição de status. Deve ser chamado depois que o novo status
+     * e o respectivo timestamp já foram aplicados na oferta.
+     */
+    public void recordTransition(Offer offer, OfferStatus from) {
+        OfferStatus to = offer.getStatus();
+        transitionCounter(from == null ? NEW : from.name(), to.name()).increment();
+
+        if (to == OfferStatus.RESERVED) {
+            recordBetween(createdToReserved, offer.getCreatedAt(), offer.getReservedAt());
+        } else if (to == OfferStatus.IN_TRANSIT) {
+            recordBetween(reservedToInTransit, offer.getReservedAt(), offer.getInTransitAt());
+        } else if (to == OfferStatus.DELIVERED) {
+            recordBetween(inTransitToDelivered, offer.getInTransitAt(), offer.getDeliveredAt());
+        }
+    }
+
+    private void recordBetween(Timer timer, LocalDateTime start, LocalDateTime end) {
+        if (start == null || end == null || end.isBefore(start)) {
+            return;
+        }
+        timer.record(Duration.between(start, end));
+    }
+
+    private Counter transitionCounter(String from, String to) {
+        return transitions.computeIfAbsent(from + "->" + to, k -> Counter.builder(TRANSITIONS)
+                .description("Transições de status de ofertas")
+                .tag("from", from)
+                .tag("to", to)
+                .register(registry));
+    }
+
+    private Timer lifecycleTimer(String stage) {
+        return Timer.builder(LIFECYCLE)
+                .description("Tempo entre etapas do ciclo de vida da oferta")
+                .tag("stage", stage)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofSeconds(1))
+                .maximumExpectedValue(Duration.ofDays(2))
+                .register(registry);
+    }
+}
@@ -1,9 +1,21 @@
 package com.EcoBite.foodrescue.service;
 
+import com.EcoBite.foodrescue.archive.OfferArchiveStore;
+import com.EcoBite.foodrescue.audit.OfferAuditService;
+import com.EcoBite.foodrescue.config.MetricsConfig;
+import com.EcoBite.foodrescue.dto.ClusterResponse;
 import com.EcoBite.foodrescue.dto.CreateOfferRequest;
+import com.EcoBite.foodrescue.expiry.OfferExpiryService;
+import com.EcoBite.foodrescue.expiry.ReservationHoldService;
+import com.EcoBite.foodrescue.heatmap.HeatmapGrid;
+import com.EcoBite.foodrescue.heatmap.HeatmapService;
 import com.EcoBite.foodrescue.model.Offer;
 import com.EcoBite.foodrescue.model.OfferStatus;
+import com.EcoBite.foodrescue.outbox.OutboxPublisher;
 import com.EcoBite.foodrescue.repository.OfferRepository;
+import com.EcoBite.foodrescue.search.OfferSearchService;
+import com.EcoBite.foodrescue.singleflight.SingleFlight;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -12,13 +24,33 @@ import java.util.List;
 import java.util.Optional;
 
 @Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true, percentiles = {0.5, 0.95, 0.99})
 public class OfferService {
     private final OfferRepository repo;
+    private final OfferMetrics metrics;
+    private final OfferSearchService offerSearch;
+    private final HeatmapService heatmap;
+    private final OutboxPublisher outbox;
+    private final OfferArchiveStore archive;
+    private final OfferExpiryService expiry;
+    private final ReservationHoldService holds;
+    private final OfferAuditService audit;
 
-    public OfferService(OfferRepository repo) {
+    public OfferService(OfferRepository repo, OfferMetrics metrics, OfferSearchService offerSearch,
+                        HeatmapService heatmap, OutboxPublisher outbox, OfferArchiveStore archive,
+                        OfferExpiryService expiry, ReservationHoldService holds, OfferAuditService audit) {
         this.repo = repo;
+        this.metrics = metrics;
+        this.offerSearch = offerSearch;
+        this.heatmap = heatmap;
+        this.outbox = outbox;
+        this.archive = archive;
+        this.expiry = expiry;
+        this.holds = holds;
+        this.audit = audit;
     }
 
+    @Transactional
     public Offer createOffer(CreateOfferRequest req) {
         Offer offer = new Offer();
         offer.setDonorName(req.getDonorName());
@@ -30,45 +62,125 @@ public class OfferService {
         offer.setPickupBy(req.getPickupBy());
         offer.setCreatedAt(LocalDateTime.now());
         offer.setStatus(OfferStatus.AVAILABLE);
-        return repo.save(offer);
+        Offer saved = repo.save(offer);
+        metrics.recordCreated(saved);
+        offerSearch.offerChanged(saved);
+        heatmap.offerChanged(saved);
+        expiry.offerAvailable(saved);
+        audit.transition(saved, null, OfferAuditService.actor(saved.getDonorContact()));
+        outbox.offerCreated(saved);
+        return saved;
     }
 
+    /**
+     * Coalescida: requisições simultâneas (como a rajada depois de um deploy) dividem uma consulta.
+     */
+    @SingleFlight
+    @Transactional(readOnly = true)
     public List<Offer> listAvailable() {
         return repo.findByStatus(OfferStatus.AVAILABLE);
     }
 
+    /**
+     * Busca textual nas descrições das ofertas disponíveis, opcionalmente num raio.
+     */
+    public List<Offer> search(String query, Double latitude, Double longitude, Double radiusKm, int limit) {
+        return offerSearch.search(query, latitude, longitude, radiusKm, limit);
+    }
+
+    /**
+     * Agregados por célula geohash (ofertas disponíveis, porções, voluntários ativos).
+     *
+     * @param bbox {@code {minLat, minLon, maxLat, maxLon}} ou {@code null}
+     * @param precision 1 a 7, ou {@code null} para escolher pelo tamanho da caixa
+     */
+    public List<HeatmapGrid.Cell> heatmap(double[] bbox, Integer precision) {
+        return heatmap.cells(precision != null ? precision : HeatmapService.precisionFor(bbox), bbox);
+    }
+
+    /**
+     * Marcadores agrupados do viewport; ofertas individuais só em zoom alto.
+     *
+     * @param bbox {@code {minLat, minLon, maxLat, maxLon}}
+     */
+    public ClusterResponse clusters(double[] bbox, int zoom) {
+        return heatmap.clusters(bbox, zoom);
+    }
+
+    @Transactional(readOnly = true)
     public Optional<Offer> findById(String id) {
         return repo.findById(id);
     }
 
+    /**
+     * Com {@code includeArchived}, procura também entre as ofertas já arquivadas.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Offer> findById(String id, boolean includeArchived) {
+        Optional<Offer> offer = repo.findById(id);
+        return offer.isPresent() || !includeArchived ? offer : archive.findOffer(id);
+    }
+
+    /**
+     * Histórico: ofertas arquivadas encerradas em {@code [from, to)}, mais recentes primeiro.
+     */
+    public List<Offer> findArchived(LocalDateTime from, LocalDateTime to, int limit) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("from deve ser anterior a to");
+        }
+        if (limit < 1 || limit > 1000) {
+            throw new IllegalArgumentException("limit deve estar entre 1 e 1000");
+        }
+        return archive.findOffersClosedBetween(from, to, limit);
+    }
+
     @Transactional
     public Offer markInTransit(String id) {
-        Offer offer = repo.findById(id).orElseThrow(() -> new IllegalArgumentException("Offer not found"));
-        offer.setStatus(OfferStatus.IN_TRANSIT);
-        return repo.save(offer);
+        return transition(id, OfferStatus.IN_TRANSIT);
     }
 
     @Transactional
     public Offer markDelivered(String id) {
-        Offer offer = repo.findById(id).orElseThrow(() -> new IllegalArgumentException("Offer not found"));
-        offer.setStatus(OfferStatus.DELIVERED);
-        return repo.save(offer);
+        return transition(id, OfferStatus.DELIVERED);
     }
 
     @Transactional
     public Offer markReserved(String id) {
-        Offer offer = repo.findById(id).orElseThrow(() -> new IllegalArgumentException("Offer not found"));
-        offer.setStatus(OfferStatus.RESERVED);
-        return repo.save(offer);
+        return transition(id, OfferStatus.RESERVED);
     }
 
     @Transactional
     public Offer markCancelled(String id) {
-        Offer offer = repo.findById(id).orElseThrow(() -> new IllegalArgumentException("Offer not found"));
-        offer.setStatus(OfferStatus.CANCELLED);
-        return repo.save(offer);
+        return transition(id, OfferStatus.CANCELLED);
     }
 
+    /**
+     * A linha fica travada até o commit: a liberação de reservas vencidas e a expiração
+     * esperam por ela ou já passaram, e aí o status lido é o novo. Oferta entregue,
+     * cancelada ou expirada não muda mais.
+     */
+    private Offer transition(String id, OfferStatus status) {
+        Offer offer = repo.findForUpdate(id).orElseThrow(() -> new IllegalArgumentException("Offer not found"));
+        OfferStatus previous = offer.getStatus();
+        if (previous.isTerminal()) {
+            throw new IllegalStateException("Offer already " + previous);
+        }
+        if (status == OfferStatus.IN_TRANSIT && previous != OfferStatus.RESERVED) {
+            // inclusive reserva já devolvida por tempo
+            throw new IllegalStateException("Offer not reserved");
+        }
+        offer.transitionTo(status, LocalDateTime.now());
+        Offer saved = repo.save(offer);
+        metrics.recordTransition(saved, previous);
+        offerSearch.offerChanged(saved);
+        heatmap.offerChanged(saved);
+        holds.offerReserved(saved);
+        audit.transition(saved, previous, OfferAuditService.actor(null));
+        outbox.offerStatusChanged(saved, previous);
+        return saved;
+    }
+
+    @Transactional(readOnly = true)
     public List<Offer> findAll() {
         return repo.findAll();
     }
@@ -76,16 +188,32 @@ public class OfferService {
     @Transactional
     public void deleteOffer(String id) {
         repo.deleteById(id);
+        offerSearch.offerDeleted(id);
+        heatmap.offerDeleted(id);
+        outbox.offerDeleted(id);
     }
 
+    @Transactional(readOnly = true)
     public java.util.Map<String, Object> getStatistics() {
+        return getStatistics(false);
+    }
+
+    /**
+     * Contagens das tabelas quentes; com {@code includeArchived}, somadas às do arquivo.
+     */
+    @SingleFlight(key = "#includeArchived")
+    @Transactional(readOnly = true)
+    public java.util.Map<String, Object> getStatistics(boolean includeArchived) {
+        java.util.Map<OfferStatus, Long> archived = includeArchived
+                ? archive.countByStatus() : java.util.Map.of();
         java.util.Map<String, Object> stats = new java.util.HashMap<>();
-        stats.put("total", repo.count());
+        stats.put("total", repo.count() + archived.values().stream().mapToLong(Long::longValue).sum());
         stats.put("available", repo.countByStatus(OfferStatus.AVAILABLE));
         stats.put("reserved", repo.countByStatus(OfferStatus.RESERVED));
         stats.put("inTransit", repo.countByStatus(OfferStatus.IN_TRANSIT));
-        stats.put("delivered", repo.countByStatus(OfferStatus.DELIVERED));
-        stats.put("cancelled", repo.countByStatus(OfferStatus.CANCELLED));
+        stats.put("delivered", repo.countByStatus(OfferStatus.DELIVERED) + archived.getOrDefault(OfferStatus.DELIVERED, 0L));
+        stats.put("cancelled", repo.countByStatus(OfferStatus.CANCELLED) + archived.getOrDefault(OfferStatus.CANCELLED, 0L));
+        stats.put("expired", repo.countByStatus(OfferStatus.EXPIRED) + archived.getOrDefault(OfferStatus.EXPIRED, 0L));
         return stats;
     }
 }
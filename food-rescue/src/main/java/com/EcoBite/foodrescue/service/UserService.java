@@ -1,25 +1,38 @@
 package com.EcoBite.foodrescue.service;
 
+import com.EcoBite.foodrescue.auth.TokenDenyList;
+import com.EcoBite.foodrescue.config.MetricsConfig;
 import com.EcoBite.foodrescue.dto.UpdateProfileRequest;
 import com.EcoBite.foodrescue.dto.UserProfileResponse;
+import com.EcoBite.foodrescue.heatmap.HeatmapService;
+import com.EcoBite.foodrescue.model.NotificationType;
 import com.EcoBite.foodrescue.model.User;
 import com.EcoBite.foodrescue.model.UserRole;
 import com.EcoBite.foodrescue.model.UserStatus;
+import com.EcoBite.foodrescue.registration.EmailRegistry;
 import com.EcoBite.foodrescue.repository.UserRepository;
+import com.EcoBite.foodrescue.singleflight.SingleFlight;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true, percentiles = {0.5, 0.95, 0.99})
 public class UserService {
 
     @Autowired
@@ -28,11 +41,24 @@ public class UserService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private TokenDenyList tokenDenyList;
+
+    @Autowired
+    private EmailRegistry emailRegistry;
+
+    @Autowired
+    private HeatmapService heatmap;
+
     private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
 
     /**
      * Buscar usuário por ID
      */
+    @Transactional(readOnly = true)
     public Optional<User> findById(UUID id) {
         return userRepository.findById(id);
     }
@@ -40,6 +66,7 @@ public class UserService {
     /**
      * Buscar usuário por ID String (converte para UUID)
      */
+    @Transactional(readOnly = true)
     public Optional<User> findById(String id) {
         try {
             return userRepository.findById(UUID.fromString(id));
@@ -51,6 +78,7 @@ public class UserService {
     /**
      * Buscar usuário por email
      */
+    @Transactional(readOnly = true)
     public Optional<User> findByEmail(String email) {
         return userRepository.findByEmail(email);
     }
@@ -58,6 +86,7 @@ public class UserService {
     /**
      * Listar todos os usuários
      */
+    @Transactional(readOnly = true)
     public List<UserProfileResponse> getAllUsers() {
         List<User> users = userRepository.findAll();
         return users.stream()
@@ -68,6 +97,7 @@ public class UserService {
     /**
      * Obter perfil do usuário
      */
+    @Transactional(readOnly = true)
     public UserProfileResponse getUserProfile(String userId) {
         User user = findById(userId)
                 .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
@@ -104,6 +134,7 @@ public class UserService {
 
         user.setUpdatedAt(LocalDateTime.now());
         User savedUser = userRepository.save(user);
+        heatmap.userChanged(savedUser);
         
         return convertToProfileResponse(savedUser);
     }
@@ -111,6 +142,7 @@ public class UserService {
     /**
      * Buscar usuários por role
      */
+    @Transactional(readOnly = true)
     public List<UserProfileResponse> getUsersByRole(UserRole role) {
         List<User> users = userRepository.findByRole(role);
         return users.stream()
@@ -121,6 +153,7 @@ public class UserService {
     /**
      * Buscar usuários ativos
      */
+    @Transactional(readOnly = true)
     public List<UserProfileResponse> getActiveUsers() {
         List<User> users = userRepository.findByStatus(UserStatus.ACTIVE);
         return users.stream()
@@ -138,6 +171,11 @@ public class UserService {
         user.setStatus(status);
         user.setUpdatedAt(LocalDateTime.now());
         User savedUser = userRepository.save(user);
+        heatmap.userChanged(savedUser);
+        if (status != UserStatus.ACTIVE) {
+            // o status viaja no token; os já emitidos deixam de valer
+            tokenDenyList.revokeUser(userId, Instant.now());
+        }
         
         return convertToProfileResponse(savedUser);
     }
@@ -146,7 +184,7 @@ public class UserService {
      * Criar novo usuário (para uso interno/admin)
      */
     public User createUser(String name, String email, String password, UserRole role) {
-        if (userRepository.findByEmail(email).isPresent()) {
+        if (emailRegistry.exists(email)) {
             throw new RuntimeException("Email já está em uso");
         }
 
@@ -162,7 +200,21 @@ public class UserService {
         user.setUpdatedAt(LocalDateTime.now());
         user.setLastLogin(LocalDateTime.now());
 
-        return userRepository.save(user);
+        User saved;
+        try {
+            // flush já aqui: o cadastro concorrente com o mesmo e-mail cai na uk_users_email
+            saved = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            if (EmailRegistry.isDuplicateEmail(e)) {
+                throw new RuntimeException("Email já está em uso");
+            }
+            throw e;
+        }
+        emailRegistry.registered(email);
+        heatmap.userChanged(saved);
+        notificationService.notify(saved, NotificationType.WELCOME, "Bem-vindo ao NoMoreHunger",
+                "Olá, " + name + "! Sua conta foi criada e você já pode acompanhar as ofertas de alimentos.");
+        return saved;
     }
 
     /**
@@ -178,14 +230,24 @@ public class UserService {
     /**
      * Verificar se email já existe
      */
+    @Transactional(readOnly = true)
     public boolean emailExists(String email) {
-        return userRepository.findByEmail(email).isPresent();
+        return emailRegistry.exists(email);
+    }
+
+    /**
+     * Verifica se o usuário autenticado é o próprio {@code userId} (usado nos {@code @PreAuthorize}).
+     */
+    public boolean isCurrentUser(String userId, Authentication authentication) {
+        return authentication != null
+                && authentication.getPrincipal() instanceof User
+                && ((User) authentication.getPrincipal()).getId().toString().equals(userId);
     }
 
     /**
      * Converter User para UserProfileResponse
      */
-    private UserProfileResponse convertToProfileResponse(User user) {
+    UserProfileResponse convertToProfileResponse(User user) {
         UserProfileResponse response = new UserProfileResponse();
         response.setId(user.getId().toString());
         response.setName(user.getName());
@@ -229,6 +291,7 @@ public class UserService {
     /**
      * Buscar usuários próximos (para funcionalidades futuras)
      */
+    @Transactional(readOnly = true)
     public List<UserProfileResponse> getUsersNearby(double latitude, double longitude, double radiusKm) {
         // Esta seria uma implementação futura usando PostGIS ou cálculos de distância
         // Por enquanto, retorna todos os usuários ativos
@@ -245,18 +308,38 @@ public class UserService {
         user.setStatus(UserStatus.INACTIVE);
         user.setUpdatedAt(LocalDateTime.now());
         userRepository.save(user);
+        heatmap.userChanged(user);
+        tokenDenyList.revokeUser(userId, Instant.now());
     }
 
     /**
      * Contar usuários por role
      */
+    @SingleFlight(key = "#role")
+    @Transactional(readOnly = true)
     public long countUsersByRole(UserRole role) {
         return userRepository.countByRole(role);
     }
 
+    /**
+     * Totais do painel de administração, só com contagens.
+     */
+    @SingleFlight
+    @Transactional(readOnly = true)
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("totalUsers", userRepository.count());
+        stats.put("activeUsers", userRepository.countByStatus(UserStatus.ACTIVE));
+        stats.put("volunteers", userRepository.countByRole(UserRole.VOLUNTEER));
+        stats.put("organizations", userRepository.countByRole(UserRole.ORGANIZATION));
+        stats.put("admins", userRepository.countByRole(UserRole.ADMIN));
+        return stats;
+    }
+
     /**
      * Buscar usuários inativos
      */
+    @Transactional(readOnly = true)
     public List<UserProfileResponse> getInactiveUsers(int daysInactive) {
         LocalDateTime cutoffDate = LocalDateTime.now().minusDays(daysInactive);
         List<User> users = userRepository.findInactiveUsers(cutoffDate);
@@ -0,0 +1,28 @@
+package com.EcoBite.foodrescue.singleflight;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Chamadas concorrentes do método com a mesma chave compartilham uma execução (ver
+ * {@link SingleFlightGroup}). O aspecto roda antes do {@code @Transactional}, então quem
+ * espera não abre transação nem pega conexão. O resultado é entregue a todos os que
+ * esperavam: não deve ser alterado por quem recebe, nem depender do usuário da requisição.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface SingleFlight {
+
+    /**
+     * Expressão SpEL sobre os parâmetros ({@code #includeArchived}); vazia usa todos os
+     * argumentos. A chave inclui sempre o método.
+     */
+    String key() default "";
+
+    /** Espera máxima de quem não é o líder (ISO-8601); vazio usa {@code app.single-flight.timeout}. */
+    String timeout() default "";
+}
@@ -0,0 +1,114 @@
+package com.EcoBite.foodrescue.singleflight;
+
+import com.EcoBite.foodrescue.datasource.ReadYourWritesTracker;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.Ordered;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Aplica o {@link SingleFlight}, com precedência maior que a do {@code @Transactional}:
+ * quem espera o líder não segura conexão do pool. A chave leva o {@link WriteEpoch}: depois
+ * de qualquer commit (inclusive o do próprio cliente), as chamadas só se juntam a voos
+ * iniciados depois dele. Com réplicas, o cliente que acabou de escrever
+ * ({@link ReadYourWritesTracker#mustReadFromPrimary()}) executa sozinho, porque o líder
+ * pode estar lendo de uma réplica atrasada.
+ */
+@Aspect
+public class SingleFlightAspect implements Ordered {
+
+    /** Por fora do {@code @Transactional}, que fica com a ordem padrão (a mais baixa). */
+    static final int ORDER = Ordered.HIGHEST_PRECEDENCE + 100;
+
+    private final SingleFlightGroup group;
+    private final MeterRegistry registry;
+    private final Duration defaultTimeout;
+    private final boolean enabled;
+    private final WriteEpoch writes;
+    /** Nulo sem roteamento para réplicas. */
+    private final ReadYourWritesTracker readYourWrites;
+    private final SpelExpressionParser parser = new SpelExpressionParser();
+    private final ParameterNameDiscoverer parameterNames = new DefaultParameterNameDiscoverer();
+    private final Map<Method, Expression> keys = new ConcurrentHashMap<>();
+    private final Map<Method, Duration> timeouts = new ConcurrentHashMap<>();
+
+    public SingleFlightAspect(SingleFlightGroup group, MeterRegistry registry, Duration defaultTimeout, boolean enabled,
+                              WriteEpoch writes, ReadYourWritesTracker readYourWrites) {
+        this.group = group;
+        this.registry = registry;
+        this.defaultTimeout = defaultTimeout;
+        this.enabled = enabled;
+        this.writes = writes;
+        this.readYourWrites = readYourWrites;
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Around("@annotation(singleFlight)")
+    public Object coalesce(ProceedingJoinPoint pjp, SingleFlight singleFlight) throws Throwable {
+        if (!enabled) {
+            return pjp.proceed();
+        }
+        Method method = ((MethodSignature) pjp.getSignature()).getMethod();
+        String name = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        if (readYourWrites != null && readYourWrites.mustReadFromPrimary()) {
+            registry.counter("foodrescue.singleflight.calls", "method", name, "outcome", "own_write").increment();
+            return pjp.proceed();
+        }
+        List<Object> key = Arrays.asList(method, key(method, singleFlight, pjp.getArgs()), writes.current());
+        try {
+            return group.execute(key, timeout(method, singleFlight), () -> {
+                try {
+                    return pjp.proceed();
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new CheckedFailure(e);
+                }
+            }, outcome -> registry.counter("foodrescue.singleflight.calls", "method", name,
+                    "outcome", outcome.name().toLowerCase(Locale.ROOT)).increment());
+        } catch (CheckedFailure e) {
+            throw e.getCause();
+        }
+    }
+
+    private Object key(Method method, SingleFlight singleFlight, Object[] args) {
+        if (singleFlight.key().isEmpty()) {
+            return Arrays.asList(args);
+        }
+        Expression expression = keys.computeIfAbsent(method, m -> parser.parseExpression(singleFlight.key()));
+        return expression.getValue(new MethodBasedEvaluationContext(null, method, args, parameterNames));
+    }
+
+    private Duration timeout(Method method, SingleFlight singleFlight) {
+        if (singleFlight.timeout().isEmpty()) {
+            return defaultTimeout;
+        }
+        return timeouts.computeIfAbsent(method, m -> Duration.parse(singleFlight.timeout()));
+    }
+
+    /** Leva exceções checadas do método através do {@code Supplier}. */
+    private static final class CheckedFailure extends RuntimeException {
+        CheckedFailure(Throwable cause) {
+            super(cause);
+        }
+    }
+}
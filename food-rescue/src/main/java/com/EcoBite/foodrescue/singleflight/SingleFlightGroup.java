@@ -0,0 +1,84 @@
+package com.EcoBite.foodrescue.singleflight;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Coalesce chamadas concorrentes com a mesma chave: a primeira (líder) executa e as que
+ * chegam enquanto ela roda esperam o mesmo futuro, recebendo o mesmo resultado ou a mesma
+ * exceção. Nada é guardado depois que o líder termina; isto não é um cache. Quem espera
+ * mais que o timeout desiste e executa por conta própria.
+ */
+public class SingleFlightGroup {
+
+    /** Como a chamada foi atendida. */
+    public enum Outcome { LEADER, SHARED, TIMED_OUT }
+
+    private final ConcurrentMap<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    public <T> T execute(Object key, Duration timeout, Supplier<T> call) {
+        return execute(key, timeout, call, outcome -> { });
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(Object key, Duration timeout, Supplier<T> call, Consumer<Outcome> observer) {
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, mine);
+        if (running == null) {
+            observer.accept(Outcome.LEADER);
+            try {
+                T result = call.get();
+                mine.complete(result);
+                return result;
+            } catch (RuntimeException | Error e) {
+                mine.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(key, mine);
+            }
+        }
+        waiting.incrementAndGet();
+        try {
+            T result = (T) running.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+            observer.accept(Outcome.SHARED);
+            return result;
+        } catch (TimeoutException e) {
+            // segue abaixo, já fora da contagem de quem espera
+        } catch (ExecutionException e) {
+            observer.accept(Outcome.SHARED);
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido esperando " + key, e);
+        } finally {
+            waiting.decrementAndGet();
+        }
+        observer.accept(Outcome.TIMED_OUT);
+        return call.get();
+    }
+
+    /** Chamadas esperando um líder. */
+    public int waiting() {
+        return waiting.get();
+    }
+
+    /** Chaves com execução em andamento. */
+    public int inFlight() {
+        return inFlight.size();
+    }
+}
@@ -0,0 +1,26 @@
+package com.EcoBite.foodrescue.singleflight;
+
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Conta as transações de escrita confirmadas nesta instância (registrado no gerenciador de
+ * transações como {@link TransactionExecutionListener}). O {@link SingleFlightAspect} põe o
+ * valor na chave: quem chega depois de um commit não entra num voo que começou antes dele.
+ */
+public class WriteEpoch implements TransactionExecutionListener {
+    private final AtomicLong epoch = new AtomicLong();
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if (commitFailure == null && !transaction.isReadOnly()) {
+            epoch.incrementAndGet();
+        }
+    }
+
+    public long current() {
+        return epoch.get();
+    }
+}
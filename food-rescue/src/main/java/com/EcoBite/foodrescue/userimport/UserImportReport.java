@@ -0,0 +1,60 @@
+package com.EcoBite.foodrescue.userimport;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Resultado de uma importação: totais e os erros por linha do CSV (até um limite;
+ * {@code errorsTruncated} indica que houve mais).
+ */
+public class UserImportReport {
+
+    private int rows;
+    private int imported;
+    private int failed;
+    private long durationMs;
+    private boolean errorsTruncated;
+    private final List<RowError> errors = new ArrayList<>();
+
+    void addError(int line, String email, String message, int maxErrors) {
+        failed++;
+        if (errors.size() < maxErrors) {
+            errors.add(new RowError(line, email, message));
+        } else {
+            errorsTruncated = true;
+        }
+    }
+
+    void rowRead() { rows++; }
+    void imported(int count) { imported += count; }
+
+    /** Os já cadastrados são descobertos por bloco; no fim a lista volta à ordem do arquivo. */
+    void finish(long durationMs) {
+        this.durationMs = durationMs;
+        errors.sort(Comparator.comparingInt(RowError::getLine));
+    }
+
+    public int getRows() { return rows; }
+    public int getImported() { return imported; }
+    public int getFailed() { return failed; }
+    public long getDurationMs() { return durationMs; }
+    public boolean isErrorsTruncated() { return errorsTruncated; }
+    public List<RowError> getErrors() { return errors; }
+
+    public static class RowError {
+        private final int line;
+        private final String email;
+        private final String error;
+
+        RowError(int line, String email, String error) {
+            this.line = line;
+            this.email = email;
+            this.error = error;
+        }
+
+        public int getLine() { return line; }
+        public String getEmail() { return email; }
+        public String getError() { return error; }
+    }
+}
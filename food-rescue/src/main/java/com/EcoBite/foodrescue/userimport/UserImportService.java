@@ -0,0 +1,352 @@
+package com.EcoBite.foodrescue.userimport;
+
+import com.EcoBite.foodrescue.model.UserRole;
+import com.EcoBite.foodrescue.model.UserStatus;
+import com.EcoBite.foodrescue.registration.EmailRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Importação em massa de usuários a partir de CSV ({@code name,email[,password,phone,role]}).
+ *
+ * <p>O arquivo é lido em streaming e processado em blocos: cada bloco checa os e-mails já
+ * cadastrados numa única consulta {@code IN}, manda os hashes BCrypt para um pool limitado
+ * (um thread por núcleo) e é inserido com batch JDBC numa transação própria. Enquanto um
+ * bloco é hasheado, o anterior é gravado. Linhas inválidas não param a importação: vão
+ * para o relatório com o número da linha.
+ *
+ * <p>Linha sem senha cria a conta {@code PENDING_VERIFICATION} com uma senha que não passa
+ * em nenhum login, sem pagar o BCrypt; o hash é o que domina o tempo de uma importação.
+ */
+@Service
+public class UserImportService {
+    private static final Logger log = LoggerFactory.getLogger(UserImportService.class);
+
+    /** Não é um hash BCrypt válido: {@code matches} sempre falha. */
+    static final String UNUSABLE_PASSWORD = "!";
+
+    private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+
+    private static final String INSERT = "INSERT INTO users (id, name, email, password, role, status, phone_number, "
+            + "max_distance_km, notifications_enabled, email_notifications, email_verified, created_at, updated_at) "
+            + "VALUES (:id, :name, :email, :password, :role, :status, :phone, 10, TRUE, TRUE, FALSE, :now, :now)";
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final PasswordEncoder passwordEncoder;
+    private final EmailRegistry emailRegistry;
+    private final ThreadPoolExecutor hashPool;
+    private final int chunkSize;
+    private final int maxErrors;
+
+    private final Timer importTimer;
+    private final Counter importedCounter;
+    private final Counter failedCounter;
+
+    public UserImportService(NamedParameterJdbcTemplate jdbc, PlatformTransactionManager transactionManager,
+                             PasswordEncoder passwordEncoder, EmailRegistry emailRegistry, MeterRegistry registry,
+                             @Value("${app.users.import.hash-threads:0}") int hashThreads,
+                             @Value("${app.users.import.chunk-size:1000}") int chunkSize,
+                             @Value("${app.users.import.max-errors:1000}") int maxErrors) {
+        this.jdbc = jdbc;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.passwordEncoder = passwordEncoder;
+        this.emailRegistry = emailRegistry;
+        this.chunkSize = chunkSize;
+        this.maxErrors = maxErrors;
+
+        int threads = hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger n = new AtomicInteger();
+        // fila limitada + CallerRuns: com o pool saturado quem importa hasheia junto, sem acumular
+        this.hashPool = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(chunkSize * 2), r -> {
+                    Thread t = new Thread(r, "user-import-hash-" + n.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+
+        this.importTimer = Timer.builder("foodrescue.users.import").register(registry);
+        this.importedCounter = registry.counter("foodrescue.users.import.rows", "outcome", "imported");
+        this.failedCounter = registry.counter("foodrescue.users.import.rows", "outcome", "failed");
+    }
+
+    public UserImportReport importCsv(Reader csv) throws IOException {
+        long start = System.nanoTime();
+        UserImportReport report = new UserImportReport();
+        CsvReader reader = new CsvReader(csv, detectSeparator(csv));
+
+        Map<String, Integer> columns = header(reader.next());
+        Set<String> seen = new HashSet<>();
+        List<Row> chunk = new ArrayList<>(chunkSize);
+        List<Row> hashing = null;
+
+        List<String> fields;
+        while ((fields = reader.next()) != null) {
+            report.rowRead();
+            Row row = parse(fields, columns, reader.lineNumber(), report);
+            if (row == null) {
+                continue;
+            }
+            if (!seen.add(row.email)) {
+                report.addError(row.line, row.email, "E-mail repetido no arquivo", maxErrors);
+                continue;
+            }
+            chunk.add(row);
+            if (chunk.size() == chunkSize) {
+                hashing = advance(hashing, chunk, report);
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        hashing = advance(hashing, chunk, report);
+        insert(hashing, report);
+
+        long elapsed = System.nanoTime() - start;
+        report.finish(TimeUnit.NANOSECONDS.toMillis(elapsed));
+        importTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        importedCounter.increment(report.getImported());
+        failedCounter.increment(report.getFailed());
+        log.info("Importação de usuários: {} linhas, {} criados, {} com erro em {} ms",
+                report.getRows(), report.getImported(), report.getFailed(), report.getDurationMs());
+        return report;
+    }
+
+    /**
+     * Tira os já cadastrados do bloco novo e começa os hashes dele; só então grava o bloco
+     * anterior, cujos hashes rodaram enquanto este era lido.
+     */
+    private List<Row> advance(List<Row> previous, List<Row> chunk, UserImportReport report) {
+        List<Row> fresh = withoutRegistered(chunk, report);
+        for (Row row : fresh) {
+            if (row.rawPassword != null) {
+                String raw = row.rawPassword;
+                row.hash = CompletableFuture.supplyAsync(() -> passwordEncoder.encode(raw), hashPool);
+            }
+        }
+        insert(previous, report);
+        return fresh;
+    }
+
+    private List<Row> withoutRegistered(List<Row> chunk, UserImportReport report) {
+        if (chunk.isEmpty()) {
+            return chunk;
+        }
+        List<String> emails = new ArrayList<>(chunk.size());
+        for (Row row : chunk) {
+            emails.add(row.email);
+        }
+        Set<String> registered = new HashSet<>(jdbc.queryForList(
+                "SELECT email FROM users WHERE email IN (:emails)", Map.of("emails", emails), String.class));
+        if (registered.isEmpty()) {
+            return chunk;
+        }
+        List<Row> fresh = new ArrayList<>(chunk.size());
+        for (Row row : chunk) {
+            if (registered.contains(row.email)) {
+                report.addError(row.line, row.email, "Email já está em uso", maxErrors);
+            } else {
+                fresh.add(row);
+            }
+        }
+        return fresh;
+    }
+
+    private void insert(List<Row> rows, UserImportReport report) {
+        if (rows == null || rows.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        SqlParameterSource[] batch = new SqlParameterSource[rows.size()];
+        for (int i = 0; i < batch.length; i++) {
+            batch[i] = params(rows.get(i), now);
+        }
+        try {
+            tx.executeWithoutResult(s -> jdbc.batchUpdate(INSERT, batch));
+            report.imported(rows.size());
+            for (Row row : rows) {
+                emailRegistry.registered(row.email);
+            }
+        } catch (DataIntegrityViolationException e) {
+            // alguém cadastrou um desses e-mails depois da checagem: refaz linha a linha
+            for (int i = 0; i < batch.length; i++) {
+                Row row = rows.get(i);
+                SqlParameterSource single = batch[i];
+                try {
+                    tx.executeWithoutResult(s -> jdbc.update(INSERT, single));
+                    report.imported(1);
+                    emailRegistry.registered(row.email);
+                } catch (DataIntegrityViolationException rowFailure) {
+                    report.addError(row.line, row.email, EmailRegistry.isDuplicateEmail(rowFailure)
+                            ? "Email já está em uso" : "Linha rejeitada pelo banco", maxErrors);
+                }
+            }
+        }
+    }
+
+    private SqlParameterSource params(Row row, LocalDateTime now) {
+        String password = UNUSABLE_PASSWORD;
+        UserStatus status = UserStatus.PENDING_VERIFICATION;
+        if (row.hash != null) {
+            password = awaitHash(row.hash);
+            status = UserStatus.ACTIVE;
+        }
+        return new MapSqlParameterSource()
+                .addValue("id", UUID.randomUUID())
+                .addValue("name", row.name)
+                .addValue("email", row.email)
+                .addValue("password", password)
+                .addValue("role", row.role.name())
+                .addValue("status", status.name())
+                .addValue("phone", row.phone)
+                .addValue("now", Timestamp.valueOf(now));
+    }
+
+    private static String awaitHash(CompletableFuture<String> hash) {
+        try {
+            return hash.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Importação interrompida", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falha ao gerar o hash da senha", e.getCause());
+        }
+    }
+
+    private Row parse(List<String> fields, Map<String, Integer> columns, int line, UserImportReport report) {
+        String name = field(fields, columns, "name");
+        String email = field(fields, columns, "email");
+        String password = field(fields, columns, "password");
+        String phone = field(fields, columns, "phone");
+        String role = field(fields, columns, "role");
+
+        String error = null;
+        UserRole userRole = UserRole.VOLUNTEER;
+        if (email == null || email.length() > 255 || !EMAIL.matcher(email).matches()) {
+            error = "Email deve ser válido";
+        } else if (name == null || name.length() < 2 || name.length() > 100) {
+            error = "Nome deve ter entre 2 e 100 caracteres";
+        } else if (password != null && password.length() < 6) {
+            error = "Senha deve ter no mínimo 6 caracteres";
+        } else if (role != null) {
+            try {
+                userRole = UserRole.valueOf(role.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                error = "Papel inválido: " + role;
+            }
+            if (userRole == UserRole.ADMIN) {
+                error = "Administradores não podem ser importados";
+            }
+        }
+        if (error != null) {
+            report.addError(line, email, error, maxErrors);
+            return null;
+        }
+        return new Row(line, name, email, password, phone, userRole);
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static Map<String, Integer> header(List<String> fields) {
+        if (fields == null) {
+            throw new IllegalArgumentException("CSV vazio");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < fields.size(); i++) {
+            String column = fields.get(i).trim().toLowerCase(Locale.ROOT);
+            // BOM do Excel no primeiro campo
+            if (i == 0 && column.startsWith("\uFEFF")) {
+                column = column.substring(1);
+            }
+            columns.putIfAbsent(column, i);
+        }
+        if (!columns.containsKey("name") || !columns.containsKey("email")) {
+            throw new IllegalArgumentException("O cabeçalho precisa das colunas name e email");
+        }
+        return columns;
+    }
+
+    /** Excel em pt-BR exporta com ponto e vírgula; decide pelo cabeçalho. */
+    private static char detectSeparator(Reader csv) throws IOException {
+        if (!csv.markSupported()) {
+            return ',';
+        }
+        csv.mark(4096);
+        try {
+            int c;
+            for (int i = 0; i < 4095 && (c = csv.read()) != -1 && c != '\n'; i++) {
+                if (c == ';') {
+                    return ';';
+                }
+                if (c == ',') {
+                    return ',';
+                }
+            }
+            return ',';
+        } finally {
+            csv.reset();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashPool.shutdownNow();
+    }
+
+    private static final class Row {
+        final int line;
+        final String name;
+        final String email;
+        final String rawPassword;
+        final String phone;
+        final UserRole role;
+        CompletableFuture<String> hash;
+
+        Row(int line, String name, String email, String rawPassword, String phone, UserRole role) {
+            this.line = line;
+            this.name = name;
+            this.email = email;
+            this.rawPassword = rawPassword;
+            this.phone = phone;
+            this.role = role;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.EcoBite.foodrescue.view;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Estrutura em memória derivada do banco (índice de busca, mapa de calor, filtro de
+ * e-mails): escritas entram depois do commit e a estrutura inteira é remontada do banco
+ * de tempos em tempos, trocando a referência. Alterações aplicadas enquanto a remontagem
+ * lê o banco são repetidas na estrutura nova, para não se perderem na troca.
+ *
+ * <p>Alterações são serializadas entre si; leituras pelo {@link #current()} não travam
+ * (a estrutura precisa aguentar leitura concorrente com escrita), as pelo
+ * {@link #read(Function)} usam o mesmo lock das alterações.
+ *
+ * @param <V> a estrutura; {@code null} até a primeira remontagem quando não há valor inicial
+ */
+public class RebuildableView<V> {
+    private final Object lock = new Object();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private volatile V current;
+    private List<Consumer<V>> pendingDuringRebuild;
+
+    public RebuildableView(V initial) {
+        this.current = initial;
+    }
+
+    public V current() {
+        return current;
+    }
+
+    /** Lê a estrutura sem alterações concorrentes. */
+    public <R> R read(Function<V, R> reader) {
+        synchronized (lock) {
+            return reader.apply(current);
+        }
+    }
+
+    /**
+     * Aplica a alteração depois do commit da transação atual, ou já se não houver
+     * transação. Sem estrutura carregada, só a remontagem em curso (se houver) a recebe.
+     */
+    public void afterCommit(Consumer<V> change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(change);
+                }
+            });
+        } else {
+            apply(change);
+        }
+    }
+
+    /**
+     * Monta uma estrutura nova com {@code loader} e a coloca no lugar. Se outra remontagem
+     * já estiver rodando (subida e agendamento se cruzando), não faz nada.
+     *
+     * @return a estrutura nova, ou {@code null} se a remontagem foi pulada
+     */
+    public V rebuild(Supplier<V> loader) {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return null;
+        }
+        try {
+            List<Consumer<V>> pending = new ArrayList<>();
+            synchronized (lock) {
+                pendingDuringRebuild = pending;
+            }
+            V fresh;
+            try {
+                fresh = loader.get();
+            } catch (RuntimeException e) {
+                synchronized (lock) {
+                    pendingDuringRebuild = null;
+                }
+                throw e;
+            }
+            synchronized (lock) {
+                // escritas que chegaram durante a leitura do banco
+                for (Consumer<V> change : pending) {
+                    change.accept(fresh);
+                }
+                current = fresh;
+                pendingDuringRebuild = null;
+            }
+            return fresh;
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    private void apply(Consumer<V> change) {
+        synchronized (lock) {
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(change);
+            }
+            if (current != null) {
+                change.accept(current);
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.EcoBite.foodrescue.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.security.Principal;
+
+/**
+ * Identidade do cliente de uma requisição: usuário autenticado, senão o IP de origem
+ * (com o header {@code X-Client-Id}, que separa integrações atrás do mesmo IP).
+ */
+public final class ClientKeys {
+    public static final String CLIENT_ID_HEADER = "X-Client-Id";
+
+    private ClientKeys() {
+    }
+
+    public static String resolve(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        if (principal != null) {
+            return "user:" + principal.getName();
+        }
+        String header = request.getHeader(CLIENT_ID_HEADER);
+        if (header != null && !header.isBlank()) {
+            return "client:" + request.getRemoteAddr() + "|" + header;
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    /**
+     * Chave para limites por cliente: usuário autenticado, senão só o IP. O header é
+     * escolhido pelo próprio cliente; trocá-lo a cada requisição não pode render um
+     * balde novo.
+     */
+    public static String limitKey(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        if (principal != null) {
+            return "user:" + principal.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,67 @@
+-- Schema inicial, equivalente ao que o Hibernate gerava com ddl-auto=update.
+-- Bancos já existentes entram com baseline na versão 1 (spring.flyway.baseline-on-migrate).
+-- Enums ficam como VARCHAR sem CHECK: novos valores não exigem migração.
+
+CREATE TABLE users (
+    id UUID NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    role VARCHAR(255) NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    phone_number VARCHAR(255),
+    avatar_url VARCHAR(255),
+    preferred_latitude FLOAT(53),
+    preferred_longitude FLOAT(53),
+    max_distance_km INTEGER,
+    notifications_enabled BOOLEAN,
+    email_notifications BOOLEAN,
+    email_verified BOOLEAN,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6),
+    last_login TIMESTAMP(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE offers (
+    id VARCHAR(255) NOT NULL,
+    donor_name VARCHAR(255),
+    donor_contact VARCHAR(255),
+    description VARCHAR(255),
+    portions INTEGER NOT NULL,
+    latitude FLOAT(53) NOT NULL,
+    longitude FLOAT(53) NOT NULL,
+    status VARCHAR(255),
+    created_at TIMESTAMP(6),
+    pickup_by TIMESTAMP(6),
+    reserved_at TIMESTAMP(6),
+    in_transit_at TIMESTAMP(6),
+    delivered_at TIMESTAMP(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE claims (
+    id VARCHAR(255) NOT NULL,
+    offer_id VARCHAR(255),
+    volunteer_name VARCHAR(255),
+    volunteer_contact VARCHAR(255),
+    reserved_at TIMESTAMP(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE notifications (
+    id UUID NOT NULL,
+    user_id UUID NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    message VARCHAR(1000) NOT NULL,
+    type VARCHAR(255) NOT NULL,
+    is_read BOOLEAN NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    read_at TIMESTAMP(6),
+    related_offer_id UUID,
+    related_claim_id UUID,
+    action_url VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_notifications_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
@@ -0,0 +1,22 @@
+-- Índices para os filtros que os repositórios já emitem.
+
+-- OfferRepository.findByStatus / countByStatus
+CREATE INDEX IF NOT EXISTS idx_offers_status ON offers (status);
+
+-- ClaimRepository.findByOfferId
+CREATE INDEX IF NOT EXISTS idx_claims_offer_id ON claims (offer_id);
+
+-- NotificationRepository: não lidas por usuário, listagem paginada por data, limpeza das antigas
+-- e busca por oferta/reserva relacionada
+CREATE INDEX IF NOT EXISTS idx_notifications_user_read ON notifications (user_id, is_read);
+CREATE INDEX IF NOT EXISTS idx_notifications_user_created ON notifications (user_id, created_at);
+CREATE INDEX IF NOT EXISTS idx_notifications_created_at ON notifications (created_at);
+CREATE INDEX IF NOT EXISTS idx_notifications_related_offer ON notifications (related_offer_id);
+CREATE INDEX IF NOT EXISTS idx_notifications_related_claim ON notifications (related_claim_id);
+
+-- UserRepository: findByRole / findByRoleAndStatus / countByRole, findByStatus,
+-- findInactiveUsers (last_login) e countNewUsersInPeriod (created_at)
+CREATE INDEX IF NOT EXISTS idx_users_role_status ON users (role, status);
+CREATE INDEX IF NOT EXISTS idx_users_status ON users (status);
+CREATE INDEX IF NOT EXISTS idx_users_last_login ON users (last_login);
+CREATE INDEX IF NOT EXISTS idx_users_created_at ON users (created_at);
@@ -0,0 +1,23 @@
+-- Outbox transacional: eventos de domínio gravados na mesma transação da escrita
+-- e entregues depois pelo OutboxRelay. Linhas entregues são apagadas; DEAD fica para análise.
+
+CREATE TABLE outbox_events (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    aggregate_type VARCHAR(50) NOT NULL,
+    aggregate_id VARCHAR(255) NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    payload VARCHAR(4000) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    attempts INTEGER NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    available_at TIMESTAMP(6) NOT NULL,
+    locked_until TIMESTAMP(6),
+    last_error VARCHAR(500),
+    PRIMARY KEY (id)
+);
+
+-- próximo lote do relay
+CREATE INDEX idx_outbox_events_dispatch ON outbox_events (status, available_at, id);
+
+-- ordem por agregado: evento só sai quando não há anterior pendente do mesmo agregado
+CREATE INDEX idx_outbox_events_aggregate ON outbox_events (aggregate_id, id);
@@ -0,0 +1,23 @@
+-- Agregados de ofertas encerradas (DELIVERED/CANCELLED) por intervalo de tempo e célula geohash,
+-- mantidos incrementalmente a partir da outbox. A faixa de latência de retirada faz parte da chave:
+-- atualizar é sempre somar, e a mediana sai da soma das faixas no intervalo pedido.
+
+CREATE TABLE offer_rollups (
+    granularity VARCHAR(8) NOT NULL,
+    bucket_start TIMESTAMP(6) NOT NULL,
+    cell VARCHAR(12) NOT NULL,
+    outcome VARCHAR(20) NOT NULL,
+    latency_bin INTEGER NOT NULL,
+    offers BIGINT NOT NULL,
+    portions BIGINT NOT NULL,
+    PRIMARY KEY (granularity, bucket_start, cell, outcome, latency_bin)
+);
+
+-- ofertas já somadas: reentregas da outbox não contam duas vezes
+CREATE TABLE offer_rollup_ledger (
+    offer_id VARCHAR(255) NOT NULL,
+    applied_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (offer_id)
+);
+
+CREATE INDEX idx_offer_rollup_ledger_applied ON offer_rollup_ledger (applied_at);
@@ -0,0 +1,36 @@
+-- Ofertas encerradas (DELIVERED/CANCELLED) antigas e suas reservas saem das tabelas quentes
+-- para estas, em lotes, pelo OfferArchiver. Mesmas colunas, mais o instante de encerramento
+-- usado no corte (closed_at) e o do arquivamento.
+
+CREATE TABLE offers_archive (
+    id VARCHAR(255) NOT NULL,
+    donor_name VARCHAR(255),
+    donor_contact VARCHAR(255),
+    description VARCHAR(255),
+    portions INTEGER NOT NULL,
+    latitude FLOAT(53) NOT NULL,
+    longitude FLOAT(53) NOT NULL,
+    status VARCHAR(255),
+    created_at TIMESTAMP(6),
+    pickup_by TIMESTAMP(6),
+    reserved_at TIMESTAMP(6),
+    in_transit_at TIMESTAMP(6),
+    delivered_at TIMESTAMP(6),
+    closed_at TIMESTAMP(6) NOT NULL,
+    archived_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE claims_archive (
+    id VARCHAR(255) NOT NULL,
+    offer_id VARCHAR(255),
+    volunteer_name VARCHAR(255),
+    volunteer_contact VARCHAR(255),
+    reserved_at TIMESTAMP(6),
+    archived_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+-- histórico por período de encerramento e reservas de uma oferta arquivada
+CREATE INDEX idx_offers_archive_closed_at ON offers_archive (closed_at);
+CREATE INDEX idx_claims_archive_offer_id ON claims_archive (offer_id);
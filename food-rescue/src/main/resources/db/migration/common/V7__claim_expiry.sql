@@ -0,0 +1,4 @@
+-- Reserva que passou da janela de retenção sem a oferta sair para entrega: a oferta volta
+-- a AVAILABLE e a reserva fica marcada aqui (ver ReservationHoldService).
+ALTER TABLE claims ADD COLUMN expired_at TIMESTAMP(6);
+ALTER TABLE claims_archive ADD COLUMN expired_at TIMESTAMP(6);
@@ -0,0 +1,18 @@
+-- Fila de jobs com hora marcada (lembretes). O job fica com done_at preenchido depois de
+-- rodar, para que uma reentrega da outbox não o agende de novo; a limpeza apaga os antigos.
+
+CREATE TABLE scheduled_jobs (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    job_type VARCHAR(50) NOT NULL,
+    reference_id VARCHAR(255) NOT NULL,
+    due_at TIMESTAMP(6) NOT NULL,
+    attempts INTEGER NOT NULL,
+    locked_until TIMESTAMP(6),
+    done_at TIMESTAMP(6),
+    created_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_scheduled_jobs_reference UNIQUE (job_type, reference_id)
+);
+
+-- próximos vencimentos (done_at IS NULL primeiro) e limpeza dos concluídos
+CREATE INDEX idx_scheduled_jobs_due ON scheduled_jobs (done_at, due_at);
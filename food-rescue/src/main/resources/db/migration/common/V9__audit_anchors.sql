@@ -0,0 +1,9 @@
+-- Âncoras do log de auditoria local (ver AuditAnchorStore): sequência e HMAC encadeado do
+-- último registro já em disco, gravados periodicamente fora do diretório do log. Só INSERT.
+CREATE TABLE audit_anchors (
+    log_id VARCHAR(36) NOT NULL,
+    sequence_number BIGINT NOT NULL,
+    chain VARCHAR(64) NOT NULL,
+    recorded_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (log_id, sequence_number)
+);
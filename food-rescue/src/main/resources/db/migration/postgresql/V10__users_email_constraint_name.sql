@@ -0,0 +1,24 @@
+-- Bancos criados pelo Hibernate antes do Flyway (baseline na V1) têm a unique de users.email
+-- com o nome gerado (uk_<hash>); o cadastro reconhece e-mail duplicado pela uk_users_email.
+DO $$
+DECLARE
+    existing TEXT;
+BEGIN
+    SELECT c.conname INTO existing
+    FROM pg_constraint c
+    JOIN pg_class t ON t.oid = c.conrelid
+    JOIN pg_namespace n ON n.oid = t.relnamespace
+    JOIN pg_attribute a ON a.attrelid = t.oid AND a.attnum = c.conkey[1]
+    WHERE t.relname = 'users'
+      AND n.nspname = current_schema()
+      AND c.contype = 'u'
+      AND array_length(c.conkey, 1) = 1
+      AND a.attname = 'email'
+    LIMIT 1;
+
+    IF existing IS NULL THEN
+        ALTER TABLE users ADD CONSTRAINT uk_users_email UNIQUE (email);
+    ELSIF existing <> 'uk_users_email' THEN
+        EXECUTE format('ALTER TABLE users RENAME CONSTRAINT %I TO uk_users_email', existing);
+    END IF;
+END $$;
@@ -0,0 +1,3 @@
+-- UserRepository.findByLowercaseEmailIn: contato da oferta contra o e-mail do usuário, sem
+-- diferenciar maiúsculas (o índice da uk_users_email não serve para lower(email))
+CREATE INDEX IF NOT EXISTS idx_users_email_lower ON users (lower(email));
@@ -0,0 +1,13 @@
+-- Índices parciais (só PostgreSQL): cobrem apenas as linhas que as consultas quentes leem.
+
+-- Ofertas disponíveis são uma fração pequena da tabela; listagem e mapa só olham essas
+CREATE INDEX IF NOT EXISTS idx_offers_available_created ON offers (created_at) WHERE status = 'AVAILABLE';
+CREATE INDEX IF NOT EXISTS idx_offers_available_pickup_by ON offers (pickup_by) WHERE status = 'AVAILABLE';
+
+-- Contador e lista de não lidas (findByUserAndIsReadFalse..., countByUserAndIsReadFalse, markAllAsReadForUser)
+CREATE INDEX IF NOT EXISTS idx_notifications_unread ON notifications (user_id, created_at DESC) WHERE is_read = false;
+
+-- UserRepository.findActiveUsersWithLocationByRole
+CREATE INDEX IF NOT EXISTS idx_users_notifiable_by_role ON users (role)
+    WHERE status = 'ACTIVE' AND notifications_enabled = true
+      AND preferred_latitude IS NOT NULL AND preferred_longitude IS NOT NULL;
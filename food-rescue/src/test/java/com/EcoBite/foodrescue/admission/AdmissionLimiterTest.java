@@ -0,0 +1,160 @@
+package com.EcoBite.foodrescue.admission;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.server.PathContainer;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdmissionLimiterTest {
+
+    private static final long MS = 1_000_000L;
+    private static final long WINDOW = 100 * MS;
+    private static final long PROBE = 30 * WINDOW;
+
+    private long now = 1_000 * MS;
+
+    /**
+     * Servidor com 10 "conexões": acima disso as requisições esperam em fila e o
+     * RTT cresce na proporção. Com 200 clientes insistindo, o limite tem que
+     * parar perto da capacidade em vez de deixar a fila crescer.
+     */
+    @Test
+    public void limit_converges_near_capacity_under_overload() {
+        GradientLimit limit = new GradientLimit(20, 4, 200, 1.5, 0.2, WINDOW, PROBE, now);
+        int capacity = 10;
+        for (int window = 0; window < 300; window++) {
+            int inFlight = Math.min(200, limit.getLimit());
+            long rtt = 10 * MS * Math.max(1, inFlight) / capacity;
+            feed(limit, Math.max(rtt, 10 * MS), inFlight);
+        }
+        assertTrue(limit.getLimit() >= capacity / 2, "limit " + limit.getLimit());
+        assertTrue(limit.getLimit() <= capacity * 3, "limit " + limit.getLimit());
+    }
+
+    @Test
+    public void probe_follows_a_slower_backend() {
+        GradientLimit limit = new GradientLimit(20, 4, 200, 1.5, 0.2, WINDOW, PROBE, now);
+        for (int window = 0; window < 10; window++) {
+            feed(limit, 5 * MS, limit.getLimit());
+        }
+        assertEquals(5 * MS, limit.getNoLoadRttNanos());
+
+        // o banco ficou 4x mais lento para todo mundo: depois da próxima medição o
+        // RTT de referência sobe e o limite volta a crescer
+        for (int window = 0; window < 40; window++) {
+            feed(limit, 20 * MS, limit.getLimit());
+        }
+        assertEquals(20 * MS, limit.getNoLoadRttNanos());
+        int before = limit.getLimit();
+        for (int window = 0; window < 10; window++) {
+            feed(limit, 20 * MS, limit.getLimit());
+        }
+        assertTrue(limit.getLimit() > before, before + " -> " + limit.getLimit());
+    }
+
+    @Test
+    public void limit_grows_while_latency_is_flat_and_the_limit_is_used() {
+        GradientLimit limit = new GradientLimit(20, 4, 200, 1.5, 0.2, WINDOW, PROBE, now);
+        for (int window = 0; window < 50; window++) {
+            feed(limit, 5 * MS, limit.getLimit());
+        }
+        assertTrue(limit.getLimit() > 40, "limit " + limit.getLimit());
+    }
+
+    @Test
+    public void limit_does_not_grow_when_traffic_is_low() {
+        GradientLimit limit = new GradientLimit(20, 4, 200, 1.5, 0.2, WINDOW, PROBE, now);
+        for (int window = 0; window < 50; window++) {
+            feed(limit, 5 * MS, 3);
+        }
+        assertEquals(20, limit.getLimit());
+    }
+
+    @Test
+    public void bulk_is_refused_before_high_and_critical() {
+        GradientLimit limit = new GradientLimit(10, 4, 200, 1.5, 0.2, WINDOW, PROBE, now);
+        AdmissionLimiter limiter = new AdmissionLimiter(limit, Map.of());
+
+        List<AdmissionLimiter.Permit> held = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            held.add(limiter.tryAcquire(Lane.BULK, now));
+        }
+        assertFalse(held.contains(null));
+        assertNull(limiter.tryAcquire(Lane.BULK, now));
+
+        for (int i = 0; i < 4; i++) {
+            assertNotNull(limiter.tryAcquire(Lane.HIGH, now));
+        }
+        assertNull(limiter.tryAcquire(Lane.HIGH, now));
+        assertNotNull(limiter.tryAcquire(Lane.CRITICAL, now));
+        assertNull(limiter.tryAcquire(Lane.CRITICAL, now));
+        assertEquals(10, limiter.getInFlight());
+
+        held.get(0).release(now, false);
+        assertEquals(9, limiter.getInFlight());
+        assertNotNull(limiter.tryAcquire(Lane.CRITICAL, now));
+    }
+
+    @Test
+    public void shares_can_be_overridden_but_must_be_fractions() {
+        GradientLimit limit = new GradientLimit(10, 4, 200, 1.5, 0.2, WINDOW, PROBE, now);
+        AdmissionLimiter limiter = new AdmissionLimiter(limit, Map.of(Lane.BULK, 0.2));
+        assertNotNull(limiter.tryAcquire(Lane.BULK, now));
+        assertNotNull(limiter.tryAcquire(Lane.BULK, now));
+        assertNull(limiter.tryAcquire(Lane.BULK, now));
+
+        assertThrows(IllegalArgumentException.class, () -> new AdmissionLimiter(limit, Map.of(Lane.HIGH, 1.5)));
+    }
+
+    @Test
+    public void routes_pick_the_first_matching_lane() {
+        AdmissionRoute health = new AdmissionRoute(Lane.CRITICAL, null, "/actuator/health/**");
+        AdmissionRoute writes = new AdmissionRoute(Lane.HIGH, "POST", "/api/offers/{id}/{action:reserve|in-transit|delivered}");
+        AdmissionRoute listings = new AdmissionRoute(Lane.BULK, "GET", "/api/offers/{listing:available|search|archive}");
+
+        assertTrue(health.matches("GET", PathContainer.parsePath("/actuator/health")));
+        assertTrue(health.matches("GET", PathContainer.parsePath("/actuator/health/liveness")));
+        assertTrue(writes.matches("POST", PathContainer.parsePath("/api/offers/abc/in-transit")));
+        assertFalse(writes.matches("POST", PathContainer.parsePath("/api/offers/abc/cancel")));
+        assertFalse(writes.matches("GET", PathContainer.parsePath("/api/offers/abc/reserve")));
+        assertTrue(listings.matches("GET", PathContainer.parsePath("/api/offers/available")));
+        assertFalse(listings.matches("GET", PathContainer.parsePath("/api/offers/stats")));
+    }
+
+    @Test
+    public void exempt_routes_neither_hold_a_slot_nor_feed_the_limit() throws Exception {
+        GradientLimit limit = new GradientLimit(4, 4, 200, 1.5, 0.2, 1, PROBE, System.nanoTime());
+        AdmissionLimiter limiter = new AdmissionLimiter(limit, Map.of());
+        AdmissionControlFilter filter = new AdmissionControlFilter(limiter,
+                List.of(new AdmissionRoute(Lane.EXEMPT, "POST", "/api/users/import")), Lane.NORMAL,
+                new SimpleMeterRegistry());
+        List<Integer> seen = new ArrayList<>();
+        FilterChain chain = (req, res) -> seen.add(limiter.getInFlight());
+
+        for (int i = 0; i < 20; i++) {
+            filter.doFilter(new MockHttpServletRequest("POST", "/api/users/import"), new MockHttpServletResponse(), chain);
+        }
+        assertEquals(0, limit.getNoLoadRttNanos());
+        assertTrue(seen.stream().allMatch(n -> n == 0));
+
+        seen.clear();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/users/profile"), new MockHttpServletResponse(), chain);
+        assertEquals(List.of(1), seen);
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    private void feed(GradientLimit limit, long rtt, int inFlight) {
+        for (int i = 0; i < 20; i++) {
+            now += WINDOW / 20;
+            limit.onSample(now, rtt, inFlight);
+        }
+    }
+}
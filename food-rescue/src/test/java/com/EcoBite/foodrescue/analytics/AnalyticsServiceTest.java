@@ -0,0 +1,85 @@
+package com.EcoBite.foodrescue.analytics;
+
+import com.EcoBite.foodrescue.dto.TimeSeriesResponse;
+import com.EcoBite.foodrescue.geo.Geohash;
+import com.EcoBite.foodrescue.model.OfferStatus;
+import com.EcoBite.foodrescue.repository.OfferRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Agregados no H2 do teste, com commits reais.
+ */
+@JdbcTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class AnalyticsServiceTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2024, 5, 6, 0, 0);
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbc;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    public void tearDown() {
+        jdbc.getJdbcTemplate().update("DELETE FROM offer_rollups");
+        jdbc.getJdbcTemplate().update("DELETE FROM offer_rollup_ledger");
+    }
+
+    @Test
+    public void rolls_up_by_hour_day_and_region() {
+        OfferRollupStore store = new OfferRollupStore(jdbc, transactionManager);
+        AnalyticsService service = new AnalyticsService(store, mock(OfferRepository.class));
+
+        // São Paulo (6gyf...) e Rio (75cm...)
+        assertTrue(store.apply(delivered("a", DAY.plusHours(9).plusMinutes(10), -23.55, -46.63, 10, 12)));
+        assertTrue(store.apply(delivered("b", DAY.plusHours(9).plusMinutes(50), -23.55, -46.63, 5, 40)));
+        assertTrue(store.apply(delivered("c", DAY.plusHours(14), -22.90, -43.17, 8, 100)));
+        assertTrue(store.apply(new OfferOutcome("d", OfferStatus.CANCELLED, DAY.plusHours(9), -23.55, -46.63, 3, null)));
+        // reentrega da outbox
+        assertFalse(store.apply(delivered("a", DAY.plusHours(9).plusMinutes(10), -23.55, -46.63, 10, 12)));
+
+        TimeSeriesResponse hourly = service.timeSeries(DAY, DAY.plusDays(1), RollupGranularity.HOUR, null);
+        assertEquals(24, hourly.getPoints().size());
+        TimeSeriesResponse.Point nine = hourly.getPoints().get(9);
+        assertEquals(2, nine.getDelivered());
+        assertEquals(1, nine.getCancelled());
+        assertEquals(15, nine.getPortionsRescued());
+        assertEquals(3, nine.getPortionsCancelled());
+        assertNull(hourly.getPoints().get(10).getMedianPickupMinutes());
+
+        TimeSeriesResponse daily = service.timeSeries(DAY.minusDays(1), DAY.plusDays(2), RollupGranularity.DAY, null);
+        assertEquals(3, daily.getPoints().size());
+        assertEquals(23, daily.getPoints().get(1).getPortionsRescued());
+        // 12, 40 e 100 min: a mediana cai na faixa 30-45
+        double median = daily.getPoints().get(1).getMedianPickupMinutes();
+        assertTrue(median >= 30 && median < 45, "mediana " + median);
+
+        String saoPaulo = Geohash.encode(-23.55, -46.63, 3);
+        TimeSeriesResponse region = service.timeSeries(DAY, DAY.plusDays(1), RollupGranularity.WEEK, saoPaulo);
+        assertEquals(1, region.getPoints().size());
+        assertEquals(DAY.toString(), region.getPoints().get(0).getBucketStart()); // segunda-feira
+        assertEquals(15, region.getPoints().get(0).getPortionsRescued());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> service.timeSeries(DAY, DAY.plusYears(1), RollupGranularity.HOUR, null));
+    }
+
+    private static OfferOutcome delivered(String id, LocalDateTime at, double lat, double lon, int portions, int pickupMinutes) {
+        return new OfferOutcome(id, OfferStatus.DELIVERED, at, lat, lon, portions, Duration.ofMinutes(pickupMinutes));
+    }
+}
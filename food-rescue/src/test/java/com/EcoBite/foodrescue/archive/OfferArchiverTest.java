@@ -0,0 +1,101 @@
+package com.EcoBite.foodrescue.archive;
+
+import com.EcoBite.foodrescue.model.Claim;
+import com.EcoBite.foodrescue.model.Offer;
+import com.EcoBite.foodrescue.model.OfferStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Arquivamento no H2 do teste, com commits reais.
+ */
+@JdbcTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class OfferArchiverTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.now();
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbc;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    public void tearDown() {
+        for (String table : List.of("claims", "offers", "claims_archive", "offers_archive")) {
+            jdbc.getJdbcTemplate().update("DELETE FROM " + table);
+        }
+    }
+
+    @Test
+    public void moves_old_terminal_offers_with_claims_in_batches() {
+        OfferArchiveStore store = new OfferArchiveStore(jdbc, transactionManager);
+        OfferArchiver archiver = new OfferArchiver(store, new SimpleMeterRegistry(), true, Duration.ofDays(30), 2, 10);
+
+        for (int i = 0; i < 5; i++) {
+            insertOffer("old" + i, OfferStatus.DELIVERED, NOW.minusDays(40));
+            insertClaim("c" + i, "old" + i);
+        }
+        insertOffer("cancelled", OfferStatus.CANCELLED, NOW.minusDays(60));
+        insertOffer("recent", OfferStatus.DELIVERED, NOW.minusDays(3));
+        insertOffer("live", OfferStatus.AVAILABLE, NOW.minusDays(90));
+        insertClaim("c-recent", "recent");
+
+        // 6 elegíveis em lotes de 2: três lotes cheios e um vazio
+        assertEquals(6, archiver.archiveOlderThan(NOW.minusDays(30)));
+        assertEquals(2, count("offers"));
+        assertEquals(1, count("claims"));
+        assertEquals(6, count("offers_archive"));
+        assertEquals(5, count("claims_archive"));
+        assertEquals(0, archiver.archiveOlderThan(NOW.minusDays(30)));
+
+        Offer archived = store.findOffer("old3").orElseThrow();
+        assertEquals(OfferStatus.DELIVERED, archived.getStatus());
+        assertEquals(12, archived.getPortions());
+        assertEquals(NOW.minusDays(40).withNano(0), archived.getDeliveredAt().withNano(0));
+        List<Claim> claims = store.findClaims("old3");
+        assertEquals(1, claims.size());
+        assertEquals("c3", claims.get(0).getId());
+
+        assertEquals(5, store.findOffersClosedBetween(NOW.minusDays(45), NOW, 100).size());
+        assertEquals(2, store.findOffersClosedBetween(NOW.minusDays(45), NOW, 2).size());
+        assertEquals(5L, store.countByStatus().get(OfferStatus.DELIVERED));
+        assertEquals(1L, store.countByStatus().get(OfferStatus.CANCELLED));
+    }
+
+    private void insertOffer(String id, OfferStatus status, LocalDateTime closedAt) {
+        Timestamp at = Timestamp.valueOf(closedAt);
+        jdbc.update("INSERT INTO offers (id, description, portions, latitude, longitude, status, created_at, pickup_by, delivered_at)"
+                        + " VALUES (:id, 'Marmitas', 12, -23.55, -46.63, :status, :created, :at, :delivered)",
+                new MapSqlParameterSource("id", id)
+                        .addValue("status", status.name())
+                        .addValue("created", Timestamp.valueOf(closedAt.minusHours(5)))
+                        .addValue("at", at)
+                        .addValue("delivered", status == OfferStatus.DELIVERED ? at : null));
+    }
+
+    private void insertClaim(String id, String offerId) {
+        jdbc.update("INSERT INTO claims (id, offer_id, volunteer_name, reserved_at) VALUES (:id, :offerId, 'Ana', :at)",
+                new MapSqlParameterSource("id", id).addValue("offerId", offerId).addValue("at", Timestamp.valueOf(NOW)));
+    }
+
+    private int count(String table) {
+        return jdbc.getJdbcTemplate().queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+    }
+}
@@ -0,0 +1,51 @@
+package com.EcoBite.foodrescue.audit;
+
+import com.EcoBite.foodrescue.model.OfferStatus;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Um milhão de transições para 100 mil ofertas: custo do append, da busca por oferta e da
+ * verificação. Não roda no {@code mvn test}; ver {@code RateLimiterBenchmark} para a linha de comando.
+ */
+public class AuditLogBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        Path dir = Files.createTempDirectory("audit-bench");
+        AuditLog log = new AuditLog(dir, 64L << 20, "benchmark-audit-key".getBytes());
+        String[] offers = new String[100_000];
+        for (int i = 0; i < offers.length; i++) {
+            offers[i] = UUID.randomUUID().toString();
+        }
+        int n = 1_000_000;
+        long worst = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < n; i++) {
+            long t = System.nanoTime();
+            log.append(Instant.now(), offers[i % offers.length], OfferStatus.AVAILABLE, OfferStatus.RESERVED,
+                    "voluntario" + (i % 1000) + "@ex.com");
+            worst = Math.max(worst, System.nanoTime() - t);
+            if (i % 10_000 == 0) {
+                log.flush();
+            }
+        }
+        System.out.printf("append: %.2f µs/registro, pior %d µs, %d segmentos%n",
+                (System.nanoTime() - start) / 1000.0 / n, worst / 1000, log.segmentCount());
+
+        start = System.nanoTime();
+        int found = 0;
+        for (int i = 0; i < 1000; i++) {
+            found += log.find(offers[i * 97]).size();
+        }
+        System.out.printf("busca por oferta: %.0f µs, %d registros em 1000 buscas%n",
+                (System.nanoTime() - start) / 1000.0 / 1000, found);
+
+        start = System.nanoTime();
+        AuditLog.Verification verification = log.verify();
+        System.out.printf("verificação: %d ms, %d registros, válido=%s%n", (System.nanoTime() - start) / 1_000_000,
+                verification.getRecords(), verification.isValid());
+    }
+}
@@ -0,0 +1,140 @@
+package com.EcoBite.foodrescue.audit;
+
+import com.EcoBite.foodrescue.model.OfferStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AuditLogTest {
+
+    /** 40 registros por segmento. */
+    private static final long SEGMENT = 41L * AuditEntry.SIZE;
+    private static final byte[] KEY = "chave-de-teste-da-auditoria".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void appends_across_segments_and_finds_by_offer() throws Exception {
+        AuditLog log = new AuditLog(dir, SEGMENT, KEY);
+        List<String> offers = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            offers.add(UUID.randomUUID().toString());
+        }
+        Instant at = Instant.parse("2024-05-06T10:00:00Z");
+        for (String offer : offers) {
+            log.append(at, offer, null, OfferStatus.AVAILABLE, "doador@ex.com");
+        }
+        for (String offer : offers) {
+            log.append(at.plusSeconds(60), offer, OfferStatus.AVAILABLE, OfferStatus.RESERVED, "voluntária@ex.com");
+        }
+        log.append(at.plusSeconds(120), offers.get(7), OfferStatus.RESERVED, OfferStatus.IN_TRANSIT, "x".repeat(100));
+        log.flush();
+        assertEquals(101, log.lastSequence());
+        assertEquals(101, log.durableSequence());
+        assertEquals(3, log.segmentCount());
+
+        List<AuditEntry> history = log.find(offers.get(7));
+        assertEquals(3, history.size());
+        assertNull(history.get(0).getFrom());
+        assertEquals(OfferStatus.RESERVED, history.get(1).getTo());
+        assertEquals("voluntária@ex.com", history.get(1).getActor());
+        assertEquals(58, history.get(1).getSequence());
+        assertEquals(OfferStatus.IN_TRANSIT, history.get(2).getTo());
+        assertEquals(60, history.get(2).getActor().length());
+        assertEquals(at.plusSeconds(120), history.get(2).getAt());
+        assertTrue(log.find(UUID.randomUUID().toString()).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> log.find("nao-e-uuid"));
+
+        // reabrir continua a sequência e a cadeia
+        AuditLog reopened = new AuditLog(dir, SEGMENT, KEY);
+        assertEquals(101, reopened.lastSequence());
+        reopened.append(at, offers.get(7), OfferStatus.IN_TRANSIT, OfferStatus.DELIVERED, "voluntária@ex.com");
+        assertEquals(4, reopened.find(offers.get(7)).size());
+        AuditLog.Verification verification = reopened.verify();
+        assertTrue(verification.isValid());
+        assertEquals(102, verification.getRecords());
+    }
+
+    @Test
+    public void detects_tampering() throws Exception {
+        AuditLog log = new AuditLog(dir, SEGMENT, KEY);
+        String offer = UUID.randomUUID().toString();
+        for (int i = 0; i < 30; i++) {
+            log.append(Instant.now(), offer, OfferStatus.AVAILABLE, OfferStatus.RESERVED, "ator" + i);
+        }
+        log.flush();
+        Path file;
+        try (Stream<Path> files = Files.list(dir)) {
+            file = files.findFirst().orElseThrow();
+        }
+        // troca o autor do registro 12
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.seek(12L * AuditEntry.SIZE + 36);
+            raf.write('X');
+        }
+        AuditLog.Verification verification = new AuditLog(dir, SEGMENT, KEY).verify();
+        assertFalse(verification.isValid());
+        assertEquals(12, verification.getBrokenAt());
+        assertEquals(11, verification.getRecords());
+    }
+
+    @Test
+    public void chain_rebuilt_without_the_key_is_rejected() throws Exception {
+        // quem só tem os arquivos refaz o log com outra chave
+        AuditLog forged = new AuditLog(dir, SEGMENT, "chave-de-quem-nao-devia".getBytes(StandardCharsets.UTF_8));
+        String offer = UUID.randomUUID().toString();
+        for (int i = 0; i < 5; i++) {
+            forged.append(Instant.now(), offer, OfferStatus.AVAILABLE, OfferStatus.RESERVED, "ator" + i);
+        }
+        forged.flush();
+        assertTrue(forged.verify().isValid());
+
+        AuditLog.Verification verification = new AuditLog(dir, SEGMENT, KEY).verify();
+        assertFalse(verification.isValid());
+        assertEquals(1, verification.getBrokenAt());
+        assertThrows(IllegalArgumentException.class, () -> new AuditLog(dir, SEGMENT, "curta".getBytes()));
+    }
+
+    @Test
+    public void cut_tail_is_caught_by_the_anchor() throws Exception {
+        AuditLog log = new AuditLog(dir, SEGMENT, KEY);
+        String offer = UUID.randomUUID().toString();
+        for (int i = 0; i < 30; i++) {
+            log.append(Instant.now(), offer, OfferStatus.AVAILABLE, OfferStatus.RESERVED, "ator" + i);
+        }
+        log.flush();
+        AuditLog.Anchor anchor = log.durableHead();
+        assertEquals(30, anchor.getSequence());
+        assertTrue(log.verify(anchor).isValid());
+
+        Path file;
+        try (Stream<Path> files = Files.list(dir)) {
+            file = files.findFirst().orElseThrow();
+        }
+        // apaga os 5 últimos registros (sequência 0 = fim dos dados)
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            for (int sequence = 26; sequence <= 30; sequence++) {
+                raf.seek(sequence * (long) AuditEntry.SIZE);
+                raf.write(new byte[AuditEntry.SIZE]);
+            }
+        }
+        AuditLog cut = new AuditLog(dir, SEGMENT, KEY);
+        assertTrue(cut.verify().isValid());
+        AuditLog.Verification verification = cut.verify(anchor);
+        assertFalse(verification.isValid());
+        assertEquals(25, verification.getRecords());
+        assertEquals(26, verification.getBrokenAt());
+    }
+}
@@ -0,0 +1,137 @@
+package com.EcoBite.foodrescue.auth;
+
+import com.EcoBite.foodrescue.model.User;
+import com.EcoBite.foodrescue.model.UserRole;
+import com.EcoBite.foodrescue.model.UserStatus;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JwtAuthenticationFilterTest {
+    private static final String SECRET = Base64.getEncoder().encodeToString(new byte[32]);
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2030-01-01T10:00:00Z"));
+    private final JwtService jwt = new JwtService(SECRET, "nomorehunger", Duration.ofHours(1), clock);
+    private final LocalTokenDenyList denyList = new LocalTokenDenyList(Duration.ofHours(1), clock);
+    private final JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwt, denyList, new SimpleMeterRegistry());
+
+    @AfterEach
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void principal_comes_from_the_token_alone() throws Exception {
+        User user = user();
+        Authentication auth = authenticate(jwt.issue(user).getToken());
+
+        assertNotNull(auth);
+        User principal = (User) auth.getPrincipal();
+        assertEquals(user.getId(), principal.getId());
+        assertEquals("ana@teste.com", principal.getEmail());
+        assertEquals(UserRole.ADMIN, principal.getRole());
+        assertTrue(auth.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN")));
+    }
+
+    @Test
+    public void rejects_tampered_and_expired_tokens() throws Exception {
+        String token = jwt.issue(user()).getToken();
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+        assertNull(authenticate(tampered));
+        assertNull(authenticate("lixo"));
+
+        clock.advance(Duration.ofMinutes(61));
+        assertNull(authenticate(token));
+    }
+
+    @Test
+    public void revoked_tokens_and_users_are_rejected() throws Exception {
+        User user = user();
+        String loggedOut = jwt.issue(user).getToken();
+        Claims claims = jwt.parse(loggedOut);
+        denyList.revokeToken(claims.getId(), claims.getExpiration().toInstant());
+        assertNull(authenticate(loggedOut));
+
+        String other = jwt.issue(user).getToken();
+        assertNotNull(authenticate(other));
+        clock.advance(Duration.ofSeconds(1));
+        denyList.revokeUser(user.getId().toString(), clock.instant());
+        assertNull(authenticate(other));
+
+        // login depois da revogação volta a valer
+        clock.advance(Duration.ofSeconds(1));
+        assertNotNull(authenticate(jwt.issue(user).getToken()));
+    }
+
+    @Test
+    public void login_in_the_same_second_as_the_revocation_is_valid() throws Exception {
+        User user = user();
+        clock.advance(Duration.ofMillis(900));
+        String before = jwt.issue(user).getToken();
+        clock.advance(Duration.ofMillis(200));
+        // revogado em 10:00:01.100; o iat do token seguinte também é 10:00:01
+        denyList.revokeUser(user.getId().toString(), clock.instant());
+        clock.advance(Duration.ofMillis(300));
+        String after = jwt.issue(user).getToken();
+
+        assertNull(authenticate(before));
+        assertNotNull(authenticate(after));
+    }
+
+    private Authentication authenticate(String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/profile");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private static User user() {
+        User user = new User("Ana", "ana@teste.com", "hash", UserRole.ADMIN);
+        user.setId(UUID.randomUUID());
+        user.setStatus(UserStatus.ACTIVE);
+        return user;
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
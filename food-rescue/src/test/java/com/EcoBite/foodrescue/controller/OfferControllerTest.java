@@ -1,10 +1,14 @@
 package com.EcoBite.foodrescue.controller;
 
+import com.EcoBite.foodrescue.config.SecurityConfig;
 import com.EcoBite.foodrescue.dto.CreateOfferRequest;
+import com.EcoBite.foodrescue.service.OfferService;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -15,6 +19,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 
 @WebMvcTest(controllers = OfferController.class)
+@Import(SecurityConfig.class)
 public class OfferControllerTest {
 
     @Autowired
@@ -23,6 +28,9 @@ public class OfferControllerTest {
     @Autowired
     private ObjectMapper mapper;
 
+    @MockBean
+    private OfferService service;
+
     @Test
     public void createOffer_badRequest_when_missingFields() throws Exception {
         CreateOfferRequest req = new CreateOfferRequest(); // vazio
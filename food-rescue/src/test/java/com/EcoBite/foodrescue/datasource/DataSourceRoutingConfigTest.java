@@ -0,0 +1,53 @@
+package com.EcoBite.foodrescue.datasource;
+
+import com.EcoBite.foodrescue.config.DataSourceRoutingConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Os pools do roteamento são montados à mão; o {@code spring.datasource.hikari.*} precisa chegar neles.
+ */
+public class DataSourceRoutingConfigTest {
+
+    private final ApplicationContextRunner context = new ApplicationContextRunner()
+            .withUserConfiguration(DataSourceProperty.class, DataSourceRoutingConfig.class)
+            .withPropertyValues(
+                    "app.datasource.routing-enabled=true",
+                    "app.datasource.lag-query=",
+                    "app.datasource.health-check-interval=0s",
+                    "app.datasource.replicas[0].url=jdbc:h2:mem:hikari-replica",
+                    "app.datasource.replicas[0].maximum-pool-size=4",
+                    "spring.datasource.url=jdbc:h2:mem:hikari-primary",
+                    "spring.datasource.hikari.maximum-pool-size=7",
+                    "spring.datasource.hikari.connection-timeout=1500");
+
+    @Test
+    public void hikari_settings_reach_the_hand_built_pools() {
+        context.run(ctx -> {
+            Map<Object, ?> pools = ctx.getBean(ReplicaRoutingDataSource.class).getResolvedDataSources();
+            HikariDataSource primary = (HikariDataSource) pools.get(ReplicaRoutingDataSource.PRIMARY);
+            assertEquals("primary", primary.getPoolName());
+            assertEquals(7, primary.getMaximumPoolSize());
+            assertEquals(1500, primary.getConnectionTimeout());
+
+            // nas réplicas, o tamanho próprio vence
+            HikariDataSource replica = (HikariDataSource) pools.get("replica-1");
+            assertEquals(4, replica.getMaximumPoolSize());
+            assertEquals(1500, replica.getConnectionTimeout());
+            assertTrue(replica.isReadOnly());
+        });
+    }
+
+    @Configuration
+    @EnableConfigurationProperties(DataSourceProperties.class)
+    static class DataSourceProperty {
+    }
+}
@@ -0,0 +1,84 @@
+package com.EcoBite.foodrescue.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Dois H2 em memória fazem o papel de primário e réplica; cada um responde seu nome.
+ */
+public class ReplicaRoutingDataSourceTest {
+
+    private ReplicaRoutingDataSource routing;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    private void setUp(String lagQuery, Duration stickiness) {
+        DataSource primary = h2("primary");
+        DataSource replica = h2("replica");
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(stickiness, 100);
+        routing = new ReplicaRoutingDataSource(primary, Map.of("replica-1", replica), tracker,
+                Duration.ofSeconds(5), lagQuery, Duration.ZERO);
+        routing.afterPropertiesSet();
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        DataSourceTransactionManager tm = new DataSourceTransactionManager(dataSource);
+        jdbc = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(tm);
+        readOnly = new TransactionTemplate(tm);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ReadYourWritesTracker.clearCurrentClient();
+    }
+
+    @Test
+    public void readOnly_goes_to_replica_and_writes_to_primary() {
+        setUp("", Duration.ofSeconds(5));
+        assertEquals("replica", readOnly.execute(s -> whoAmI()));
+        assertEquals("primary", readWrite.execute(s -> whoAmI()));
+    }
+
+    @Test
+    public void client_reads_own_write_from_primary() {
+        setUp("", Duration.ofMinutes(1));
+        ReadYourWritesTracker.setCurrentClient("user:a");
+        readWrite.execute(s -> jdbc.update("UPDATE node SET name = name"));
+        assertEquals("primary", readOnly.execute(s -> whoAmI()));
+
+        ReadYourWritesTracker.setCurrentClient("user:b");
+        assertEquals("replica", readOnly.execute(s -> whoAmI()));
+    }
+
+    @Test
+    public void lagging_replica_falls_back_to_primary() {
+        setUp("SELECT 60", Duration.ofSeconds(5));
+        assertEquals("primary", readOnly.execute(s -> whoAmI()));
+        assertEquals(false, ((Map<?, ?>) routing.replicaStatus().get("replica-1")).get("usable"));
+    }
+
+    private String whoAmI() {
+        return jdbc.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private static DataSource h2(String name) {
+        DriverManagerDataSource ds = new DriverManagerDataSource("jdbc:h2:mem:" + name + "-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(ds);
+        jdbc.execute("CREATE TABLE node (name VARCHAR(20))");
+        jdbc.update("INSERT INTO node VALUES (?)", name);
+        return ds;
+    }
+}
@@ -0,0 +1,178 @@
+package com.EcoBite.foodrescue.expiry;
+
+import com.EcoBite.foodrescue.audit.OfferAuditService;
+import com.EcoBite.foodrescue.heatmap.HeatmapService;
+import com.EcoBite.foodrescue.model.NotificationType;
+import com.EcoBite.foodrescue.model.Offer;
+import com.EcoBite.foodrescue.model.OfferStatus;
+import com.EcoBite.foodrescue.model.User;
+import com.EcoBite.foodrescue.model.UserRole;
+import com.EcoBite.foodrescue.outbox.OutboxPublisher;
+import com.EcoBite.foodrescue.repository.UserRepository;
+import com.EcoBite.foodrescue.search.OfferSearchService;
+import com.EcoBite.foodrescue.service.NotificationService;
+import com.EcoBite.foodrescue.service.OfferMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Expiração de ofertas no H2 do teste, com commits reais.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class OfferExpiryServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.now();
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbc;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final OutboxPublisher outbox = mock(OutboxPublisher.class);
+    private final NotificationService notifications = mock(NotificationService.class);
+    @Autowired
+    private UserRepository users;
+
+    private OfferExpiryService expiry;
+
+    @BeforeEach
+    public void setUp() {
+        expiry = new OfferExpiryService(new OfferExpiryStore(jdbc), transactionManager,
+                new OfferMetrics(new SimpleMeterRegistry()), mock(OfferSearchService.class), mock(HeatmapService.class),
+                outbox, notifications, users, mock(OfferAuditService.class), new SimpleMeterRegistry(), 2);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        jdbc.getJdbcTemplate().update("DELETE FROM offers");
+        users.deleteAll();
+    }
+
+    @Test
+    public void expires_only_offers_still_available_past_pickup() {
+        // gravado como foi digitado no cadastro
+        User donor = users.save(new User("Padaria", "Padaria@Example.COM", "senha123", UserRole.DONOR));
+
+        insertOffer("late", OfferStatus.AVAILABLE, NOW.minusMinutes(5), "Padaria@Example.com");
+        insertOffer("early", OfferStatus.AVAILABLE, NOW.plusHours(2), "padaria@example.com");
+        // reservada antes do tick: o prazo estava na roda, mas não expira
+        insertOffer("reserved", OfferStatus.RESERVED, NOW.minusMinutes(5), "padaria@example.com");
+        insertOffer("anonymous", OfferStatus.AVAILABLE, NOW.minusMinutes(1), "555-1111");
+
+        assertEquals(2, expiry.expire(List.of("late", "early", "reserved", "anonymous")));
+        assertEquals("EXPIRED", status("late"));
+        assertEquals("EXPIRED", status("anonymous"));
+        assertEquals("AVAILABLE", status("early"));
+        assertEquals("RESERVED", status("reserved"));
+
+        ArgumentCaptor<Offer> expired = ArgumentCaptor.forClass(Offer.class);
+        verify(outbox, times(2)).offerStatusChanged(expired.capture(), eq(OfferStatus.AVAILABLE));
+        assertTrue(expired.getAllValues().stream().allMatch(o -> o.getStatus() == OfferStatus.EXPIRED));
+        // só o doador cadastrado com o e-mail do contato é avisado
+        verify(notifications, times(1)).notify(argThat(u -> u.getId().equals(donor.getId())),
+                eq(NotificationType.OFFER_EXPIRED), anyString(), anyString());
+
+        // entrega repetida do mesmo prazo: nada a fazer
+        assertEquals(0, expiry.expire(List.of("late")));
+        verify(outbox, times(2)).offerStatusChanged(any(), any());
+    }
+
+    @Test
+    public void sweep_expires_overdue_offers_in_batches() {
+        for (int i = 0; i < 5; i++) {
+            insertOffer("orphan-" + i, OfferStatus.AVAILABLE, NOW.minusHours(1), null);
+        }
+        insertOffer("reserved", OfferStatus.RESERVED, NOW.minusHours(1), null);
+
+        // lotes de 2
+        assertEquals(2, expiry.expireOverdue());
+        expiry.sweep();
+        assertEquals(0, expiry.expireOverdue());
+        assertEquals(5, jdbc.getJdbcTemplate().queryForObject(
+                "SELECT COUNT(*) FROM offers WHERE status = 'EXPIRED'", Integer.class));
+        assertEquals("RESERVED", status("reserved"));
+        verifyNoInteractions(notifications);
+    }
+
+    @Test
+    public void reservation_holding_the_row_lock_wins_over_expiry() throws Exception {
+        insertOffer("contested", OfferStatus.AVAILABLE, NOW.minusMinutes(1), null);
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            // como OfferService.transition: trava a linha e reserva
+            Future<?> reservation = pool.submit(() -> tx.executeWithoutResult(s -> {
+                jdbc.getJdbcTemplate().queryForList("SELECT id FROM offers WHERE id = 'contested' FOR UPDATE");
+                jdbc.getJdbcTemplate().update("UPDATE offers SET status = 'RESERVED', reserved_at = ? WHERE id = 'contested'",
+                        Timestamp.valueOf(NOW));
+                locked.countDown();
+                try {
+                    commit.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            assertTrue(locked.await(5, TimeUnit.SECONDS));
+            ExecutorService other = Executors.newSingleThreadExecutor();
+            try {
+                Future<Integer> expired = other.submit(() -> expiry.expire(List.of("contested")));
+                // dá tempo de a expiração parar no lock; se chegar depois do commit, o resultado é o mesmo
+                Thread.sleep(50);
+                commit.countDown();
+                reservation.get(5, TimeUnit.SECONDS);
+                assertEquals(0, expired.get(5, TimeUnit.SECONDS));
+            } finally {
+                other.shutdownNow();
+            }
+        } finally {
+            commit.countDown();
+            pool.shutdownNow();
+        }
+        assertEquals("RESERVED", status("contested"));
+        verifyNoInteractions(outbox);
+    }
+
+    private void insertOffer(String id, OfferStatus status, LocalDateTime pickupBy, String contact) {
+        jdbc.update("INSERT INTO offers (id, donor_contact, description, portions, latitude, longitude, status, created_at, pickup_by)"
+                        + " VALUES (:id, :contact, 'Pães', 12, -23.55, -46.63, :status, :created, :pickupBy)",
+                new MapSqlParameterSource("id", id)
+                        .addValue("contact", contact)
+                        .addValue("status", status.name())
+                        .addValue("created", Timestamp.valueOf(NOW.minusHours(3)))
+                        .addValue("pickupBy", Timestamp.valueOf(pickupBy)));
+    }
+
+    private String status(String offerId) {
+        return jdbc.getJdbcTemplate().queryForObject("SELECT status FROM offers WHERE id = ?", String.class, offerId);
+    }
+}
@@ -0,0 +1,117 @@
+package com.EcoBite.foodrescue.expiry;
+
+import com.EcoBite.foodrescue.audit.OfferAuditService;
+import com.EcoBite.foodrescue.heatmap.HeatmapService;
+import com.EcoBite.foodrescue.model.Offer;
+import com.EcoBite.foodrescue.model.OfferStatus;
+import com.EcoBite.foodrescue.outbox.OutboxPublisher;
+import com.EcoBite.foodrescue.search.OfferSearchService;
+import com.EcoBite.foodrescue.service.OfferMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Liberação de reservas no H2 do teste, com commits reais.
+ */
+@JdbcTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ReservationHoldServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.now();
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbc;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    public void tearDown() {
+        jdbc.getJdbcTemplate().update("DELETE FROM claims");
+        jdbc.getJdbcTemplate().update("DELETE FROM offers");
+    }
+
+    @Test
+    public void releases_only_offers_still_held_past_the_window() {
+        OutboxPublisher outbox = mock(OutboxPublisher.class);
+        OfferExpiryService expiry = mock(OfferExpiryService.class);
+        ReservationHoldService holds = new ReservationHoldService(new OfferExpiryStore(jdbc), transactionManager,
+                new OfferMetrics(new SimpleMeterRegistry()), mock(OfferSearchService.class), mock(HeatmapService.class),
+                outbox, expiry, mock(OfferAuditService.class), new SimpleMeterRegistry(), Duration.ofHours(2), 100);
+
+        insertOffer("stale", OfferStatus.RESERVED, NOW.minusHours(3));
+        insertClaim("c-stale", "stale");
+        insertOffer("fresh", OfferStatus.RESERVED, NOW.minusMinutes(10));
+        insertClaim("c-fresh", "fresh");
+        // markInTransit chegou antes
+        insertOffer("moving", OfferStatus.IN_TRANSIT, NOW.minusHours(5));
+        insertClaim("c-moving", "moving");
+
+        assertEquals(1, holds.release(List.of("stale", "fresh", "moving")));
+        assertEquals("AVAILABLE", status("stale"));
+        assertNull(jdbc.getJdbcTemplate().queryForObject("SELECT reserved_at FROM offers WHERE id = 'stale'", Timestamp.class));
+        assertNotNull(expiredAt("c-stale"));
+        assertEquals("RESERVED", status("fresh"));
+        assertNull(expiredAt("c-fresh"));
+        assertEquals("IN_TRANSIT", status("moving"));
+        assertNull(expiredAt("c-moving"));
+
+        ArgumentCaptor<Offer> released = ArgumentCaptor.forClass(Offer.class);
+        verify(outbox).offerStatusChanged(released.capture(), eq(OfferStatus.RESERVED));
+        assertEquals(OfferStatus.AVAILABLE, released.getValue().getStatus());
+        assertEquals("Marmitas", released.getValue().getDescription());
+        // o prazo de retirada volta para a roda
+        verify(expiry).offerAvailable(released.getValue());
+
+        // segunda entrega do mesmo prazo: nada a fazer
+        assertEquals(0, holds.release(List.of("stale")));
+        verify(outbox, times(1)).offerStatusChanged(any(), any());
+
+        // varredura: vencida que nenhuma roda agendou
+        insertOffer("orphan", OfferStatus.RESERVED, NOW.minusHours(4));
+        assertEquals(1, holds.releaseOverdue());
+        assertEquals("AVAILABLE", status("orphan"));
+    }
+
+    private void insertOffer(String id, OfferStatus status, LocalDateTime reservedAt) {
+        jdbc.update("INSERT INTO offers (id, description, portions, latitude, longitude, status, created_at, pickup_by, reserved_at)"
+                        + " VALUES (:id, 'Marmitas', 12, -23.55, -46.63, :status, :created, :pickupBy, :reservedAt)",
+                new MapSqlParameterSource("id", id)
+                        .addValue("status", status.name())
+                        .addValue("created", Timestamp.valueOf(reservedAt.minusHours(1)))
+                        .addValue("pickupBy", Timestamp.valueOf(NOW.plusHours(6)))
+                        .addValue("reservedAt", Timestamp.valueOf(reservedAt)));
+    }
+
+    private void insertClaim(String id, String offerId) {
+        jdbc.update("INSERT INTO claims (id, offer_id, volunteer_name, reserved_at) VALUES (:id, :offerId, 'Ana', :at)",
+                new MapSqlParameterSource("id", id).addValue("offerId", offerId).addValue("at", Timestamp.valueOf(NOW)));
+    }
+
+    private String status(String offerId) {
+        return jdbc.getJdbcTemplate().queryForObject("SELECT status FROM offers WHERE id = ?", String.class, offerId);
+    }
+
+    private Timestamp expiredAt(String claimId) {
+        return jdbc.getJdbcTemplate().queryForObject("SELECT expired_at FROM claims WHERE id = ?", Timestamp.class, claimId);
+    }
+}
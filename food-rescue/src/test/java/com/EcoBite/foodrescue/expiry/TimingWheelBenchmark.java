@@ -0,0 +1,34 @@
+package com.EcoBite.foodrescue.expiry;
+
+import java.util.Random;
+
+/**
+ * 500 mil prazos pendentes espalhados por 30 dias: custo de agendar e de cada tick de 1 s.
+ * Não roda no {@code mvn test}; ver {@code RateLimiterBenchmark} para a linha de comando.
+ */
+public class TimingWheelBenchmark {
+
+    public static void main(String[] args) {
+        Random random = new Random(42);
+        long now = System.currentTimeMillis();
+        TimingWheel<String> wheel = new TimingWheel<>(1000, now);
+        long start = System.nanoTime();
+        for (int i = 0; i < 500_000; i++) {
+            wheel.schedule("o" + i, now + (long) (random.nextDouble() * 30L * 24 * 3_600_000));
+        }
+        System.out.printf("agendar: %.0f ns/prazo%n", (System.nanoTime() - start) / 500_000.0);
+
+        // um dia de ticks de 1 s
+        int ticks = 24 * 3600;
+        int fired = 0;
+        long worst = 0;
+        start = System.nanoTime();
+        for (int i = 1; i <= ticks; i++) {
+            long t = System.nanoTime();
+            fired += wheel.advance(now + i * 1000L).size();
+            worst = Math.max(worst, System.nanoTime() - t);
+        }
+        System.out.printf("%d ticks: %.1f µs/tick em média, pior %d µs, %d vencidas, %d pendentes%n", ticks,
+                (System.nanoTime() - start) / 1000.0 / ticks, worst / 1000, fired, wheel.size());
+    }
+}
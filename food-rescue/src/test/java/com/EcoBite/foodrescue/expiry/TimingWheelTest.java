@@ -0,0 +1,77 @@
+package com.EcoBite.foodrescue.expiry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimingWheelTest {
+
+    private static final long T0 = 1_700_000_000_000L;
+
+    @Test
+    public void fires_at_deadline_and_honours_cancel_and_reschedule() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, T0);
+        wheel.schedule("a", T0 + 1500);
+        wheel.schedule("b", T0 + 90_000);      // nível 1
+        wheel.schedule("c", T0 + 3_600_000);   // nível 1, perto da virada
+        wheel.schedule("late", T0 - 5000);      // já vencido
+        wheel.schedule("gone", T0 + 2000);
+        wheel.cancel("gone");
+        wheel.schedule("moved", T0 + 2000);
+        wheel.schedule("moved", T0 + 10_000);
+
+        assertEquals(List.of("late"), wheel.advance(T0 + 1000));
+        assertEquals(List.of("a"), wheel.advance(T0 + 2000));
+        assertTrue(wheel.advance(T0 + 9000).isEmpty());
+        assertEquals(List.of("moved"), wheel.advance(T0 + 10_000));
+        assertTrue(wheel.advance(T0 + 89_000).isEmpty());
+        assertEquals(List.of("b"), wheel.advance(T0 + 90_000));
+        assertEquals(1, wheel.size());
+        // parado por uma hora: redistribui de uma vez
+        assertEquals(List.of("c"), wheel.advance(T0 + 3_700_000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void matches_brute_force_across_all_levels() {
+        Random random = new Random(7);
+        TimingWheel<Integer> wheel = new TimingWheel<>(1000, T0);
+        Map<Integer, Long> deadlines = new HashMap<>();
+        for (int i = 0; i < 20_000; i++) {
+            // de segundos a ~300 dias: passa por todos os níveis e pelo estouro
+            long deadline = T0 + (long) Math.pow(10, 3 + random.nextDouble() * 7.5);
+            wheel.schedule(i, deadline);
+            deadlines.put(i, deadline);
+        }
+        List<Integer> byDeadline = new ArrayList<>(deadlines.keySet());
+        byDeadline.sort(Comparator.comparing(deadlines::get));
+        int checked = 0;
+        long now = T0;
+        Set<Integer> fired = new HashSet<>();
+        while (now < T0 + 400L * 24 * 3_600_000) {
+            // passos curtos (tick a tick) e saltos longos
+            now += random.nextInt(10) == 0 ? random.nextInt(20_000_000) : random.nextInt(5000);
+            List<Integer> expired = wheel.advance(now);
+            for (Integer key : expired) {
+                assertTrue(deadlines.get(key) <= now, "cedo demais: " + key);
+                assertTrue(fired.add(key), "duas vezes: " + key);
+            }
+            // vence no máximo um tick depois do prazo
+            while (checked < byDeadline.size() && deadlines.get(byDeadline.get(checked)) <= now - 1000) {
+                assertTrue(fired.contains(byDeadline.get(checked)), "atrasada: " + byDeadline.get(checked));
+                checked++;
+            }
+        }
+        assertEquals(deadlines.size(), fired.size());
+        assertEquals(0, wheel.size());
+    }
+}
@@ -0,0 +1,44 @@
+package com.EcoBite.foodrescue.heatmap;
+
+import com.EcoBite.foodrescue.model.Offer;
+
+import java.util.Random;
+
+/**
+ * Consulta de viewport (1280x800 px) em todos os zooms com 100 mil ofertas numa região
+ * metropolitana. Não roda no {@code mvn test}; ver {@code RateLimiterBenchmark} para a
+ * linha de comando.
+ */
+public class ClusterBenchmark {
+
+    public static void main(String[] args) {
+        Random random = new Random(42);
+        ClusterIndex index = new ClusterIndex();
+        long start = System.nanoTime();
+        for (int i = 0; i < 100_000; i++) {
+            Offer offer = new Offer();
+            offer.setLatitude(-23.9 + random.nextDouble() * 0.7);
+            offer.setLongitude(-46.9 + random.nextDouble() * 0.7);
+            offer.setPortions(1 + random.nextInt(20));
+            index.put(offer);
+        }
+        System.out.printf("índice: %d ofertas em %d ms%n", index.size(), (System.nanoTime() - start) / 1_000_000);
+
+        int iterations = 2_000;
+        for (int zoom = 4; zoom <= 18; zoom += 2) {
+            // largura do viewport em graus: 1280 px / (256 px * 2^zoom) * 360
+            double width = 1280.0 / (256.0 * (1 << zoom)) * 360.0;
+            double height = width * 800 / 1280;
+            int items = 0;
+            long t = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                double lat = -23.9 + random.nextDouble() * 0.7;
+                double lon = -46.9 + random.nextDouble() * 0.7;
+                double[] bbox = {lat - height / 2, lon - width / 2, lat + height / 2, lon + width / 2};
+                items += zoom >= ClusterIndex.LEAF_ZOOM ? index.offers(bbox).size() : index.clusters(bbox, zoom).size();
+            }
+            System.out.printf("zoom %2d: %6.1f itens/resposta, %6.1f µs/consulta%n", zoom,
+                    (double) items / iterations, (System.nanoTime() - t) / 1000.0 / iterations);
+        }
+    }
+}
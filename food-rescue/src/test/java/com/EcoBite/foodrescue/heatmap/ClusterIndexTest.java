@@ -0,0 +1,120 @@
+package com.EcoBite.foodrescue.heatmap;
+
+import com.EcoBite.foodrescue.model.Offer;
+import com.EcoBite.foodrescue.repository.OfferRepository;
+import com.EcoBite.foodrescue.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+public class ClusterIndexTest {
+
+    private static final double[] SAO_PAULO = {-24.0, -47.0, -23.3, -46.3};
+    private static final double[] PAULISTA = {-23.5620, -46.6600, -23.5600, -46.6550};
+
+    @Test
+    public void clusters_by_zoom_and_follows_changes() {
+        ClusterIndex index = new ClusterIndex();
+        Offer a = offer(-23.5610, -46.6560, 10);
+        Offer b = offer(-23.5612, -46.6570, 5);
+        Offer rio = offer(-22.9068, -43.1729, 7);
+        index.put(a);
+        index.put(b);
+        index.put(rio);
+
+        List<ClusterIndex.ClusterView> clusters = index.clusters(SAO_PAULO, 8);
+        assertEquals(1, clusters.size());
+        assertEquals(2, clusters.get(0).getCount());
+        assertEquals(15, clusters.get(0).getPortions());
+        assertEquals(-23.5611, clusters.get(0).getLatitude(), 1e-9);
+        assertEquals(-46.6565, clusters.get(0).getLongitude(), 1e-9);
+
+        // o mundo inteiro no zoom 0 é um cluster só
+        assertEquals(3, index.clusters(new double[]{-85, -180, 85, 180}, 0).get(0).getCount());
+
+        // no zoom de rua vêm as ofertas
+        assertEquals(2, index.offers(PAULISTA).size());
+
+        // reservada sai; a outra muda de porções
+        index.remove(a.getId());
+        b.setPortions(8);
+        index.put(b);
+        clusters = index.clusters(SAO_PAULO, 8);
+        assertEquals(1, clusters.get(0).getCount());
+        assertEquals(8, clusters.get(0).getPortions());
+        assertEquals(List.of(b.getId()), index.offers(PAULISTA).stream().map(Offer::getId).toList());
+
+        index.remove(b.getId());
+        assertTrue(index.clusters(SAO_PAULO, 8).isEmpty());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    public void changing_the_offer_object_does_not_corrupt_shared_cells() {
+        ClusterIndex index = new ClusterIndex();
+        Offer a = offer(-23.5610, -46.6560, 10);
+        Offer b = offer(-23.5612, -46.6570, 5);
+        index.put(a);
+        index.put(b);
+
+        // a entidade muda antes do put/remove seguinte: a célula ainda tem a
+        b.setPortions(8);
+        b.setLatitude(-23.5614);
+        assertEquals(15, index.clusters(SAO_PAULO, 8).get(0).getPortions());
+        assertEquals(5, index.offers(PAULISTA).stream()
+                .filter(o -> o.getId().equals(b.getId())).findFirst().orElseThrow().getPortions());
+
+        index.put(b);
+        ClusterIndex.ClusterView cluster = index.clusters(SAO_PAULO, 8).get(0);
+        assertEquals(2, cluster.getCount());
+        assertEquals(18, cluster.getPortions());
+        assertEquals((-23.5610 - 23.5614) / 2, cluster.getLatitude(), 1e-9);
+
+        b.setPortions(100);
+        index.remove(b.getId());
+        cluster = index.clusters(SAO_PAULO, 8).get(0);
+        assertEquals(1, cluster.getCount());
+        assertEquals(10, cluster.getPortions());
+        assertEquals(-23.5610, cluster.getLatitude(), 1e-9);
+        assertEquals(-46.6560, cluster.getLongitude(), 1e-9);
+    }
+
+    @Test
+    public void response_is_bounded_by_viewport_cells() {
+        ClusterIndex index = new ClusterIndex();
+        for (int i = 0; i < 10_000; i++) {
+            index.put(offer(-23.9 + (i % 100) * 0.005, -46.9 + (i / 100) * 0.005, 1));
+        }
+        // zoom 10 sobre a região: ~64 px por célula, poucas dezenas de células
+        List<ClusterIndex.ClusterView> clusters = index.clusters(SAO_PAULO, 10);
+        assertTrue(clusters.size() < 200, "células " + clusters.size());
+        assertEquals(10_000, clusters.stream().mapToInt(ClusterIndex.ClusterView::getCount).sum());
+    }
+
+    @Test
+    public void leaf_zoom_rejects_boxes_larger_than_a_few_screens() {
+        HeatmapService service = new HeatmapService(mock(OfferRepository.class), mock(UserRepository.class),
+                new SimpleMeterRegistry());
+        double[] world = {-85, -180, 85, 180};
+
+        assertTrue(ClusterIndex.leafCells(PAULISTA) < 50);
+        assertTrue(ClusterIndex.leafCells(world) > HeatmapService.MAX_LEAF_CELLS);
+        assertThrows(IllegalArgumentException.class, () -> service.clusters(world, ClusterIndex.LEAF_ZOOM));
+        assertThrows(IllegalArgumentException.class, () -> service.clusters(SAO_PAULO, 20));
+        assertTrue(service.clusters(PAULISTA, ClusterIndex.LEAF_ZOOM).getOffers().isEmpty());
+        // abaixo do zoom folha a resposta já é limitada pelas células do nível
+        assertTrue(service.clusters(world, 2).getClusters().isEmpty());
+    }
+
+    private static Offer offer(double lat, double lon, int portions) {
+        Offer offer = new Offer();
+        offer.setLatitude(lat);
+        offer.setLongitude(lon);
+        offer.setPortions(portions);
+        return offer;
+    }
+}
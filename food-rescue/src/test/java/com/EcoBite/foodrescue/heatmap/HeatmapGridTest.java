@@ -0,0 +1,57 @@
+package com.EcoBite.foodrescue.heatmap;
+
+import com.EcoBite.foodrescue.geo.Geohash;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HeatmapGridTest {
+
+    private static final double[] SAO_PAULO = {-24.0, -47.0, -23.3, -46.3};
+
+    @Test
+    public void aggregates_per_cell_and_follows_changes() {
+        HeatmapGrid grid = new HeatmapGrid();
+        grid.putOffer("a", -23.5505, -46.6333, 10);
+        grid.putOffer("b", -23.5510, -46.6340, 5);
+        grid.putOffer("rio", -22.9068, -43.1729, 7);
+        grid.putVolunteer("v1", -23.5507, -46.6335);
+
+        List<HeatmapGrid.Cell> cells = grid.cells(4, SAO_PAULO, 100);
+        assertEquals(1, cells.size());
+        HeatmapGrid.Cell center = cells.get(0);
+        assertEquals(Geohash.encode(-23.5505, -46.6333, 4), center.getGeohash());
+        assertEquals(2, center.getOffers());
+        assertEquals(15, center.getPortions());
+        assertEquals(1, center.getVolunteers());
+
+        // a oferta sai (reservada) e a outra muda de porções
+        grid.removeOffer("a");
+        grid.putOffer("b", -23.5510, -46.6340, 8);
+        center = grid.cells(4, SAO_PAULO, 100).get(0);
+        assertEquals(1, center.getOffers());
+        assertEquals(8, center.getPortions());
+
+        grid.removeOffer("b");
+        grid.removeVolunteer("v1");
+        assertTrue(grid.cells(4, SAO_PAULO, 100).isEmpty());
+        assertEquals(1, grid.cells(2, null, 100).size());
+        assertEquals(1, grid.offerCount());
+    }
+
+    @Test
+    public void payload_is_bounded_by_cells() {
+        HeatmapGrid grid = new HeatmapGrid();
+        for (int i = 0; i < 10_000; i++) {
+            grid.putOffer("o" + i, -23.5 + (i % 100) * 0.001, -46.6 + (i / 100) * 0.001, 1);
+        }
+        assertEquals(1, grid.cells(3, SAO_PAULO, 10).size());
+        assertEquals(10_000, grid.cells(3, SAO_PAULO, 10).get(0).getOffers());
+        assertThrows(IllegalArgumentException.class, () -> grid.cells(7, SAO_PAULO, 100));
+
+        assertEquals(7, HeatmapService.precisionFor(new double[]{-23.56, -46.64, -23.54, -46.62}));
+        assertTrue(HeatmapService.precisionFor(SAO_PAULO) <= 5);
+    }
+}
@@ -0,0 +1,119 @@
+package com.EcoBite.foodrescue.idempotency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IdempotencyFilterTest {
+
+    private final AtomicInteger executions = new AtomicInteger();
+    private final IdempotencyFilter filter = new IdempotencyFilter(
+            List.of(PathPatternParser.defaultInstance.parse("/api/claims/offer/{offerId}")),
+            new LocalIdempotencyStore(Duration.ofMinutes(5), 100),
+            Duration.ofSeconds(5), new SimpleMeterRegistry());
+
+    private final FilterChain claim = (req, res) -> {
+        String body = StreamUtils.copyToString(req.getInputStream(), StandardCharsets.UTF_8);
+        res.setContentType("application/json");
+        res.getWriter().write("{\"claim\":" + executions.incrementAndGet() + ",\"echo\":" + body + "}");
+    };
+
+    @Test
+    public void retry_is_answered_from_stored_response() throws Exception {
+        MockHttpServletResponse first = send("k1", "{\"volunteerName\":\"Ana\"}", claim);
+        MockHttpServletResponse retry = send("k1", "{\"volunteerName\":\"Ana\"}", claim);
+
+        assertEquals(1, executions.get());
+        assertEquals(first.getContentAsString(), retry.getContentAsString());
+        assertEquals("true", retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals(200, retry.getStatus());
+
+        assertEquals(422, send("k1", "{\"volunteerName\":\"Bia\"}", claim).getStatus());
+        send("k2", "{\"volunteerName\":\"Ana\"}", claim);
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    public void replay_keeps_application_headers_but_not_outer_ones() throws Exception {
+        FilterChain created = (req, res) -> {
+            HttpServletResponse http = (HttpServletResponse) res;
+            http.setStatus(201);
+            http.setHeader("Location", "/api/claims/c-" + executions.incrementAndGet());
+            http.setContentType("application/json;charset=UTF-8");
+            http.getWriter().write("{}");
+        };
+        MockHttpServletResponse first = send("k1", "{}", created, "7");
+        MockHttpServletResponse retry = send("k1", "{}", created, "6");
+
+        assertEquals(1, executions.get());
+        assertEquals(201, retry.getStatus());
+        assertEquals(first.getHeader("Location"), retry.getHeader("Location"));
+        assertEquals("application/json;charset=UTF-8", retry.getContentType());
+        // posto pelo rate limit desta requisição, não repetido da original
+        assertEquals(List.of("6"), retry.getHeaders("X-RateLimit-Remaining"));
+    }
+
+    @Test
+    public void concurrent_duplicates_run_once() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain slow = (req, res) -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            claim.doFilter(req, res);
+        };
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<MockHttpServletResponse>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(pool.submit(() -> send("same", "{}", slow)));
+            }
+            Thread.sleep(200);
+            release.countDown();
+            String body = results.get(0).get().getContentAsString();
+            for (Future<MockHttpServletResponse> result : results) {
+                assertEquals(body, result.get().getContentAsString());
+            }
+            assertEquals(1, executions.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private MockHttpServletResponse send(String key, String body, FilterChain chain) throws Exception {
+        return send(key, body, chain, null);
+    }
+
+    private MockHttpServletResponse send(String key, String body, FilterChain chain, String remaining)
+            throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/claims/offer/o-1");
+        request.addHeader(IdempotencyFilter.HEADER, key);
+        request.setContent(body.getBytes());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        if (remaining != null) {
+            response.setHeader("X-RateLimit-Remaining", remaining);
+        }
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
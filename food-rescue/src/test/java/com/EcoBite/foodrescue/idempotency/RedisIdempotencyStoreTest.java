@@ -0,0 +1,61 @@
+package com.EcoBite.foodrescue.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class RedisIdempotencyStoreTest {
+
+    private final StringRedisTemplate redis = mock(StringRedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, String> values = mock(ValueOperations.class);
+    private final RedisIdempotencyStore store;
+
+    public RedisIdempotencyStoreTest() {
+        when(redis.opsForValue()).thenReturn(values);
+        store = new RedisIdempotencyStore(new LocalIdempotencyStore(Duration.ofMinutes(5), 100), redis,
+                new ObjectMapper(), "idem:", Duration.ofHours(1), Duration.ofSeconds(10), mock(TaskScheduler.class));
+    }
+
+    @Test
+    public void pending_mark_is_refreshed_only_while_running_here() {
+        when(values.setIfAbsent(eq("idem:pending:a"), eq("1"), any(Duration.class))).thenReturn(true);
+        when(values.setIfAbsent(eq("idem:pending:b"), eq("1"), any(Duration.class))).thenReturn(false);
+        assertTrue(store.begin("a"));
+        assertFalse(store.begin("b"));
+
+        store.refreshPending();
+        verify(redis).expire("idem:pending:a", Duration.ofSeconds(10));
+        verify(redis, never()).expire(eq("idem:pending:b"), any(Duration.class));
+
+        store.put("a", new IdempotentResponse(201, "application/json", Map.of("Location", List.of("/x")),
+                new byte[0], "f"));
+        clearInvocations(redis);
+        store.refreshPending();
+        verify(redis, never()).expire(anyString(), any(Duration.class));
+    }
+
+    @Test
+    public void stored_headers_survive_the_round_trip() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        IdempotentResponse response = new IdempotentResponse(201, "application/json",
+                Map.of("Location", List.of("/api/offers/o-1")), "{}".getBytes(), "f");
+
+        IdempotentResponse read = mapper.readValue(mapper.writeValueAsString(response), IdempotentResponse.class);
+
+        assertEquals(List.of("/api/offers/o-1"), read.getHeaders().get("Location"));
+        // entradas gravadas antes dos headers continuam legíveis
+        assertTrue(mapper.readValue("{\"status\":200,\"body\":\"e30=\",\"fingerprint\":\"f\"}",
+                IdempotentResponse.class).getHeaders().isEmpty());
+    }
+}
@@ -0,0 +1,119 @@
+package com.EcoBite.foodrescue.jobs;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Fila no H2 do teste, com commits reais.
+ */
+@JdbcTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class DelayedJobQueueTest {
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbc;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    public void tearDown() {
+        jdbc.getJdbcTemplate().update("DELETE FROM scheduled_jobs");
+    }
+
+    @Test
+    public void runs_due_jobs_once_and_retries_failures() {
+        DelayedJobStore store = new DelayedJobStore(jdbc, transactionManager);
+        List<String> ran = new ArrayList<>();
+        DelayedJobQueue queue = queue(store, new DelayedJobHandler() {
+            @Override
+            public boolean handles(String jobType) {
+                return jobType.startsWith("TEST_");
+            }
+
+            @Override
+            public void run(DelayedJob job) {
+                if (job.getType().equals("TEST_FAIL")) {
+                    throw new IllegalStateException("falhou");
+                }
+                ran.add(job.getReferenceId());
+            }
+        });
+        queue.refill();
+        LocalDateTime now = LocalDateTime.now();
+
+        assertTrue(queue.schedule("TEST_OK", "a", now.minusSeconds(1)));
+        assertTrue(queue.schedule("TEST_OK", "b", now.minusMinutes(5)));
+        assertTrue(queue.schedule("TEST_OK", "later", now.plusHours(1)));
+        assertTrue(queue.schedule("TEST_FAIL", "x", now.minusSeconds(1)));
+        // reentrega da outbox
+        assertFalse(queue.schedule("TEST_OK", "a", now.minusSeconds(1)));
+        assertEquals(3, queue.headSize()); // "later" passa do horizonte e vem numa próxima leitura
+
+        queue.tick();
+        assertEquals(List.of("b", "a"), ran);
+        assertEquals(2, store.countPending()); // "later" e a falha, que voltou com backoff
+        assertEquals(1, jdbc.getJdbcTemplate().queryForObject(
+                "SELECT attempts FROM scheduled_jobs WHERE reference_id = 'x'", Integer.class));
+        // o que já rodou não volta
+        queue.tick();
+        assertEquals(2, ran.size());
+        assertFalse(queue.schedule("TEST_OK", "b", now));
+
+        // a falha esgota as tentativas e é abandonada
+        for (int i = 0; i < 3; i++) {
+            jdbc.getJdbcTemplate().update("UPDATE scheduled_jobs SET due_at = ? WHERE reference_id = 'x'", now);
+            queue.runBatch();
+        }
+        assertEquals(1, store.countPending());
+    }
+
+    @Test
+    public void instances_split_due_jobs() {
+        DelayedJobStore store = new DelayedJobStore(jdbc, transactionManager);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 10; i++) {
+            store.insertIfAbsent("TEST_OK", "j" + i, now.minusSeconds(i + 1));
+        }
+
+        List<DelayedJob> first = store.lease(now, 6, Duration.ofSeconds(30));
+        List<DelayedJob> second = store.lease(now, 6, Duration.ofSeconds(30));
+        assertEquals(6, first.size());
+        assertEquals(4, second.size());
+        assertTrue(second.stream().noneMatch(j -> first.stream().anyMatch(f -> f.getId() == j.getId())));
+
+        // trava vencida: outra instância pega o job e a primeira não consegue mais concluí-lo
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        DelayedJob stale = first.get(0);
+        List<DelayedJob> retaken = store.lease(now.plusMinutes(1), 10, Duration.ofSeconds(30));
+        assertEquals(10, retaken.size());
+        assertEquals(Boolean.FALSE, tx.execute(s -> store.complete(stale, now)));
+        DelayedJob current = retaken.stream().filter(j -> j.getId() == stale.getId()).findFirst().orElseThrow();
+        assertEquals(Boolean.TRUE, tx.execute(s -> store.complete(current, now)));
+    }
+
+    private DelayedJobQueue queue(DelayedJobStore store, DelayedJobHandler handler) {
+        DelayedJobProperties props = new DelayedJobProperties();
+        props.setMaxAttempts(4);
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("handler", handler);
+        return new DelayedJobQueue(store, transactionManager, beans.getBeanProvider(DelayedJobHandler.class), props,
+                new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,123 @@
+package com.EcoBite.foodrescue.mail;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EmailDispatcherTest {
+
+    private FakeSmtpServer smtp;
+    private EmailDispatcher dispatcher;
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        smtp = new FakeSmtpServer();
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
+        smtp.close();
+    }
+
+    @Test
+    public void sends_batches_over_one_connection_each() throws Exception {
+        dispatcher = dispatcher(200, 1);
+        for (int i = 0; i < 200; i++) {
+            assertTrue(dispatcher.submit(new EmailMessage("u" + i + "@teste.com", "Oferta", "Nova oferta perto de você")));
+        }
+        dispatcher.start();
+
+        awaitDelivered(200);
+        assertEquals(4, smtp.getConnections());
+        assertEquals(200, registry.get("foodrescue.mail.sent").counter().count());
+        assertEquals(200, registry.get("foodrescue.mail.delivery").timer().count());
+    }
+
+    @Test
+    public void retries_transient_failures() throws Exception {
+        smtp.failNext(3);
+        dispatcher = dispatcher(100, 2);
+        dispatcher.start();
+        for (int i = 0; i < 10; i++) {
+            dispatcher.submit(new EmailMessage("u" + i + "@teste.com", "Lembrete", "Retirada em 1 hora"));
+        }
+
+        awaitDelivered(10);
+        assertEquals(3, registry.get("foodrescue.mail.failed").tag("outcome", "retry").counter().count());
+        assertEquals(0, registry.get("foodrescue.mail.failed").tag("outcome", "dropped").counter().count());
+    }
+
+    @Test
+    public void shutdown_sends_retries_still_waiting_for_backoff() throws Exception {
+        smtp.failNext(1);
+        dispatcher = dispatcher(100, 1, Duration.ofMinutes(1));
+        dispatcher.start();
+        dispatcher.submit(new EmailMessage("u@teste.com", "Lembrete", "Retirada em 1 hora"));
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (registry.get("foodrescue.mail.retry.pending").gauge().value() < 1 && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+
+        dispatcher.shutdown();
+
+        assertEquals(1, smtp.getDelivered().size());
+        assertEquals(0, registry.get("foodrescue.mail.retry.pending").gauge().value());
+        assertEquals(0, registry.get("foodrescue.mail.failed").tag("outcome", "dropped").counter().count());
+    }
+
+    @Test
+    public void full_queue_rejects_without_blocking() {
+        dispatcher = dispatcher(3, 1); // sem start: nada sai da fila
+        for (int i = 0; i < 3; i++) {
+            assertTrue(dispatcher.submit(new EmailMessage("u@teste.com", "a", "b")));
+        }
+        long start = System.nanoTime();
+        assertFalse(dispatcher.submit(new EmailMessage("u@teste.com", "a", "b")));
+        assertFalse(dispatcher.submit(new EmailMessage("u@teste.com", "a", "b"), Duration.ofMillis(50)));
+        assertTrue(System.nanoTime() - start < Duration.ofSeconds(1).toNanos());
+        assertEquals(2, registry.get("foodrescue.mail.rejected").counter().count());
+        assertEquals(3, dispatcher.queueDepth());
+    }
+
+    private EmailDispatcher dispatcher(int capacity, int workers) {
+        return dispatcher(capacity, workers, Duration.ofMillis(10));
+    }
+
+    private EmailDispatcher dispatcher(int capacity, int workers, Duration retryBackoff) {
+        EmailProperties props = new EmailProperties();
+        props.setEnabled(true);
+        props.setPort(smtp.getPort());
+        props.setQueueCapacity(capacity);
+        props.setWorkers(workers);
+        props.setBatchSize(50);
+        props.setRetryBackoff(retryBackoff);
+        props.setShutdownTimeout(Duration.ofSeconds(2));
+        JavaMailSenderImpl sender = new JavaMailSenderImpl();
+        sender.setHost("localhost");
+        sender.setPort(smtp.getPort());
+        return new EmailDispatcher(sender, props, registry);
+    }
+
+    private void awaitDelivered(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        // o servidor registra antes de o cliente fechar o lote; espera também as métricas
+        while ((smtp.getDelivered().size() < expected || sent() < expected) && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(expected, smtp.getDelivered().size());
+    }
+
+    private double sent() {
+        return registry.get("foodrescue.mail.sent").counter().count();
+    }
+}
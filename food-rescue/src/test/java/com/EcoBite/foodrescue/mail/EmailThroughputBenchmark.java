@@ -0,0 +1,41 @@
+package com.EcoBite.foodrescue.mail;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+
+/**
+ * Vazão do {@link EmailDispatcher} contra o {@link FakeSmtpServer} local. Não roda no
+ * {@code mvn test}; ver {@code RateLimiterBenchmark} para a linha de comando.
+ */
+public class EmailThroughputBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int total = 20_000;
+        try (FakeSmtpServer smtp = new FakeSmtpServer()) {
+            EmailProperties props = new EmailProperties();
+            props.setEnabled(true);
+            props.setQueueCapacity(total);
+            JavaMailSenderImpl sender = new JavaMailSenderImpl();
+            sender.setHost("localhost");
+            sender.setPort(smtp.getPort());
+            EmailDispatcher dispatcher = new EmailDispatcher(sender, props, new SimpleMeterRegistry());
+
+            long start = System.nanoTime();
+            long maxSubmit = 0;
+            dispatcher.start();
+            for (int i = 0; i < total; i++) {
+                long t = System.nanoTime();
+                dispatcher.submit(new EmailMessage("u" + i + "@teste.com", "Nova oferta", "Há uma oferta perto de você."));
+                maxSubmit = Math.max(maxSubmit, System.nanoTime() - t);
+            }
+            while (smtp.getDelivered().size() < total) {
+                Thread.sleep(10);
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%d e-mails em %.1f s (%.0f/min), %d conexões, submit mais lento %.3f ms%n",
+                    total, seconds, total / seconds * 60, smtp.getConnections(), maxSubmit / 1e6);
+            dispatcher.shutdown();
+        }
+    }
+}
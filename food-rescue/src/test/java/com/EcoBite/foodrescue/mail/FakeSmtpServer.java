@@ -0,0 +1,102 @@
+package com.EcoBite.foodrescue.mail;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Servidor SMTP mínimo para testes: aceita tudo, guarda os destinatários entregues e
+ * pode recusar as primeiras N mensagens com 451 (falha temporária).
+ */
+public class FakeSmtpServer implements AutoCloseable {
+    private final ServerSocket server;
+    private final List<String> delivered = new CopyOnWriteArrayList<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicInteger transientFailures = new AtomicInteger();
+
+    public FakeSmtpServer() throws IOException {
+        server = new ServerSocket(0);
+        Thread acceptor = new Thread(this::accept, "fake-smtp");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    public int getPort() { return server.getLocalPort(); }
+    public List<String> getDelivered() { return delivered; }
+    public int getConnections() { return connections.get(); }
+
+    public void failNext(int messages) {
+        transientFailures.set(messages);
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.close();
+    }
+
+    private void accept() {
+        while (!server.isClosed()) {
+            try {
+                Socket socket = server.accept();
+                connections.incrementAndGet();
+                Thread session = new Thread(() -> serve(socket), "fake-smtp-session");
+                session.setDaemon(true);
+                session.start();
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (Socket s = socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(s.getInputStream(), StandardCharsets.US_ASCII));
+             PrintWriter out = new PrintWriter(s.getOutputStream(), true)) {
+            reply(out, "220 fake ESMTP");
+            String recipient = null;
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.toUpperCase();
+                if (command.startsWith("EHLO") || command.startsWith("HELO")) {
+                    reply(out, "250 fake");
+                } else if (command.startsWith("MAIL FROM")) {
+                    recipient = null;
+                    reply(out, "250 OK");
+                } else if (command.startsWith("RCPT TO")) {
+                    recipient = line.substring(line.indexOf('<') + 1, line.indexOf('>'));
+                    reply(out, "250 OK");
+                } else if (command.equals("DATA")) {
+                    reply(out, "354 fim com <CRLF>.<CRLF>");
+                    while ((line = in.readLine()) != null && !line.equals(".")) {
+                        // corpo ignorado
+                    }
+                    if (transientFailures.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+                        reply(out, "451 4.3.0 tente mais tarde");
+                    } else {
+                        delivered.add(recipient);
+                        reply(out, "250 OK");
+                    }
+                } else if (command.equals("QUIT")) {
+                    reply(out, "221 tchau");
+                    return;
+                } else {
+                    reply(out, "250 OK"); // RSET, NOOP
+                }
+            }
+        } catch (IOException e) {
+            // cliente fechou
+        }
+    }
+
+    private static void reply(PrintWriter out, String line) {
+        out.print(line + "\r\n");
+        out.flush();
+    }
+}
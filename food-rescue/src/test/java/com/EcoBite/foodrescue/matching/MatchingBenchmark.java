@@ -0,0 +1,43 @@
+package com.EcoBite.foodrescue.matching;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 50 mil ofertas x 20 mil voluntários numa região metropolitana (pior caso de
+ * densidade). Não roda no {@code mvn test}; ver {@code RateLimiterBenchmark} para
+ * a linha de comando.
+ */
+public class MatchingBenchmark {
+
+    public static void main(String[] args) {
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.now();
+        List<MatchOffer> offers = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            offers.add(new MatchOffer("o" + i, -23.9 + random.nextDouble() * 0.7, -46.9 + random.nextDouble() * 0.7,
+                    now.plusMinutes(random.nextInt(24 * 60))));
+        }
+        List<MatchVolunteer> volunteers = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            volunteers.add(new MatchVolunteer("v" + i, -23.9 + random.nextDouble() * 0.7,
+                    -46.9 + random.nextDouble() * 0.7, 2 + random.nextInt(20)));
+        }
+
+        MatchingEngine engine = new MatchingEngine(Runtime.getRuntime().availableProcessors(), 2, 50, 16, 3,
+                Duration.ofMinutes(30));
+        try {
+            for (int round = 0; round < 5; round++) {
+                long start = System.nanoTime();
+                int matched = engine.match(offers, volunteers).size();
+                System.out.printf("round %d: %d sugestões em %d ms%n", round, matched,
+                        (System.nanoTime() - start) / 1_000_000);
+            }
+        } finally {
+            engine.shutdown();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.EcoBite.foodrescue.matching;
+
+import com.EcoBite.foodrescue.geo.GeoDistance;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MatchingEngineTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+    private final MatchingEngine engine = new MatchingEngine(2, 2, 50, 8, 1, Duration.ofMinutes(30));
+
+    @AfterEach
+    public void tearDown() {
+        engine.shutdown();
+    }
+
+    @Test
+    public void urgent_offer_wins_the_volunteer_and_radius_is_respected() {
+        List<MatchOffer> offers = List.of(
+                new MatchOffer("later-but-closer", -23.5500, -46.6330, NOW.plusHours(5)),
+                new MatchOffer("urgent", -23.5600, -46.6330, NOW.plusMinutes(20)));
+        List<MatchVolunteer> volunteers = List.of(
+                new MatchVolunteer("ana", -23.5505, -46.6333, 5),
+                new MatchVolunteer("far-away", -22.9068, -43.1729, 10));
+
+        List<MatchSuggestion> suggestions = engine.match(offers, volunteers);
+
+        assertEquals(1, suggestions.size());
+        assertEquals("urgent", suggestions.get(0).getOfferId());
+        assertEquals("ana", suggestions.get(0).getVolunteerId());
+    }
+
+    @Test
+    public void same_window_prefers_shorter_total_distance() {
+        // a1 está mais perto de o1, mas atribuir o1 primeiro (por prazo) mandaria o2 para a2, longe;
+        // ordenando os pares da janela por distância, o2-a1 vem antes e o total cai de ~0,08° para ~0,04°
+        List<MatchOffer> offers = List.of(
+                new MatchOffer("o1", 0.0, 0.0, NOW.plusMinutes(10)),
+                new MatchOffer("o2", 0.0, 0.03, NOW.plusMinutes(15)));
+        List<MatchVolunteer> volunteers = List.of(
+                new MatchVolunteer("a1", 0.0, 0.02, 10),
+                new MatchVolunteer("a2", 0.0, -0.03, 10));
+
+        List<MatchSuggestion> suggestions = engine.match(offers, volunteers);
+
+        assertEquals(2, suggestions.size());
+        for (MatchSuggestion s : suggestions) {
+            assertEquals(s.getOfferId().equals("o1") ? "a2" : "a1", s.getVolunteerId());
+        }
+    }
+
+    @Test
+    public void grid_search_agrees_with_brute_force() {
+        Random random = new Random(7);
+        List<MatchVolunteer> volunteers = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            volunteers.add(new MatchVolunteer("v" + i, -24 + random.nextDouble(), -47 + random.nextDouble(),
+                    1 + random.nextInt(20)));
+        }
+        VolunteerGrid grid = new VolunteerGrid(volunteers, 2, 50);
+        int[] ids = new int[8];
+        double[] distances = new double[8];
+        for (int q = 0; q < 200; q++) {
+            double lat = -24 + random.nextDouble();
+            double lon = -47 + random.nextDouble();
+            int found = grid.nearest(lat, lon, 50, ids, distances);
+
+            double[] expected = volunteers.stream()
+                    .mapToDouble(v -> GeoDistance.haversineKm(lat, lon, v.getLatitude(), v.getLongitude())
+                            <= v.getMaxDistanceKm()
+                            ? GeoDistance.haversineKm(lat, lon, v.getLatitude(), v.getLongitude()) : Double.NaN)
+                    .filter(d -> !Double.isNaN(d))
+                    .sorted().limit(8).toArray();
+            assertArrayEquals(expected, Arrays.copyOf(distances, found), 1e-9);
+        }
+    }
+}
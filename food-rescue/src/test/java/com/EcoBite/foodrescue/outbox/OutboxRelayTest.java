@@ -0,0 +1,106 @@
+package com.EcoBite.foodrescue.outbox;
+
+import com.EcoBite.foodrescue.model.OutboxEvent;
+import com.EcoBite.foodrescue.model.OutboxStatus;
+import com.EcoBite.foodrescue.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Relay contra o H2 do teste, com commits reais (sem a transação do {@code @DataJpaTest}).
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class OutboxRelayTest {
+
+    @Autowired
+    private OutboxEventRepository repo;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<String> delivered = new ArrayList<>();
+
+    @AfterEach
+    public void tearDown() {
+        repo.deleteAll();
+    }
+
+    @Test
+    public void delivers_in_order_per_offer_and_retries_failures() {
+        append("a", "a1");
+        append("a", "a2");
+        append("b", "b1");
+        // a1 falha na primeira entrega
+        OutboxRelay relay = relay(message -> {
+            String name = (String) message.getPayload().get("name");
+            if (name.equals("a1") && message.getAttempt() == 1) {
+                throw new IllegalStateException("indisponível");
+            }
+            delivered.add(name);
+        }, 10);
+
+        assertEquals(2, relay.relayBatch()); // a1 e b1; a2 espera a1
+        assertEquals(List.of("b1"), delivered);
+        assertEquals(2, repo.count());
+
+        relay.relayBatch();
+        relay.relayBatch();
+        assertEquals(List.of("b1", "a1", "a2"), delivered);
+        assertEquals(0, repo.count());
+    }
+
+    @Test
+    public void gives_up_after_max_attempts_and_unblocks_the_offer() {
+        append("a", "a1");
+        append("a", "a2");
+        OutboxRelay relay = relay(message -> {
+            if (message.getPayload().get("name").equals("a1")) {
+                throw new IllegalStateException("sempre falha");
+            }
+            delivered.add((String) message.getPayload().get("name"));
+        }, 2);
+
+        relay.relayBatch();
+        relay.relayBatch();
+        OutboxEvent dead = repo.findAll().get(0);
+        assertEquals(OutboxStatus.DEAD, dead.getStatus());
+        assertTrue(dead.getLastError().contains("sempre falha"));
+
+        relay.relayBatch();
+        assertEquals(List.of("a2"), delivered);
+        assertEquals(0, repo.countByStatus(OutboxStatus.PENDING));
+    }
+
+    private void append(String offerId, String name) {
+        OutboxPublisher publisher = new OutboxPublisher(repo, new ObjectMapper(), new SimpleMeterRegistry());
+        new TransactionTemplate(transactionManager).executeWithoutResult(s ->
+                publisher.append(OfferEvents.AGGREGATE, offerId, OfferEvents.STATUS_CHANGED, Map.of("name", name)));
+    }
+
+    private OutboxRelay relay(OutboxListener listener, int maxAttempts) {
+        OutboxProperties props = new OutboxProperties();
+        props.setMaxAttempts(maxAttempts);
+        props.setRetryBackoff(Duration.ZERO);
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("listener", listener);
+        return new OutboxRelay(repo, beans.getBeanProvider(OutboxListener.class), new ObjectMapper(),
+                transactionManager, props, new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,93 @@
+package com.EcoBite.foodrescue.ratelimit;
+
+import com.EcoBite.foodrescue.web.ClientKeys;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.server.PathContainer;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LocalRateLimitStoreTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private final AtomicLong clock = new AtomicLong(42 * SECOND);
+    private final RateLimitRule rule = new RateLimitRule("claim-offer", "POST", "/api/claims/offer/{offerId}", 3, 1);
+
+    @Test
+    public void burst_then_refill_per_client() {
+        LocalRateLimitStore store = new LocalRateLimitStore(List.of(rule), 4, 1000, clock::get);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, store.tryAcquire(rule, "ip:a"));
+        }
+        assertEquals(SECOND, store.tryAcquire(rule, "ip:a"));
+        assertEquals(0, store.tryAcquire(rule, "ip:b"));
+
+        clock.addAndGet(SECOND);
+        assertEquals(0, store.tryAcquire(rule, "ip:a"));
+        assertTrue(store.tryAcquire(rule, "ip:a") > 0);
+    }
+
+    @Test
+    public void map_stays_bounded_and_full_buckets_are_dropped() {
+        LocalRateLimitStore store = new LocalRateLimitStore(List.of(rule), 2, 10, clock::get);
+
+        for (int i = 0; i < 1000; i++) {
+            store.tryAcquire(rule, "ip:" + i);
+        }
+        assertTrue(store.trackedClients() <= 10);
+
+        clock.addAndGet(10 * SECOND);
+        store.tryAcquire(rule, "ip:new-1");
+        store.tryAcquire(rule, "ip:new-2");
+        assertTrue(store.trackedClients() <= 2);
+    }
+
+    @Test
+    public void full_stripe_is_swept_at_most_once_per_quarter_of_its_size() {
+        ClientBuckets buckets = new ClientBuckets(1, 400, clock.get());
+        for (int i = 0; i < 400; i++) {
+            // baldes em uso: nada para descartar
+            rule.tryAcquire(buckets.bucket("ip:" + i, clock.get()), clock.get());
+        }
+        for (int i = 0; i < 10_000; i++) {
+            buckets.bucket("ip:novo-" + i, clock.get());
+        }
+        assertEquals(400, buckets.size());
+        assertTrue(buckets.sweeps() <= 10_000 / 100 + 1, "varreduras " + buckets.sweeps());
+    }
+
+    @Test
+    public void rotating_client_id_header_does_not_get_a_new_bucket() {
+        LocalRateLimitStore store = new LocalRateLimitStore(List.of(rule), 4, 1000, clock::get);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, store.tryAcquire(rule, ClientKeys.limitKey(request("10.0.0.1", "integracao-" + i))));
+        }
+        assertTrue(store.tryAcquire(rule, ClientKeys.limitKey(request("10.0.0.1", "integracao-99"))) > 0);
+        assertEquals(0, store.tryAcquire(rule, ClientKeys.limitKey(request("10.0.0.2", null))));
+
+        // como identidade (idempotência, read-your-writes) o header só vale junto do IP
+        assertNotEquals(ClientKeys.resolve(request("10.0.0.1", "a")), ClientKeys.resolve(request("10.0.0.2", "a")));
+    }
+
+    private static MockHttpServletRequest request(String ip, String clientId) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/claims/offer/1");
+        request.setRemoteAddr(ip);
+        if (clientId != null) {
+            request.addHeader(ClientKeys.CLIENT_ID_HEADER, clientId);
+        }
+        return request;
+    }
+
+    @Test
+    public void path_and_method_matching() {
+        assertTrue(rule.matchesMethod("POST"));
+        assertFalse(rule.matchesMethod("GET"));
+        assertTrue(rule.matchesPath(PathContainer.parsePath("/api/claims/offer/abc")));
+        assertFalse(rule.matchesPath(PathContainer.parsePath("/api/claims/offer")));
+    }
+}
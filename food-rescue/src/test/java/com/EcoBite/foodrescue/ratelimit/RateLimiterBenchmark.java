@@ -0,0 +1,56 @@
+package com.EcoBite.foodrescue.ratelimit;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Custo por verificação do {@link LocalRateLimitStore} (lookup do balde + CAS), com
+ * 10 mil clientes e todas as CPUs disputando a mesma rota. Não roda no {@code mvn test}:
+ *
+ * <pre>
+ * mvn -q test-compile
+ * java -cp "target/classes:target/test-classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout)" \
+ *     com.EcoBite.foodrescue.ratelimit.RateLimiterBenchmark
+ * </pre>
+ */
+public class RateLimiterBenchmark {
+
+    private static final int CLIENTS = 10_000;
+    private static final int CHECKS_PER_THREAD = 5_000_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        RateLimitRule rule = new RateLimitRule("create-offer", "POST", "/api/offers", 20, 2);
+        LocalRateLimitStore store = new LocalRateLimitStore(List.of(rule), 16, 100_000);
+        String[] clients = new String[CLIENTS];
+        for (int i = 0; i < CLIENTS; i++) {
+            clients[i] = "ip:10.0." + (i / 256) + "." + (i % 256);
+        }
+
+        for (int round = 0; round < 3; round++) {
+            run(store, rule, clients, 1);
+        }
+        int threads = Runtime.getRuntime().availableProcessors();
+        System.out.printf("1 thread:  %.1f ns/check%n", run(store, rule, clients, 1));
+        System.out.printf("%d threads: %.1f ns/check (por thread)%n", threads, run(store, rule, clients, threads));
+    }
+
+    private static double run(LocalRateLimitStore store, RateLimitRule rule, String[] clients, int threads)
+            throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(threads);
+        long[] sink = new long[threads];
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            final int id = t;
+            new Thread(() -> {
+                long acc = 0;
+                for (int i = 0; i < CHECKS_PER_THREAD; i++) {
+                    acc += store.tryAcquire(rule, clients[(i * 31 + id) % CLIENTS]);
+                }
+                sink[id] = acc;
+                done.countDown();
+            }).start();
+        }
+        done.await();
+        return (double) (System.nanoTime() - start) / CHECKS_PER_THREAD;
+    }
+}
@@ -0,0 +1,113 @@
+package com.EcoBite.foodrescue.registration;
+
+import com.EcoBite.foodrescue.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class EmailRegistryTest {
+
+    @Test
+    public void filter_has_no_false_negatives_and_bounded_false_positives() {
+        EmailBloomFilter filter = new EmailBloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("user" + i + "@example.com");
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("user" + i + "@example.com"));
+        }
+        assertTrue(filter.mightContain("  USER42@Example.com "));
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("other" + i + "@example.org")) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 2_000, "falsos positivos: " + falsePositives);
+    }
+
+    @Test
+    public void only_possible_matches_reach_the_database() {
+        UserRepository repo = mock(UserRepository.class);
+        List<String> emails = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            emails.add("user" + i + "@example.com");
+        }
+        when(repo.findAllEmails()).thenReturn(emails);
+        when(repo.existsByEmail("user7@example.com")).thenReturn(true);
+        EmailRegistry registry = new EmailRegistry(repo, new SimpleMeterRegistry(), 1_000, 0.01);
+
+        // antes de carregar, tudo vai ao banco
+        assertFalse(registry.exists("new@example.com"));
+        verify(repo).existsByEmail("new@example.com");
+
+        registry.rebuild();
+        clearInvocations(repo);
+        for (int i = 0; i < 100; i++) {
+            registry.exists("new" + i + "@example.org");
+        }
+        verify(repo, atMost(5)).existsByEmail(anyString());
+
+        assertTrue(registry.exists("user7@example.com"));
+        verify(repo).existsByEmail("user7@example.com");
+
+        registry.registered("fresh@example.com");
+        when(repo.existsByEmail("fresh@example.com")).thenReturn(true);
+        assertTrue(registry.exists("fresh@example.com"));
+    }
+
+    @Test
+    public void registered_email_is_added_once_after_commit() {
+        UserRepository repo = mock(UserRepository.class);
+        when(repo.findAllEmails()).thenReturn(List.of());
+        SimpleMeterRegistry meters = new SimpleMeterRegistry();
+        EmailRegistry registry = new EmailRegistry(repo, meters, 1_000, 0.01);
+        registry.rebuild();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            registry.registered("fresh@example.com");
+            assertEquals(0.0, fill(meters));
+            for (TransactionSynchronization sync : TransactionSynchronizationManager.getSynchronizations()) {
+                sync.afterCommit();
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(1.0 / 1_000, fill(meters));
+        when(repo.existsByEmail("fresh@example.com")).thenReturn(true);
+        assertTrue(registry.exists("fresh@example.com"));
+    }
+
+    @Test
+    public void only_the_email_constraint_means_email_in_use() {
+        DataIntegrityViolationException jpa = new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("duplicate", new SQLException("duplicate"),
+                        "\"PUBLIC.UK_USERS_EMAIL_INDEX_4 ON PUBLIC.USERS(EMAIL NULLS FIRST)\""));
+        DataIntegrityViolationException jdbc = new DuplicateKeyException("batch",
+                new SQLException("duplicate key value violates unique constraint \"uk_users_email\""));
+        DataIntegrityViolationException other = new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("too long", new SQLException("Value too long for column NAME"), null));
+
+        assertTrue(EmailRegistry.isDuplicateEmail(jpa));
+        assertTrue(EmailRegistry.isDuplicateEmail(jdbc));
+        assertFalse(EmailRegistry.isDuplicateEmail(other));
+    }
+
+    private static double fill(SimpleMeterRegistry meters) {
+        return meters.get("foodrescue.users.email.filter.fill").gauge().value();
+    }
+}
@@ -0,0 +1,186 @@
+package com.EcoBite.foodrescue.reminder;
+
+import com.EcoBite.foodrescue.jobs.DelayedJob;
+import com.EcoBite.foodrescue.jobs.DelayedJobQueue;
+import com.EcoBite.foodrescue.model.Claim;
+import com.EcoBite.foodrescue.model.NotificationType;
+import com.EcoBite.foodrescue.model.Offer;
+import com.EcoBite.foodrescue.model.OfferStatus;
+import com.EcoBite.foodrescue.model.User;
+import com.EcoBite.foodrescue.model.UserRole;
+import com.EcoBite.foodrescue.outbox.OfferEvents;
+import com.EcoBite.foodrescue.outbox.OutboxMessage;
+import com.EcoBite.foodrescue.repository.ClaimRepository;
+import com.EcoBite.foodrescue.repository.OfferRepository;
+import com.EcoBite.foodrescue.repository.UserRepository;
+import com.EcoBite.foodrescue.service.NotificationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class ReminderServiceTest {
+
+    private final DelayedJobQueue jobs = mock(DelayedJobQueue.class);
+    private final OfferRepository offers = mock(OfferRepository.class);
+    private final ClaimRepository claims = mock(ClaimRepository.class);
+    private final UserRepository users = mock(UserRepository.class);
+    private final NotificationService notifications = mock(NotificationService.class);
+
+    private final User donor = new User("Padaria", "Padaria@Example.com", "x", UserRole.DONOR);
+    private final User volunteer = new User("Ana", "ana@example.com", "x", UserRole.VOLUNTEER);
+
+    private ReminderService service;
+
+    @BeforeEach
+    public void setUp() {
+        service = new ReminderService(jobs, mock(PlatformTransactionManager.class), offers, claims, users,
+                notifications, Duration.ofHours(1), Duration.ofMinutes(30), Duration.ofHours(2));
+        when(users.findByLowercaseEmailIn(List.of("padaria@example.com"))).thenReturn(List.of(donor));
+        when(users.findByLowercaseEmailIn(List.of("ana@example.com"))).thenReturn(List.of(volunteer));
+    }
+
+    @Test
+    public void offer_created_schedules_the_expiry_reminder_unless_already_due() {
+        LocalDateTime pickupBy = LocalDateTime.now().plusHours(3).withNano(0);
+        service.on(created("o1", pickupBy));
+        verify(jobs).schedule(ReminderService.OFFER_EXPIRING, "o1", pickupBy.minusHours(1));
+
+        // prazo mais curto que a antecedência: o lembrete já devia ter saído
+        service.on(created("o2", LocalDateTime.now().plusMinutes(20)));
+        verify(jobs, never()).schedule(anyString(), eq("o2"), any());
+    }
+
+    @Test
+    public void offer_claimed_schedules_pickup_and_hold_reminders() {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        Offer offer = offer("o1", OfferStatus.RESERVED, now.plusHours(5));
+        Claim claim = claim("c1", "o1", now);
+        when(claims.findById("c1")).thenReturn(Optional.of(claim));
+        when(offers.findById("o1")).thenReturn(Optional.of(offer));
+
+        service.on(claimed("o1", "c1"));
+
+        verify(jobs).schedule(ReminderService.PICKUP_SOON, "c1", now.plusHours(5).minusMinutes(30));
+        verify(jobs).schedule(ReminderService.HOLD_ENDING, "c1", now.plusHours(2).minusMinutes(30));
+    }
+
+    @Test
+    public void hold_reminder_is_skipped_when_the_window_outlasts_the_pickup() {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        when(claims.findById("c1")).thenReturn(Optional.of(claim("c1", "o1", now)));
+        when(offers.findById("o1")).thenReturn(Optional.of(offer("o1", OfferStatus.RESERVED, now.plusHours(1))));
+
+        service.on(claimed("o1", "c1"));
+
+        verify(jobs).schedule(ReminderService.PICKUP_SOON, "c1", now.plusMinutes(30));
+        verify(jobs, never()).schedule(eq(ReminderService.HOLD_ENDING), anyString(), any());
+    }
+
+    @Test
+    public void expiry_reminder_goes_to_the_donor_only_while_available() {
+        LocalDateTime pickupBy = LocalDateTime.now().plusMinutes(50);
+        Offer offer = offer("o1", OfferStatus.AVAILABLE, pickupBy);
+        when(offers.findById("o1")).thenReturn(Optional.of(offer));
+
+        service.run(job(ReminderService.OFFER_EXPIRING, "o1"));
+        verify(notifications).notify(eq(donor), eq(NotificationType.REMINDER), eq("Oferta expira em breve"), anyString());
+
+        clearInvocations(notifications);
+        offer.setStatus(OfferStatus.RESERVED);
+        service.run(job(ReminderService.OFFER_EXPIRING, "o1"));
+        verifyNoInteractions(notifications);
+    }
+
+    @Test
+    public void volunteer_reminders_go_out_only_for_an_open_claim_on_a_reserved_offer() {
+        LocalDateTime now = LocalDateTime.now();
+        Offer offer = offer("o1", OfferStatus.RESERVED, now.plusHours(5));
+        Claim claim = claim("c1", "o1", now);
+        when(claims.findById("c1")).thenReturn(Optional.of(claim));
+        when(offers.findById("o1")).thenReturn(Optional.of(offer));
+
+        service.run(job(ReminderService.PICKUP_SOON, "c1"));
+        verify(notifications).notify(eq(volunteer), eq(NotificationType.REMINDER), eq("Retirada em breve"), anyString());
+        service.run(job(ReminderService.HOLD_ENDING, "c1"));
+        verify(notifications).notify(eq(volunteer), eq(NotificationType.REMINDER), eq("Reserva perto de vencer"), anyString());
+
+        clearInvocations(notifications);
+        offer.setStatus(OfferStatus.IN_TRANSIT);
+        service.run(job(ReminderService.PICKUP_SOON, "c1"));
+
+        offer.setStatus(OfferStatus.RESERVED);
+        claim.setExpiredAt(now);
+        service.run(job(ReminderService.HOLD_ENDING, "c1"));
+        verifyNoInteractions(notifications);
+    }
+
+    @Test
+    public void contacts_without_a_registered_user_get_nothing() {
+        Offer offer = offer("o1", OfferStatus.AVAILABLE, LocalDateTime.now().plusMinutes(50));
+        offer.setDonorContact("(11) 99999-0000");
+        Offer unknown = offer("o2", OfferStatus.AVAILABLE, LocalDateTime.now().plusMinutes(50));
+        unknown.setDonorContact("outra@example.com");
+        when(offers.findById("o1")).thenReturn(Optional.of(offer));
+        when(offers.findById("o2")).thenReturn(Optional.of(unknown));
+
+        service.run(job(ReminderService.OFFER_EXPIRING, "o1"));
+        service.run(job(ReminderService.OFFER_EXPIRING, "o2"));
+
+        // só o contato com e-mail vai ao banco
+        verify(users, times(1)).findByLowercaseEmailIn(anyCollection());
+        verifyNoInteractions(notifications);
+    }
+
+    @Test
+    public void recipient_is_matched_by_normalized_email() {
+        Offer offer = offer("o1", OfferStatus.AVAILABLE, LocalDateTime.now().plusMinutes(50));
+        offer.setDonorContact("  Padaria@Example.COM ");
+        when(offers.findById("o1")).thenReturn(Optional.of(offer));
+
+        service.run(job(ReminderService.OFFER_EXPIRING, "o1"));
+
+        verify(notifications).notify(eq(donor), eq(NotificationType.REMINDER), anyString(), anyString());
+    }
+
+    private static OutboxMessage created(String offerId, LocalDateTime pickupBy) {
+        return new OutboxMessage(1, OfferEvents.AGGREGATE, offerId, OfferEvents.CREATED,
+                Map.of("pickupBy", pickupBy.toString()), LocalDateTime.now(), 0);
+    }
+
+    private static OutboxMessage claimed(String offerId, String claimId) {
+        return new OutboxMessage(2, OfferEvents.AGGREGATE, offerId, OfferEvents.CLAIMED,
+                Map.of("claimId", claimId), LocalDateTime.now(), 0);
+    }
+
+    private static DelayedJob job(String type, String referenceId) {
+        return new DelayedJob(1, type, referenceId, LocalDateTime.now(), 0, null);
+    }
+
+    private static Offer offer(String id, OfferStatus status, LocalDateTime pickupBy) {
+        Offer offer = new Offer();
+        offer.setId(id);
+        offer.setDescription("Pães");
+        offer.setDonorContact("padaria@example.com");
+        offer.setStatus(status);
+        offer.setPickupBy(pickupBy);
+        return offer;
+    }
+
+    private static Claim claim(String id, String offerId, LocalDateTime reservedAt) {
+        Claim claim = new Claim();
+        claim.setId(id);
+        claim.setOfferId(offerId);
+        claim.setVolunteerContact("ana@example.com");
+        claim.setReservedAt(reservedAt);
+        return claim;
+    }
+}
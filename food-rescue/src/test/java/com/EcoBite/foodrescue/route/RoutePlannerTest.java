@@ -0,0 +1,64 @@
+package com.EcoBite.foodrescue.route;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RoutePlannerTest {
+
+    private final RoutePlanner planner = new RoutePlanner(2, 64);
+
+    @AfterEach
+    public void tearDown() {
+        planner.shutdown();
+    }
+
+    @Test
+    public void respects_pickup_deadline_and_capacity() {
+        // 0: perto, prazo folgado; 1: a ~11 km com prazo de 5 min (inalcançável a 30 km/h);
+        // 2: perto mas com mais porções do que cabem junto com a 0
+        RouteProblem problem = new RouteProblem(0, 0,
+                new double[]{0.01, 0.1, 0.0},
+                new double[]{0.0, 0.0, 0.01},
+                new int[]{3, 5, 8},
+                new double[]{3600, 300, 3600},
+                30, 300, 7200, 10);
+
+        PlannedRoute route = planner.plan(problem, Duration.ofMillis(100));
+
+        assertArrayEquals(new int[]{3}, route.getStops());
+        assertEquals(8, route.getPortions());
+    }
+
+    @Test
+    public void hundreds_of_stops_within_time_limit() {
+        Random random = new Random(3);
+        int n = 400;
+        double[] lat = new double[n];
+        double[] lon = new double[n];
+        int[] portions = new int[n];
+        double[] deadline = new double[n];
+        for (int i = 0; i < n; i++) {
+            lat[i] = -23.55 + (random.nextDouble() - 0.5) * 0.15;
+            lon[i] = -46.63 + (random.nextDouble() - 0.5) * 0.15;
+            portions[i] = 1 + random.nextInt(5);
+            deadline[i] = 600 + random.nextInt(3 * 3600);
+        }
+        RouteProblem problem = new RouteProblem(-23.55, -46.63, lat, lon, portions, deadline, 30, 180, 2 * 3600, 40);
+
+        long start = System.nanoTime();
+        PlannedRoute route = planner.plan(problem, Duration.ofMillis(150));
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(elapsedMs < 200, "took " + elapsedMs + " ms");
+        assertTrue(route.getStops().length > 5);
+        assertTrue(route.getPortions() <= 40);
+        assertTrue(problem.duration(route.getStops(), route.getStops().length) <= 2 * 3600);
+        assertEquals(route.getStops().length, Arrays.stream(route.getStops()).distinct().count());
+    }
+}
@@ -0,0 +1,71 @@
+package com.EcoBite.foodrescue.search;
+
+import com.EcoBite.foodrescue.model.Offer;
+import com.EcoBite.foodrescue.model.OfferStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OfferSearchIndexTest {
+
+    private final OfferSearchIndex index = new OfferSearchIndex();
+
+    @Test
+    public void folds_accents_and_plurals() {
+        assertEquals(List.of("pao", "frances", "fruta", "maca"), TextAnalyzer.terms("Pães Franceses e Frutas: maçã"));
+
+        Offer bread = index(offer("Pães franceses do dia", -23.55, -46.63));
+        Offer meal = index(offer("Marmita com arroz e feijão", -23.55, -46.63));
+
+        assertEquals(List.of(bread.getId()), ids(index.search("pão", null, null, null, 10)));
+        assertEquals(List.of(meal.getId()), ids(index.search("MARMITAS", null, null, null, 10)));
+        assertTrue(index.search("de", null, null, null, 10).isEmpty());
+    }
+
+    @Test
+    public void ranks_by_bm25_and_tracks_updates() {
+        Offer basket = index(offer("Cesta com frutas, legumes, verduras, pães, leite e ovos da feira", -23.55, -46.63));
+        Offer fruits = index(offer("Frutas variadas", -23.55, -46.63));
+        index(offer("Marmitas", -23.55, -46.63));
+
+        assertEquals(List.of(fruits.getId(), basket.getId()), ids(index.search("frutas", null, null, null, 10)));
+        assertEquals(List.of(basket.getId(), fruits.getId()), ids(index.search("frutas leite", null, null, null, 10)));
+
+        fruits.setDescription("Frutas variadas e maduras");
+        index.put(fruits);
+        assertEquals(List.of(fruits.getId()), ids(index.search("maduras", null, null, null, 10)));
+
+        index.remove(fruits.getId());
+        assertEquals(List.of(basket.getId()), ids(index.search("frutas", null, null, null, 10)));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    public void geo_radius_filter() {
+        Offer saoPaulo = index(offer("Frutas", -23.55, -46.63));
+        index(offer("Frutas", -22.90, -43.17));
+
+        assertEquals(List.of(saoPaulo.getId()), ids(index.search("frutas", -23.56, -46.64, 10.0, 10)));
+    }
+
+    private static List<String> ids(List<Offer> offers) {
+        return offers.stream().map(Offer::getId).collect(Collectors.toList());
+    }
+
+    private Offer index(Offer offer) {
+        index.put(offer);
+        return offer;
+    }
+
+    static Offer offer(String description, double lat, double lon) {
+        Offer offer = new Offer();
+        offer.setDescription(description);
+        offer.setLatitude(lat);
+        offer.setLongitude(lon);
+        offer.setStatus(OfferStatus.AVAILABLE);
+        return offer;
+    }
+}
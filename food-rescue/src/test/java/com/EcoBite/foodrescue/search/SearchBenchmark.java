@@ -0,0 +1,42 @@
+package com.EcoBite.foodrescue.search;
+
+import java.util.Random;
+
+/**
+ * Latência de busca com 100 mil ofertas indexadas. Não roda no {@code mvn test};
+ * ver {@code RateLimiterBenchmark} para a linha de comando.
+ */
+public class SearchBenchmark {
+    private static final String[] WORDS = {
+            "pão", "pães", "marmita", "marmitas", "frutas", "legumes", "verduras", "arroz", "feijão", "leite",
+            "ovos", "bolo", "salgados", "sopa", "carne", "frango", "peixe", "massa", "macarrão", "queijo",
+            "iogurte", "suco", "café", "biscoito", "banana", "maçã", "laranja", "tomate", "batata", "cenoura"};
+
+    public static void main(String[] args) {
+        Random random = new Random(1);
+        OfferSearchIndex index = new OfferSearchIndex();
+        for (int i = 0; i < 100_000; i++) {
+            StringBuilder description = new StringBuilder();
+            int words = 3 + random.nextInt(10);
+            for (int w = 0; w < words; w++) {
+                description.append(WORDS[random.nextInt(WORDS.length)]).append(w % 3 == 0 ? " com " : " ");
+            }
+            index.put(OfferSearchIndexTest.offer(description.toString(),
+                    -23.9 + random.nextDouble() * 0.7, -46.9 + random.nextDouble() * 0.7));
+        }
+        String[] queries = {"pão", "marmita", "frutas", "arroz feijão", "leite ovos queijo"};
+        for (int round = 0; round < 20; round++) {
+            for (String q : queries) {
+                long start = System.nanoTime();
+                int hits = index.search(q, null, null, null, 20).size();
+                long plain = System.nanoTime() - start;
+                start = System.nanoTime();
+                index.search(q, -23.55, -46.63, 5.0, 20);
+                long geo = System.nanoTime() - start;
+                if (round == 19) {
+                    System.out.printf("%-20s %2d hits  %5.2f ms  (com raio: %5.2f ms)%n", q, hits, plain / 1e6, geo / 1e6);
+                }
+            }
+        }
+    }
+}
@@ -1,14 +1,30 @@
 package com.EcoBite.foodrescue.service;
 
+import com.EcoBite.foodrescue.archive.OfferArchiveStore;
+import com.EcoBite.foodrescue.audit.OfferAuditService;
 import com.EcoBite.foodrescue.dto.CreateOfferRequest;
+import com.EcoBite.foodrescue.expiry.OfferExpiryService;
+import com.EcoBite.foodrescue.expiry.ReservationHoldService;
+import com.EcoBite.foodrescue.heatmap.HeatmapService;
 import com.EcoBite.foodrescue.model.Offer;
+import com.EcoBite.foodrescue.model.OfferStatus;
+import com.EcoBite.foodrescue.outbox.OfferEvents;
+import com.EcoBite.foodrescue.outbox.OutboxPublisher;
 import com.EcoBite.foodrescue.repository.OfferRepository;
+import com.EcoBite.foodrescue.repository.OutboxEventRepository;
+import com.EcoBite.foodrescue.repository.UserRepository;
+import com.EcoBite.foodrescue.search.OfferSearchService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.time.LocalDateTime;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
 
 @DataJpaTest
 public class OfferServiceTest {
@@ -16,9 +32,21 @@ public class OfferServiceTest {
     @Autowired
     private OfferRepository repo;
 
+    @Autowired
+    private OutboxEventRepository outboxRepo;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbc;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     @Test
     public void createOffer_and_find() {
-        OfferService service = new OfferService(repo);
+        OfferService service = service();
 
         CreateOfferRequest req = new CreateOfferRequest();
         req.setDonorName("Restaurante A");
@@ -36,5 +64,39 @@ public class OfferServiceTest {
         assertNotNull(found);
         assertEquals(created.getId(), found.getId());
         assertEquals("AVAILABLE", found.getStatus().name());
+
+        // evento gravado junto com a oferta
+        assertEquals(1, outboxRepo.count());
+        assertEquals(OfferEvents.CREATED, outboxRepo.findAll().get(0).getEventType());
+    }
+
+    @Test
+    public void terminal_offers_do_not_move() {
+        OfferService service = service();
+        for (OfferStatus terminal : new OfferStatus[]{OfferStatus.EXPIRED, OfferStatus.DELIVERED, OfferStatus.CANCELLED}) {
+            Offer offer = new Offer();
+            offer.setDonorName("Padaria");
+            offer.setPortions(5);
+            offer.setStatus(terminal);
+            offer.setCreatedAt(LocalDateTime.now().minusHours(3));
+            offer.setPickupBy(LocalDateTime.now().minusHours(1));
+            repo.save(offer);
+
+            assertThrows(IllegalStateException.class, () -> service.markReserved(offer.getId()));
+            assertThrows(IllegalStateException.class, () -> service.markInTransit(offer.getId()));
+            assertThrows(IllegalStateException.class, () -> service.markDelivered(offer.getId()));
+            assertThrows(IllegalStateException.class, () -> service.markCancelled(offer.getId()));
+            assertEquals(terminal, repo.findById(offer.getId()).orElseThrow().getStatus());
+        }
+        assertEquals(0, outboxRepo.count());
+    }
+
+    private OfferService service() {
+        return new OfferService(repo, new OfferMetrics(new SimpleMeterRegistry()),
+                new OfferSearchService(repo, new SimpleMeterRegistry()),
+                new HeatmapService(repo, userRepo, new SimpleMeterRegistry()),
+                new OutboxPublisher(outboxRepo, new ObjectMapper(), new SimpleMeterRegistry()),
+                new OfferArchiveStore(jdbc, transactionManager), mock(OfferExpiryService.class),
+                mock(ReservationHoldService.class), mock(OfferAuditService.class));
     }
 }
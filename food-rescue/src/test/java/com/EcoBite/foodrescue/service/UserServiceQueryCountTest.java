@@ -0,0 +1,52 @@
+package com.EcoBite.foodrescue.service;
+
+import com.EcoBite.foodrescue.model.UserRole;
+import com.EcoBite.foodrescue.monitoring.SqlStatementCounter;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+public class UserServiceQueryCountTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private SqlStatementCounter counter;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    public void seed() {
+        for (int i = 0; i < 5; i++) {
+            userService.createUser("Voluntário " + i, "vol" + i + "@teste.com", "senha123", UserRole.VOLUNTEER);
+        }
+        userService.createUser("ONG", "ong@teste.com", "senha123", UserRole.ORGANIZATION);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    public void getAllUsers_runs_single_select() {
+        counter.reset();
+        assertEquals(6, userService.getAllUsers().size());
+        SqlStatementCounter.Counts counts = counter.current();
+        assertEquals(1, counts.getSelects(), counts.toString());
+        assertEquals(1, counts.getTotal(), counts.toString());
+    }
+
+    @Test
+    public void getUsersByRole_runs_single_select() {
+        counter.reset();
+        assertEquals(5, userService.getUsersByRole(UserRole.VOLUNTEER).size());
+        assertEquals(1, counter.current().getSelects());
+    }
+}
@@ -0,0 +1,218 @@
+package com.EcoBite.foodrescue.singleflight;
+
+import com.EcoBite.foodrescue.datasource.ReadYourWritesTracker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.transaction.TransactionExecution;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class SingleFlightGroupTest {
+
+    @Test
+    public void concurrent_calls_share_one_execution() throws Exception {
+        SingleFlightGroup group = new SingleFlightGroup();
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(32);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                results.add(pool.submit(() -> group.execute("stats", Duration.ofSeconds(5), () -> {
+                    executions.incrementAndGet();
+                    await(release);
+                    return "ok";
+                })));
+            }
+            // todos chegam enquanto o líder está preso
+            awaitUntil(() -> group.waiting() == 31);
+            release.countDown();
+            for (Future<String> result : results) {
+                assertEquals("ok", result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, executions.get());
+            assertEquals(0, group.inFlight());
+
+            // terminado o líder, nada fica guardado
+            assertEquals("de novo", group.execute("stats", Duration.ofSeconds(1), () -> "de novo"));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void failure_reaches_waiters_and_timeout_runs_alone() throws Exception {
+        SingleFlightGroup group = new SingleFlightGroup();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> leader = pool.submit(() -> group.execute("k", Duration.ofSeconds(5), () -> {
+                started.countDown();
+                await(release);
+                throw new IllegalStateException("banco fora");
+            }));
+            started.await();
+
+            List<SingleFlightGroup.Outcome> outcomes = new ArrayList<>();
+            // espera curta: desiste do líder e executa sozinho
+            assertEquals("sozinho", group.execute("k", Duration.ofMillis(20), () -> "sozinho", outcomes::add));
+            assertEquals(List.of(SingleFlightGroup.Outcome.TIMED_OUT), outcomes);
+
+            ExecutorService others = Executors.newSingleThreadExecutor();
+            try {
+                Future<String> follower = others.submit(() -> group.execute("k", Duration.ofSeconds(5), () -> "nunca"));
+                awaitUntil(() -> group.waiting() == 1);
+                release.countDown();
+                ExecutionException e = assertThrows(ExecutionException.class, () -> follower.get(5, TimeUnit.SECONDS));
+                assertEquals("banco fora", e.getCause().getMessage());
+                assertThrows(ExecutionException.class, leader::get);
+            } finally {
+                others.shutdownNow();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void aspect_keys_by_expression() throws Exception {
+        Counts target = new Counts();
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        SingleFlightGroup group = new SingleFlightGroup();
+        factory.addAspect(new SingleFlightAspect(group, new SimpleMeterRegistry(),
+                Duration.ofSeconds(5), true, new WriteEpoch(), null));
+        Counts proxy = factory.getProxy();
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            // o segundo argumento não entra na chave
+            Future<String> a = pool.submit(() -> proxy.stats(true, "a"));
+            Future<String> b = pool.submit(() -> proxy.stats(true, "b"));
+            Future<String> c = pool.submit(() -> proxy.stats(false, "c"));
+            // os dois líderes rodando e o terceiro preso a um deles
+            awaitUntil(() -> group.waiting() == 1 && group.inFlight() == 2);
+            target.release.countDown();
+            assertEquals(a.get(5, TimeUnit.SECONDS), b.get(5, TimeUnit.SECONDS));
+            assertTrue(c.get(5, TimeUnit.SECONDS).startsWith("false:"));
+            assertEquals(2, target.calls.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void client_inside_its_stickiness_window_does_not_join_the_leader() throws Exception {
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ofMinutes(1), 100);
+        Counts target = new Counts();
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addAspect(new SingleFlightAspect(new SingleFlightGroup(), new SimpleMeterRegistry(),
+                Duration.ofSeconds(5), true, new WriteEpoch(), tracker));
+        Counts proxy = factory.getProxy();
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> reader = pool.submit(() -> asClient("leitor", () -> proxy.stats(true, "a")));
+            target.started.await(5, TimeUnit.SECONDS);
+
+            // acabou de escrever: não pode receber o resultado do líder que já estava rodando
+            Future<String> writer = pool.submit(() -> asClient("escritor", () -> {
+                tracker.recordWrite();
+                return proxy.stats(true, "b");
+            }));
+            awaitUntil(() -> target.calls.get() == 2);
+            target.release.countDown();
+            assertEquals("true:1", reader.get(5, TimeUnit.SECONDS));
+            assertEquals("true:2", writer.get(5, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void call_after_a_commit_does_not_join_a_flight_started_before_it() throws Exception {
+        WriteEpoch writes = new WriteEpoch();
+        Counts target = new Counts();
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        SingleFlightGroup group = new SingleFlightGroup();
+        // sem réplicas (sem tracker)
+        factory.addAspect(new SingleFlightAspect(group, new SimpleMeterRegistry(),
+                Duration.ofSeconds(5), true, writes, null));
+        Counts proxy = factory.getProxy();
+        ExecutorService pool = Executors.newFixedThreadPool(3);
+        try {
+            Future<String> before = pool.submit(() -> proxy.stats(true, "a"));
+            target.started.await(5, TimeUnit.SECONDS);
+
+            // transação só de leitura não conta
+            TransactionExecution readOnly = mock(TransactionExecution.class);
+            when(readOnly.isReadOnly()).thenReturn(true);
+            writes.afterCommit(readOnly, null);
+            Future<String> sameEpoch = pool.submit(() -> proxy.stats(true, "b"));
+            awaitUntil(() -> group.waiting() == 1);
+
+            writes.afterCommit(mock(TransactionExecution.class), null);
+            Future<String> afterCommit = pool.submit(() -> proxy.stats(true, "c"));
+            awaitUntil(() -> target.calls.get() == 2);
+            target.release.countDown();
+            assertEquals("true:1", before.get(5, TimeUnit.SECONDS));
+            assertEquals("true:1", sameEpoch.get(5, TimeUnit.SECONDS));
+            assertEquals("true:2", afterCommit.get(5, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static <T> T asClient(String client, Callable<T> call) throws Exception {
+        ReadYourWritesTracker.setCurrentClient(client);
+        try {
+            return call.call();
+        } finally {
+            ReadYourWritesTracker.clearCurrentClient();
+        }
+    }
+
+    public static class Counts {
+        final AtomicInteger calls = new AtomicInteger();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @SingleFlight(key = "#includeArchived")
+        public String stats(boolean includeArchived, String ignored) {
+            int call = calls.incrementAndGet();
+            started.countDown();
+            await(release);
+            return includeArchived + ":" + call;
+        }
+    }
+
+    /** Espera as chamadas chegarem ao grupo (líderes registrados, seguidores presos). */
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "as chamadas não chegaram ao grupo");
+            Thread.sleep(1);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.EcoBite.foodrescue.userimport;
+
+import com.EcoBite.foodrescue.registration.EmailRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.io.StringReader;
+import java.sql.Connection;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Importação de 50 mil usuários num H2 em memória: metade sem senha (convite) e um
+ * lote com senha para medir o BCrypt. Não roda no {@code mvn test}; ver
+ * {@code RateLimiterBenchmark} para a linha de comando.
+ */
+public class UserImportBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        DriverManagerDataSource ds = new DriverManagerDataSource("jdbc:h2:mem:import;DB_CLOSE_DELAY=-1", "sa", "");
+        try (Connection c = ds.getConnection()) {
+            ScriptUtils.executeSqlScript(c, new ClassPathResource("db/migration/common/V1__initial_schema.sql"));
+        }
+        NamedParameterJdbcTemplate jdbc = new NamedParameterJdbcTemplate(ds);
+        UserImportService service = new UserImportService(jdbc, new DataSourceTransactionManager(ds),
+                new BCryptPasswordEncoder(), mock(EmailRegistry.class), new SimpleMeterRegistry(), 0, 1000, 100);
+
+        run(service, csv(0, 50_000, false), "sem senha");
+        run(service, csv(50_000, 500, true), "com senha");
+        run(service, csv(0, 50_000, false), "repetido");
+        service.shutdown();
+    }
+
+    private static void run(UserImportService service, String csv, String label) throws Exception {
+        long start = System.nanoTime();
+        UserImportReport report = service.importCsv(new StringReader(csv));
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%-10s %6d linhas, %6d criados, %6d erros em %.2f s (%.0f linhas/s)%n", label,
+                report.getRows(), report.getImported(), report.getFailed(), seconds, report.getRows() / seconds);
+    }
+
+    private static String csv(int from, int count, boolean password) {
+        StringBuilder csv = new StringBuilder("name,email,password,phone,role\n");
+        for (int i = from; i < from + count; i++) {
+            csv.append("Voluntário ").append(i).append(",v").append(i).append("@ong.org,")
+                    .append(password ? "senha-" + i : "").append(",11 90000-").append(i % 10000).append(",\n");
+        }
+        return csv.toString();
+    }
+}
@@ -0,0 +1,92 @@
+package com.EcoBite.foodrescue.userimport;
+
+import com.EcoBite.foodrescue.registration.EmailRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Importação contra o H2 do teste, com commits reais por bloco.
+ */
+@JdbcTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class UserImportServiceTest {
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbc;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(4);
+    private final EmailRegistry emailRegistry = mock(EmailRegistry.class);
+
+    @AfterEach
+    public void tearDown() {
+        jdbc.getJdbcTemplate().update("DELETE FROM users");
+    }
+
+    @Test
+    public void imports_valid_rows_and_reports_the_rest() throws Exception {
+        jdbc.getJdbcTemplate().update("INSERT INTO users (id, name, email, password, role, status, created_at) "
+                + "VALUES (RANDOM_UUID(), 'Antigo', 'old@ong.org', 'x', 'VOLUNTEER', 'ACTIVE', CURRENT_TIMESTAMP)");
+        String csv = "﻿name;email;password;phone;role\n"
+                + "Ana Souza;ana@ong.org;segredo1;;\n"
+                + "\"Silva; Bruno\";bruno@ong.org;;11 99999-0000;organization\n"
+                + "Carla;old@ong.org;segredo1;;\n"
+                + "Ana de novo;ana@ong.org;segredo1;;\n"
+                + "D;d@ong.org;segredo1;;\n"
+                + "Eva;sem-arroba;segredo1;;\n"
+                + "Fábio;fabio@ong.org;123;;\n"
+                + "Gil;gil@ong.org;segredo1;;admin\n"
+                + "\r\n"
+                + "Hugo;hugo@ong.org;segredo1;;\n";
+
+        UserImportReport report = service(2).importCsv(new BufferedReader(new StringReader(csv)));
+
+        assertEquals(9, report.getRows());
+        assertEquals(3, report.getImported());
+        assertEquals(6, report.getFailed());
+        assertEquals(List.of(4, 5, 6, 7, 8, 9), report.getErrors().stream()
+                .map(UserImportReport.RowError::getLine).collect(Collectors.toList()));
+        assertEquals("Email já está em uso", report.getErrors().get(0).getError());
+
+        Map<String, Object> ana = user("ana@ong.org");
+        assertEquals("ACTIVE", ana.get("STATUS"));
+        assertTrue(encoder.matches("segredo1", (String) ana.get("PASSWORD")));
+
+        Map<String, Object> bruno = user("bruno@ong.org");
+        assertEquals("Silva; Bruno", bruno.get("NAME"));
+        assertEquals("ORGANIZATION", bruno.get("ROLE"));
+        assertEquals("PENDING_VERIFICATION", bruno.get("STATUS"));
+        assertFalse(encoder.matches("", (String) bruno.get("PASSWORD")));
+
+        assertEquals("ACTIVE", user("hugo@ong.org").get("STATUS"));
+        verify(emailRegistry).registered("hugo@ong.org");
+    }
+
+    private UserImportService service(int chunkSize) {
+        return new UserImportService(jdbc, transactionManager, encoder, emailRegistry, new SimpleMeterRegistry(),
+                2, chunkSize, 100);
+    }
+
+    private Map<String, Object> user(String email) {
+        return jdbc.queryForMap("SELECT * FROM users WHERE email = :email", Map.of("email", email));
+    }
+}
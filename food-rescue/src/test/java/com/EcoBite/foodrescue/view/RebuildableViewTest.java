@@ -0,0 +1,53 @@
+package com.EcoBite.foodrescue.view;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RebuildableViewTest {
+
+    @Test
+    public void changes_during_a_rebuild_reach_the_new_structure() {
+        RebuildableView<List<String>> view = new RebuildableView<>(new ArrayList<>(List.of("old")));
+
+        List<String> fresh = view.rebuild(() -> {
+            // chega enquanto o "banco" é lido
+            view.afterCommit(l -> l.add("written"));
+            return new ArrayList<>(List.of("loaded"));
+        });
+
+        assertSame(fresh, view.current());
+        assertEquals(List.of("loaded", "written"), view.current());
+    }
+
+    @Test
+    public void overlapping_rebuild_is_skipped() throws Exception {
+        RebuildableView<String> view = new RebuildableView<>(null);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> view.rebuild(() -> {
+            loading.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "first";
+        }));
+        assertTrue(loading.await(10, TimeUnit.SECONDS));
+
+        assertNull(view.rebuild(() -> fail("não deveria rodar em paralelo")));
+        release.countDown();
+        assertEquals("first", first.get(10, TimeUnit.SECONDS));
+        assertEquals("first", view.current());
+
+        assertEquals("second", view.rebuild(() -> "second"));
+    }
+}
@@ -11,8 +11,6 @@ CREATE EXTENSION IF NOT EXISTS "uuid-ossp";
 -- Configurações de timezone
 SET timezone = 'America/Sao_Paulo';
 
--- Criar tabelas iniciais (Spring Boot irá gerenciar via Hibernate)
--- Este arquivo serve principalmente para configurações iniciais e dados de exemplo
-
--- Inserir dados de exemplo após as tabelas serem criadas pelo Hibernate
--- (Os dados serão inseridos via data.sql do Spring Boot)
+-- Tabelas e índices são criados pelas migrações do Flyway
+-- (food-rescue/src/main/resources/db/migration); o Hibernate apenas valida o schema.
+-- Este arquivo serve apenas para extensões e configurações iniciais.